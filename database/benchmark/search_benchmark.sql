@@ -0,0 +1,93 @@
+-- ==========================================
+-- 模糊查询性能对比脚本
+-- Fuzzy Search Benchmark Script
+-- ==========================================
+-- 在独立的库中生成约 200 万行学生数据，对比三种查询方式的执行计划和耗时：
+--   1. LIKE '%x%'（原实现，全表扫描）
+--   2. MATCH ... AGAINST + LIKE '%x%'（jdbc.fullTextSearch=true）
+--   3. LIKE 'x%'（matchMode=prefix，B+ 树索引范围扫描）
+-- Generates about 2 million student rows in a separate schema and compares the plans and
+-- timings of three query shapes:
+--   1. LIKE '%x%' (original, full table scan)
+--   2. MATCH ... AGAINST + LIKE '%x%' (jdbc.fullTextSearch=true)
+--   3. LIKE 'x%' (matchMode=prefix, B+ tree index range scan)
+--
+-- 需要 MySQL 8.0.18+（EXPLAIN ANALYZE 和递归 CTE）
+-- Requires MySQL 8.0.18+ (EXPLAIN ANALYZE and recursive CTEs)
+
+CREATE DATABASE IF NOT EXISTS student_benchmark
+DEFAULT CHARACTER SET utf8mb4
+COLLATE utf8mb4_unicode_ci;
+
+USE student_benchmark;
+
+DROP TABLE IF EXISTS student;
+CREATE TABLE student LIKE student_system.student;
+
+-- ==========================================
+-- 生成测试数据 (Generate Test Data)
+-- ==========================================
+
+SET SESSION cte_max_recursion_depth = 2000000;
+
+INSERT INTO student (student_no, name, gender, age, major, class_name, phone, email, enrollment_date, status)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1
+    UNION ALL
+    SELECT n + 1 FROM seq WHERE n < 2000000
+)
+SELECT
+    CONCAT('B', LPAD(n, 9, '0')),
+    CONCAT(ELT(1 + n % 10, '张', '李', '王', '赵', '孙', '周', '吴', '郑', '陈', '刘'),
+           ELT(1 + (n DIV 10) % 12, '伟', '芳', '娜', '敏', '静', '强', '磊', '洋', '艳', '勇', '军', '杰'),
+           ELT(1 + (n DIV 120) % 8, '', '明', '华', '平', '辉', '玲', '婷', '涛')),
+    1 + n % 2,
+    17 + n % 8,
+    ELT(1 + n % 6, '计算机科学与技术', '软件工程', '信息安全', '数据科学与大数据技术', '人工智能', '网络工程'),
+    CONCAT(ELT(1 + n % 6, '计科', '软工', '信安', '数据', '智能', '网工'), 2000 + (n DIV 6) % 40 + 100),
+    CONCAT('138', LPAD(n, 8, '0')),
+    CONCAT('b', n, '@example.com'),
+    DATE_ADD('2018-09-01', INTERVAL (n % 6) YEAR),
+    1 + n % 3
+FROM seq;
+
+ANALYZE TABLE student;
+
+-- ==========================================
+-- 1. 包含匹配，无索引 (Contains match, no index)
+-- ==========================================
+
+EXPLAIN ANALYZE
+SELECT * FROM student WHERE name LIKE '%伟明%' ORDER BY id DESC LIMIT 0, 10;
+
+SELECT COUNT(*) FROM student WHERE name LIKE '%伟明%';
+
+-- ==========================================
+-- 2. 全文索引定位 + LIKE 精确过滤 (Full-text lookup + exact LIKE filter)
+-- ==========================================
+
+EXPLAIN ANALYZE
+SELECT * FROM student
+WHERE MATCH(name) AGAINST ('"伟明"' IN BOOLEAN MODE) AND name LIKE '%伟明%'
+ORDER BY id DESC LIMIT 0, 10;
+
+SELECT COUNT(*) FROM student
+WHERE MATCH(name) AGAINST ('"伟明"' IN BOOLEAN MODE) AND name LIKE '%伟明%';
+
+EXPLAIN ANALYZE
+SELECT * FROM student
+WHERE MATCH(major) AGAINST ('"安全"' IN BOOLEAN MODE) AND major LIKE '%安全%'
+  AND MATCH(class_name) AGAINST ('"2121"' IN BOOLEAN MODE) AND class_name LIKE '%2121%'
+ORDER BY id DESC LIMIT 0, 10;
+
+-- ==========================================
+-- 3. 前缀匹配 (Prefix match)
+-- ==========================================
+
+EXPLAIN ANALYZE
+SELECT * FROM student WHERE name LIKE '张伟%' ORDER BY id DESC LIMIT 0, 10;
+
+EXPLAIN ANALYZE
+SELECT * FROM student WHERE major LIKE '软件%' AND class_name LIKE '软工21%' ORDER BY id DESC LIMIT 0, 10;
+
+-- 两种方式的结果行数应与方式 1 一致 (Row counts of shapes 2 and 1 must agree)
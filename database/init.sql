@@ -10,6 +10,13 @@ COLLATE utf8mb4_unicode_ci;
 
 USE student_system;
 
+-- 关闭全文索引停用词：ngram 解析器会丢弃含停用词（如 a、i）的词元，含这些字母的关键字
+-- 通过 MATCH 会少匹配行；该设置在建索引时生效
+-- (Turn full-text stopwords off: the ngram parser drops every token containing a stopword such as
+--  a or i, so keywords with those letters would miss rows through MATCH; it applies when the
+--  indexes are built)
+SET innodb_ft_enable_stopword = OFF;
+
 -- ==========================================
 -- 学生信息表 (Student Information Table)
 -- ==========================================
@@ -49,11 +56,43 @@ CREATE TABLE student (
     -- 创建时间 (Create Time)
     create_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
 
-    -- 更新时间 (Update Time)
-    update_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    -- 更新时间，精确到毫秒，同时作为部分更新的乐观锁版本号
+    -- (Update Time, millisecond precision; also the optimistic lock version of partial updates)
+    update_time TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
 
     -- 状态：1-在读，2-休学，3-毕业 (Status: 1-Active, 2-Leave, 3-Graduated)
-    status TINYINT DEFAULT 1
+    status TINYINT DEFAULT 1,
+
+    -- 软删除时间，NULL 表示未删除（jdbc.softDelete）；学号在记录被清理前仍然占用唯一约束
+    -- (Soft-delete time, NULL when live (jdbc.softDelete); the student number keeps its UNIQUE
+    --  slot until the row is purged)
+    deleted_at TIMESTAMP(3) NULL DEFAULT NULL,
+
+    -- 排序字段索引，供键集分页 WHERE (sort_col, id) > (?, ?) 定位
+    -- InnoDB 二级索引隐含主键，相当于 (sort_col, id)
+    -- Sort column indexes for keyset pagination seeks WHERE (sort_col, id) > (?, ?)
+    -- InnoDB secondary indexes carry the primary key, so each is effectively (sort_col, id)
+    INDEX idx_student_name (name),
+    INDEX idx_student_age (age),
+    INDEX idx_student_enrollment_date (enrollment_date),
+
+    -- 筛选条件索引：性别和状态的等值筛选，专业/班级的前缀匹配（matchMode=prefix）
+    -- Filter indexes: gender/status equality, major/class prefix matches (matchMode=prefix)
+    INDEX idx_student_status (status),
+    INDEX idx_student_gender_status (gender, status),
+    INDEX idx_student_major_class (major, class_name),
+    INDEX idx_student_class_name (class_name),
+
+    -- 后台清理按删除时间查找过期的软删除记录 (The background purge finds expired soft-deleted rows by time)
+    INDEX idx_student_deleted_at (deleted_at),
+
+    -- ngram 全文索引，供 '%关键字%' 模糊查询通过 MATCH ... AGAINST 定位（jdbc.fullTextSearch）
+    -- MATCH 的列必须与某个全文索引的列完全一致，所以每列单独建索引
+    -- ngram full-text indexes so '%keyword%' searches locate rows via MATCH ... AGAINST (jdbc.fullTextSearch)
+    -- MATCH columns must equal the column list of a full-text index, hence one index per column
+    FULLTEXT INDEX ft_student_name (name) WITH PARSER ngram,
+    FULLTEXT INDEX ft_student_major (major) WITH PARSER ngram,
+    FULLTEXT INDEX ft_student_class_name (class_name) WITH PARSER ngram
 
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='学生信息表';
 
@@ -116,6 +155,27 @@ INSERT INTO user (username, password, real_name, role) VALUES
 ('admin', 'admin123', '系统管理员', 1),
 ('user', 'user123', '普通用户', 2);
 
+-- ==========================================
+-- 创建数据版本表
+-- Data Version Table
+-- ==========================================
+-- 每次写入学生数据时在同一事务中加一，HTTP 条件请求的 ETag 由它生成，
+-- 因此多个实例和只读副本看到的是同一个版本号
+-- Bumped in the same transaction as every student write; HTTP conditional requests derive
+-- their ETag from it, so every instance and replica sees the same version
+DROP TABLE IF EXISTS data_version;
+
+CREATE TABLE data_version (
+    -- 数据名称 (Data Name)
+    name VARCHAR(64) PRIMARY KEY,
+
+    -- 版本号 (Version)
+    version BIGINT NOT NULL DEFAULT 0
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='数据版本表';
+
+INSERT INTO data_version (name, version) VALUES ('student', 0);
+
 -- ==========================================
 -- 查询验证 (Query Verification)
 -- ==========================================
@@ -0,0 +1,41 @@
+-- ==========================================
+-- 查询索引迁移脚本
+-- Search Index Migration Script
+-- ==========================================
+-- 用于由旧版 init.sql 创建的数据库；新安装的数据库已在 init.sql 中包含这些索引
+-- For databases created from an older init.sql; fresh installs already get these indexes from init.sql
+--
+-- 全文索引使用 ngram 解析器（MySQL 5.7.6+），ngram_token_size 默认为 2，
+-- 代码中单个字的关键字不会走全文索引，只用 LIKE
+-- 建索引前关闭停用词（innodb_ft_enable_stopword=OFF），否则含停用词的关键字会少匹配行；
+-- 已在开启停用词时建好的全文索引需要删除后重新执行本脚本的全文索引部分
+-- The full-text indexes use the ngram parser (MySQL 5.7.6+). ngram_token_size defaults to 2;
+-- single-character keywords skip the full-text index in code and use LIKE only.
+-- Stopwords are turned off (innodb_ft_enable_stopword=OFF) before the indexes are built,
+-- otherwise keywords containing a stopword miss rows; full-text indexes already built with
+-- stopwords on must be dropped and the full-text part of this script run again
+--
+-- 执行后在 db.properties 中设置 jdbc.fullTextSearch=true
+-- Set jdbc.fullTextSearch=true in db.properties afterwards
+
+USE student_system;
+
+-- 排序字段索引（键集分页）(Sort column indexes, keyset pagination)
+ALTER TABLE student
+    ADD INDEX idx_student_name (name),
+    ADD INDEX idx_student_age (age),
+    ADD INDEX idx_student_enrollment_date (enrollment_date);
+
+-- 筛选条件索引 (Filter indexes)
+ALTER TABLE student
+    ADD INDEX idx_student_status (status),
+    ADD INDEX idx_student_gender_status (gender, status),
+    ADD INDEX idx_student_major_class (major, class_name),
+    ADD INDEX idx_student_class_name (class_name);
+
+-- ngram 全文索引，InnoDB 一次只能新建一个全文索引
+-- ngram full-text indexes; InnoDB builds one full-text index per statement
+SET innodb_ft_enable_stopword = OFF;
+ALTER TABLE student ADD FULLTEXT INDEX ft_student_name (name) WITH PARSER ngram;
+ALTER TABLE student ADD FULLTEXT INDEX ft_student_major (major) WITH PARSER ngram;
+ALTER TABLE student ADD FULLTEXT INDEX ft_student_class_name (class_name) WITH PARSER ngram;
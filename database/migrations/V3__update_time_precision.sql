@@ -0,0 +1,17 @@
+-- ==========================================
+-- 更新时间精度迁移脚本
+-- Update Time Precision Migration Script
+-- ==========================================
+-- 部分更新以 update_time 作为乐观锁版本号。秒级精度下，同一秒内的两次修改版本号相同，
+-- 后一次修改会覆盖前一次而不会报告冲突，因此改为毫秒精度
+-- Partial updates use update_time as the optimistic lock version. With second precision two
+-- edits within the same second share a version, so the later one would overwrite the earlier
+-- without a conflict; switch to millisecond precision
+--
+-- 新安装的数据库已在 init.sql 中使用 TIMESTAMP(3)
+-- Fresh installs already get TIMESTAMP(3) from init.sql
+
+USE student_system;
+
+ALTER TABLE student
+    MODIFY update_time TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
@@ -0,0 +1,18 @@
+-- ==========================================
+-- 软删除迁移脚本
+-- Soft Delete Migration Script
+-- ==========================================
+-- 学期切换时的大批量删除会在一条语句中持有大量行锁。启用 jdbc.softDelete 后，
+-- 删除只设置 deleted_at，查询忽略这些记录，后台任务再按块物理删除超过保留时间的记录
+-- Bulk deletes at term changes hold many row locks in one statement. With jdbc.softDelete
+-- enabled, deletes only set deleted_at, queries skip those rows, and a background job later
+-- removes rows past the retention time in chunks
+--
+-- 新安装的数据库已在 init.sql 中包含该列和索引
+-- Fresh installs already get the column and index from init.sql
+
+USE student_system;
+
+ALTER TABLE student
+    ADD COLUMN deleted_at TIMESTAMP(3) NULL DEFAULT NULL AFTER status,
+    ADD INDEX idx_student_deleted_at (deleted_at);
@@ -0,0 +1,23 @@
+-- ==========================================
+-- 数据版本表迁移脚本
+-- Data Version Migration Script
+-- ==========================================
+-- 学生数据的 HTTP 验证器（ETag）原来来自进程内计数器：其他实例的写入不会改变它，
+-- 而且从滞后的只读副本读到的数据也会带上新版本号。改为每次写入在同一事务中
+-- 对这一行加一，查询在同一连接上读取版本号
+-- The HTTP validator (ETag) for student data used to come from an in-process counter: writes
+-- from other instances never changed it, and data read from a lagging replica was tagged with
+-- the new version. Every write now bumps this row in its own transaction, and queries read the
+-- version on the same connection as the data
+--
+-- 新安装的数据库已在 init.sql 中包含该表
+-- Fresh installs already get the table from init.sql
+
+USE student_system;
+
+CREATE TABLE IF NOT EXISTS data_version (
+    name VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='数据版本表';
+
+INSERT IGNORE INTO data_version (name, version) VALUES ('student', 0);
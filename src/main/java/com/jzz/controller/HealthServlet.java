@@ -0,0 +1,62 @@
+package com.jzz.controller;
+
+import com.jzz.listener.WarmUpListener;
+import com.jzz.model.Result;
+import com.jzz.util.JsonUtil;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * 就绪检查 Servlet
+ * Readiness Check Servlet
+ *
+ * 启动预热完成前返回 HTTP 503，完成后返回 200，并附带预热报告（耗时、轮数、是否稳定等），
+ * 供负载均衡器判断何时把流量切到本实例；预热失败时返回 503，直到后台重试成功
+ * Returns HTTP 503 until the startup warm-up has finished and 200 afterwards, together with
+ * the warm-up report (duration, passes, whether latency settled), so load balancers know when
+ * to route traffic to this instance; after a failed warm-up it returns 503 until a background
+ * retry succeeds
+ *
+ * URL 映射：/health（仅支持 GET）
+ * URL mapping: /health (GET only)
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+@WebServlet("/health")
+public class HealthServlet extends HttpServlet {
+
+    /**
+     * 处理 GET 请求
+     * Handle GET requests
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        response.setContentType("application/json;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+
+        Result<?> result;
+        if (WarmUpListener.isFailed()) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            result = new Result<>(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "预热失败，不健康，后台重试中",
+                    WarmUpListener.getReport());
+        } else if (WarmUpListener.isReady()) {
+            result = Result.success("就绪", WarmUpListener.getReport());
+        } else {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            result = new Result<>(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "预热中，尚未就绪",
+                    WarmUpListener.getReport());
+        }
+
+        PrintWriter out = response.getWriter();
+        out.print(JsonUtil.toJson(result));
+        out.flush();
+    }
+}
@@ -0,0 +1,85 @@
+package com.jzz.controller;
+
+import com.jzz.dao.CachingStudentDAO;
+import com.jzz.dao.StudentColumnStore;
+import com.jzz.dao.StudentNoFilter;
+import com.jzz.dao.StudentTextIndex;
+import com.jzz.model.Result;
+import com.jzz.service.StudentServiceImpl;
+import com.jzz.util.DBUtil;
+import com.jzz.util.JsonUtil;
+import com.jzz.util.LogUtil;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 连接池监控 Servlet
+ * Connection Pool Monitor Servlet
+ *
+ * 只读接口，以 JSON 返回连接池状态：活跃/空闲/等待连接数、借出等待与持有耗时分布、
+ * 超时次数以及最近的疑似连接泄漏（含借出位置调用栈）；启用读写分离时还包括各副本连接池和路由统计
+ * Read-only endpoint returning pool state as JSON: active/idle/pending counts, borrow wait and
+ * hold time distributions, timeouts and recent suspected leaks with borrower stacks; with
+ * read/write splitting enabled it also covers each replica pool and routing counters
+ *
+ * 另外包括学生单行缓存和分页查询结果缓存的命中、未命中、淘汰和失效次数，学号过滤器的内存和误报率，
+ * 列式副本的行数和回答/回退到 SQL 的查询数，以及文本索引的 n-gram 数、内存和使用次数
+ * Also includes hit, miss, eviction and invalidation counts of the student row cache and the
+ * page query cache, the memory and false-positive rates of the student number filter, and the
+ * rows of the columnar replica with the queries it answered or left to SQL, and the n-grams,
+ * memory and usage of the text index
+ *
+ * URL 映射：/monitor/pool（仅支持 GET）
+ * URL mapping: /monitor/pool (GET only)
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+@WebServlet("/monitor/pool")
+public class PoolMonitorServlet extends HttpServlet {
+
+    /**
+     * 处理 GET 请求
+     * Handle GET requests
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        response.setContentType("application/json;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+
+        Result<?> result;
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("primary", DBUtil.getPoolStats());
+            stats.put("replicas", DBUtil.getReplicaPoolStats());
+            stats.put("routing", DBUtil.getRoutingStats());
+            stats.put("studentCache", CachingStudentDAO.getCacheStats());
+            stats.put("queryCache", StudentServiceImpl.getPageCacheStats());
+            stats.put("studentNoFilter", StudentNoFilter.getStats());
+            StudentColumnStore columnStore = StudentColumnStore.shared();
+            stats.put("columnStore", columnStore != null
+                    ? columnStore.getStats() : Collections.singletonMap("enabled", false));
+            StudentTextIndex textIndex = StudentTextIndex.shared();
+            stats.put("textIndex", textIndex != null
+                    ? textIndex.getStats() : Collections.singletonMap("enabled", false));
+            result = Result.success("查询成功", stats);
+        } catch (Exception e) {
+            LogUtil.error("获取连接池状态失败：" + e.getMessage(), e);
+            result = Result.error("获取连接池状态失败：" + e.getMessage());
+        }
+
+        PrintWriter out = response.getWriter();
+        out.print(JsonUtil.toJson(result));
+        out.flush();
+    }
+}
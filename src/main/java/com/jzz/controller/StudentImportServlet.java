@@ -0,0 +1,144 @@
+package com.jzz.controller;
+
+import com.jzz.model.ImportProgress;
+import com.jzz.model.Result;
+import com.jzz.service.StudentImporter;
+import com.jzz.util.JsonUtil;
+import com.jzz.util.LogUtil;
+import com.jzz.util.StringUtil;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.MultipartConfig;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.Part;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 学生名单导入 Servlet
+ * Student Roster Import Servlet
+ *
+ * 上传的文件先以流的方式保存到临时文件（不在内存中保留），再交给后台导入任务；
+ * 请求立即返回任务 ID，客户端用它轮询进度
+ * The upload is streamed to a temporary file (never held in memory) and handed to a background
+ * import job; the request returns the job id at once and clients poll the progress with it
+ *
+ * URL 映射：/student/import
+ * POST（multipart，字段 file，可选 charset，默认 UTF-8）：开始导入
+ * GET ?jobId=：查询进度
+ * POST action=cancel&amp;jobId=：取消导入
+ * URL mapping: /student/import
+ * POST (multipart, field file, optional charset, default UTF-8): start an import
+ * GET ?jobId=: poll progress
+ * POST action=cancel&amp;jobId=: cancel an import
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+@WebServlet("/student/import")
+@MultipartConfig(fileSizeThreshold = 1024 * 1024, maxFileSize = 200L * 1024 * 1024,
+        maxRequestSize = 210L * 1024 * 1024)
+public class StudentImportServlet extends HttpServlet {
+
+    /**
+     * 学生名单导入器
+     * Student roster importer
+     */
+    private StudentImporter importer = new StudentImporter();
+
+    /**
+     * 处理 GET 请求：查询进度
+     * Handle GET requests: poll progress
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        response.setContentType("application/json;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+
+        ImportProgress progress = importer.getProgress(request.getParameter("jobId"));
+        if (progress != null) {
+            writeJson(response, Result.success("查询成功", progress));
+        } else {
+            writeJson(response, Result.error("导入任务不存在或已过期！"));
+        }
+    }
+
+    /**
+     * 处理 POST 请求：开始或取消导入
+     * Handle POST requests: start or cancel an import
+     */
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        request.setCharacterEncoding("UTF-8");
+        response.setContentType("application/json;charset=UTF-8");
+
+        if ("cancel".equals(request.getParameter("action"))) {
+            if (importer.cancel(request.getParameter("jobId"))) {
+                writeJson(response, Result.success("已取消导入！"));
+            } else {
+                writeJson(response, Result.error("导入任务不存在或已结束！"));
+            }
+            return;
+        }
+
+        Part part = request.getPart("file");
+        if (part == null || part.getSize() == 0) {
+            writeJson(response, Result.badRequest("请选择要导入的文件！"));
+            return;
+        }
+
+        String fileName = part.getSubmittedFileName();
+        if (fileName != null && !fileName.toLowerCase().endsWith(".csv")) {
+            writeJson(response, Result.badRequest("请先将表格另存为 CSV 文件再导入！"));
+            return;
+        }
+
+        Charset charset;
+        try {
+            String charsetName = request.getParameter("charset");
+            charset = StringUtil.isNotEmpty(charsetName) ? Charset.forName(charsetName) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            writeJson(response, Result.badRequest("不支持的文件编码：" + request.getParameter("charset")));
+            return;
+        }
+
+        // 流式复制到临时文件，请求结束后容器会删除 Part 自己的临时文件
+        // Stream into our own temporary file; the container deletes the part's file when the request ends
+        Path file = Files.createTempFile("student-import-", ".csv");
+        try (InputStream in = part.getInputStream()) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        try {
+            ImportProgress progress = importer.start(file, fileName, charset);
+            writeJson(response, Result.success("导入已开始", progress));
+        } catch (Exception e) {
+            LogUtil.warn("导入学生名单失败：" + e.getMessage());
+            writeJson(response, Result.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * 将结果对象转换为 JSON 并写入响应
+     * Convert result object to JSON and write to response
+     */
+    private void writeJson(HttpServletResponse response, Result<?> result) throws IOException {
+        PrintWriter out = response.getWriter();
+        out.print(JsonUtil.toJson(result));
+        out.flush();
+    }
+}
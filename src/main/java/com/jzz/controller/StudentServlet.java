@@ -1,11 +1,18 @@
 package com.jzz.controller;
 
+import com.jzz.model.BatchResult;
+import com.jzz.model.CountMode;
 import com.jzz.model.PageResult;
 import com.jzz.model.Result;
 import com.jzz.model.Student;
+import com.jzz.model.StudentFields;
 import com.jzz.service.StudentService;
 import com.jzz.service.StudentServiceImpl;
+import com.jzz.service.VersionConflictException;
+import com.jzz.util.CsvWriter;
+import com.jzz.util.DBUtil;
 import com.jzz.util.JsonUtil;
+import com.jzz.util.LogUtil;
 import com.jzz.util.StringUtil;
 
 import javax.servlet.ServletException;
@@ -13,11 +20,21 @@ import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 学生控制器 Servlet
@@ -42,6 +59,42 @@ public class StudentServlet extends HttpServlet {
      */
     private StudentService studentService = new StudentServiceImpl();
 
+    /**
+     * 缺少版本号时的结果码（428 Precondition Required，HttpServletResponse 中没有该常量）
+     * Result code for a missing version (428 Precondition Required, absent from HttpServletResponse)
+     */
+    private static final int SC_PRECONDITION_REQUIRED = 428;
+
+    /**
+     * 可以部分更新的字段
+     * Fields a partial update may change
+     */
+    private static final String[] PATCH_FIELDS = {
+            "studentNo", "name", "gender", "age", "major", "className", "phone", "email", "enrollmentDate", "status"
+    };
+
+    /**
+     * 导出 CSV 的表头，与导入支持的中文表头一致
+     * CSV export headers, matching the Chinese headers accepted by the import
+     */
+    private static final Map<String, String> EXPORT_HEADERS = new HashMap<>();
+
+    static {
+        EXPORT_HEADERS.put("id", "ID");
+        EXPORT_HEADERS.put("studentNo", "学号");
+        EXPORT_HEADERS.put("name", "姓名");
+        EXPORT_HEADERS.put("gender", "性别");
+        EXPORT_HEADERS.put("age", "年龄");
+        EXPORT_HEADERS.put("major", "专业");
+        EXPORT_HEADERS.put("className", "班级");
+        EXPORT_HEADERS.put("phone", "联系电话");
+        EXPORT_HEADERS.put("email", "邮箱");
+        EXPORT_HEADERS.put("enrollmentDate", "入学日期");
+        EXPORT_HEADERS.put("createTime", "创建时间");
+        EXPORT_HEADERS.put("updateTime", "更新时间");
+        EXPORT_HEADERS.put("status", "状态");
+    }
+
     /**
      * 处理 GET 请求
      * Handle GET requests
@@ -68,7 +121,16 @@ public class StudentServlet extends HttpServlet {
         // 获取操作类型 (Get action type)
         String action = request.getParameter("action");
 
-        System.out.println("StudentServlet 收到请求，action: " + action);
+        if (LogUtil.isDebugEnabled()) {
+            LogUtil.debug("StudentServlet 收到请求，action: " + action);
+        }
+
+        // 绑定会话用于读写分离：写请求内的读走主库，写入后的短时间内该会话的读也走主库
+        // Bind the session for read/write routing: reads inside a write request use the primary,
+        // and so do the session's reads shortly after it writes
+        boolean writeRequest = isWriteAction(action);
+        HttpSession session = request.getSession(writeRequest);
+        DBUtil.bindSession(session != null ? session.getId() : null, writeRequest);
 
         try {
             // 根据 action 参数分发到不同的处理方法
@@ -76,12 +138,24 @@ public class StudentServlet extends HttpServlet {
             if ("query".equals(action)) {
                 // 分页查询 (Paginated query)
                 handleQuery(request, response);
+            } else if ("export".equals(action)) {
+                // 流式导出 (Streaming export)
+                handleExport(request, response);
             } else if ("add".equals(action)) {
                 // 添加学生 (Add student)
                 handleAdd(request, response);
+            } else if ("addBatch".equals(action)) {
+                // 批量添加 (Batch add)
+                handleAddBatch(request, response);
+            } else if ("syncBatch".equals(action)) {
+                // 按学号批量同步 (Batch sync by student number)
+                handleSyncBatch(request, response);
             } else if ("update".equals(action)) {
                 // 更新学生 (Update student)
                 handleUpdate(request, response);
+            } else if ("patch".equals(action)) {
+                // 部分更新 (Partial update)
+                handlePatch(request, response);
             } else if ("delete".equals(action)) {
                 // 删除学生 (Delete student)
                 handleDelete(request, response);
@@ -96,9 +170,10 @@ public class StudentServlet extends HttpServlet {
                 writeJson(response, Result.badRequest("未知的操作类型：" + action));
             }
         } catch (Exception e) {
-            System.err.println("处理请求时发生异常：" + e.getMessage());
-            e.printStackTrace();
+            LogUtil.error("处理请求时发生异常：" + e.getMessage(), e);
             writeJson(response, Result.error("服务器内部错误：" + e.getMessage()));
+        } finally {
+            DBUtil.unbindSession();
         }
     }
 
@@ -107,37 +182,10 @@ public class StudentServlet extends HttpServlet {
      * Handle paginated query request
      */
     private void handleQuery(HttpServletRequest request, HttpServletResponse response)
-            throws IOException {
+            throws Exception {
 
         // 获取查询条件 (Get query conditions)
-        Map<String, Object> conditions = new HashMap<>();
-
-        String studentNo = request.getParameter("studentNo");
-        String name = request.getParameter("name");
-        String gender = request.getParameter("gender");
-        String major = request.getParameter("major");
-        String className = request.getParameter("className");
-        String status = request.getParameter("status");
-
-        // 只添加非空条件 (Only add non-empty conditions)
-        if (StringUtil.isNotEmpty(studentNo)) {
-            conditions.put("studentNo", studentNo);
-        }
-        if (StringUtil.isNotEmpty(name)) {
-            conditions.put("name", name);
-        }
-        if (StringUtil.isNotEmpty(gender)) {
-            conditions.put("gender", StringUtil.toInt(gender));
-        }
-        if (StringUtil.isNotEmpty(major)) {
-            conditions.put("major", major);
-        }
-        if (StringUtil.isNotEmpty(className)) {
-            conditions.put("className", className);
-        }
-        if (StringUtil.isNotEmpty(status)) {
-            conditions.put("status", StringUtil.toInt(status));
-        }
+        Map<String, Object> conditions = buildConditions(request);
 
         // 获取排序参数 (Get sorting parameters)
         String orderBy = request.getParameter("orderBy");
@@ -147,14 +195,122 @@ public class StudentServlet extends HttpServlet {
         int currentPage = StringUtil.toInt(request.getParameter("currentPage"), 1);
         int pageSize = StringUtil.toInt(request.getParameter("pageSize"), 10);
 
-        // 调用业务逻辑层查询 (Call service layer for query)
-        PageResult<Student> pageResult = studentService.queryPage(
-                conditions, orderBy, orderType, currentPage, pageSize);
+        // 带游标时使用键集分页（上一页/下一页），否则按页码偏移查询（跳页）
+        // With a cursor use keyset pagination (previous/next), otherwise offset by page number (jump)
+        String cursor = request.getParameter("cursor");
+
+        // 总数统计方式：exact（默认）/ estimate / none (Count mode: exact (default) / estimate / none)
+        CountMode countMode = CountMode.parse(request.getParameter("countMode"));
+
+        // 字段投影，如 fields=id,name,major；不传时返回全部字段
+        // Field projection such as fields=id,name,major; all fields when absent
+        StudentFields fields = StudentFields.parse(request.getParameter("fields"));
+
+        // 版本号和数据在同一个只读单元中读取（同一连接、同一副本）；数据没有变化时直接返回 304，
+        // 不查询也不序列化
+        // The version and the data are read in one read-only unit (one connection, one replica);
+        // unchanged data is answered with a 304, with neither a query nor serialization
+        Validator validator = new Validator();
+        PageResult<Student> pageResult = DBUtil.inReadOnly(() -> {
+            if (validator.check(request, studentService.getDataVersion())) {
+                return null;
+            }
+            // 调用业务逻辑层查询 (Call service layer for query)
+            if (StringUtil.isNotEmpty(cursor)) {
+                return studentService.queryPageByCursor(
+                        conditions, orderBy, orderType, cursor, currentPage, pageSize, countMode, fields);
+            }
+            return studentService.queryPage(
+                    conditions, orderBy, orderType, currentPage, pageSize, countMode, fields);
+        });
+        if (validator.isNotModified()) {
+            validator.writeNotModified(response);
+            return;
+        }
+
+        // 查询失败时返回的空结果没有数据列表，不能被客户端缓存
+        // The empty result of a failed query has no list and must not be cached
+        if (pageResult.getData() != null) {
+            validator.apply(response);
+        }
 
         // 返回成功结果 (Return success result)
         writeJson(response, Result.success("查询成功", pageResult));
     }
 
+    /**
+     * 处理导出请求
+     * Handle export request
+     *
+     * 查询条件、排序和字段投影与分页查询相同；format=csv（默认，可直接用于导入）或 ndjson（每行一个 JSON 对象）。
+     * 每读到一行就写入响应流，不在内存中保留结果；客户端断开时写入失败，数据库中的查询随之取消
+     * Takes the same conditions, sort and field projection as the paged query; format=csv (default,
+     * importable as is) or ndjson (one JSON object per line). Each row is written to the response as
+     * soon as it is read and nothing is kept in memory; when the client disconnects the write fails
+     * and the database query is cancelled
+     */
+    private void handleExport(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        Map<String, Object> conditions = buildConditions(request);
+        String orderBy = request.getParameter("orderBy");
+        String orderType = request.getParameter("orderType");
+        StudentFields requested = StudentFields.parse(request.getParameter("fields"));
+        StudentFields fields = requested != null ? requested : StudentFields.all();
+        boolean ndjson = "ndjson".equalsIgnoreCase(request.getParameter("format"));
+
+        if (ndjson) {
+            response.setContentType("application/x-ndjson;charset=UTF-8");
+            response.setHeader("Content-Disposition", "attachment; filename=\"students.ndjson\"");
+        } else {
+            response.setContentType("text/csv;charset=UTF-8");
+            response.setHeader("Content-Disposition", "attachment; filename=\"students.csv\"");
+        }
+        response.setHeader("Cache-Control", "no-store");
+
+        // 直接使用输出流：容器的 PrintWriter 会吞掉客户端断开时的 IOException
+        // Use the output stream directly: the container's PrintWriter swallows the IOException
+        // raised when the client disconnects
+        Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        CsvWriter csv = new CsvWriter(out);
+        List<String> columns = new ArrayList<>(fields.getFields());
+        long start = System.currentTimeMillis();
+
+        try {
+            if (!ndjson) {
+                // BOM 让 Excel 按 UTF-8 打开 (The BOM makes Excel open the file as UTF-8)
+                out.write('\uFEFF');
+                List<String> header = new ArrayList<>(columns.size());
+                for (String column : columns) {
+                    header.add(EXPORT_HEADERS.get(column));
+                }
+                csv.writeRecord(header);
+            }
+
+            long rows = studentService.export(conditions, orderBy, orderType, requested, student -> {
+                if (ndjson) {
+                    out.write(JsonUtil.studentToJson(student, fields.getFields()));
+                    out.write('\n');
+                } else {
+                    csv.writeRecord(toCsvRecord(student, columns));
+                }
+            });
+            out.flush();
+            LogUtil.info("导出学生 " + rows + " 行，耗时 " + (System.currentTimeMillis() - start) + " ms");
+
+        } catch (IOException e) {
+            // 客户端断开，查询已取消 (Client disconnected, the query has been cancelled)
+            LogUtil.warn("导出中止，客户端已断开：" + e.getMessage());
+        } catch (Exception e) {
+            LogUtil.error("导出学生失败：" + e.getMessage(), e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setContentType("application/json;charset=UTF-8");
+                writeJson(response, Result.error("导出失败：" + e.getMessage()));
+            }
+        }
+    }
+
     /**
      * 处理添加学生请求
      * Handle add student request
@@ -164,7 +320,7 @@ public class StudentServlet extends HttpServlet {
 
         try {
             // 获取表单参数并构建 Student 对象 (Get form parameters and build Student object)
-            Student student = buildStudentFromRequest(request);
+            Student student = buildStudentFromRequest(request, 1);
 
             // 调用业务逻辑层添加 (Call service layer to add)
             boolean success = studentService.add(student);
@@ -176,7 +332,75 @@ public class StudentServlet extends HttpServlet {
             }
 
         } catch (Exception e) {
-            System.err.println("添加学生失败：" + e.getMessage());
+            LogUtil.warn("添加学生失败：" + e.getMessage());
+            writeJson(response, Result.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * 处理批量添加学生请求
+     * Handle batch add students request
+     *
+     * 每个字段以数组参数提交，下标相同的值属于同一名学生，如 studentNo[]、name[]、gender[]
+     * Each field is sent as an array parameter and values at the same index belong to one student,
+     * e.g. studentNo[], name[], gender[]
+     */
+    private void handleAddBatch(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        String[] studentNos = request.getParameterValues("studentNo[]");
+        if (studentNos == null || studentNos.length == 0) {
+            writeJson(response, Result.badRequest("请提供要添加的学生！"));
+            return;
+        }
+
+        try {
+            List<Student> students = buildStudentsFromRequest(request, studentNos);
+
+            // 调用业务逻辑层批量添加 (Call service layer to batch add)
+            BatchResult result = studentService.addBatch(students);
+
+            String message = "成功添加 " + result.getSuccessCount() + " 名学生";
+            if (result.getFailureCount() > 0) {
+                message += "，" + result.getFailureCount() + " 条失败";
+            }
+            writeJson(response, Result.success(message + "！", result));
+
+        } catch (Exception e) {
+            LogUtil.warn("批量添加学生失败：" + e.getMessage());
+            writeJson(response, Result.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * 处理按学号批量同步学生请求（名单同步：学号已存在则覆盖）
+     * Handle batch sync by student number (roster sync: existing student numbers are overwritten)
+     *
+     * 参数格式与批量添加相同 (Same parameters as batch add)
+     */
+    private void handleSyncBatch(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        String[] studentNos = request.getParameterValues("studentNo[]");
+        if (studentNos == null || studentNos.length == 0) {
+            writeJson(response, Result.badRequest("请提供要同步的学生！"));
+            return;
+        }
+
+        try {
+            List<Student> students = buildStudentsFromRequest(request, studentNos);
+
+            // 调用业务逻辑层批量同步 (Call service layer to batch sync)
+            BatchResult result = studentService.syncBatch(students);
+
+            String message = "成功同步 " + result.getSuccessCount() + " 名学生";
+            if (result.getFailureCount() > 0) {
+                message += "，" + result.getFailureCount() + " 条失败";
+            }
+            writeJson(response, Result.success(message + "！", result));
+
+        } catch (Exception e) {
+            LogUtil.warn("批量同步学生失败：" + e.getMessage());
             writeJson(response, Result.error(e.getMessage()));
         }
     }
@@ -196,12 +420,17 @@ public class StudentServlet extends HttpServlet {
                 return;
             }
 
+            Timestamp expectedUpdateTime = parseVersion(request, response);
+            if (expectedUpdateTime == null) {
+                return;
+            }
+
             // 获取表单参数并构建 Student 对象 (Get form parameters and build Student object)
-            Student student = buildStudentFromRequest(request);
+            Student student = buildStudentFromRequest(request, 1);
             student.setId(id);
 
             // 调用业务逻辑层更新 (Call service layer to update)
-            boolean success = studentService.update(student);
+            boolean success = studentService.update(student, expectedUpdateTime);
 
             if (success) {
                 writeJson(response, Result.success("更新学生信息成功！"));
@@ -209,8 +438,61 @@ public class StudentServlet extends HttpServlet {
                 writeJson(response, Result.error("更新学生信息失败！"));
             }
 
+        } catch (VersionConflictException e) {
+            writeJson(response, Result.error(HttpServletResponse.SC_CONFLICT, e.getMessage()));
         } catch (Exception e) {
-            System.err.println("更新学生失败：" + e.getMessage());
+            LogUtil.warn("更新学生失败：" + e.getMessage());
+            writeJson(response, Result.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * 处理部分更新学生请求
+     * Handle partial update student request
+     *
+     * 只提交变化的字段（参数存在即表示修改，空值表示清空），updateTime 为读取时的版本号
+     * Only changed fields are sent (a present parameter means changed, an empty value clears it);
+     * updateTime is the version read earlier
+     *
+     * 缺少版本号返回 428，版本冲突返回 409
+     * A missing version yields 428, a version conflict 409
+     */
+    private void handlePatch(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        Integer id = StringUtil.toInt(request.getParameter("id"));
+        if (id == null) {
+            writeJson(response, Result.badRequest("学生 ID 不能为空！"));
+            return;
+        }
+
+        Timestamp expectedUpdateTime = parseVersion(request, response);
+        if (expectedUpdateTime == null) {
+            return;
+        }
+
+        // 请求中出现的字段即为变化的字段 (Fields present in the request are the changed ones)
+        Set<String> changedFields = new HashSet<>();
+        for (String field : PATCH_FIELDS) {
+            if (request.getParameter(field) != null) {
+                changedFields.add(field);
+            }
+        }
+
+        try {
+            // 未提交的状态保持为空，不会被当作修改为默认值 (A status not sent stays null
+            // instead of turning into the default)
+            Student student = buildStudentFromRequest(request, null);
+            student.setId(id);
+
+            // 调用业务逻辑层部分更新 (Call service layer to update partially)
+            studentService.updatePartial(student, changedFields, expectedUpdateTime);
+            writeJson(response, Result.success("更新学生信息成功！"));
+
+        } catch (VersionConflictException e) {
+            writeJson(response, Result.error(HttpServletResponse.SC_CONFLICT, e.getMessage()));
+        } catch (Exception e) {
+            LogUtil.warn("部分更新学生失败：" + e.getMessage());
             writeJson(response, Result.error(e.getMessage()));
         }
     }
@@ -258,13 +540,18 @@ public class StudentServlet extends HttpServlet {
         // 转换为 Integer 数组 (Convert to Integer array)
         Integer[] ids = StringUtil.toIntArray(idStrings);
 
-        // 调用业务逻辑层批量删除 (Call service layer to batch delete)
-        int count = studentService.deleteBatch(ids);
+        try {
+            // 调用业务逻辑层批量删除 (Call service layer to batch delete)
+            int count = studentService.deleteBatch(ids);
 
-        if (count > 0) {
-            writeJson(response, Result.success("成功删除 " + count + " 条记录！"));
-        } else {
-            writeJson(response, Result.error("批量删除失败！"));
+            if (count > 0) {
+                writeJson(response, Result.success("成功删除 " + count + " 条记录！"));
+            } else {
+                writeJson(response, Result.error("批量删除失败！"));
+            }
+        } catch (Exception e) {
+            // 部分块已提交时消息中带已删除的条数 (The message carries the count when some chunks committed)
+            writeJson(response, Result.error(e.getMessage()));
         }
     }
 
@@ -273,7 +560,7 @@ public class StudentServlet extends HttpServlet {
      * Handle query student by ID request
      */
     private void handleGetById(HttpServletRequest request, HttpServletResponse response)
-            throws IOException {
+            throws Exception {
 
         // 获取学生 ID (Get student ID)
         Integer id = StringUtil.toInt(request.getParameter("id"));
@@ -283,10 +570,19 @@ public class StudentServlet extends HttpServlet {
             return;
         }
 
-        // 调用业务逻辑层查询 (Call service layer to query)
-        Student student = studentService.queryById(id);
+        // 版本号和数据读自同一连接 (Version and data come from the same connection)
+        Validator validator = new Validator();
+        Student student = DBUtil.inReadOnly(() -> validator.check(request, studentService.getDataVersion())
+                ? null
+                // 调用业务逻辑层查询 (Call service layer to query)
+                : studentService.queryById(id));
+        if (validator.isNotModified()) {
+            validator.writeNotModified(response);
+            return;
+        }
 
         if (student != null) {
+            validator.apply(response);
             writeJson(response, Result.success("查询成功", student));
         } else {
             writeJson(response, Result.error("学生不存在！"));
@@ -295,14 +591,96 @@ public class StudentServlet extends HttpServlet {
 
     // ==================== 私有辅助方法 (Private Helper Methods) ====================
 
+    /**
+     * 判断是否为写操作
+     * Check whether the action writes data
+     *
+     * @param action 操作类型
+     * @return true 写操作
+     */
+    private boolean isWriteAction(String action) {
+        return "add".equals(action) || "addBatch".equals(action) || "syncBatch".equals(action)
+                || "update".equals(action)
+                || "patch".equals(action) || "delete".equals(action) || "deleteBatch".equals(action);
+    }
+
+    /**
+     * 从请求中构建查询条件，查询和导出共用
+     * Build query conditions from the request, shared by query and export
+     *
+     * @param request HTTP 请求
+     * @return 查询条件 Map
+     */
+    private Map<String, Object> buildConditions(HttpServletRequest request) {
+        Map<String, Object> conditions = new HashMap<>();
+
+        String studentNo = request.getParameter("studentNo");
+        String name = request.getParameter("name");
+        String gender = request.getParameter("gender");
+        String major = request.getParameter("major");
+        String className = request.getParameter("className");
+        String status = request.getParameter("status");
+
+        // 只添加非空条件 (Only add non-empty conditions)
+        if (StringUtil.isNotEmpty(studentNo)) {
+            conditions.put("studentNo", studentNo);
+        }
+        if (StringUtil.isNotEmpty(name)) {
+            conditions.put("name", name);
+        }
+        if (StringUtil.isNotEmpty(gender)) {
+            conditions.put("gender", StringUtil.toInt(gender));
+        }
+        if (StringUtil.isNotEmpty(major)) {
+            conditions.put("major", major);
+        }
+        if (StringUtil.isNotEmpty(className)) {
+            conditions.put("className", className);
+        }
+        if (StringUtil.isNotEmpty(status)) {
+            conditions.put("status", StringUtil.toInt(status));
+        }
+
+        // 文本匹配方式：prefix 表示前缀匹配，默认包含匹配 (Text match mode: prefix, default contains)
+        if ("prefix".equals(request.getParameter("matchMode"))) {
+            conditions.put("matchMode", "prefix");
+        }
+
+        return conditions;
+    }
+
+    /**
+     * 读取必填的版本号 updateTime（读取时的 update_time）；缺少时返回 428，格式错误时返回 400
+     * Read the mandatory updateTime version (the update_time read earlier); a missing one yields
+     * 428 and a malformed one 400
+     *
+     * @param request HTTP 请求
+     * @param response HTTP 响应，出错时写入错误结果
+     * @return 版本号，出错时返回 null
+     */
+    private Timestamp parseVersion(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String updateTime = request.getParameter("updateTime");
+        if (StringUtil.isEmpty(updateTime)) {
+            writeJson(response, Result.error(SC_PRECONDITION_REQUIRED, "缺少版本号 updateTime，请刷新后重试！"));
+            return null;
+        }
+        try {
+            return Timestamp.valueOf(updateTime.trim());
+        } catch (IllegalArgumentException e) {
+            writeJson(response, Result.badRequest("版本号格式错误：" + updateTime));
+            return null;
+        }
+    }
+
     /**
      * 从请求中构建 Student 对象
      * Build Student object from request
      *
      * @param request HTTP 请求
+     * @param defaultStatus 未提交状态时使用的值，部分更新时为 null
      * @return Student 对象
      */
-    private Student buildStudentFromRequest(HttpServletRequest request) {
+    private Student buildStudentFromRequest(HttpServletRequest request, Integer defaultStatus) {
         Student student = new Student();
 
         student.setStudentNo(request.getParameter("studentNo"));
@@ -320,15 +698,100 @@ public class StudentServlet extends HttpServlet {
             try {
                 student.setEnrollmentDate(Date.valueOf(enrollmentDateStr));
             } catch (IllegalArgumentException e) {
-                System.err.println("日期格式错误：" + enrollmentDateStr);
+                LogUtil.warn("日期格式错误：" + enrollmentDateStr);
             }
         }
 
-        student.setStatus(StringUtil.toInt(request.getParameter("status"), 1));
+        student.setStatus(StringUtil.toInt(request.getParameter("status"), defaultStatus));
 
         return student;
     }
 
+    /**
+     * 从数组参数中构建学生列表
+     * Build a student list from array parameters
+     *
+     * @param request HTTP 请求
+     * @param studentNos 学号数组，决定学生个数
+     * @return 学生列表
+     */
+    private List<Student> buildStudentsFromRequest(HttpServletRequest request, String[] studentNos) {
+        String[] names = request.getParameterValues("name[]");
+        String[] genders = request.getParameterValues("gender[]");
+        String[] ages = request.getParameterValues("age[]");
+        String[] majors = request.getParameterValues("major[]");
+        String[] classNames = request.getParameterValues("className[]");
+        String[] phones = request.getParameterValues("phone[]");
+        String[] emails = request.getParameterValues("email[]");
+        String[] enrollmentDates = request.getParameterValues("enrollmentDate[]");
+        String[] statuses = request.getParameterValues("status[]");
+
+        List<Student> students = new ArrayList<>(studentNos.length);
+        for (int i = 0; i < studentNos.length; i++) {
+            Student student = new Student();
+            student.setStudentNo(studentNos[i]);
+            student.setName(valueAt(names, i));
+            student.setGender(StringUtil.toInt(valueAt(genders, i)));
+            student.setAge(StringUtil.toInt(valueAt(ages, i)));
+            student.setMajor(valueAt(majors, i));
+            student.setClassName(valueAt(classNames, i));
+            student.setPhone(valueAt(phones, i));
+            student.setEmail(valueAt(emails, i));
+
+            // 处理日期 (Handle date)
+            String enrollmentDateStr = valueAt(enrollmentDates, i);
+            if (StringUtil.isNotEmpty(enrollmentDateStr)) {
+                try {
+                    student.setEnrollmentDate(Date.valueOf(enrollmentDateStr));
+                } catch (IllegalArgumentException e) {
+                    LogUtil.warn("日期格式错误：" + enrollmentDateStr);
+                }
+            }
+
+            student.setStatus(StringUtil.toInt(valueAt(statuses, i), 1));
+            students.add(student);
+        }
+        return students;
+    }
+
+    /**
+     * 取数组参数中的第 i 个值，缺少时返回 null
+     * Get the i-th value of an array parameter, null when missing
+     */
+    private String valueAt(String[] values, int i) {
+        return values != null && i < values.length ? values[i] : null;
+    }
+
+    /**
+     * 把学生转换为一条 CSV 记录，性别和状态写为文本，与导入的格式一致
+     * Convert a student to a CSV record; gender and status are written as text, matching the
+     * import format
+     */
+    private List<String> toCsvRecord(Student student, List<String> columns) {
+        List<String> record = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            Object value;
+            switch (column) {
+                case "id": value = student.getId(); break;
+                case "studentNo": value = student.getStudentNo(); break;
+                case "name": value = student.getName(); break;
+                case "gender": value = student.getGender() != null ? student.getGenderText() : null; break;
+                case "age": value = student.getAge(); break;
+                case "major": value = student.getMajor(); break;
+                case "className": value = student.getClassName(); break;
+                case "phone": value = student.getPhone(); break;
+                case "email": value = student.getEmail(); break;
+                case "enrollmentDate": value = student.getEnrollmentDate(); break;
+                case "createTime": value = student.getCreateTime(); break;
+                case "updateTime": value = student.getUpdateTime(); break;
+                case "status": value = student.getStatus() != null ? student.getStatusText() : null; break;
+                default: value = null; break;
+            }
+            record.add(value != null ? value.toString() : null);
+        }
+        return record;
+    }
+
     /**
      * 将结果对象转换为 JSON 并写入响应
      * Convert result object to JSON and write to response
@@ -340,8 +803,100 @@ public class StudentServlet extends HttpServlet {
     private void writeJson(HttpServletResponse response, Result<?> result) throws IOException {
         PrintWriter out = response.getWriter();
         String json = JsonUtil.toJson(result);
-        System.out.println("返回 JSON: " + json);
+        // 整个响应体只在 DEBUG 级别输出 (The full body is logged at DEBUG only)
+        if (LogUtil.isDebugEnabled()) {
+            LogUtil.debug("返回 JSON: " + json);
+        }
         out.print(json);
         out.flush();
     }
+
+    /**
+     * 条件 GET 的校验值，由数据库中的学生数据版本号生成（任何实例的任何写入都会在同一事务中改变它）
+     * Validators for conditional GETs, derived from the student data version row in the database
+     * (every write on any instance changes it in the same transaction)
+     *
+     * 版本号在与查询相同的只读单元中先于数据读取：从滞后的副本读到的数据带的是该副本上的旧版本号，
+     * 查询期间的写入最多让下次请求多返回一次数据，不会产生错误的 304。响应带 ETag 和
+     * Cache-Control: no-cache，浏览器每次都带 If-None-Match 重新验证；不支持 If-Modified-Since
+     * （时间精度不足以区分同一秒内的写入）。版本号读取失败时不带校验值
+     * The version is read before the data in the same read-only unit as the query: data from a
+     * lagging replica carries that replica's older version, and a write during the query at worst
+     * costs the next request one more full response, never a false 304. Responses carry ETag and
+     * Cache-Control: no-cache, so browsers revalidate every time with If-None-Match;
+     * If-Modified-Since is not supported (dates cannot tell apart writes within one second). No
+     * validators are sent when the version cannot be read
+     *
+     * 注意：进程内的缓存（PageResultCache、StudentCache、列式副本）只在本实例写入时失效，其他实例的
+     * 写入要等到它们过期后才可见；在此之前返回的数据可能带着较新的版本号
+     * Note: the in-process caches (PageResultCache, StudentCache, the columnar replica) are only
+     * invalidated by this instance's writes and see other instances' writes once their entries
+     * expire; until then a response may pair older data with a newer version
+     */
+    private static final class Validator {
+
+        private String etag;
+        private boolean notModified;
+
+        /**
+         * 记下版本号对应的校验值，客户端缓存的数据仍是最新时返回 true（调用方不再查询）
+         * Record the validator for the version; true when the client's copy is still current (the
+         * caller then skips the query)
+         *
+         * @param version 数据版本号，null 表示不带校验值
+         * @return true 未变化
+         */
+        boolean check(HttpServletRequest request, Long version) {
+            if (version == null || !"GET".equals(request.getMethod())) {
+                return false;
+            }
+            etag = "W/\"" + version + "\"";
+            String ifNoneMatch = request.getHeader("If-None-Match");
+            notModified = ifNoneMatch != null && matches(ifNoneMatch);
+            return notModified;
+        }
+
+        boolean isNotModified() {
+            return notModified;
+        }
+
+        /**
+         * 写入不带响应体的 304
+         * Write a bodyless 304
+         */
+        void writeNotModified(HttpServletResponse response) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            apply(response);
+        }
+
+        /**
+         * 写入校验值响应头（没有校验值时不写）
+         * Write the validator headers (nothing when there is no validator)
+         */
+        void apply(HttpServletResponse response) {
+            if (etag != null) {
+                response.setHeader("ETag", etag);
+                response.setHeader("Cache-Control", "no-cache");
+            }
+        }
+
+        /**
+         * If-None-Match 中任一标签与当前标签弱比较相等（或为 *）
+         * Any tag in If-None-Match equals the current tag by weak comparison (or is *)
+         */
+        private boolean matches(String ifNoneMatch) {
+            String current = opaque(etag);
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if ("*".equals(tag) || current.equals(opaque(tag))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String opaque(String tag) {
+            return tag.startsWith("W/") ? tag.substring(2) : tag;
+        }
+    }
 }
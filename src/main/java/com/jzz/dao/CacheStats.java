@@ -0,0 +1,136 @@
+package com.jzz.dao;
+
+/**
+ * 缓存统计快照
+ * Cache Statistics Snapshot
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class CacheStats {
+
+    // ==================== 容量 (Capacity) ====================
+    private int size;
+    private int maxEntries;
+    private long ttlSeconds;
+
+    // ==================== 计数 (Counters) ====================
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expirationCount;
+    private long invalidationCount;
+
+    // 提前刷新次数和合并到进行中查询的次数（仅查询结果缓存）
+    // Early refreshes and requests joined to an in-flight load (query result cache only)
+    private long refreshCount;
+    private long coalescedCount;
+
+    /**
+     * 命中率（0 到 1），尚无请求时为 0
+     * Hit rate (0 to 1), 0 before any request
+     *
+     * @return 命中率
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    // ==================== Getter 和 Setter 方法 (Getter and Setter Methods) ====================
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+
+    public long getExpirationCount() {
+        return expirationCount;
+    }
+
+    public void setExpirationCount(long expirationCount) {
+        this.expirationCount = expirationCount;
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    public void setInvalidationCount(long invalidationCount) {
+        this.invalidationCount = invalidationCount;
+    }
+
+    public long getRefreshCount() {
+        return refreshCount;
+    }
+
+    public void setRefreshCount(long refreshCount) {
+        this.refreshCount = refreshCount;
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    public void setCoalescedCount(long coalescedCount) {
+        this.coalescedCount = coalescedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "size=" + size +
+                ", maxEntries=" + maxEntries +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", expirationCount=" + expirationCount +
+                ", invalidationCount=" + invalidationCount +
+                ", refreshCount=" + refreshCount +
+                ", coalescedCount=" + coalescedCount +
+                '}';
+    }
+}
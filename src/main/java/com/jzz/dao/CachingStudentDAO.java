@@ -0,0 +1,372 @@
+package com.jzz.dao;
+
+import com.jzz.db.UnitOfWork;
+import com.jzz.model.PageCursor;
+import com.jzz.model.PageResult;
+import com.jzz.model.Student;
+import com.jzz.model.StudentFields;
+import com.jzz.util.DBUtil;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 带单行缓存的学生数据访问实现
+ * Student Data Access Object with a Row Cache
+ *
+ * 包装另一个 StudentDAO：selectById 和 selectByStudentNo 先查缓存，未命中时读主库并放入缓存
+ * （不读可能滞后的只读副本）；其余查询直接转发。修改或删除单行的操作在写入后立即失效对应条目，事务中还会在事务结束后再失效一次，
+ * 防止其他线程在提交前把旧数据重新放回缓存
+ * Wraps another StudentDAO: selectById and selectByStudentNo check the cache first and load from
+ * the primary on a miss (never from a possibly lagging replica); every other query is forwarded. Operations that modify or delete rows
+ * invalidate the matching entries right after the write and, inside a transaction, once more
+ * after it ends, so other threads cannot put the old row back before the commit
+ *
+ * 每次写入还会递增 StudentDataVersion（使缓存的分页查询结果失效）和数据库中的数据版本号
+ * （条件 GET 的校验值由它生成）；插入和修改学号之前先把学号加入 StudentNoFilter。
+ * 启用列式副本（StudentColumnStore）或文本索引（StudentTextIndex）时，在递增版本号之前把
+ * 写入的行重新读入其中
+ * Every write also bumps StudentDataVersion, which invalidates cached page query results, and the
+ * data version row in the database, which the conditional GET validators are derived from;
+ * inserts and student number changes add the number to StudentNoFilter first. When the
+ * columnar replica (StudentColumnStore) or the text index (StudentTextIndex) is enabled, the
+ * written rows are re-read into it before the version is bumped
+ *
+ * 写事务中的读取不经过缓存，既不会读到其他线程放入的旧数据，也不会把未提交的数据放入缓存。
+ * 不存在的学生不缓存，因此插入不需要失效
+ * Reads inside a write transaction bypass the cache, so they neither see old rows put by other
+ * threads nor cache uncommitted ones. Missing students are not cached, so inserts need no
+ * invalidation
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class CachingStudentDAO implements StudentDAO {
+
+    /**
+     * 全部实例共享的缓存，容量为 0 时不创建
+     * Cache shared by all instances, not created when the capacity is 0
+     */
+    private static final StudentCache CACHE = DBUtil.getStudentCacheMaxEntries() > 0
+            ? new StudentCache(DBUtil.getStudentCacheMaxEntries(), DBUtil.getStudentCacheTtlSeconds())
+            : null;
+
+    private final StudentDAO delegate;
+
+    public CachingStudentDAO(StudentDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 获取缓存统计
+     * Get cache statistics
+     *
+     * @return 统计，缓存关闭时返回 null
+     */
+    public static CacheStats getCacheStats() {
+        return CACHE != null ? CACHE.getStats() : null;
+    }
+
+    // ==================== 缓存的查询 (Cached Queries) ====================
+
+    @Override
+    public Student selectById(Integer id) throws SQLException {
+        if (!cacheable()) {
+            return delegate.selectById(id);
+        }
+        Student cached = CACHE.getById(id);
+        if (cached != null) {
+            return cached;
+        }
+        long version = CACHE.version();
+        Student student = loadFromPrimary("id", id);
+        if (student != null) {
+            CACHE.put(student, version);
+        }
+        return student;
+    }
+
+    @Override
+    public Student selectByStudentNo(String studentNo) throws SQLException {
+        if (!cacheable()) {
+            return delegate.selectByStudentNo(studentNo);
+        }
+        Student cached = CACHE.getByStudentNo(studentNo);
+        if (cached != null) {
+            return cached;
+        }
+        long version = CACHE.version();
+        Student student = loadFromPrimary("student_no", studentNo);
+        if (student != null) {
+            CACHE.put(student, version);
+        }
+        return student;
+    }
+
+    // ==================== 失效缓存的写操作 (Invalidating Writes) ====================
+
+    @Override
+    public int insert(Student student) throws SQLException {
+        StudentNoFilter.add(student.getStudentNo());
+        int rows = delegate.insert(student);
+        refreshStudentNos(Collections.singletonList(student.getStudentNo()));
+        dataChanged();
+        return rows;
+    }
+
+    @Override
+    public int insertBatch(List<Student> students) throws SQLException {
+        addStudentNos(students);
+        int rows = delegate.insertBatch(students);
+        refreshStudentNos(studentNosOf(students));
+        dataChanged();
+        return rows;
+    }
+
+    @Override
+    public int update(Student student) throws SQLException {
+        StudentNoFilter.add(student.getStudentNo());
+        int rows = delegate.update(student);
+        refreshIds(Collections.singletonList(student.getId()));
+        dataChanged();
+        invalidateId(student.getId());
+        return rows;
+    }
+
+    @Override
+    public int updateFields(Student student, StudentFields fields, Timestamp expectedUpdateTime) throws SQLException {
+        if (fields == null || fields.contains("studentNo")) {
+            StudentNoFilter.add(student.getStudentNo());
+        }
+        int rows = delegate.updateFields(student, fields, expectedUpdateTime);
+        refreshIds(Collections.singletonList(student.getId()));
+        dataChanged();
+        invalidateId(student.getId());
+        return rows;
+    }
+
+    @Override
+    public int upsert(Student student) throws SQLException {
+        StudentNoFilter.add(student.getStudentNo());
+        int rows = delegate.upsert(student);
+        refreshStudentNos(Collections.singletonList(student.getStudentNo()));
+        dataChanged();
+        invalidateStudentNo(student.getStudentNo());
+        return rows;
+    }
+
+    @Override
+    public int upsertBatch(List<Student> students) throws SQLException {
+        addStudentNos(students);
+        int rows = delegate.upsertBatch(students);
+        refreshStudentNos(studentNosOf(students));
+        dataChanged();
+        for (Student student : students) {
+            invalidateStudentNo(student.getStudentNo());
+        }
+        return rows;
+    }
+
+    @Override
+    public int deleteById(Integer id) throws SQLException {
+        int rows = delegate.deleteById(id);
+        refreshIds(Collections.singletonList(id));
+        dataChanged();
+        invalidateId(id);
+        return rows;
+    }
+
+    @Override
+    public int deleteBatch(Integer[] ids) throws SQLException {
+        int rows = delegate.deleteBatch(ids);
+        refreshIds(Arrays.asList(ids));
+        dataChanged();
+        for (Integer id : ids) {
+            invalidateId(id);
+        }
+        return rows;
+    }
+
+    @Override
+    public int purgeDeletedByStudentNo(String studentNo) throws SQLException {
+        int rows = delegate.purgeDeletedByStudentNo(studentNo);
+        invalidateStudentNo(studentNo);
+        return rows;
+    }
+
+    // ==================== 直接转发 (Forwarded) ====================
+
+    @Override
+    public List<Student> selectByConditions(Map<String, Object> conditions, String orderBy, String orderType,
+                                            int offset, int limit, StudentFields fields) throws SQLException {
+        return delegate.selectByConditions(conditions, orderBy, orderType, offset, limit, fields);
+    }
+
+    @Override
+    public PageResult<Student> selectPageWithCount(Map<String, Object> conditions, String orderBy, String orderType,
+                                                   int offset, int limit, StudentFields fields) throws SQLException {
+        return delegate.selectPageWithCount(conditions, orderBy, orderType, offset, limit, fields);
+    }
+
+    @Override
+    public long estimateCount(Map<String, Object> conditions) {
+        return delegate.estimateCount(conditions);
+    }
+
+    @Override
+    public List<Student> selectByCursor(Map<String, Object> conditions, PageCursor cursor, int limit,
+                                        StudentFields fields) throws SQLException {
+        return delegate.selectByCursor(conditions, cursor, limit, fields);
+    }
+
+    @Override
+    public PageCursor cursorOf(Student student, String orderBy, String orderType, boolean backward) {
+        return delegate.cursorOf(student, orderBy, orderType, backward);
+    }
+
+    @Override
+    public long countByConditions(Map<String, Object> conditions) throws SQLException {
+        return delegate.countByConditions(conditions);
+    }
+
+    @Override
+    public Set<String> selectExistingStudentNos(Collection<String> studentNos) throws SQLException {
+        return delegate.selectExistingStudentNos(studentNos);
+    }
+
+    @Override
+    public int purgeDeleted(Timestamp deletedBefore, int limit) throws SQLException {
+        // 只清理已软删除的行，这些行不会被查询到，也不在缓存中 (Only purges soft-deleted rows, which are never read or cached)
+        return delegate.purgeDeleted(deletedBefore, limit);
+    }
+
+    @Override
+    public long streamByConditions(Map<String, Object> conditions, String orderBy, String orderType,
+                                   StudentFields fields, RowHandler handler) throws SQLException, IOException {
+        return delegate.streamByConditions(conditions, orderBy, orderType, fields, handler);
+    }
+
+    @Override
+    public List<Student> selectAll() throws SQLException {
+        return delegate.selectAll();
+    }
+
+    @Override
+    public Long selectDataVersion() throws SQLException {
+        return delegate.selectDataVersion();
+    }
+
+    @Override
+    public void bumpDataVersion() throws SQLException {
+        delegate.bumpDataVersion();
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    /**
+     * 从主库读取未命中的行：从滞后的副本读到的旧行会在缓存中保留整个有效期
+     * Load a missed row from the primary: a stale row read from a lagging replica would stay
+     * cached for the whole time-to-live
+     */
+    private static Student loadFromPrimary(String column, Object key) throws SQLException {
+        List<Student> found = StudentDAOImpl.selectLiveFromPrimary(column, Collections.singletonList(key), null);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * 缓存已启用且当前不在写事务中
+     * The cache is enabled and the current thread is not inside a write transaction
+     */
+    private static boolean cacheable() {
+        return CACHE != null && !inWriteTransaction();
+    }
+
+    private static boolean inWriteTransaction() {
+        UnitOfWork unit = UnitOfWork.current();
+        return unit != null && !unit.isReadOnly();
+    }
+
+    private static void addStudentNos(List<Student> students) {
+        for (Student student : students) {
+            StudentNoFilter.add(student.getStudentNo());
+        }
+    }
+
+    private static List<String> studentNosOf(List<Student> students) {
+        List<String> studentNos = new ArrayList<>(students.size());
+        for (Student student : students) {
+            studentNos.add(student.getStudentNo());
+        }
+        return studentNos;
+    }
+
+    /**
+     * 从主库重新读取这些行到列式副本和文本索引，事务中在事务结束后读取；在递增版本号之前调用，
+     * 使版本号变化后执行的查询不会从中读到旧数据
+     * Re-read these rows into the columnar replica and the text index, after the transaction ends
+     * when inside one; called before bumping the version so a query made after the bump never
+     * reads old rows from them
+     */
+    private static void refreshIds(List<Integer> ids) {
+        StudentColumnStore columnStore = StudentColumnStore.shared();
+        if (columnStore != null) {
+            UnitOfWork.afterCompletion(() -> columnStore.refreshIds(ids));
+        }
+        StudentTextIndex textIndex = StudentTextIndex.shared();
+        if (textIndex != null) {
+            UnitOfWork.afterCompletion(() -> textIndex.refreshIds(ids));
+        }
+    }
+
+    private static void refreshStudentNos(List<String> studentNos) {
+        StudentColumnStore columnStore = StudentColumnStore.shared();
+        if (columnStore != null) {
+            UnitOfWork.afterCompletion(() -> columnStore.refreshStudentNos(studentNos));
+        }
+        StudentTextIndex textIndex = StudentTextIndex.shared();
+        if (textIndex != null) {
+            UnitOfWork.afterCompletion(() -> textIndex.refreshStudentNos(studentNos));
+        }
+    }
+
+    /**
+     * 递增数据库中的数据版本号（与写入同一事务，所有实例共享），再递增本进程的 StudentDataVersion
+     * 使缓存的查询结果失效；事务中在事务结束后再递增一次本进程的版本号
+     * Bump the data version in the database (in the write's transaction, shared by every
+     * instance), then bump this process's StudentDataVersion so cached query results become
+     * invalid; inside a transaction bump the process version once more after it ends
+     */
+    private void dataChanged() throws SQLException {
+        delegate.bumpDataVersion();
+        StudentDataVersion.bump();
+        if (inWriteTransaction()) {
+            UnitOfWork.afterCompletion(StudentDataVersion::bump);
+        }
+    }
+
+    private static void invalidateId(Integer id) {
+        if (CACHE != null && id != null) {
+            CACHE.invalidateId(id);
+            if (inWriteTransaction()) {
+                UnitOfWork.afterCompletion(() -> CACHE.invalidateId(id));
+            }
+        }
+    }
+
+    private static void invalidateStudentNo(String studentNo) {
+        if (CACHE != null && studentNo != null) {
+            CACHE.invalidateStudentNo(studentNo);
+            if (inWriteTransaction()) {
+                UnitOfWork.afterCompletion(() -> CACHE.invalidateStudentNo(studentNo));
+            }
+        }
+    }
+}
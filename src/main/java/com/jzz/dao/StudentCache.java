@@ -0,0 +1,296 @@
+package com.jzz.dao;
+
+import com.jzz.model.Student;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 学生单行缓存
+ * Student Row Cache
+ *
+ * 以 ID 为主键、学号为二级索引的有界缓存：超过容量时淘汰最近最少使用的条目，条目超过有效期后视为不存在。
+ * 缓存的是副本，调用方修改返回的对象不会影响缓存
+ * A bounded cache keyed by id with student number as a secondary index: past capacity the least
+ * recently used entry is evicted, and entries past their time-to-live count as absent.
+ * It holds copies, so callers may modify the objects they get back
+ *
+ * 条目按 ID 分到多个段，每段有自己的锁和 LRU 顺序，不同段的读写互不阻塞；淘汰在段内进行，
+ * 因此最近最少使用是按段近似的。学号索引是并发 Map
+ * Entries are spread by id over several segments, each with its own lock and LRU order, so reads
+ * and writes on different segments never block each other; eviction happens within a segment,
+ * which makes least-recently-used approximate per segment. The student number index is a
+ * concurrent map
+ *
+ * 每次失效都会递增版本号。读取未命中时先记下版本号再查数据库，放入缓存时版本号已变化说明期间有写操作，
+ * 查到的数据可能已过期，此时不放入缓存
+ * Every invalidation bumps a version. A miss records the version before loading from the
+ * database; if the version has changed by the time the row is put, a write happened in between
+ * and the row may be stale, so it is not cached
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class StudentCache {
+
+    /**
+     * 最大段数；每段至少约 64 个条目，容量小时段数相应减少
+     * Maximum segment count; each segment holds about 64 entries or more, so small caches use fewer
+     */
+    private static final int MAX_SEGMENTS = 16;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Segment[] segments;
+
+    /**
+     * 学号到 ID 的索引
+     * Student number to id index
+     */
+    private final Map<String, Integer> idByStudentNo = new ConcurrentHashMap<>();
+
+    /**
+     * 失效版本号：先递增再在段锁内删除条目，放入时在段锁内比较
+     * Invalidation version: bumped before the entry is removed under the segment lock, compared
+     * under the segment lock on put
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    public StudentCache(int maxEntries, long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+
+        int segmentCount = Math.max(1, Math.min(MAX_SEGMENTS, maxEntries / 64));
+        // 余数分给前几段，各段容量之和正好是 maxEntries (The remainder goes to the first segments,
+        // so the capacities add up to exactly maxEntries)
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maxEntries / segmentCount + (i < maxEntries % segmentCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * 按 ID 读取
+     * Get by id
+     *
+     * @param id 学生 ID
+     * @return 学生副本，未命中时返回 null
+     */
+    public Student getById(Integer id) {
+        return hit(id);
+    }
+
+    /**
+     * 按学号读取
+     * Get by student number
+     *
+     * @param studentNo 学号
+     * @return 学生副本，未命中时返回 null
+     */
+    public Student getByStudentNo(String studentNo) {
+        return hit(studentNo != null ? idByStudentNo.get(studentNo) : null);
+    }
+
+    /**
+     * 当前版本号，读取数据库之前调用
+     * Current version, to be taken before loading from the database
+     *
+     * @return 版本号
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * 放入从数据库读取的学生
+     * Put a student loaded from the database
+     *
+     * @param student 学生
+     * @param loadedVersion 读取数据库之前的版本号
+     */
+    public void put(Student student, long loadedVersion) {
+        Integer id = student.getId();
+        if (id == null) {
+            return;
+        }
+
+        Segment segment = segmentOf(id);
+        synchronized (segment) {
+            if (loadedVersion != version.get()) {
+                return;
+            }
+
+            segment.remove(id);
+            segment.entries.put(id, new Entry(copyOf(student), System.nanoTime() + ttlNanos));
+            if (student.getStudentNo() != null) {
+                idByStudentNo.put(student.getStudentNo(), id);
+            }
+
+            // 按学号失效不持有段锁，先递增版本号再查索引；建立索引之后版本号仍未变化，
+            // 说明之后的失效一定能通过索引找到这个条目
+            // Invalidating by student number does not hold the segment lock: it bumps the version,
+            // then consults the index. If the version is still unchanged once the index is in
+            // place, any later invalidation is bound to find this entry through it
+            if (loadedVersion != version.get()) {
+                segment.remove(id);
+                return;
+            }
+
+            Iterator<Map.Entry<Integer, Entry>> it = segment.entries.entrySet().iterator();
+            while (segment.entries.size() > segment.capacity && it.hasNext()) {
+                Map.Entry<Integer, Entry> eldest = it.next();
+                it.remove();
+                unindex(eldest.getKey(), eldest.getValue());
+                evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * 按 ID 失效
+     * Invalidate by id
+     *
+     * @param id 学生 ID
+     */
+    public void invalidateId(Integer id) {
+        version.incrementAndGet();
+        invalidationCount.increment();
+        if (id != null) {
+            Segment segment = segmentOf(id);
+            synchronized (segment) {
+                segment.remove(id);
+            }
+        }
+    }
+
+    /**
+     * 按学号失效
+     * Invalidate by student number
+     *
+     * @param studentNo 学号
+     */
+    public void invalidateStudentNo(String studentNo) {
+        version.incrementAndGet();
+        invalidationCount.increment();
+        Integer id = studentNo != null ? idByStudentNo.get(studentNo) : null;
+        if (id != null) {
+            Segment segment = segmentOf(id);
+            synchronized (segment) {
+                segment.remove(id);
+            }
+        }
+    }
+
+    /**
+     * 获取统计快照
+     * Get a statistics snapshot
+     *
+     * @return 统计
+     */
+    public CacheStats getStats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        CacheStats stats = new CacheStats();
+        stats.setSize(size);
+        stats.setMaxEntries(maxEntries);
+        stats.setTtlSeconds(TimeUnit.NANOSECONDS.toSeconds(ttlNanos));
+        stats.setHitCount(hitCount.sum());
+        stats.setMissCount(missCount.sum());
+        stats.setEvictionCount(evictionCount.sum());
+        stats.setExpirationCount(expirationCount.sum());
+        stats.setInvalidationCount(invalidationCount.sum());
+        return stats;
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    private Segment segmentOf(Integer id) {
+        return segments[Math.floorMod(id.hashCode(), segments.length)];
+    }
+
+    private Student hit(Integer id) {
+        if (id == null) {
+            missCount.increment();
+            return null;
+        }
+        Segment segment = segmentOf(id);
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.entries.get(id);
+            if (entry != null && System.nanoTime() - entry.expiresAt > 0) {
+                segment.remove(id);
+                expirationCount.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return copyOf(entry.student);
+    }
+
+    /**
+     * 删除学号索引中仍指向该 ID 的项
+     * Drop the student number index entry if it still points at this id
+     */
+    private void unindex(Integer id, Entry entry) {
+        String studentNo = entry.student.getStudentNo();
+        if (studentNo != null) {
+            idByStudentNo.remove(studentNo, id);
+        }
+    }
+
+    private static Student copyOf(Student s) {
+        return new Student(s.getId(), s.getStudentNo(), s.getName(), s.getGender(), s.getAge(),
+                s.getMajor(), s.getClassName(), s.getPhone(), s.getEmail(),
+                s.getEnrollmentDate(), s.getCreateTime(), s.getUpdateTime(), s.getStatus());
+    }
+
+    /**
+     * 一个段：按访问顺序排列的条目（最久未使用的在前），由段自身加锁
+     * One segment: entries in access order (least recently used first), guarded by the segment itself
+     */
+    private final class Segment {
+        final int capacity;
+        final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void remove(Integer id) {
+            Entry entry = entries.remove(id);
+            if (entry != null) {
+                unindex(id, entry);
+            }
+        }
+    }
+
+    private static class Entry {
+        final Student student;
+        final long expiresAt;
+
+        Entry(Student student, long expiresAt) {
+            this.student = student;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,749 @@
+package com.jzz.dao;
+
+import com.jzz.model.PageResult;
+import com.jzz.model.Student;
+import com.jzz.model.StudentFields;
+import com.jzz.util.DBUtil;
+import com.jzz.util.StringUtil;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * 学生表的内存列式副本
+ * In-Memory Columnar Replica of the Student Table
+ *
+ * 每列存放在一个基本类型数组中：性别、年龄、状态为 int，入学日期为纪元日，创建/更新时间为毫秒，
+ * 专业和班级为字典编码（int 编号 + 字典），其余文本列为 String 数组。加载和刷新见 StudentMirror
+ * Each column lives in a primitive array: gender, age and status as ints, enrollment date as an
+ * epoch day, create/update time as milliseconds, major and class name dictionary-encoded (int codes
+ * plus a dictionary), other text columns as String arrays. See StudentMirror for loading and
+ * refreshing
+ *
+ * 分页查询按列顺序扫描数组得到匹配的行（表较大时并行扫描），总数就是匹配的行数，
+ * 再只对需要的前 offset + limit 行做部分排序。与 SQL 结果不一致的情况一律返回 null，由调用方回退到 SQL：
+ * 副本未就绪、按文本列（字符集排序规则与 Java 不同）排序，关键字中含有 LIKE 通配符，
+ * 或关键字、被筛选列的任一存活行含有 ASCII 可打印字符和常用汉字以外的字符（排序规则可能把它们视为与其他字符相等）
+ * A page query scans the column arrays for matching rows (in parallel for large tables); the total
+ * is the number of matches, and only the first offset + limit rows are partially sorted. Anything
+ * whose result could differ from SQL returns null so the caller falls back to SQL: the replica not
+ * being ready, sorting by a text column (whose collation order differs from Java's), LIKE
+ * wildcards in a keyword, or characters outside printable ASCII and common CJK ideographs in a
+ * keyword or in any live row of a filtered column (the collation may equate them with others)
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public final class StudentColumnStore extends StudentMirror {
+
+    /**
+     * 全局副本，未启用时不创建
+     * The shared replica, not created unless enabled
+     */
+    private static final StudentColumnStore SHARED = DBUtil.isColumnStoreEnabled()
+            ? new StudentColumnStore(DBUtil.getColumnStoreParallelThreshold())
+            : null;
+
+    /**
+     * 空值标记 (Null markers)
+     */
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * 需要的行数不超过该值时用堆选出前 k 行，否则整体排序
+     * Up to this many rows are picked with a heap; beyond it all matches are sorted
+     */
+    private static final int HEAP_SELECT_LIMIT = 10000;
+
+    /**
+     * 可以在副本上排序的列（数值和日期列；student_no 只含字母数字，Java 的忽略大小写顺序与排序规则一致）
+     * Columns the replica can sort by (numeric and date columns; student_no is alphanumeric, so
+     * Java's case-insensitive order matches the collation)
+     */
+    private static final Set<String> SORTABLE = new HashSet<>(Arrays.asList(
+            "id", "student_no", "gender", "age", "enrollment_date", "create_time", "update_time", "status"));
+
+    /**
+     * SQL 允许排序的全部列，其他字段按 id 排序（与 StudentDAOImpl 一致）
+     * Every column SQL may sort by; other fields sort by id (as in StudentDAOImpl)
+     */
+    private static final Set<String> SQL_SORTABLE = new HashSet<>(Arrays.asList(
+            "id", "student_no", "name", "gender", "age", "major", "class_name",
+            "enrollment_date", "create_time", "update_time", "status"));
+
+    private final int parallelThreshold;
+
+    // ==================== 列 (Columns) ====================
+    private int size;
+    private int deadCount;
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private String[] studentNos = new String[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] genders = new int[INITIAL_CAPACITY];
+    private int[] ages = new int[INITIAL_CAPACITY];
+    private int[] majors = new int[INITIAL_CAPACITY];
+    private int[] classNames = new int[INITIAL_CAPACITY];
+    private String[] phones = new String[INITIAL_CAPACITY];
+    private String[] emails = new String[INITIAL_CAPACITY];
+    private int[] enrollmentDays = new int[INITIAL_CAPACITY];
+    private long[] createTimes = new long[INITIAL_CAPACITY];
+    private long[] updateTimes = new long[INITIAL_CAPACITY];
+    private int[] statuses = new int[INITIAL_CAPACITY];
+    private boolean[] live = new boolean[INITIAL_CAPACITY];
+
+    private final Dictionary majorDictionary = new Dictionary();
+    private final Dictionary classNameDictionary = new Dictionary();
+
+    /**
+     * 各文本列中含有排序规则下不稳定字符的存活行数（见 StringUtil.isCollationStable）；
+     * 不为 0 时按该列筛选交给 SQL
+     * Live rows per text column holding characters that are unstable under the collation (see
+     * StringUtil.isCollationStable); filters on a column with a non-zero count are left to SQL
+     */
+    private int unstableStudentNos;
+    private int unstableNames;
+    private int unstableMajors;
+    private int unstableClassNames;
+
+    /**
+     * ID 和学号到行号的索引（只含存活的行）
+     * Id and student number to row indexes (live rows only)
+     */
+    private final Map<Integer, Integer> rowById = new HashMap<>();
+    private final Map<String, Integer> rowByStudentNo = new HashMap<>();
+
+    private final LongAdder servedCount = new LongAdder();
+    private final LongAdder fallbackCount = new LongAdder();
+
+    private StudentColumnStore(int parallelThreshold) {
+        super("学生列式副本", "jzz-column-store", "改为使用 SQL 查询", null);
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * 获取全局副本
+     * Get the shared replica
+     *
+     * @return 副本，未启用（jdbc.columnStore.enabled）时返回 null
+     */
+    public static StudentColumnStore shared() {
+        return SHARED;
+    }
+
+    // ==================== 查询 (Queries) ====================
+
+    /**
+     * 分页查询，参数与 StudentDAO.selectPageWithCount 相同
+     * Page query, with the same parameters as StudentDAO.selectPageWithCount
+     *
+     * @param conditions 查询条件 Map
+     * @param orderBy 排序列
+     * @param orderType 排序类型
+     * @param offset 起始位置
+     * @param limit 返回记录数
+     * @param fields 字段投影，null 表示全部字段
+     * @return 分页结果（总数精确）；副本无法给出与 SQL 相同的结果时返回 null
+     */
+    public PageResult<Student> queryPage(Map<String, Object> conditions, String orderBy, String orderType,
+                                         int offset, int limit, StudentFields fields) {
+        String column = orderBy != null && SQL_SORTABLE.contains(orderBy) ? orderBy : "id";
+        if (!isReady() || !SORTABLE.contains(column) || !supports(conditions)) {
+            fallbackCount.increment();
+            return null;
+        }
+        boolean ascending = !"DESC".equalsIgnoreCase(orderType);
+        StudentFields projection = fields != null ? fields.withColumn(column) : null;
+
+        lock.readLock().lock();
+        try {
+            // 检查之后可能已开始重新加载 (A reload may have started since the check)
+            if (!isReady() || !collationStable(conditions)) {
+                fallbackCount.increment();
+                return null;
+            }
+            int[] matches = scan(conditions);
+            List<Integer> rows = select(matches, comparator(column, ascending), offset, limit);
+            List<Student> students = new ArrayList<>(rows.size());
+            for (Integer row : rows) {
+                students.add(materialize(row, projection));
+            }
+
+            PageResult<Student> result = new PageResult<>(offset / Math.max(limit, 1) + 1, limit,
+                    (long) matches.length, students);
+            result.setHasNextPage(offset + students.size() < matches.length);
+            servedCount.increment();
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== 统计 (Statistics) ====================
+
+    /**
+     * 获取统计
+     * Get statistics
+     *
+     * @return 统计项
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("ready", isReady());
+            stats.put("rows", size - deadCount);
+            stats.put("deadRows", deadCount);
+            stats.put("capacity", ids.length);
+            stats.put("majorDictionary", majorDictionary.size());
+            stats.put("classNameDictionary", classNameDictionary.size());
+            stats.put("unstableTextRows", unstableStudentNos + unstableNames + unstableMajors + unstableClassNames);
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("parallelThreshold", parallelThreshold);
+        stats.put("servedQueries", servedCount.sum());
+        stats.put("fallbackQueries", fallbackCount.sum());
+        stats.put("refreshedRows", getRefreshedRowCount());
+        return stats;
+    }
+
+    // ==================== 镜像维护 (Mirror Maintenance) ====================
+
+    /**
+     * 清空全部列和索引
+     * Clear every column and index
+     */
+    @Override
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            deadCount = 0;
+            Arrays.fill(studentNos, null);
+            Arrays.fill(names, null);
+            Arrays.fill(phones, null);
+            Arrays.fill(emails, null);
+            Arrays.fill(live, false);
+            rowById.clear();
+            rowByStudentNo.clear();
+            majorDictionary.clear();
+            classNameDictionary.clear();
+            unstableStudentNos = 0;
+            unstableNames = 0;
+            unstableMajors = 0;
+            unstableClassNames = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 插入或覆盖一行，调用方持有写锁
+     * Insert or overwrite a row; the caller holds the write lock
+     */
+    @Override
+    void apply(Student student) {
+        Integer row = rowById.get(student.getId());
+        Integer holder = rowByStudentNo.get(student.getStudentNo());
+        if (holder != null && !holder.equals(row)) {
+            // 学号在主库中是唯一的，被其他行占用说明那一行已被删除或改了学号
+            // (Student numbers are unique in the primary, so another holder was deleted or renumbered)
+            remove(holder);
+        }
+        if (row == null) {
+            ensureCapacity(size + 1);
+            row = size++;
+            ids[row] = student.getId();
+            live[row] = true;
+            rowById.put(student.getId(), row);
+        } else {
+            countUnstable(row, -1);
+            if (!studentNos[row].equals(student.getStudentNo())) {
+                rowByStudentNo.remove(studentNos[row], row);
+            }
+        }
+
+        studentNos[row] = student.getStudentNo();
+        names[row] = student.getName();
+        genders[row] = intOf(student.getGender());
+        ages[row] = intOf(student.getAge());
+        majors[row] = majorDictionary.encode(student.getMajor());
+        classNames[row] = classNameDictionary.encode(student.getClassName());
+        phones[row] = student.getPhone();
+        emails[row] = student.getEmail();
+        enrollmentDays[row] = student.getEnrollmentDate() != null
+                ? (int) student.getEnrollmentDate().toLocalDate().toEpochDay() : NULL_INT;
+        createTimes[row] = student.getCreateTime() != null ? student.getCreateTime().getTime() : NULL_LONG;
+        updateTimes[row] = student.getUpdateTime() != null ? student.getUpdateTime().getTime() : NULL_LONG;
+        statuses[row] = intOf(student.getStatus());
+        rowByStudentNo.put(student.getStudentNo(), row);
+        countUnstable(row, 1);
+    }
+
+    @Override
+    void removeId(Integer id) {
+        remove(rowById.get(id));
+    }
+
+    @Override
+    void removeStudentNo(String studentNo) {
+        remove(rowByStudentNo.get(studentNo));
+    }
+
+    /**
+     * 整理稀疏的数组 (Compact the arrays when sparse)
+     */
+    @Override
+    void afterRefresh() {
+        compactIfSparse();
+    }
+
+    /**
+     * 标记一行已删除，调用方持有写锁
+     * Mark a row deleted; the caller holds the write lock
+     */
+    private void remove(Integer row) {
+        if (row == null || !live[row]) {
+            return;
+        }
+        countUnstable(row, -1);
+        live[row] = false;
+        deadCount++;
+        rowById.remove(ids[row], row);
+        rowByStudentNo.remove(studentNos[row], row);
+        studentNos[row] = null;
+        names[row] = null;
+        phones[row] = null;
+        emails[row] = null;
+    }
+
+    /**
+     * 已删除的行超过四分之一时整理数组，调用方持有写锁
+     * Compact the arrays once a quarter of the rows are dead; the caller holds the write lock
+     */
+    private void compactIfSparse() {
+        if (deadCount < INITIAL_CAPACITY || deadCount * 4 < size) {
+            return;
+        }
+        int target = 0;
+        for (int row = 0; row < size; row++) {
+            if (!live[row]) {
+                continue;
+            }
+            ids[target] = ids[row];
+            studentNos[target] = studentNos[row];
+            names[target] = names[row];
+            genders[target] = genders[row];
+            ages[target] = ages[row];
+            majors[target] = majors[row];
+            classNames[target] = classNames[row];
+            phones[target] = phones[row];
+            emails[target] = emails[row];
+            enrollmentDays[target] = enrollmentDays[row];
+            createTimes[target] = createTimes[row];
+            updateTimes[target] = updateTimes[row];
+            statuses[target] = statuses[row];
+            live[target] = true;
+            rowById.put(ids[target], target);
+            rowByStudentNo.put(studentNos[target], target);
+            target++;
+        }
+        Arrays.fill(studentNos, target, size, null);
+        Arrays.fill(names, target, size, null);
+        Arrays.fill(phones, target, size, null);
+        Arrays.fill(emails, target, size, null);
+        Arrays.fill(live, target, size, false);
+        size = target;
+        deadCount = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int length = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, length);
+        studentNos = Arrays.copyOf(studentNos, length);
+        names = Arrays.copyOf(names, length);
+        genders = Arrays.copyOf(genders, length);
+        ages = Arrays.copyOf(ages, length);
+        majors = Arrays.copyOf(majors, length);
+        classNames = Arrays.copyOf(classNames, length);
+        phones = Arrays.copyOf(phones, length);
+        emails = Arrays.copyOf(emails, length);
+        enrollmentDays = Arrays.copyOf(enrollmentDays, length);
+        createTimes = Arrays.copyOf(createTimes, length);
+        updateTimes = Arrays.copyOf(updateTimes, length);
+        statuses = Arrays.copyOf(statuses, length);
+        live = Arrays.copyOf(live, length);
+    }
+
+    // ==================== 扫描和排序 (Scan and Sort) ====================
+
+    /**
+     * 副本能否给出与 SQL 相同的结果：LIKE 通配符（% 和 _）在 SQL 中有特殊含义，此时交给 SQL
+     * Whether the replica matches SQL exactly: LIKE wildcards (% and _) mean something in SQL, so
+     * such keywords are left to it
+     */
+    private static boolean supports(Map<String, Object> conditions) {
+        if (conditions == null) {
+            return true;
+        }
+        for (String key : new String[]{"name", "major", "className"}) {
+            Object value = conditions.get(key);
+            if (value instanceof String && (((String) value).indexOf('%') >= 0 || ((String) value).indexOf('_') >= 0
+                    || ((String) value).indexOf('\\') >= 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 文本条件能否在副本上得到与 SQL 相同的结果：关键字和被筛选列的存活行都只含排序规则下稳定的字符；
+     * 学号是等值比较，排序规则忽略末尾空格，因此关键字末尾有空格时也交给 SQL。调用方持有读锁
+     * Whether text conditions give the same result on the replica as in SQL: the keyword and the
+     * live rows of the filtered column hold only collation-stable characters; the student number is
+     * compared for equality and the collation ignores trailing spaces, so a keyword ending in a
+     * space is left to SQL too. The caller holds the read lock
+     */
+    private boolean collationStable(Map<String, Object> conditions) {
+        if (conditions == null) {
+            return true;
+        }
+        String studentNo = (String) conditions.get("studentNo");
+        if (StringUtil.isNotEmpty(studentNo) && (unstableStudentNos > 0
+                || !StringUtil.isCollationStable(studentNo) || studentNo.endsWith(" "))) {
+            return false;
+        }
+        return textStable((String) conditions.get("name"), unstableNames)
+                && textStable((String) conditions.get("major"), unstableMajors)
+                && textStable((String) conditions.get("className"), unstableClassNames);
+    }
+
+    private static boolean textStable(String keyword, int unstableRows) {
+        return StringUtil.isEmpty(keyword) || (unstableRows == 0 && StringUtil.isCollationStable(keyword));
+    }
+
+    /**
+     * 增减一行的不稳定文本计数，调用方持有写锁
+     * Add or subtract a row's unstable text counts; the caller holds the write lock
+     */
+    private void countUnstable(int row, int delta) {
+        String studentNo = studentNos[row];
+        if (studentNo != null && (!StringUtil.isCollationStable(studentNo) || studentNo.endsWith(" "))) {
+            unstableStudentNos += delta;
+        }
+        if (!StringUtil.isCollationStable(names[row])) {
+            unstableNames += delta;
+        }
+        if (!StringUtil.isCollationStable(majorDictionary.decode(majors[row]))) {
+            unstableMajors += delta;
+        }
+        if (!StringUtil.isCollationStable(classNameDictionary.decode(classNames[row]))) {
+            unstableClassNames += delta;
+        }
+    }
+
+    /**
+     * 按条件逐列过滤，返回匹配的行号（按行号升序）；调用方持有读锁
+     * Filter column by column and return the matching rows (in row order); the caller holds the
+     * read lock
+     */
+    private int[] scan(Map<String, Object> conditions) {
+        List<IntPredicate> predicates = new ArrayList<>();
+        boolean[] liveRows = live;
+        predicates.add(row -> liveRows[row]);
+
+        if (conditions != null) {
+            boolean prefix = "prefix".equals(conditions.get("matchMode"));
+
+            String studentNo = (String) conditions.get("studentNo");
+            if (StringUtil.isNotEmpty(studentNo)) {
+                String[] column = studentNos;
+                predicates.add(row -> studentNo.equalsIgnoreCase(column[row]));
+            }
+            String name = (String) conditions.get("name");
+            if (StringUtil.isNotEmpty(name)) {
+                String keyword = name;
+                String[] column = names;
+                predicates.add(row -> matches(column[row], keyword, prefix));
+            }
+            Integer gender = (Integer) conditions.get("gender");
+            if (gender != null) {
+                int value = gender;
+                int[] column = genders;
+                predicates.add(row -> column[row] == value);
+            }
+            String major = (String) conditions.get("major");
+            if (StringUtil.isNotEmpty(major)) {
+                // 先在字典上匹配一次，扫描时只比较编号 (Match the dictionary once; the scan compares codes only)
+                boolean[] codes = majorDictionary.matching(major, prefix);
+                int[] column = majors;
+                predicates.add(row -> column[row] >= 0 && codes[column[row]]);
+            }
+            String className = (String) conditions.get("className");
+            if (StringUtil.isNotEmpty(className)) {
+                boolean[] codes = classNameDictionary.matching(className, prefix);
+                int[] column = classNames;
+                predicates.add(row -> column[row] >= 0 && codes[column[row]]);
+            }
+            Integer status = (Integer) conditions.get("status");
+            if (status != null) {
+                int value = status;
+                int[] column = statuses;
+                predicates.add(row -> column[row] == value);
+            }
+        }
+
+        IntPredicate[] all = predicates.toArray(new IntPredicate[0]);
+        IntPredicate match = row -> {
+            for (IntPredicate predicate : all) {
+                if (!predicate.test(row)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+
+        IntStream rows = IntStream.range(0, size);
+        if (size >= parallelThreshold) {
+            rows = rows.parallel();
+        }
+        return rows.filter(match).toArray();
+    }
+
+    /**
+     * 排序比较器：与 SQL 一致，NULL 在升序时最前，id 作为第二排序键，降序时整体反转
+     * Sort comparator matching SQL: NULLs first ascending, id as the tie-breaker, everything
+     * reversed when descending
+     */
+    private Comparator<Integer> comparator(String column, boolean ascending) {
+        Comparator<Integer> byId = Comparator.comparingInt(row -> ids[row]);
+        Comparator<Integer> primary;
+        switch (column) {
+            case "student_no":
+                String[] text = studentNos;
+                primary = (a, b) -> text[a].compareToIgnoreCase(text[b]);
+                break;
+            case "gender":
+                primary = intOrder(genders);
+                break;
+            case "age":
+                primary = intOrder(ages);
+                break;
+            case "status":
+                primary = intOrder(statuses);
+                break;
+            case "enrollment_date":
+                primary = intOrder(enrollmentDays);
+                break;
+            case "create_time":
+                primary = longOrder(createTimes);
+                break;
+            case "update_time":
+                primary = longOrder(updateTimes);
+                break;
+            default:
+                primary = null;
+                break;
+        }
+        Comparator<Integer> order = primary != null ? primary.thenComparing(byId) : byId;
+        return ascending ? order : order.reversed();
+    }
+
+    /**
+     * 选出第 offset 到 offset + limit 行：需要的行少时用大小为 k 的堆，否则整体排序
+     * Pick rows offset to offset + limit: a heap of size k when few rows are needed, otherwise a
+     * full sort
+     */
+    private List<Integer> select(int[] matches, Comparator<Integer> order, int offset, int limit) {
+        int k = offset + limit;
+        if (offset >= matches.length || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        List<Integer> sorted;
+        if (k <= HEAP_SELECT_LIMIT && k < matches.length) {
+            // 堆顶是目前最靠后的行 (The head is the last row kept so far)
+            PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1, order.reversed());
+            for (int row : matches) {
+                if (heap.size() < k) {
+                    heap.add(row);
+                } else if (order.compare(row, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(row);
+                }
+            }
+            sorted = new ArrayList<>(heap);
+            sorted.sort(order);
+        } else {
+            IntStream rows = Arrays.stream(matches);
+            if (matches.length >= parallelThreshold) {
+                rows = rows.parallel();
+            }
+            sorted = rows.boxed().sorted(order).limit(k).collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        }
+        return sorted.subList(offset, Math.min(k, sorted.size()));
+    }
+
+    /**
+     * 还原为 Student，只填充投影中的字段；调用方持有读锁
+     * Rebuild a Student with only the projected fields; the caller holds the read lock
+     */
+    private Student materialize(int row, StudentFields fields) {
+        Student student = new Student();
+        if (fields == null || fields.contains("id")) {
+            student.setId(ids[row]);
+        }
+        if (fields == null || fields.contains("studentNo")) {
+            student.setStudentNo(studentNos[row]);
+        }
+        if (fields == null || fields.contains("name")) {
+            student.setName(names[row]);
+        }
+        if (fields == null || fields.contains("gender")) {
+            student.setGender(integerOf(genders[row]));
+        }
+        if (fields == null || fields.contains("age")) {
+            student.setAge(integerOf(ages[row]));
+        }
+        if (fields == null || fields.contains("major")) {
+            student.setMajor(majorDictionary.decode(majors[row]));
+        }
+        if (fields == null || fields.contains("className")) {
+            student.setClassName(classNameDictionary.decode(classNames[row]));
+        }
+        if (fields == null || fields.contains("phone")) {
+            student.setPhone(phones[row]);
+        }
+        if (fields == null || fields.contains("email")) {
+            student.setEmail(emails[row]);
+        }
+        if ((fields == null || fields.contains("enrollmentDate")) && enrollmentDays[row] != NULL_INT) {
+            student.setEnrollmentDate(Date.valueOf(LocalDate.ofEpochDay(enrollmentDays[row])));
+        }
+        if ((fields == null || fields.contains("createTime")) && createTimes[row] != NULL_LONG) {
+            student.setCreateTime(new Timestamp(createTimes[row]));
+        }
+        if ((fields == null || fields.contains("updateTime")) && updateTimes[row] != NULL_LONG) {
+            student.setUpdateTime(new Timestamp(updateTimes[row]));
+        }
+        if (fields == null || fields.contains("status")) {
+            student.setStatus(integerOf(statuses[row]));
+        }
+        return student;
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    /**
+     * 与 LIKE '%x%' / 'x%' 相同的匹配（忽略大小写，与默认排序规则一致）；NULL 不匹配
+     * Same match as LIKE '%x%' / 'x%' (case-insensitive, as with the default collation); NULL never
+     * matches
+     */
+    private static boolean matches(String value, String keyword, boolean prefix) {
+        if (value == null) {
+            return false;
+        }
+        if (prefix) {
+            return value.regionMatches(true, 0, keyword, 0, keyword.length());
+        }
+        for (int i = 0; i + keyword.length() <= value.length(); i++) {
+            if (value.regionMatches(true, i, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * int 列的顺序，NULL 最小（Integer.MIN_VALUE 本身就是最小值）
+     * Order of an int column with NULL smallest (Integer.MIN_VALUE already is)
+     */
+    private static Comparator<Integer> intOrder(int[] column) {
+        return (a, b) -> Integer.compare(column[a], column[b]);
+    }
+
+    private static Comparator<Integer> longOrder(long[] column) {
+        return (a, b) -> Long.compare(column[a], column[b]);
+    }
+
+    private static int intOf(Integer value) {
+        return value != null ? value : NULL_INT;
+    }
+
+    private static Integer integerOf(int value) {
+        return value != NULL_INT ? value : null;
+    }
+
+    /**
+     * 字典编码：相同的文本共用一个编号，编号只增不减
+     * Dictionary encoding: equal texts share one code, and codes are never reused
+     */
+    private static final class Dictionary {
+
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        /**
+         * 文本的编号，NULL 为 -1
+         * Code of a text, -1 for NULL
+         */
+        int encode(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                values.add(value);
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        String decode(int code) {
+            return code >= 0 ? values.get(code) : null;
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        void clear() {
+            values.clear();
+            codes.clear();
+        }
+
+        /**
+         * 每个编号的文本是否匹配关键字
+         * Whether the text of each code matches the keyword
+         */
+        boolean[] matching(String keyword, boolean prefix) {
+            boolean[] result = new boolean[values.size()];
+            for (int code = 0; code < result.length; code++) {
+                result[code] = matches(values.get(code), keyword, prefix);
+            }
+            return result;
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.jzz.dao;
 
+import com.jzz.model.PageCursor;
+import com.jzz.model.PageResult;
 import com.jzz.model.Student;
+import com.jzz.model.StudentFields;
 
+import java.io.IOException;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 学生数据访问接口
@@ -18,6 +25,22 @@ import java.util.Map;
  */
 public interface StudentDAO {
 
+    /**
+     * 逐行处理回调，用于流式读取
+     * Per-row callback for streaming reads
+     */
+    interface RowHandler {
+
+        /**
+         * 处理一行
+         * Handle one row
+         *
+         * @param student 当前行，处理完后不应再引用
+         * @throws IOException 输出失败（如客户端断开），查询会被取消
+         */
+        void handle(Student student) throws IOException;
+    }
+
     /**
      * 根据条件查询学生列表（支持分页和排序）
      * Query student list by conditions (supports pagination and sorting)
@@ -29,11 +52,69 @@ public interface StudentDAO {
      * @param orderType 排序类型 (Order type)："ASC" 或 "DESC"
      * @param offset 起始位置 (Start offset)，用于分页
      * @param limit 返回记录数 (Number of records to return)
+     * @param fields 字段投影，只查询这些列；null 表示全部字段 (Field projection, null for all fields)
      * @return 学生列表
      * @throws SQLException SQL 异常
      */
-    List<Student> selectByConditions(Map<String, Object> conditions, String orderBy,
-                                     String orderType, int offset, int limit) throws SQLException;
+    List<Student> selectByConditions(Map<String, Object> conditions, String orderBy, String orderType,
+                                     int offset, int limit, StudentFields fields) throws SQLException;
+
+    /**
+     * 根据条件查询一页学生，并在同一次查询中取得符合条件的总数（COUNT(*) OVER()，需要 MySQL 8）
+     * Query one page of students and the matching total in the same query
+     * (COUNT(*) OVER(), requires MySQL 8)
+     *
+     * @param conditions 查询条件 Map
+     * @param orderBy 排序字段
+     * @param orderType 排序类型
+     * @param offset 起始位置
+     * @param limit 返回记录数
+     * @param fields 字段投影，null 表示全部字段
+     * @return 分页结果；该页没有数据时无法得知总数，totalCount 为 null
+     * @throws SQLException SQL 异常
+     */
+    PageResult<Student> selectPageWithCount(Map<String, Object> conditions, String orderBy, String orderType,
+                                            int offset, int limit, StudentFields fields) throws SQLException;
+
+    /**
+     * 根据执行计划估算符合条件的记录数
+     * Estimate the number of matching rows from the execution plan
+     *
+     * @param conditions 查询条件 Map
+     * @return 估算的记录数，数据库不支持时返回 -1
+     */
+    long estimateCount(Map<String, Object> conditions);
+
+    /**
+     * 根据条件和游标查询学生列表（键集分页）
+     * Query student list by conditions after a cursor (keyset pagination)
+     *
+     * 使用 WHERE (sort_col, id) > (?, ?) 定位，耗时与页的深度无关；
+     * 向前翻页的游标返回的列表仍按正常顺序排列
+     * Seeks with WHERE (sort_col, id) > (?, ?), so cost does not grow with page depth;
+     * backward cursors still return rows in display order
+     *
+     * @param conditions 查询条件 Map
+     * @param cursor 分页游标，包含排序字段、排序类型和边界行
+     * @param limit 返回记录数
+     * @param fields 字段投影，null 表示全部字段
+     * @return 学生列表
+     * @throws SQLException SQL 异常（包括游标无效）
+     */
+    List<Student> selectByCursor(Map<String, Object> conditions, PageCursor cursor, int limit,
+                                 StudentFields fields) throws SQLException;
+
+    /**
+     * 生成指向某一行的分页游标
+     * Build a page cursor pointing at a row
+     *
+     * @param student 边界行
+     * @param orderBy 排序字段，不支持的字段按 id 处理
+     * @param orderType 排序类型
+     * @param backward 是否向前翻页
+     * @return 分页游标
+     */
+    PageCursor cursorOf(Student student, String orderBy, String orderType, boolean backward);
 
     /**
      * 根据条件统计学生总数
@@ -75,6 +156,53 @@ public interface StudentDAO {
      */
     int insert(Student student) throws SQLException;
 
+    /**
+     * 批量插入学生记录
+     * Insert student records in a batch
+     *
+     * 使用 JDBC 批处理一次发送，配合连接参数 rewriteBatchedStatements=true 时驱动会改写为多行 INSERT；
+     * 调用方负责校验和分块，任一行失败时抛出 BatchUpdateException
+     * Sends all rows as one JDBC batch; with the rewriteBatchedStatements=true connection property
+     * the driver rewrites it into multi-row INSERTs. Callers validate and chunk the rows;
+     * a failing row raises BatchUpdateException
+     *
+     * @param students 学生列表
+     * @return 插入的记录数
+     * @throws SQLException SQL 异常
+     */
+    int insertBatch(List<Student> students) throws SQLException;
+
+    /**
+     * 按学号插入或更新（依赖 student_no 唯一约束，一条语句完成，不需要先查询）
+     * Insert or update by student number (relies on the UNIQUE student_no constraint; one
+     * statement, no lookup first)
+     *
+     * @param student 学生对象
+     * @return MySQL 的影响行数：1 表示插入，2 表示更新，0 或 1 表示数据未变化
+     * @throws SQLException SQL 异常
+     */
+    int upsert(Student student) throws SQLException;
+
+    /**
+     * 批量按学号插入或更新，使用 JDBC 批处理
+     * Insert or update students by student number in one JDBC batch
+     *
+     * @param students 学生列表，调用方负责校验和分块
+     * @return 处理的记录数
+     * @throws SQLException SQL 异常
+     */
+    int upsertBatch(List<Student> students) throws SQLException;
+
+    /**
+     * 查询已存在的学号（一次 IN 查询检查一组学号）
+     * Query which student numbers already exist (one IN query checks a whole set)
+     *
+     * @param studentNos 要检查的学号
+     * @return 其中已存在的学号
+     * @throws SQLException SQL 异常
+     */
+    Set<String> selectExistingStudentNos(Collection<String> studentNos) throws SQLException;
+
     /**
      * 更新学生信息
      * Update student information
@@ -86,8 +214,20 @@ public interface StudentDAO {
     int update(Student student) throws SQLException;
 
     /**
-     * 根据 ID 删除学生
-     * Delete student by ID
+     * 部分更新：只更新指定的字段，并以 update_time 作为版本检查
+     * Partial update: write only the given fields, using update_time as the version check
+     *
+     * @param student 学生对象，包含 ID 和要更新的字段值
+     * @param fields 要更新的字段（id、createTime、updateTime 会被忽略）
+     * @param expectedUpdateTime 客户端读取时的 update_time，null 表示不检查版本
+     * @return 更新的记录数；0 表示学生不存在或已被他人修改
+     * @throws SQLException SQL 异常
+     */
+    int updateFields(Student student, StudentFields fields, Timestamp expectedUpdateTime) throws SQLException;
+
+    /**
+     * 根据 ID 删除学生（启用软删除时只标记 deleted_at）
+     * Delete student by ID (only marks deleted_at when soft delete is enabled)
      *
      * @param id 学生 ID
      * @return 删除成功的记录数（1 表示成功，0 表示失败）
@@ -96,8 +236,9 @@ public interface StudentDAO {
     int deleteById(Integer id) throws SQLException;
 
     /**
-     * 批量删除学生
-     * Batch delete students
+     * 批量删除学生（启用软删除时只标记 deleted_at）；ID 较多时分多条语句执行，在同一连接（调用方的事务）中
+     * Batch delete students (only marks deleted_at when soft delete is enabled); many ids are split
+     * over several statements on the same connection (the caller's transaction)
      *
      * @param ids 学生 ID 数组
      * @return 删除成功的记录数
@@ -105,6 +246,65 @@ public interface StudentDAO {
      */
     int deleteBatch(Integer[] ids) throws SQLException;
 
+    /**
+     * 清理软删除时间早于指定时间的记录（物理删除），单次最多 limit 行
+     * Purge (physically delete) rows soft-deleted before the given time, at most limit rows
+     *
+     * @param deletedBefore 软删除时间的上限
+     * @param limit 本次最多删除的行数
+     * @return 删除的记录数
+     * @throws SQLException SQL 异常
+     */
+    int purgeDeleted(Timestamp deletedBefore, int limit) throws SQLException;
+
+    /**
+     * 清理某个学号的软删除记录，使该学号可以重新添加
+     * Purge the soft-deleted row of a student number so the number can be added again
+     *
+     * @param studentNo 学号
+     * @return 删除的记录数
+     * @throws SQLException SQL 异常
+     */
+    int purgeDeletedByStudentNo(String studentNo) throws SQLException;
+
+    /**
+     * 按条件流式读取学生（只进游标，不在内存中保留结果集）
+     * Stream students matching the conditions (forward-only cursor, the result set is never held in memory)
+     *
+     * 每读到一行就交给 handler；handler 抛出异常时取消数据库中的查询，不再读取剩余的行
+     * Each row goes to the handler as soon as it is read; if the handler throws, the query is
+     * cancelled on the server and the remaining rows are not read
+     *
+     * @param conditions 查询条件 Map，与分页查询相同
+     * @param orderBy 排序字段
+     * @param orderType 排序类型
+     * @param fields 字段投影，null 表示全部字段
+     * @param handler 逐行处理回调
+     * @return 读取的行数
+     * @throws SQLException SQL 异常
+     * @throws IOException handler 输出失败
+     */
+    long streamByConditions(Map<String, Object> conditions, String orderBy, String orderType,
+                            StudentFields fields, RowHandler handler) throws SQLException, IOException;
+
+    /**
+     * 读取学生表的数据版本号（data_version 表中 student 行），每次写入学生表都会递增
+     * Read the data version of the student table (the student row of data_version), bumped by
+     * every write to the table
+     *
+     * @return 版本号；没有版本行时返回 null
+     * @throws SQLException SQL 异常
+     */
+    Long selectDataVersion() throws SQLException;
+
+    /**
+     * 递增学生表的数据版本号，在写入所在的连接（事务）上执行
+     * Bump the data version of the student table, on the connection (transaction) of the write
+     *
+     * @throws SQLException SQL 异常
+     */
+    void bumpDataVersion() throws SQLException;
+
     /**
      * 查询所有学生
      * Query all students
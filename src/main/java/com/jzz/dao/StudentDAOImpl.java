@@ -1,13 +1,25 @@
 package com.jzz.dao;
 
+import com.jzz.db.SqlDialect;
+import com.jzz.model.PageCursor;
+import com.jzz.model.PageResult;
 import com.jzz.model.Student;
+import com.jzz.model.StudentFields;
+import com.jzz.model.StudentRowMapper;
 import com.jzz.util.DBUtil;
+import com.jzz.util.LogUtil;
 import com.jzz.util.StringUtil;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 学生数据访问实现类
@@ -21,23 +33,75 @@ import java.util.Map;
  */
 public class StudentDAOImpl implements StudentDAO {
 
+    /**
+     * 允许排序的列及其 JDBC 类型，其他排序字段一律按 id 排序（同时防止 SQL 注入）
+     * Sortable columns and their JDBC types; any other sort field falls back to id
+     * (this also keeps user input out of the ORDER BY clause)
+     */
+    private static final Map<String, Integer> SORT_COLUMNS = new HashMap<>();
+
+    /**
+     * 全文索引的 ngram 长度（MySQL ngram_token_size，默认 2）
+     * ngram length of the full-text indexes (MySQL ngram_token_size, default 2)
+     */
+    private static final int NGRAM_TOKEN_SIZE = 2;
+
+    /**
+     * IN 查询每条语句的最大参数个数
+     * Maximum parameters per IN query statement
+     */
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    /**
+     * INSERT 语句的列，顺序与 setInsertParameters 绑定的参数一致
+     * INSERT columns, in the order setInsertParameters binds them
+     */
+    private static final String[] INSERT_COLUMNS = {
+            "student_no", "name", "gender", "age", "major", "class_name", "phone", "email", "enrollment_date", "status"
+    };
+
+    /**
+     * 软删除时按学号插入或更新需要清空的列（恢复已删除的记录）
+     * Columns an upsert clears under soft delete (reviving a deleted row)
+     */
+    private static final String[] SOFT_DELETE_COLUMNS = {"deleted_at"};
+
+    static {
+        SORT_COLUMNS.put("id", Types.INTEGER);
+        SORT_COLUMNS.put("student_no", Types.VARCHAR);
+        SORT_COLUMNS.put("name", Types.VARCHAR);
+        SORT_COLUMNS.put("gender", Types.INTEGER);
+        SORT_COLUMNS.put("age", Types.INTEGER);
+        SORT_COLUMNS.put("major", Types.VARCHAR);
+        SORT_COLUMNS.put("class_name", Types.VARCHAR);
+        SORT_COLUMNS.put("enrollment_date", Types.DATE);
+        SORT_COLUMNS.put("create_time", Types.TIMESTAMP);
+        SORT_COLUMNS.put("update_time", Types.TIMESTAMP);
+        SORT_COLUMNS.put("status", Types.INTEGER);
+    }
+
     /**
      * 根据条件查询学生列表（支持分页和排序）
      * Query student list by conditions (supports pagination and sorting)
      */
     @Override
-    public List<Student> selectByConditions(Map<String, Object> conditions, String orderBy,
-                                           String orderType, int offset, int limit) throws SQLException {
+    public List<Student> selectByConditions(Map<String, Object> conditions, String orderBy, String orderType,
+                                           int offset, int limit, StudentFields fields) throws SQLException {
         Connection conn = null;
         PreparedStatement pstmt = null;
         ResultSet rs = null;
         List<Student> students = new ArrayList<>();
 
         try {
-            conn = DBUtil.getConnection();
+            conn = DBUtil.getReadConnection();
+
+            // 只查询需要的列，排序列总是包含在内 (Select only requested columns, plus the sort column)
+            StudentFields projection = projectionOf(fields, orderBy);
 
             // 构建 SQL 语句 (Build SQL statement)
-            StringBuilder sql = new StringBuilder("SELECT * FROM student WHERE 1=1");
+            StringBuilder sql = new StringBuilder("SELECT ")
+                    .append(projection != null ? projection.toSelectList() : "*")
+                    .append(" FROM student WHERE 1=1").append(liveOnly());
             List<Object> params = new ArrayList<>();
 
             // 添加查询条件 (Add query conditions)
@@ -45,29 +109,25 @@ public class StudentDAOImpl implements StudentDAO {
 
             // 添加排序 (Add ordering)
             if (StringUtil.isNotEmpty(orderBy)) {
-                sql.append(" ORDER BY ").append(orderBy);
-                if ("DESC".equalsIgnoreCase(orderType)) {
-                    sql.append(" DESC");
-                } else {
-                    sql.append(" ASC");
-                }
+                appendOrderBy(sql, resolveSortColumn(orderBy), !"DESC".equalsIgnoreCase(orderType));
             }
 
             // 添加分页 (Add pagination)
-            sql.append(" LIMIT ?, ?");
-            params.add(offset);
-            params.add(limit);
+            DBUtil.getDialect().appendLimit(sql, offset, limit, params);
 
             // 执行查询 (Execute query)
             pstmt = conn.prepareStatement(sql.toString());
             setParameters(pstmt, params);
 
-            System.out.println("执行 SQL: " + sql);
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("执行 SQL: " + sql);
+            }
             rs = pstmt.executeQuery();
+            StudentRowMapper mapper = mapperOf(rs, projection);
 
             // 封装结果 (Encapsulate results)
             while (rs.next()) {
-                students.add(mapResultSetToStudent(rs));
+                students.add(mapper.map(rs));
             }
 
         } finally {
@@ -77,6 +137,213 @@ public class StudentDAOImpl implements StudentDAO {
         return students;
     }
 
+    /**
+     * 根据条件查询一页学生，同时取得总数
+     * Query one page of students together with the total
+     */
+    @Override
+    public PageResult<Student> selectPageWithCount(Map<String, Object> conditions, String orderBy, String orderType,
+                                                   int offset, int limit, StudentFields fields) throws SQLException {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        List<Student> students = new ArrayList<>();
+        Long totalCount = null;
+
+        try {
+            conn = DBUtil.getReadConnection();
+
+            // 窗口函数在 LIMIT 之前计算，得到的是符合条件的总数
+            // The window function is evaluated before LIMIT, so it yields the full matching count
+            StudentFields projection = projectionOf(fields, orderBy);
+            StringBuilder sql = new StringBuilder("SELECT ")
+                    .append(projection != null ? projection.toSelectList() : "student.*")
+                    .append(", COUNT(*) OVER () AS total_count FROM student WHERE 1=1").append(liveOnly());
+            List<Object> params = new ArrayList<>();
+            sql = appendConditions(sql, conditions, params);
+
+            if (StringUtil.isNotEmpty(orderBy)) {
+                appendOrderBy(sql, resolveSortColumn(orderBy), !"DESC".equalsIgnoreCase(orderType));
+            }
+
+            DBUtil.getDialect().appendLimit(sql, offset, limit, params);
+
+            pstmt = conn.prepareStatement(sql.toString());
+            setParameters(pstmt, params);
+
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("执行 SQL: " + sql);
+            }
+            rs = pstmt.executeQuery();
+            StudentRowMapper mapper = mapperOf(rs, projection);
+
+            while (rs.next()) {
+                if (totalCount == null) {
+                    totalCount = rs.getLong("total_count");
+                }
+                students.add(mapper.map(rs));
+            }
+
+        } finally {
+            DBUtil.close(rs, pstmt, conn);
+        }
+
+        return new PageResult<>(offset / limit + 1, limit, totalCount, students);
+    }
+
+    /**
+     * 根据执行计划估算符合条件的记录数
+     * Estimate the number of matching rows from the execution plan
+     *
+     * MySQL 的 EXPLAIN 给出扫描行数 rows 和条件过滤比例 filtered，估算值为两者之积
+     * MySQL's EXPLAIN reports scanned rows and the filtered percentage; the estimate is their product
+     */
+    @Override
+    public long estimateCount(Map<String, Object> conditions) {
+        if (!DBUtil.getDialect().supportsRowEstimate()) {
+            return -1;
+        }
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBUtil.getReadConnection();
+
+            StringBuilder sql = new StringBuilder("EXPLAIN SELECT * FROM student WHERE 1=1").append(liveOnly());
+            List<Object> params = new ArrayList<>();
+            sql = appendConditions(sql, conditions, params);
+
+            pstmt = conn.prepareStatement(sql.toString());
+            setParameters(pstmt, params);
+            rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                long rows = rs.getLong("rows");
+                double filtered = rs.getDouble("filtered");
+                return Math.round(rows * filtered / 100);
+            }
+            return -1;
+
+        } catch (SQLException e) {
+            // 非 MySQL 数据库的执行计划格式不同 (Other databases format plans differently)
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("无法估算记录数：" + e.getMessage());
+            }
+            return -1;
+        } finally {
+            DBUtil.close(rs, pstmt, conn);
+        }
+    }
+
+    /**
+     * 根据条件和游标查询学生列表（键集分页）
+     * Query student list by conditions after a cursor (keyset pagination)
+     */
+    @Override
+    public List<Student> selectByCursor(Map<String, Object> conditions, PageCursor cursor, int limit,
+                                        StudentFields fields) throws SQLException {
+        Integer sortType = SORT_COLUMNS.get(cursor.getOrderBy());
+        if (sortType == null || cursor.getId() == null) {
+            throw new SQLException("无效的分页游标：" + cursor);
+        }
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        List<Student> students = new ArrayList<>();
+
+        try {
+            conn = DBUtil.getReadConnection();
+
+            StudentFields projection = projectionOf(fields, cursor.getOrderBy());
+            StringBuilder sql = new StringBuilder("SELECT ")
+                    .append(projection != null ? projection.toSelectList() : "*")
+                    .append(" FROM student WHERE 1=1").append(liveOnly());
+            List<Object> params = new ArrayList<>();
+            sql = appendConditions(sql, conditions, params);
+
+            // 向前翻页时反向扫描，取到后再倒序 (Backward pages scan in reverse, then flip)
+            boolean ascending = "DESC".equalsIgnoreCase(cursor.getOrderType()) == cursor.isBackward();
+            appendSeek(sql, cursor.getOrderBy(), ascending,
+                    toSortValue(sortType, cursor.getValue()), cursor.getId(), params);
+            appendOrderBy(sql, cursor.getOrderBy(), ascending);
+
+            sql.append(" LIMIT ?");
+            params.add(limit);
+
+            pstmt = conn.prepareStatement(sql.toString());
+            setParameters(pstmt, params);
+
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("执行 SQL: " + sql);
+            }
+            rs = pstmt.executeQuery();
+            StudentRowMapper mapper = mapperOf(rs, projection);
+
+            while (rs.next()) {
+                students.add(mapper.map(rs));
+            }
+
+        } finally {
+            DBUtil.close(rs, pstmt, conn);
+        }
+
+        if (cursor.isBackward()) {
+            Collections.reverse(students);
+        }
+        return students;
+    }
+
+    /**
+     * 生成指向某一行的分页游标
+     * Build a page cursor pointing at a row
+     */
+    @Override
+    public PageCursor cursorOf(Student student, String orderBy, String orderType, boolean backward) {
+        String column = resolveSortColumn(orderBy);
+        Object value;
+        switch (column) {
+            case "student_no":
+                value = student.getStudentNo();
+                break;
+            case "name":
+                value = student.getName();
+                break;
+            case "gender":
+                value = student.getGender();
+                break;
+            case "age":
+                value = student.getAge();
+                break;
+            case "major":
+                value = student.getMajor();
+                break;
+            case "class_name":
+                value = student.getClassName();
+                break;
+            case "enrollment_date":
+                value = student.getEnrollmentDate();
+                break;
+            case "create_time":
+                value = student.getCreateTime();
+                break;
+            case "update_time":
+                value = student.getUpdateTime();
+                break;
+            case "status":
+                value = student.getStatus();
+                break;
+            default:
+                value = student.getId();
+                break;
+        }
+        String type = "DESC".equalsIgnoreCase(orderType) ? "DESC" : "ASC";
+        return new PageCursor(column, type, backward,
+                value != null ? value.toString() : null, student.getId());
+    }
+
     /**
      * 根据条件统计学生总数
      * Count total number of students by conditions
@@ -89,10 +356,10 @@ public class StudentDAOImpl implements StudentDAO {
         long count = 0;
 
         try {
-            conn = DBUtil.getConnection();
+            conn = DBUtil.getReadConnection();
 
             // 构建 SQL 语句 (Build SQL statement)
-            StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM student WHERE 1=1");
+            StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM student WHERE 1=1").append(liveOnly());
             List<Object> params = new ArrayList<>();
 
             // 添加查询条件 (Add query conditions)
@@ -102,7 +369,9 @@ public class StudentDAOImpl implements StudentDAO {
             pstmt = conn.prepareStatement(sql.toString());
             setParameters(pstmt, params);
 
-            System.out.println("执行 SQL: " + sql);
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("执行 SQL: " + sql);
+            }
             rs = pstmt.executeQuery();
 
             if (rs.next()) {
@@ -128,15 +397,16 @@ public class StudentDAOImpl implements StudentDAO {
         Student student = null;
 
         try {
-            conn = DBUtil.getConnection();
-            String sql = "SELECT * FROM student WHERE id = ?";
+            conn = DBUtil.getReadConnection();
+            String sql = "SELECT * FROM student WHERE id = ?" + liveOnly();
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, id);
 
             rs = pstmt.executeQuery();
+            StudentRowMapper mapper = StudentRowMapper.of(rs);
 
             if (rs.next()) {
-                student = mapResultSetToStudent(rs);
+                student = mapper.map(rs);
             }
 
         } finally {
@@ -158,15 +428,16 @@ public class StudentDAOImpl implements StudentDAO {
         Student student = null;
 
         try {
-            conn = DBUtil.getConnection();
-            String sql = "SELECT * FROM student WHERE student_no = ?";
+            conn = DBUtil.getReadConnection();
+            String sql = "SELECT * FROM student WHERE student_no = ?" + liveOnly();
             pstmt = conn.prepareStatement(sql);
             pstmt.setString(1, studentNo);
 
             rs = pstmt.executeQuery();
+            StudentRowMapper mapper = StudentRowMapper.of(rs);
 
             if (rs.next()) {
-                student = mapResultSetToStudent(rs);
+                student = mapper.map(rs);
             }
 
         } finally {
@@ -194,19 +465,55 @@ public class StudentDAOImpl implements StudentDAO {
                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
             pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, student.getStudentNo());
-            pstmt.setString(2, student.getName());
-            pstmt.setInt(3, student.getGender());
-            pstmt.setInt(4, student.getAge());
-            pstmt.setString(5, student.getMajor());
-            pstmt.setString(6, student.getClassName());
-            pstmt.setString(7, student.getPhone());
-            pstmt.setString(8, student.getEmail());
-            pstmt.setDate(9, student.getEnrollmentDate());
-            pstmt.setInt(10, student.getStatus() != null ? student.getStatus() : 1);
+            setInsertParameters(pstmt, student);
 
             result = pstmt.executeUpdate();
-            System.out.println("插入学生记录，影响行数: " + result);
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("插入学生记录，影响行数: " + result);
+            }
+
+        } finally {
+            DBUtil.close(pstmt, conn);
+        }
+
+        return result;
+    }
+
+    /**
+     * 批量插入学生记录
+     * Insert student records in a batch
+     */
+    @Override
+    public int insertBatch(List<Student> students) throws SQLException {
+        if (students == null || students.isEmpty()) {
+            return 0;
+        }
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        int result = 0;
+
+        try {
+            conn = DBUtil.getConnection();
+
+            String sql = "INSERT INTO student (student_no, name, gender, age, major, " +
+                    "class_name, phone, email, enrollment_date, status) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+            pstmt = conn.prepareStatement(sql);
+            for (Student student : students) {
+                setInsertParameters(pstmt, student);
+                pstmt.addBatch();
+            }
+
+            int[] counts = pstmt.executeBatch();
+            for (int count : counts) {
+                // 改写为多行 INSERT 后驱动只返回 SUCCESS_NO_INFO (Rewritten batches report SUCCESS_NO_INFO)
+                result += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("批量插入学生记录，影响行数: " + result);
+            }
 
         } finally {
             DBUtil.close(pstmt, conn);
@@ -215,6 +522,119 @@ public class StudentDAOImpl implements StudentDAO {
         return result;
     }
 
+    /**
+     * 按学号插入或更新
+     * Insert or update by student number
+     */
+    @Override
+    public int upsert(Student student) throws SQLException {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        int result = 0;
+
+        try {
+            conn = DBUtil.getConnection();
+            pstmt = conn.prepareStatement(upsertSql());
+            setInsertParameters(pstmt, student);
+
+            result = pstmt.executeUpdate();
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("按学号插入或更新学生记录，影响行数: " + result);
+            }
+
+        } finally {
+            DBUtil.close(pstmt, conn);
+        }
+
+        return result;
+    }
+
+    /**
+     * 批量按学号插入或更新
+     * Insert or update students by student number in a batch
+     */
+    @Override
+    public int upsertBatch(List<Student> students) throws SQLException {
+        if (students == null || students.isEmpty()) {
+            return 0;
+        }
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+
+        try {
+            conn = DBUtil.getConnection();
+            pstmt = conn.prepareStatement(upsertSql());
+            for (Student student : students) {
+                setInsertParameters(pstmt, student);
+                pstmt.addBatch();
+            }
+
+            pstmt.executeBatch();
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("批量按学号插入或更新学生记录: " + students.size());
+            }
+
+        } finally {
+            DBUtil.close(pstmt, conn);
+        }
+
+        // 改写后的批处理无法区分插入和更新的行，按处理的记录数返回
+        // A rewritten batch cannot tell inserted rows from updated ones, so report rows processed
+        return students.size();
+    }
+
+    /**
+     * 查询已存在的学号
+     * Query which student numbers already exist
+     */
+    @Override
+    public Set<String> selectExistingStudentNos(Collection<String> studentNos) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        if (studentNos == null || studentNos.isEmpty()) {
+            return existing;
+        }
+
+        List<String> values = new ArrayList<>(studentNos);
+        Connection conn = null;
+
+        try {
+            // 在主库上检查，避免从库延迟漏掉刚写入的学号 (Check on the primary so replica lag hides nothing)
+            conn = DBUtil.getConnection();
+
+            // 分段查询，控制单条语句的参数个数 (Query in chunks to bound the parameters per statement)
+            for (int from = 0; from < values.size(); from += IN_CHUNK_SIZE) {
+                List<String> chunk = values.subList(from, Math.min(from + IN_CHUNK_SIZE, values.size()));
+
+                StringBuilder sql = new StringBuilder("SELECT student_no FROM student WHERE student_no IN (");
+                for (int i = 0; i < chunk.size(); i++) {
+                    sql.append(i > 0 ? ",?" : "?");
+                }
+                sql.append(")").append(liveOnly());
+
+                PreparedStatement pstmt = null;
+                ResultSet rs = null;
+                try {
+                    pstmt = conn.prepareStatement(sql.toString());
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setString(i + 1, chunk.get(i));
+                    }
+                    rs = pstmt.executeQuery();
+                    while (rs.next()) {
+                        existing.add(rs.getString(1));
+                    }
+                } finally {
+                    DBUtil.close(rs, pstmt, null);
+                }
+            }
+
+        } finally {
+            DBUtil.close(conn);
+        }
+
+        return existing;
+    }
+
     /**
      * 更新学生信息
      * Update student information
@@ -230,13 +650,13 @@ public class StudentDAOImpl implements StudentDAO {
 
             String sql = "UPDATE student SET student_no = ?, name = ?, gender = ?, " +
                     "age = ?, major = ?, class_name = ?, phone = ?, email = ?, " +
-                    "enrollment_date = ?, status = ? WHERE id = ?";
+                    "enrollment_date = ?, status = ? WHERE id = ?" + liveOnly();
 
             pstmt = conn.prepareStatement(sql);
             pstmt.setString(1, student.getStudentNo());
             pstmt.setString(2, student.getName());
             pstmt.setInt(3, student.getGender());
-            pstmt.setInt(4, student.getAge());
+            pstmt.setObject(4, student.getAge(), Types.INTEGER);
             pstmt.setString(5, student.getMajor());
             pstmt.setString(6, student.getClassName());
             pstmt.setString(7, student.getPhone());
@@ -246,7 +666,76 @@ public class StudentDAOImpl implements StudentDAO {
             pstmt.setInt(11, student.getId());
 
             result = pstmt.executeUpdate();
-            System.out.println("更新学生记录，影响行数: " + result);
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("更新学生记录，影响行数: " + result);
+            }
+
+        } finally {
+            DBUtil.close(pstmt, conn);
+        }
+
+        return result;
+    }
+
+    /**
+     * 部分更新学生信息
+     * Partially update student information
+     */
+    @Override
+    public int updateFields(Student student, StudentFields fields, Timestamp expectedUpdateTime)
+            throws SQLException {
+        StringBuilder sql = new StringBuilder("UPDATE student SET ");
+        List<Object> params = new ArrayList<>();
+
+        // 只写入变化的列 (Write only the changed columns)
+        for (String field : fields.getFields()) {
+            Object value;
+            switch (field) {
+                case "studentNo": value = student.getStudentNo(); break;
+                case "name": value = student.getName(); break;
+                case "gender": value = student.getGender(); break;
+                case "age": value = student.getAge(); break;
+                case "major": value = student.getMajor(); break;
+                case "className": value = student.getClassName(); break;
+                case "phone": value = student.getPhone(); break;
+                case "email": value = student.getEmail(); break;
+                case "enrollmentDate": value = student.getEnrollmentDate(); break;
+                case "status": value = student.getStatus(); break;
+                default: continue;
+            }
+            if (!params.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(StudentFields.columnOf(field)).append(" = ?");
+            params.add(value);
+        }
+        if (params.isEmpty()) {
+            return 0;
+        }
+
+        sql.append(" WHERE id = ?").append(liveOnly());
+        params.add(student.getId());
+
+        // 乐观锁：读取之后被他人修改过时 update_time 已变化，不会匹配任何行
+        // Optimistic lock: if someone else changed the row since it was read, update_time no longer matches
+        if (expectedUpdateTime != null) {
+            sql.append(" AND update_time = ?");
+            params.add(expectedUpdateTime);
+        }
+
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        int result = 0;
+
+        try {
+            conn = DBUtil.getConnection();
+            pstmt = conn.prepareStatement(sql.toString());
+            setParameters(pstmt, params);
+
+            result = pstmt.executeUpdate();
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("部分更新学生记录 " + fields + "，影响行数: " + result);
+            }
 
         } finally {
             DBUtil.close(pstmt, conn);
@@ -267,12 +756,14 @@ public class StudentDAOImpl implements StudentDAO {
 
         try {
             conn = DBUtil.getConnection();
-            String sql = "DELETE FROM student WHERE id = ?";
+            String sql = deletePrefix() + "id = ?";
             pstmt = conn.prepareStatement(sql);
             pstmt.setInt(1, id);
 
             result = pstmt.executeUpdate();
-            System.out.println("删除学生记录，影响行数: " + result);
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("删除学生记录，影响行数: " + result);
+            }
 
         } finally {
             DBUtil.close(pstmt, conn);
@@ -292,31 +783,91 @@ public class StudentDAOImpl implements StudentDAO {
         }
 
         Connection conn = null;
-        PreparedStatement pstmt = null;
         int result = 0;
 
         try {
             conn = DBUtil.getConnection();
 
-            // 构建 IN 子句 (Build IN clause)
-            StringBuilder sql = new StringBuilder("DELETE FROM student WHERE id IN (");
-            for (int i = 0; i < ids.length; i++) {
-                sql.append("?");
-                if (i < ids.length - 1) {
-                    sql.append(",");
+            // 分段删除，控制单条语句的参数个数；事务由调用方决定
+            // Delete in chunks to bound the parameters per statement; the caller owns the transaction
+            for (int from = 0; from < ids.length; from += IN_CHUNK_SIZE) {
+                int to = Math.min(from + IN_CHUNK_SIZE, ids.length);
+
+                // 构建 IN 子句 (Build IN clause)
+                StringBuilder sql = new StringBuilder(deletePrefix()).append("id IN (");
+                for (int i = from; i < to; i++) {
+                    sql.append(i > from ? ",?" : "?");
+                }
+                sql.append(")");
+
+                PreparedStatement pstmt = null;
+                try {
+                    pstmt = conn.prepareStatement(sql.toString());
+
+                    // 设置参数 (Set parameters)
+                    for (int i = from; i < to; i++) {
+                        pstmt.setInt(i - from + 1, ids[i]);
+                    }
+
+                    result += pstmt.executeUpdate();
+                } finally {
+                    DBUtil.close(pstmt, null);
                 }
             }
-            sql.append(")");
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("批量删除学生记录，影响行数: " + result);
+            }
 
-            pstmt = conn.prepareStatement(sql.toString());
+        } finally {
+            DBUtil.close(conn);
+        }
+
+        return result;
+    }
+
+    /**
+     * 清理软删除时间早于指定时间的记录
+     * Purge rows soft-deleted before the given time
+     */
+    @Override
+    public int purgeDeleted(Timestamp deletedBefore, int limit) throws SQLException {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        int result = 0;
+
+        try {
+            conn = DBUtil.getConnection();
+            pstmt = conn.prepareStatement("DELETE FROM student WHERE deleted_at < ? LIMIT ?");
+            pstmt.setTimestamp(1, deletedBefore);
+            pstmt.setInt(2, limit);
 
-            // 设置参数 (Set parameters)
-            for (int i = 0; i < ids.length; i++) {
-                pstmt.setInt(i + 1, ids[i]);
+            result = pstmt.executeUpdate();
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("清理软删除的学生记录，影响行数: " + result);
             }
 
+        } finally {
+            DBUtil.close(pstmt, conn);
+        }
+
+        return result;
+    }
+
+    /**
+     * 清理某个学号的软删除记录
+     * Purge the soft-deleted row of a student number
+     */
+    @Override
+    public int purgeDeletedByStudentNo(String studentNo) throws SQLException {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        int result = 0;
+
+        try {
+            conn = DBUtil.getConnection();
+            pstmt = conn.prepareStatement("DELETE FROM student WHERE student_no = ? AND deleted_at IS NOT NULL");
+            pstmt.setString(1, studentNo);
             result = pstmt.executeUpdate();
-            System.out.println("批量删除学生记录，影响行数: " + result);
 
         } finally {
             DBUtil.close(pstmt, conn);
@@ -325,6 +876,46 @@ public class StudentDAOImpl implements StudentDAO {
         return result;
     }
 
+    /**
+     * 读取学生表的数据版本号
+     * Read the data version of the student table
+     */
+    @Override
+    public Long selectDataVersion() throws SQLException {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBUtil.getReadConnection();
+            pstmt = conn.prepareStatement("SELECT version FROM data_version WHERE name = 'student'");
+            rs = pstmt.executeQuery();
+            return rs.next() ? rs.getLong(1) : null;
+
+        } finally {
+            DBUtil.close(rs, pstmt, conn);
+        }
+    }
+
+    /**
+     * 递增学生表的数据版本号
+     * Bump the data version of the student table
+     */
+    @Override
+    public void bumpDataVersion() throws SQLException {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+
+        try {
+            conn = DBUtil.getConnection();
+            pstmt = conn.prepareStatement("UPDATE data_version SET version = version + 1 WHERE name = 'student'");
+            pstmt.executeUpdate();
+
+        } finally {
+            DBUtil.close(pstmt, conn);
+        }
+    }
+
     /**
      * 查询所有学生
      * Query all students
@@ -337,13 +928,14 @@ public class StudentDAOImpl implements StudentDAO {
         List<Student> students = new ArrayList<>();
 
         try {
-            conn = DBUtil.getConnection();
-            String sql = "SELECT * FROM student ORDER BY id DESC";
+            conn = DBUtil.getReadConnection();
+            String sql = "SELECT * FROM student WHERE 1=1" + liveOnly() + " ORDER BY id DESC";
             pstmt = conn.prepareStatement(sql);
             rs = pstmt.executeQuery();
+            StudentRowMapper mapper = StudentRowMapper.of(rs);
 
             while (rs.next()) {
-                students.add(mapResultSetToStudent(rs));
+                students.add(mapper.map(rs));
             }
 
         } finally {
@@ -353,32 +945,180 @@ public class StudentDAOImpl implements StudentDAO {
         return students;
     }
 
+    /**
+     * 按条件流式读取学生
+     * Stream students matching the conditions
+     */
+    @Override
+    public long streamByConditions(Map<String, Object> conditions, String orderBy, String orderType,
+                                   StudentFields fields, RowHandler handler) throws SQLException, IOException {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        long count = 0;
+
+        try {
+            conn = DBUtil.getReadConnection();
+
+            StringBuilder sql = new StringBuilder("SELECT ")
+                    .append(fields != null ? fields.toSelectList() : "*")
+                    .append(" FROM student WHERE 1=1").append(liveOnly());
+            List<Object> params = new ArrayList<>();
+            sql = appendConditions(sql, conditions, params);
+            appendOrderBy(sql, resolveSortColumn(orderBy), !"DESC".equalsIgnoreCase(orderType));
+
+            // 只进、只读游标，不经过语句缓存（抓取大小会留在缓存的语句上）
+            // Forward-only, read-only cursor that bypasses the statement cache
+            // (the fetch size would otherwise stick to the cached statement)
+            pstmt = conn.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(DBUtil.getStreamingFetchSize());
+            setParameters(pstmt, params);
+
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("流式执行 SQL: " + sql);
+            }
+            rs = pstmt.executeQuery();
+            StudentRowMapper mapper = mapperOf(rs, fields);
+
+            try {
+                while (rs.next()) {
+                    handler.handle(mapper.map(rs));
+                    count++;
+                }
+            } catch (IOException | RuntimeException e) {
+                // 流式结果集关闭时会读完剩余的行，先取消查询
+                // Closing a streaming result set reads the remaining rows, so cancel the query first
+                cancelQuietly(pstmt);
+                throw e;
+            }
+
+        } finally {
+            DBUtil.close(rs, pstmt, conn);
+        }
+
+        return count;
+    }
+
     // ==================== 私有辅助方法 (Private Helper Methods) ====================
 
     /**
-     * 将 ResultSet 映射为 Student 对象
-     * Map ResultSet to Student object
+     * 从主库读取指定键的存活行（刚提交的写入在只读副本上可能还看不到），供内存副本和索引在写入后刷新、
+     * 行缓存在未命中时读取使用
+     * Read the live rows for the given keys from the primary (a read replica may not have the
+     * commit yet); used by the in-memory replica and index to refresh after writes, and by the
+     * row cache to load misses
      *
-     * @param rs ResultSet 对象
-     * @return Student 对象
-     * @throws SQLException SQL 异常
+     * @param column 键列（id 或 student_no）
+     * @param keys 键值
+     * @param fields 字段投影，null 表示全部字段
+     * @return 存在且未删除的行
+     * @throws SQLException SQL异常
      */
-    private Student mapResultSetToStudent(ResultSet rs) throws SQLException {
-        Student student = new Student();
-        student.setId(rs.getInt("id"));
-        student.setStudentNo(rs.getString("student_no"));
-        student.setName(rs.getString("name"));
-        student.setGender(rs.getInt("gender"));
-        student.setAge(rs.getInt("age"));
-        student.setMajor(rs.getString("major"));
-        student.setClassName(rs.getString("class_name"));
-        student.setPhone(rs.getString("phone"));
-        student.setEmail(rs.getString("email"));
-        student.setEnrollmentDate(rs.getDate("enrollment_date"));
-        student.setCreateTime(rs.getTimestamp("create_time"));
-        student.setUpdateTime(rs.getTimestamp("update_time"));
-        student.setStatus(rs.getInt("status"));
-        return student;
+    static List<Student> selectLiveFromPrimary(String column, List<?> keys, StudentFields fields)
+            throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(fields != null ? fields.toSelectList() : "*")
+                .append(" FROM student WHERE ").append(column).append(" IN (");
+        for (int i = 0; i < keys.size(); i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        sql.append(")").append(liveOnly());
+
+        List<Student> students = new ArrayList<>();
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DBUtil.getPrimaryReadConnection();
+            pstmt = conn.prepareStatement(sql.toString());
+            for (int i = 0; i < keys.size(); i++) {
+                pstmt.setObject(i + 1, keys.get(i));
+            }
+            rs = pstmt.executeQuery();
+            StudentRowMapper mapper = mapperOf(rs, fields);
+            while (rs.next()) {
+                students.add(mapper.map(rs));
+            }
+        } finally {
+            DBUtil.close(rs, pstmt, conn);
+        }
+        return students;
+    }
+
+    /**
+     * 软删除启用时只匹配未删除的记录
+     * Match only live rows when soft delete is enabled
+     *
+     * @return 追加在 WHERE 条件后的片段，未启用时为空
+     */
+    private static String liveOnly() {
+        return DBUtil.isSoftDeleteEnabled() ? " AND deleted_at IS NULL" : "";
+    }
+
+    /**
+     * 删除语句的前缀：软删除时标记 deleted_at，否则物理删除；后面接 WHERE 条件
+     * Prefix of delete statements: marks deleted_at under soft delete, otherwise deletes the
+     * rows; the WHERE condition follows
+     */
+    private static String deletePrefix() {
+        return DBUtil.isSoftDeleteEnabled()
+                ? "UPDATE student SET deleted_at = CURRENT_TIMESTAMP(3) WHERE deleted_at IS NULL AND "
+                : "DELETE FROM student WHERE ";
+    }
+
+    /**
+     * 按学号插入或更新的语句：学号已存在时由唯一约束转为更新其余列，软删除时同时恢复已删除的记录
+     * Upsert statement: an existing student_no turns the insert into an update of the other
+     * columns through the UNIQUE constraint; under soft delete it also revives a deleted row
+     */
+    private static String upsertSql() {
+        return DBUtil.getDialect().upsert("student", INSERT_COLUMNS, "student_no",
+                DBUtil.isSoftDeleteEnabled() ? SOFT_DELETE_COLUMNS : new String[0]);
+    }
+
+    /**
+     * 设置 INSERT 语句的 10 个参数（插入、批量插入和按学号插入或更新共用）
+     * Bind the 10 INSERT parameters (shared by insert, batch insert and upsert)
+     */
+    private void setInsertParameters(PreparedStatement pstmt, Student student) throws SQLException {
+        pstmt.setString(1, student.getStudentNo());
+        pstmt.setString(2, student.getName());
+        pstmt.setInt(3, student.getGender());
+        pstmt.setObject(4, student.getAge(), Types.INTEGER);
+        pstmt.setString(5, student.getMajor());
+        pstmt.setString(6, student.getClassName());
+        pstmt.setString(7, student.getPhone());
+        pstmt.setString(8, student.getEmail());
+        pstmt.setDate(9, student.getEnrollmentDate());
+        pstmt.setInt(10, student.getStatus() != null ? student.getStatus() : 1);
+    }
+
+    /**
+     * 取消正在执行的查询，忽略取消本身的失败
+     * Cancel a running query, ignoring failures of the cancel itself
+     */
+    private void cancelQuietly(Statement stmt) {
+        try {
+            stmt.cancel();
+        } catch (SQLException e) {
+            LogUtil.warn("取消查询失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 计算实际查询的投影：在请求的字段之外加上排序列
+     * Compute the projection actually selected: the requested fields plus the sort column
+     */
+    private StudentFields projectionOf(StudentFields fields, String orderBy) {
+        return fields != null ? fields.withColumn(resolveSortColumn(orderBy)) : null;
+    }
+
+    /**
+     * 按字段投影创建映射器，null 表示读取结果集中的全部学生列
+     * Create a mapper for a projection; null reads every student column in the result set
+     */
+    private static StudentRowMapper mapperOf(ResultSet rs, StudentFields fields) throws SQLException {
+        return fields != null ? StudentRowMapper.of(rs, fields::contains) : StudentRowMapper.of(rs);
     }
 
     /**
@@ -402,10 +1142,29 @@ public class StudentDAOImpl implements StudentDAO {
             params.add(conditions.get("studentNo"));
         }
 
+        // 候选 ID（由内存文本索引缩小范围，其余条件照常过滤）
+        // (Candidate ids narrowed by the in-memory text index; the other conditions still filter)
+        if (conditions.get("ids") instanceof Collection) {
+            Collection<?> ids = (Collection<?>) conditions.get("ids");
+            if (ids.isEmpty()) {
+                sql.append(" AND 1 = 0");
+            } else {
+                sql.append(" AND id IN (");
+                int i = 0;
+                for (Object id : ids) {
+                    sql.append(i++ > 0 ? ", ?" : "?");
+                    params.add(id);
+                }
+                sql.append(")");
+            }
+        }
+
+        // 前缀匹配模式：LIKE 'x%' 可以直接使用索引 (Prefix mode: LIKE 'x%' can use the index directly)
+        boolean prefix = "prefix".equals(conditions.get("matchMode"));
+
         // 姓名查询（模糊匹配）(Name - fuzzy match)
         if (conditions.containsKey("name") && StringUtil.isNotEmpty((String) conditions.get("name"))) {
-            sql.append(" AND name LIKE ?");
-            params.add(StringUtil.toLikePattern((String) conditions.get("name")));
+            appendTextCondition(sql, "name", (String) conditions.get("name"), prefix, params);
         }
 
         // 性别查询 (Gender)
@@ -416,14 +1175,12 @@ public class StudentDAOImpl implements StudentDAO {
 
         // 专业查询（模糊匹配）(Major - fuzzy match)
         if (conditions.containsKey("major") && StringUtil.isNotEmpty((String) conditions.get("major"))) {
-            sql.append(" AND major LIKE ?");
-            params.add(StringUtil.toLikePattern((String) conditions.get("major")));
+            appendTextCondition(sql, "major", (String) conditions.get("major"), prefix, params);
         }
 
         // 班级查询（模糊匹配）(Class - fuzzy match)
         if (conditions.containsKey("className") && StringUtil.isNotEmpty((String) conditions.get("className"))) {
-            sql.append(" AND class_name LIKE ?");
-            params.add(StringUtil.toLikePattern((String) conditions.get("className")));
+            appendTextCondition(sql, "class_name", (String) conditions.get("className"), prefix, params);
         }
 
         // 状态查询 (Status)
@@ -435,6 +1192,123 @@ public class StudentDAOImpl implements StudentDAO {
         return sql;
     }
 
+    /**
+     * 追加文本列的模糊查询条件
+     * Append a fuzzy match condition on a text column
+     *
+     * 启用全文索引且关键字不短于 ngram 长度时，先用 MATCH ... AGAINST 的短语查询通过 ngram 索引缩小范围，
+     * 再用原来的 LIKE '%x%' 精确过滤，结果与单独使用 LIKE 完全一致；
+     * 关键字太短（单个字）或含有空白和双引号（ngram 解析器和短语查询会丢弃这些字符）时只用 LIKE。
+     * 全文索引必须在关闭停用词后建立（见 init.sql），否则含停用词的关键字会少匹配行
+     * With full-text search enabled and a keyword at least one ngram long, a MATCH ... AGAINST phrase
+     * query narrows the rows through the ngram index, and the original LIKE '%x%' then filters exactly,
+     * so results are identical to LIKE alone. Keywords shorter than an ngram (a single character) or
+     * containing whitespace or double quotes (which the ngram parser and the phrase query drop) use
+     * LIKE only. The full-text indexes must be built with stopwords off (see init.sql), otherwise
+     * keywords containing a stopword miss rows
+     */
+    private void appendTextCondition(StringBuilder sql, String column, String value,
+                                     boolean prefix, List<Object> params) {
+        // 不去掉首尾空白：它们是关键字的一部分，LIKE 按原样匹配 (Leading and trailing whitespace is
+        // part of the keyword and LIKE matches it as is)
+        String keyword = value;
+        if (prefix) {
+            sql.append(" AND ").append(column).append(" LIKE ?");
+            params.add(StringUtil.toPrefixPattern(keyword));
+            return;
+        }
+
+        SqlDialect dialect = DBUtil.getDialect();
+        boolean phraseSafe = keyword.indexOf('"') < 0 && keyword.chars().noneMatch(Character::isWhitespace);
+        String fullText = DBUtil.isFullTextSearchEnabled() && keyword.length() >= NGRAM_TOKEN_SIZE && phraseSafe
+                ? dialect.fullTextPredicate(column) : null;
+        if (fullText != null) {
+            sql.append(" AND ").append(fullText);
+            params.add(dialect.fullTextParameter(keyword));
+        }
+        sql.append(" AND ").append(column).append(" LIKE ?");
+        params.add(StringUtil.toLikePattern(keyword));
+    }
+
+    /**
+     * 解析排序字段，不在白名单中的字段按 id 排序
+     * Resolve the sort column, falling back to id for anything not whitelisted
+     */
+    private String resolveSortColumn(String orderBy) {
+        return orderBy != null && SORT_COLUMNS.containsKey(orderBy) ? orderBy : "id";
+    }
+
+    /**
+     * 追加 ORDER BY 子句，以 id 作为第二排序键保证顺序稳定
+     * Append ORDER BY, with id as tie-breaker so the order is stable
+     */
+    private void appendOrderBy(StringBuilder sql, String column, boolean ascending) {
+        String direction = ascending ? " ASC" : " DESC";
+        sql.append(" ORDER BY ").append(column).append(direction);
+        if (!"id".equals(column)) {
+            sql.append(", id").append(direction);
+        }
+    }
+
+    /**
+     * 追加键集分页的定位条件
+     * Append the keyset seek predicate
+     *
+     * 升序时 NULL 排在最前、降序时排在最后（与 MySQL 一致），NULL 值需要单独处理
+     * NULLs sort first ascending and last descending (as in MySQL), so they are handled separately
+     */
+    private void appendSeek(StringBuilder sql, String column, boolean ascending,
+                            Object value, Integer id, List<Object> params) {
+        String op = ascending ? ">" : "<";
+        if ("id".equals(column)) {
+            sql.append(" AND id ").append(op).append(" ?");
+            params.add(id);
+        } else if (value != null) {
+            // 等价于 (column, id) > (?, ?)，展开写法能被 MySQL 识别为索引范围扫描
+            // Equivalent to (column, id) > (?, ?); the expanded form is recognized as an index range
+            sql.append(" AND (").append(column).append(' ').append(op).append(" ? OR (")
+                    .append(column).append(" = ? AND id ").append(op).append(" ?)");
+            if (!ascending) {
+                sql.append(" OR ").append(column).append(" IS NULL");
+            }
+            sql.append(")");
+            params.add(value);
+            params.add(value);
+            params.add(id);
+        } else if (ascending) {
+            sql.append(" AND ((").append(column).append(" IS NULL AND id > ?) OR ")
+                    .append(column).append(" IS NOT NULL)");
+            params.add(id);
+        } else {
+            sql.append(" AND ").append(column).append(" IS NULL AND id < ?");
+            params.add(id);
+        }
+    }
+
+    /**
+     * 把游标中的排序值转换为列对应的 Java 类型
+     * Convert a cursor sort value to the column's Java type
+     */
+    private Object toSortValue(int sqlType, String value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            switch (sqlType) {
+                case Types.INTEGER:
+                    return Integer.valueOf(value);
+                case Types.DATE:
+                    return Date.valueOf(value);
+                case Types.TIMESTAMP:
+                    return Timestamp.valueOf(value);
+                default:
+                    return value;
+            }
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("无效的分页游标值：" + value, e);
+        }
+    }
+
     /**
      * 设置 PreparedStatement 参数
      * Set PreparedStatement parameters
@@ -0,0 +1,42 @@
+package com.jzz.dao;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 学生数据版本号
+ * Student Data Version
+ *
+ * 每次写入学生表都会递增的全局计数器（由 CachingStudentDAO 维护）。缓存的查询结果记下计算时的版本号，
+ * 版本号变化即视为失效，不需要逐条找出受影响的结果
+ * A global counter bumped by every write to the student table (maintained by CachingStudentDAO).
+ * Cached query results record the version they were computed at and count as invalid once it
+ * changes, so affected results never have to be tracked down one by one
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public final class StudentDataVersion {
+
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    private StudentDataVersion() {
+    }
+
+    /**
+     * 当前版本号
+     * Current version
+     *
+     * @return 版本号
+     */
+    public static long current() {
+        return VERSION.get();
+    }
+
+    /**
+     * 递增版本号
+     * Bump the version
+     */
+    public static void bump() {
+        VERSION.incrementAndGet();
+    }
+}
@@ -0,0 +1,353 @@
+package com.jzz.dao;
+
+import com.jzz.model.Student;
+import com.jzz.model.StudentFields;
+import com.jzz.util.DBUtil;
+import com.jzz.util.LogUtil;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 学生表的进程内镜像（列式副本和文本索引的公共部分）
+ * In-Process Mirror of the Student Table (the part shared by the columnar replica and the text index)
+ *
+ * 在后台线程中从主库流式扫描全表加载，之后由 CachingStudentDAO 在每次写入后（事务中为事务结束后）
+ * 从主库重新读取受影响的行。加载和重新读取都只读主库：从滞后的只读副本扫描会漏掉尚未同步的写入，
+ * 而这些行之后不会再被刷新。重新读取失败时镜像可能缺少已提交的写入，此时标记为未就绪并在后台重新加载；
+ * 加载期间收到的刷新请求记为待刷新，扫描结束后再读取，然后才标记为就绪
+ * Loaded on a background thread by a streaming scan of the whole table on the primary, then kept
+ * current by CachingStudentDAO, which re-reads the affected rows from the primary after every
+ * write (after the transaction ends when inside one). Loads and re-reads both use the primary
+ * only: a scan on a lagging replica would miss writes it has not received yet, and those rows
+ * would never be refreshed again. If a re-read fails the mirror may miss committed writes, so it
+ * is marked not ready and reloaded in the background; refresh requests received during a load
+ * are recorded as pending and read once the scan ends, and only then is the mirror ready
+ *
+ * 只能看到本进程的写入：多个实例写同一个数据库时不要启用
+ * Only writes made by this process are seen: do not enable it when several instances write to
+ * the same database
+ *
+ * 子类在写锁下维护自己的数据结构，查询时持有读锁
+ * Subclasses maintain their own structures under the write lock and hold the read lock to query
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+abstract class StudentMirror {
+
+    /**
+     * 按 ID 或学号重新读取时每条语句的最大参数个数
+     * Maximum parameters per statement when re-reading rows by id or student number
+     */
+    private static final int REFRESH_CHUNK_SIZE = 1000;
+
+    /**
+     * 加载失败后重试的间隔（毫秒）
+     * Delay before retrying a failed load (ms)
+     */
+    private static final long RELOAD_DELAY_MILLIS = 30000;
+
+    /**
+     * 查询持有读锁，修改镜像持有写锁
+     * Queries hold the read lock, changes to the mirror hold the write lock
+     */
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 串行化“读取主库 + 写入镜像”，使较早的读取结果不会覆盖较新的
+     * Serializes "read the primary + apply", so an older read never overwrites a newer one
+     */
+    private final Object refreshLock = new Object();
+
+    /**
+     * 加载期间收到的刷新请求，加载完成后统一重新读取
+     * Refresh requests received while loading, re-read once the load completes
+     */
+    private final Set<Integer> pendingIds = new HashSet<>();
+    private final Set<String> pendingStudentNos = new HashSet<>();
+
+    private volatile boolean ready;
+    private boolean started;
+
+    /**
+     * 正在运行的加载线程，没有时为 null
+     * The running load thread, null when none
+     */
+    private Thread loader;
+
+    private final LongAdder refreshedRowCount = new LongAdder();
+
+    /**
+     * 日志中的名称、加载线程名、未就绪期间的查询方式（日志用）和读取的字段
+     * Name in log messages, load thread name, how queries are served while not ready (for the
+     * log) and the fields read
+     */
+    private final String name;
+    private final String threadName;
+    private final String fallback;
+    private final StudentFields fields;
+
+    /**
+     * @param name 日志中的名称，如“学生列式副本”
+     * @param threadName 加载线程名
+     * @param fallback 未就绪期间的查询方式，如“查询改为使用 SQL”
+     * @param fields 读取的字段，null 表示全部字段
+     */
+    protected StudentMirror(String name, String threadName, String fallback, StudentFields fields) {
+        this.name = name;
+        this.threadName = threadName;
+        this.fallback = fallback;
+        this.fields = fields;
+    }
+
+    /**
+     * 在后台线程中加载全表
+     * Load the whole table on a background thread
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        reload();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ==================== 刷新 (Refresh) ====================
+
+    /**
+     * 从主库重新读取这些 ID 的行（不存在或已软删除的行从镜像中移除）
+     * Re-read the rows with these ids from the primary (rows that are gone or soft-deleted leave
+     * the mirror)
+     *
+     * @param idList 学生 ID
+     */
+    public void refreshIds(Collection<Integer> idList) {
+        synchronized (refreshLock) {
+            if (!ready) {
+                pendingIds.addAll(idList);
+                return;
+            }
+            try {
+                refresh(new ArrayList<>(idList), Collections.emptyList());
+            } catch (SQLException | RuntimeException e) {
+                refreshFailed(e);
+            }
+        }
+    }
+
+    /**
+     * 从主库重新读取这些学号的行
+     * Re-read the rows with these student numbers from the primary
+     *
+     * @param studentNoList 学号
+     */
+    public void refreshStudentNos(Collection<String> studentNoList) {
+        synchronized (refreshLock) {
+            if (!ready) {
+                pendingStudentNos.addAll(studentNoList);
+                return;
+            }
+            try {
+                refresh(Collections.emptyList(), new ArrayList<>(studentNoList));
+            } catch (SQLException | RuntimeException e) {
+                refreshFailed(e);
+            }
+        }
+    }
+
+    /**
+     * 已重新读取的行数（统计用）
+     * Rows re-read so far (for statistics)
+     */
+    protected long getRefreshedRowCount() {
+        return refreshedRowCount.sum();
+    }
+
+    // ==================== 子类实现 (Subclass Hooks) ====================
+
+    /**
+     * 清空镜像
+     * Clear the mirror
+     */
+    abstract void clear();
+
+    /**
+     * 插入或覆盖一行，调用方持有写锁
+     * Insert or overwrite a row; the caller holds the write lock
+     */
+    abstract void apply(Student student);
+
+    /**
+     * 移除该 ID 的行（不存在时忽略），调用方持有写锁
+     * Remove the row with this id (ignored when absent); the caller holds the write lock
+     */
+    abstract void removeId(Integer id);
+
+    /**
+     * 移除该学号的行（不存在时忽略），调用方持有写锁
+     * Remove the row with this student number (ignored when absent); the caller holds the write lock
+     */
+    abstract void removeStudentNo(String studentNo);
+
+    /**
+     * 每批重新读取应用之后调用，调用方持有写锁
+     * Called after each re-read chunk is applied; the caller holds the write lock
+     */
+    void afterRefresh() {
+    }
+
+    // ==================== 加载和刷新 (Load and Refresh) ====================
+
+    /**
+     * 启动加载线程（已有加载线程在运行时不重复启动）
+     * Start the load thread (unless one is already running)
+     */
+    private synchronized void reload() {
+        if (loader != null) {
+            return;
+        }
+        loader = new Thread(this::loadUntilReady, threadName);
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * 加载直到成功，失败后间隔 RELOAD_DELAY_MILLIS 重试；加载期间又有刷新失败时再加载一次
+     * Load until it succeeds, retrying RELOAD_DELAY_MILLIS after a failure; loads once more if a
+     * refresh failed in the meantime
+     */
+    private void loadUntilReady() {
+        while (true) {
+            boolean loaded = load();
+            synchronized (this) {
+                if (loaded && ready) {
+                    loader = null;
+                    return;
+                }
+            }
+            if (!loaded) {
+                try {
+                    Thread.sleep(RELOAD_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    synchronized (this) {
+                        loader = null;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 清空后在主库上流式扫描全表；扫描期间的写入记录为待刷新，扫描结束后从主库重新读取，然后才标记为就绪
+     * Clear, then stream the whole table from the primary; writes during the scan are recorded as
+     * pending and re-read from the primary once the scan ends, only then is the mirror marked ready
+     *
+     * @return 是否加载成功
+     */
+    private boolean load() {
+        long start = System.currentTimeMillis();
+        try {
+            clear();
+            long count = DBUtil.inPrimaryReadOnly(() -> new StudentDAOImpl().streamByConditions(
+                    Collections.emptyMap(), "id", "ASC", fields,
+                    student -> {
+                        lock.writeLock().lock();
+                        try {
+                            apply(student);
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    }));
+
+            synchronized (refreshLock) {
+                refresh(new ArrayList<>(pendingIds), new ArrayList<>(pendingStudentNos));
+                pendingIds.clear();
+                pendingStudentNos.clear();
+                ready = true;
+            }
+            LogUtil.info(name + "已加载，行数：" + count + "，耗时 "
+                    + (System.currentTimeMillis() - start) + " ms");
+            return true;
+        } catch (Exception e) {
+            // 保持未就绪，查询照常使用 SQL，稍后重试 (Not ready, so queries use SQL; retried later)
+            LogUtil.error("加载" + name + "失败：" + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 刷新失败时镜像可能缺少已提交的写入：停止使用并在后台重新加载；调用方持有 refreshLock
+     * After a failed refresh the mirror may miss committed writes: stop using it and reload it in
+     * the background; the caller holds refreshLock
+     */
+    private void refreshFailed(Exception e) {
+        ready = false;
+        LogUtil.error("刷新" + name + "失败，重新加载期间" + fallback + "：" + e.getMessage(), e);
+        reload();
+    }
+
+    /**
+     * 从主库读取并应用，调用方持有 refreshLock
+     * Read from the primary and apply; the caller holds refreshLock
+     */
+    private void refresh(List<Integer> idList, List<String> studentNoList) throws SQLException {
+        for (int from = 0; from < idList.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Integer> chunk = idList.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, idList.size()));
+            List<Student> found = StudentDAOImpl.selectLiveFromPrimary("id", chunk, fields);
+            Set<Integer> seen = new HashSet<>();
+            lock.writeLock().lock();
+            try {
+                for (Student student : found) {
+                    apply(student);
+                    seen.add(student.getId());
+                }
+                for (Integer id : chunk) {
+                    if (!seen.contains(id)) {
+                        removeId(id);
+                    }
+                }
+                afterRefresh();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            refreshedRowCount.add(chunk.size());
+        }
+
+        for (int from = 0; from < studentNoList.size(); from += REFRESH_CHUNK_SIZE) {
+            List<String> chunk = studentNoList.subList(from,
+                    Math.min(from + REFRESH_CHUNK_SIZE, studentNoList.size()));
+            List<Student> found = StudentDAOImpl.selectLiveFromPrimary("student_no", chunk, fields);
+            Set<String> seen = new HashSet<>();
+            lock.writeLock().lock();
+            try {
+                for (Student student : found) {
+                    apply(student);
+                    seen.add(student.getStudentNo());
+                }
+                for (String studentNo : chunk) {
+                    if (!seen.contains(studentNo)) {
+                        removeStudentNo(studentNo);
+                    }
+                }
+                afterRefresh();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            refreshedRowCount.add(chunk.size());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.jzz.dao;
+
+import com.jzz.model.StudentFields;
+import com.jzz.util.BloomFilter;
+import com.jzz.util.DBUtil;
+import com.jzz.util.LogUtil;
+
+import java.text.Normalizer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 学号布隆过滤器
+ * Student Number Bloom Filter
+ *
+ * 启动时流式扫描全部学号建立过滤器，之后由 CachingStudentDAO 在插入和修改学号之前加入新学号。
+ * 过滤器回答“一定不存在”时检查学号的查询可以跳过，只有“可能存在”时才访问数据库；新学号几乎都不存在，
+ * 因此大部分检查不需要查询
+ * Built at startup by streaming every student number, then kept current by CachingStudentDAO,
+ * which adds new numbers before inserting or renaming rows. When the filter answers "definitely
+ * absent" the lookup is skipped and the database is asked only on a possible hit; new numbers are
+ * almost always absent, so most checks need no query
+ *
+ * 删除不会从过滤器中移除学号，只会使误报略多，不影响正确性。其他进程写入的学号不在过滤器中，
+ * 插入时仍由 student_no 唯一约束兜底
+ * Deletes never remove numbers from the filter; that only adds false positives and never breaks
+ * correctness. Numbers written by other processes are missing from the filter, and the UNIQUE
+ * student_no constraint still catches them on insert
+ *
+ * 加入和检查都使用归一化的学号（小写、去掉末尾空格和重音符号），与 utf8mb4_unicode_ci 排序规则下
+ * 相等的学号得到同一个键，不会把数据库认为相同的学号判为“一定不存在”
+ * Adds and checks both use the normalized number (lower case, trailing spaces and accents
+ * stripped), so numbers equal under the utf8mb4_unicode_ci collation share a key and a number the
+ * database considers present is never reported "definitely absent"
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public final class StudentNoFilter {
+
+    /**
+     * 过滤器，预期条目数为 0 时不创建
+     * The filter, not created when the expected entries are 0
+     */
+    private static final BloomFilter FILTER = DBUtil.getStudentNoFilterExpectedEntries() > 0
+            ? new BloomFilter(DBUtil.getStudentNoFilterExpectedEntries(), DBUtil.getStudentNoFilterFalsePositiveRate())
+            : null;
+
+    /**
+     * 启动扫描是否已完成；完成前所有学号都按“可能存在”处理
+     * Whether the startup scan has finished; until then every number counts as possibly present
+     */
+    private static volatile boolean ready;
+
+    private static Thread loader;
+
+    private static final LongAdder skippedCount = new LongAdder();
+    private static final LongAdder possibleHitCount = new LongAdder();
+    private static final LongAdder falsePositiveCount = new LongAdder();
+
+    private StudentNoFilter() {
+    }
+
+    /**
+     * 在后台线程中扫描全部学号建立过滤器（未启用时不做任何事）
+     * Build the filter from every student number on a background thread (does nothing when disabled)
+     */
+    public static synchronized void start() {
+        if (FILTER == null || loader != null) {
+            return;
+        }
+        loader = new Thread(StudentNoFilter::load, "jzz-student-no-filter");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * 学号是否可能存在
+     * Whether a student number may exist
+     *
+     * @param studentNo 学号
+     * @return false 表示一定不存在，可以跳过查询
+     */
+    public static boolean mightExist(String studentNo) {
+        if (FILTER == null || !ready || studentNo == null) {
+            return true;
+        }
+        if (FILTER.mightContain(keyOf(studentNo))) {
+            possibleHitCount.increment();
+            return true;
+        }
+        skippedCount.increment();
+        return false;
+    }
+
+    /**
+     * 加入学号，在写入数据库之前调用，使并发的检查不会在写入后回答“一定不存在”
+     * Add a student number; called before the database write so a concurrent check can never
+     * answer "definitely absent" once the row exists
+     *
+     * @param studentNo 学号
+     */
+    public static void add(String studentNo) {
+        if (FILTER != null && studentNo != null) {
+            FILTER.put(keyOf(studentNo));
+        }
+    }
+
+    /**
+     * 记录误报（过滤器回答可能存在，查询结果为不存在）
+     * Record false positives (the filter said possibly present, the query found nothing)
+     *
+     * @param count 误报次数
+     */
+    public static void recordFalsePositives(int count) {
+        falsePositiveCount.add(count);
+    }
+
+    /**
+     * 获取统计：配置、内存、估算和实测的误报率以及跳过的查询数
+     * Get statistics: configuration, memory, estimated and observed false-positive rates and
+     * skipped queries
+     *
+     * @return 统计项，未启用时只有 enabled=false
+     */
+    public static Map<String, Object> getStats() {
+        if (FILTER == null) {
+            return Collections.singletonMap("enabled", false);
+        }
+        long skipped = skippedCount.sum();
+        long falsePositives = falsePositiveCount.sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", true);
+        stats.put("ready", ready);
+        stats.put("expectedEntries", DBUtil.getStudentNoFilterExpectedEntries());
+        stats.put("targetFalsePositiveRate", DBUtil.getStudentNoFilterFalsePositiveRate());
+        stats.put("estimatedFalsePositiveRate", FILTER.estimatedFalsePositiveRate());
+        stats.put("bits", FILTER.getBitCount());
+        stats.put("hashFunctions", FILTER.getHashCount());
+        stats.put("memoryBytes", FILTER.getMemoryBytes());
+        stats.put("addCount", FILTER.getAddCount());
+        stats.put("skippedQueries", skipped);
+        stats.put("possibleHits", possibleHitCount.sum());
+        stats.put("falsePositives", falsePositives);
+        // 不存在的学号中被误判为可能存在的比例 (Share of absent numbers wrongly reported as possibly present)
+        long absent = skipped + falsePositives;
+        stats.put("observedFalsePositiveRate", absent == 0 ? 0 : (double) falsePositives / absent);
+        return stats;
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    /**
+     * 过滤器的键：小写，去掉末尾空格（PAD SPACE 比较忽略它们），非 ASCII 时再去掉重音符号
+     * The filter key: lower case without trailing spaces (PAD SPACE comparison ignores them), and
+     * without accents when non-ASCII
+     */
+    private static String keyOf(String studentNo) {
+        int end = studentNo.length();
+        while (end > 0 && studentNo.charAt(end - 1) == ' ') {
+            end--;
+        }
+        String key = studentNo.substring(0, end).toLowerCase(Locale.ROOT);
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) >= 0x80) {
+                return Normalizer.normalize(key, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+            }
+        }
+        return key;
+    }
+
+    /**
+     * 在主库上流式读取全部学号；启动期间的写入已经直接加入过滤器，因此扫描完成即可使用。
+     * 不读只读副本：滞后的副本会漏掉刚写入的学号，过滤器随后会把它们判为“一定不存在”
+     * Stream every student number from the primary; writes during startup already went into the
+     * filter, so it is usable as soon as the scan finishes. Replicas are not used: a lagging one
+     * would miss numbers just written, which the filter would then report as definitely absent
+     */
+    private static void load() {
+        long start = System.currentTimeMillis();
+        try {
+            long count = DBUtil.inPrimaryReadOnly(() -> new StudentDAOImpl().streamByConditions(
+                    Collections.emptyMap(), "id", "ASC",
+                    StudentFields.parse("studentNo"), student -> add(student.getStudentNo())));
+            ready = true;
+            LogUtil.info("学号过滤器已建立，学号数：" + count + "，内存 " + FILTER.getMemoryBytes()
+                    + " 字节，耗时 " + (System.currentTimeMillis() - start) + " ms");
+            if (count > DBUtil.getStudentNoFilterExpectedEntries()) {
+                LogUtil.warn("学号数超过 jdbc.studentNoFilter.expectedEntries，误报率会高于目标值");
+            }
+        } catch (Exception e) {
+            // 过滤器保持未就绪，所有检查照常查询 (The filter stays not ready and every check queries as before)
+            LogUtil.error("建立学号过滤器失败：" + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,448 @@
+package com.jzz.dao;
+
+import com.jzz.model.Student;
+import com.jzz.model.StudentFields;
+import com.jzz.util.DBUtil;
+import com.jzz.util.PostingList;
+import com.jzz.util.StringUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 姓名、专业、班级的内存 n-gram 倒排索引
+ * In-Memory N-gram Inverted Index over Name, Major and Class
+ *
+ * 对每列文本（转为小写）的每个单字和相邻双字建立倒排表（压缩的有序 ID 列表）。模糊查询 LIKE '%x%' 时，
+ * 单字关键字取该字的倒排表，更长的关键字取其全部双字倒排表的交集，得到包含全部匹配行的候选 ID，
+ * 多个条件再取交集；SQL 只按主键读取候选行，并照常执行原来的 LIKE，因此结果与单独使用 LIKE 完全一致
+ * Builds posting lists (compressed sorted id lists) for every character and every adjacent
+ * character pair of each column's lowercased text. For LIKE '%x%', a one-character keyword takes
+ * that character's list and longer keywords intersect the lists of all their bigrams, yielding
+ * candidate ids that include every matching row; several conditions intersect again. SQL then
+ * reads only the candidates by primary key and still applies the original LIKE, so results are
+ * identical to LIKE alone
+ *
+ * 排序规则可能把不同的字符视为相等（如全角与半角、带重音的字母），这类字符无法按原文建立索引：
+ * 含有 ASCII 可打印字符和常用汉字以外字符的文本不拆分，记入该列的“总是候选”列表；
+ * 关键字含有这类字符或 LIKE 通配符时不使用索引
+ * A collation may treat different characters as equal (full-width and half-width forms, accented
+ * letters), which cannot be indexed by their text: texts with characters outside printable ASCII
+ * and common CJK ideographs are not split but go to the column's always-candidate list, and
+ * keywords with such characters or LIKE wildcards do not use the index
+ *
+ * 加载和刷新见 StudentMirror。索引只能看到本进程的写入（其他实例插入的行不会成为候选，
+ * 查询会漏掉它们），因此只能在单实例部署中启用。只有按页码偏移的分页查询使用索引；
+ * 游标分页和导出照常执行 LIKE，结果相同，只是没有加速
+ * See StudentMirror for loading and refreshing. The index only sees writes made by this process
+ * (rows inserted by other instances never become candidates, so queries would miss them), so
+ * enable it only in single-instance deployments. Only offset-paged queries use the index; cursor
+ * pages and exports run the plain LIKE, with the same results and no speed-up
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public final class StudentTextIndex extends StudentMirror {
+
+    /**
+     * 全局索引，未启用时不创建
+     * The shared index, not created unless enabled
+     */
+    private static final StudentTextIndex SHARED = DBUtil.isTextIndexEnabled()
+            ? new StudentTextIndex(DBUtil.getTextIndexMaxCandidates())
+            : null;
+
+    /**
+     * 被索引的查询条件（与 StudentDAOImpl 的模糊查询条件相同）
+     * Indexed query conditions (the fuzzy conditions of StudentDAOImpl)
+     */
+    private static final String[] CONDITIONS = {"name", "major", "className"};
+
+    private static final StudentFields FIELDS = StudentFields.parse("id,studentNo,name,major,className");
+
+    /**
+     * 候选 ID 超过该值时不使用索引（IN 列表过长，不如让数据库自己扫描）
+     * Above this many candidates the index is not used (the IN list would cost more than a scan)
+     */
+    private final int maxCandidates;
+
+    private final ColumnIndex[] columns = {new ColumnIndex(), new ColumnIndex(), new ColumnIndex()};
+
+    /**
+     * 已索引的行（用于写入后移除旧文本的 n-gram）
+     * Indexed rows (to remove the n-grams of the old text after a write)
+     */
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<String, Integer> idByStudentNo = new HashMap<>();
+
+    private final LongAdder resolvedCount = new LongAdder();
+    private final LongAdder emptyCount = new LongAdder();
+    private final LongAdder tooManyCount = new LongAdder();
+    private final LongAdder unsupportedCount = new LongAdder();
+
+    private StudentTextIndex(int maxCandidates) {
+        super("学生文本索引", "jzz-text-index", "模糊查询改为使用 LIKE", FIELDS);
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * 获取全局索引
+     * Get the shared index
+     *
+     * @return 索引，未启用（jdbc.textIndex.enabled）时返回 null
+     */
+    public static StudentTextIndex shared() {
+        return SHARED;
+    }
+
+    // ==================== 查询 (Queries) ====================
+
+    /**
+     * 求模糊查询条件的候选 ID：包含全部满足这些条件的行，可能多出不满足的行
+     * Candidate ids for the fuzzy conditions: every row satisfying them is included, and rows that
+     * do not may be too
+     *
+     * @param conditions 查询条件 Map
+     * @return 升序的候选 ID；索引未就绪、没有模糊条件、关键字无法使用索引或候选过多时返回 null
+     */
+    public int[] candidates(Map<String, Object> conditions) {
+        if (!isReady() || conditions == null) {
+            return null;
+        }
+        List<String> keywords = new ArrayList<>(CONDITIONS.length);
+        for (String condition : CONDITIONS) {
+            Object value = conditions.get(condition);
+            // 只有空白的条件被 SQL 忽略，这里同样忽略；其余关键字不去掉首尾空白
+            // (A whitespace-only condition is ignored by the SQL and here too; other keywords keep
+            //  their leading and trailing whitespace)
+            String keyword = value instanceof String && StringUtil.isNotEmpty((String) value) ? (String) value : "";
+            if (!keyword.isEmpty() && !indexable(keyword)) {
+                unsupportedCount.increment();
+                return null;
+            }
+            keywords.add(keyword.toLowerCase(Locale.ROOT));
+        }
+
+        int[] result = null;
+        lock.readLock().lock();
+        try {
+            // 检查之后可能已开始重新加载 (A reload may have started since the check)
+            if (!isReady()) {
+                return null;
+            }
+            for (int c = 0; c < CONDITIONS.length && (result == null || result.length > 0); c++) {
+                if (!keywords.get(c).isEmpty()) {
+                    int[] ids = columns[c].candidates(keywords.get(c));
+                    result = result == null ? ids : intersect(result, ids);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (result == null) {
+            return null;
+        }
+        if (result.length > maxCandidates) {
+            tooManyCount.increment();
+            return null;
+        }
+        resolvedCount.increment();
+        if (result.length == 0) {
+            emptyCount.increment();
+        }
+        return result;
+    }
+
+    // ==================== 统计 (Statistics) ====================
+
+    /**
+     * 获取统计
+     * Get statistics
+     *
+     * @return 统计项
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("ready", isReady());
+            stats.put("rows", entries.size());
+            long bytes = 0;
+            for (int c = 0; c < CONDITIONS.length; c++) {
+                stats.put(CONDITIONS[c] + "Grams", columns[c].postings.size());
+                stats.put(CONDITIONS[c] + "Unindexed", columns[c].unindexed.size());
+                bytes += columns[c].getEncodedBytes();
+            }
+            stats.put("postingBytes", bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("maxCandidates", maxCandidates);
+        stats.put("resolvedQueries", resolvedCount.sum());
+        stats.put("emptyResults", emptyCount.sum());
+        stats.put("tooManyCandidates", tooManyCount.sum());
+        stats.put("unsupportedKeywords", unsupportedCount.sum());
+        stats.put("refreshedRows", getRefreshedRowCount());
+        return stats;
+    }
+
+    // ==================== 镜像维护 (Mirror Maintenance) ====================
+
+    /**
+     * 清空全部倒排表和已索引的行
+     * Clear every posting list and indexed row
+     */
+    @Override
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = new ColumnIndex();
+            }
+            entries.clear();
+            idByStudentNo.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 索引一行，已索引过的先移除旧文本；调用方持有写锁
+     * Index a row, removing its old text first; the caller holds the write lock
+     */
+    @Override
+    void apply(Student student) {
+        Integer holder = idByStudentNo.get(student.getStudentNo());
+        if (holder != null && !holder.equals(student.getId())) {
+            // 学号在主库中是唯一的，被其他行占用说明那一行已被删除或改了学号
+            // (Student numbers are unique in the primary, so another holder was deleted or renumbered)
+            remove(holder);
+        }
+        remove(student.getId());
+
+        Entry entry = new Entry(student.getStudentNo(),
+                new String[]{student.getName(), student.getMajor(), student.getClassName()});
+        for (int c = 0; c < CONDITIONS.length; c++) {
+            columns[c].add(student.getId(), entry.texts[c]);
+        }
+        entries.put(student.getId(), entry);
+        idByStudentNo.put(entry.studentNo, student.getId());
+    }
+
+    @Override
+    void removeId(Integer id) {
+        remove(id);
+    }
+
+    @Override
+    void removeStudentNo(String studentNo) {
+        remove(idByStudentNo.get(studentNo));
+    }
+
+    /**
+     * 移除一行，调用方持有写锁
+     * Remove a row; the caller holds the write lock
+     */
+    private void remove(Integer id) {
+        Entry entry = id != null ? entries.remove(id) : null;
+        if (entry == null) {
+            return;
+        }
+        for (int c = 0; c < CONDITIONS.length; c++) {
+            columns[c].remove(id, entry.texts[c]);
+        }
+        idByStudentNo.remove(entry.studentNo, id);
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    /**
+     * 关键字能否使用索引：非空、不含 LIKE 通配符和转义符，且全部是可以按原文索引的字符
+     * Whether a keyword can use the index: non-empty, free of LIKE wildcards and the escape
+     * character, and made only of characters that can be indexed by their text
+     */
+    private static boolean indexable(String keyword) {
+        if (keyword.isEmpty() || !StringUtil.isCollationStable(keyword)) {
+            return false;
+        }
+        return keyword.indexOf('%') < 0 && keyword.indexOf('_') < 0 && keyword.indexOf('\\') < 0;
+    }
+
+    /**
+     * n-gram 的键：双字为两个字符拼成的 int（高位字符不超过 0x9FFF），单字的高 16 位全为 1
+     * Key of an n-gram: a bigram packs both characters into an int (the high one is at most
+     * 0x9FFF), a unigram has all high 16 bits set
+     */
+    private static int gramKey(char first, char second) {
+        return (first << 16) | second;
+    }
+
+    private static int gramKey(char single) {
+        return 0xFFFF0000 | single;
+    }
+
+    /**
+     * 小写文本的全部单字和双字键
+     * Every unigram and bigram key of a lowercased text
+     */
+    private static Set<Integer> gramsOf(String lower) {
+        Set<Integer> grams = new HashSet<>();
+        for (int i = 0; i < lower.length(); i++) {
+            grams.add(gramKey(lower.charAt(i)));
+            if (i + 1 < lower.length()) {
+                grams.add(gramKey(lower.charAt(i), lower.charAt(i + 1)));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 两个升序数组的交集
+     * Intersection of two ascending arrays
+     */
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int n = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * 两个升序数组的并集
+     * Union of two ascending arrays
+     */
+    private static int[] union(int[] a, int[] b) {
+        if (b.length == 0) {
+            return a;
+        }
+        int[] result = new int[a.length + b.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                result[n++] = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                result[n++] = b[j++];
+            } else {
+                result[n++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * 一列的倒排表
+     * Posting lists of one column
+     */
+    private static final class ColumnIndex {
+
+        final Map<Integer, PostingList> postings = new HashMap<>();
+
+        /**
+         * 含有无法按原文索引字符的行，总是作为候选
+         * Rows whose text has characters that cannot be indexed, always candidates
+         */
+        final PostingList unindexed = new PostingList();
+
+        void add(int id, String text) {
+            if (text == null) {
+                // NULL 不满足任何 LIKE 条件 (NULL never satisfies LIKE)
+                return;
+            }
+            if (!StringUtil.isCollationStable(text)) {
+                unindexed.add(id);
+                return;
+            }
+            for (Integer gram : gramsOf(text.toLowerCase(Locale.ROOT))) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+            }
+        }
+
+        void remove(int id, String text) {
+            if (text == null) {
+                return;
+            }
+            if (!StringUtil.isCollationStable(text)) {
+                unindexed.remove(id);
+                return;
+            }
+            for (Integer gram : gramsOf(text.toLowerCase(Locale.ROOT))) {
+                PostingList list = postings.get(gram);
+                if (list != null) {
+                    list.remove(id);
+                    if (list.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 包含小写关键字的候选行：单字取其倒排表，否则从最短的开始求全部双字倒排表的交集
+         * Candidate rows containing the lowercased keyword: a single character takes its list,
+         * otherwise the lists of all bigrams are intersected, shortest first
+         */
+        int[] candidates(String lower) {
+            int[] ids;
+            if (lower.length() == 1) {
+                PostingList list = postings.get(gramKey(lower.charAt(0)));
+                ids = list != null ? list.toArray() : new int[0];
+            } else {
+                List<PostingList> lists = new ArrayList<>();
+                for (int i = 0; i + 1 < lower.length(); i++) {
+                    lists.add(postings.get(gramKey(lower.charAt(i), lower.charAt(i + 1))));
+                }
+                if (lists.contains(null)) {
+                    ids = new int[0];
+                } else {
+                    lists.sort(Comparator.comparingInt(PostingList::size));
+                    ids = lists.get(0).toArray();
+                    for (int i = 1; i < lists.size() && ids.length > 0; i++) {
+                        ids = intersect(ids, lists.get(i).toArray());
+                    }
+                }
+            }
+            return union(ids, unindexed.toArray());
+        }
+
+        long getEncodedBytes() {
+            long bytes = unindexed.getEncodedBytes();
+            for (PostingList list : postings.values()) {
+                bytes += list.getEncodedBytes();
+            }
+            return bytes;
+        }
+    }
+
+    private static final class Entry {
+        final String studentNo;
+        final String[] texts;
+
+        Entry(String studentNo, String[] texts) {
+            this.studentNo = studentNo;
+            this.texts = texts;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.jzz.db;
+
+import com.jzz.util.LogUtil;
+import com.jzz.util.StringUtil;
+
+import java.util.Properties;
+
+/**
+ * 进程内缓存配置类
+ * In-Process Cache Configuration Class
+ *
+ * 对应 db.properties 中学生单行缓存、分页查询缓存、学号布隆过滤器、列式副本和 n-gram 索引的配置项
+ * Corresponds to the settings in db.properties for the student row cache, the page query cache,
+ * the student number filter, the columnar replica and the n-gram index
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class CacheConfig {
+
+    /**
+     * 学生单行缓存的最大条目数，0 表示关闭
+     * Maximum entries of the student row cache, 0 disables it
+     */
+    private int studentCacheMaxEntries = 10000;
+
+    /**
+     * 学生单行缓存的有效期（秒）
+     * Time-to-live of student row cache entries, seconds
+     */
+    private long studentCacheTtlSeconds = 300;
+
+    /**
+     * 分页查询结果缓存的最大条目数，0 表示关闭
+     * Maximum entries of the page query cache, 0 disables it
+     */
+    private int queryCacheMaxEntries = 1000;
+
+    /**
+     * 分页查询结果的有效期（秒）
+     * Time-to-live of cached page query results, seconds
+     */
+    private long queryCacheTtlSeconds = 30;
+
+    /**
+     * 学号布隆过滤器的预期条目数，0 表示关闭
+     * Expected entries of the student number filter, 0 disables it
+     */
+    private long studentNoFilterExpectedEntries = 100000;
+
+    /**
+     * 学号布隆过滤器的目标误报率
+     * Target false-positive rate of the student number filter
+     */
+    private double studentNoFilterFalsePositiveRate = 0.01;
+
+    /**
+     * 是否启用学生表的内存列式副本
+     * Whether the in-memory columnar replica of the student table is enabled
+     */
+    private boolean columnStoreEnabled = false;
+
+    /**
+     * 列式副本并行扫描的最小行数
+     * Minimum rows before the columnar replica scans in parallel
+     */
+    private int columnStoreParallelThreshold = 100000;
+
+    /**
+     * 是否启用姓名、专业、班级的内存 n-gram 索引
+     * Whether the in-memory n-gram index over name, major and class is enabled
+     */
+    private boolean textIndexEnabled = false;
+
+    /**
+     * 使用 n-gram 索引的最大候选行数
+     * Maximum candidate rows for which the n-gram index is used
+     */
+    private int textIndexMaxCandidates = 1000;
+
+    // ==================== 构造方法 (Constructors) ====================
+
+    /**
+     * 无参构造方法
+     * No-argument Constructor
+     */
+    public CacheConfig() {
+    }
+
+    /**
+     * 从配置文件属性构建缓存配置
+     * Build cache configuration from properties
+     *
+     * 未配置或格式错误的项使用默认值
+     * Missing or malformed entries fall back to defaults
+     *
+     * @param props db.properties 属性
+     * @return CacheConfig 对象
+     */
+    public static CacheConfig fromProperties(Properties props) {
+        CacheConfig config = new CacheConfig();
+        if (props == null) {
+            return config;
+        }
+
+        config.setStudentCacheMaxEntries(StringUtil.toInt(
+                props.getProperty("jdbc.studentCache.maxEntries"), config.studentCacheMaxEntries));
+        config.setStudentCacheTtlSeconds(StringUtil.toLong(
+                props.getProperty("jdbc.studentCache.ttlSeconds"), config.studentCacheTtlSeconds));
+        config.setQueryCacheMaxEntries(StringUtil.toInt(
+                props.getProperty("jdbc.queryCache.maxEntries"), config.queryCacheMaxEntries));
+        config.setQueryCacheTtlSeconds(StringUtil.toLong(
+                props.getProperty("jdbc.queryCache.ttlSeconds"), config.queryCacheTtlSeconds));
+        config.setStudentNoFilterExpectedEntries(StringUtil.toLong(
+                props.getProperty("jdbc.studentNoFilter.expectedEntries"), config.studentNoFilterExpectedEntries));
+        String falsePositiveRate = props.getProperty("jdbc.studentNoFilter.falsePositiveRate");
+        if (StringUtil.isNotEmpty(falsePositiveRate)) {
+            try {
+                config.setStudentNoFilterFalsePositiveRate(Double.parseDouble(falsePositiveRate.trim()));
+            } catch (NumberFormatException e) {
+                LogUtil.warn("jdbc.studentNoFilter.falsePositiveRate 配置无效：" + falsePositiveRate);
+            }
+        }
+        config.setColumnStoreEnabled(Boolean.parseBoolean(
+                props.getProperty("jdbc.columnStore.enabled", "false").trim()));
+        config.setColumnStoreParallelThreshold(StringUtil.toInt(
+                props.getProperty("jdbc.columnStore.parallelThreshold"), config.columnStoreParallelThreshold));
+        config.setTextIndexEnabled(Boolean.parseBoolean(
+                props.getProperty("jdbc.textIndex.enabled", "false").trim()));
+        config.setTextIndexMaxCandidates(StringUtil.toInt(
+                props.getProperty("jdbc.textIndex.maxCandidates"), config.textIndexMaxCandidates));
+        return config;
+    }
+
+    // ==================== Getter 和 Setter 方法 (Getter and Setter Methods) ====================
+
+    public int getStudentCacheMaxEntries() {
+        return studentCacheMaxEntries;
+    }
+
+    public void setStudentCacheMaxEntries(int studentCacheMaxEntries) {
+        this.studentCacheMaxEntries = studentCacheMaxEntries;
+    }
+
+    public long getStudentCacheTtlSeconds() {
+        return studentCacheTtlSeconds;
+    }
+
+    public void setStudentCacheTtlSeconds(long studentCacheTtlSeconds) {
+        this.studentCacheTtlSeconds = studentCacheTtlSeconds;
+    }
+
+    public int getQueryCacheMaxEntries() {
+        return queryCacheMaxEntries;
+    }
+
+    public void setQueryCacheMaxEntries(int queryCacheMaxEntries) {
+        this.queryCacheMaxEntries = queryCacheMaxEntries;
+    }
+
+    public long getQueryCacheTtlSeconds() {
+        return queryCacheTtlSeconds;
+    }
+
+    public void setQueryCacheTtlSeconds(long queryCacheTtlSeconds) {
+        this.queryCacheTtlSeconds = queryCacheTtlSeconds;
+    }
+
+    public long getStudentNoFilterExpectedEntries() {
+        return studentNoFilterExpectedEntries;
+    }
+
+    public void setStudentNoFilterExpectedEntries(long studentNoFilterExpectedEntries) {
+        this.studentNoFilterExpectedEntries = studentNoFilterExpectedEntries;
+    }
+
+    public double getStudentNoFilterFalsePositiveRate() {
+        return studentNoFilterFalsePositiveRate;
+    }
+
+    public void setStudentNoFilterFalsePositiveRate(double studentNoFilterFalsePositiveRate) {
+        this.studentNoFilterFalsePositiveRate = studentNoFilterFalsePositiveRate;
+    }
+
+    public boolean isColumnStoreEnabled() {
+        return columnStoreEnabled;
+    }
+
+    public void setColumnStoreEnabled(boolean columnStoreEnabled) {
+        this.columnStoreEnabled = columnStoreEnabled;
+    }
+
+    public int getColumnStoreParallelThreshold() {
+        return columnStoreParallelThreshold;
+    }
+
+    public void setColumnStoreParallelThreshold(int columnStoreParallelThreshold) {
+        this.columnStoreParallelThreshold = columnStoreParallelThreshold;
+    }
+
+    public boolean isTextIndexEnabled() {
+        return textIndexEnabled;
+    }
+
+    public void setTextIndexEnabled(boolean textIndexEnabled) {
+        this.textIndexEnabled = textIndexEnabled;
+    }
+
+    public int getTextIndexMaxCandidates() {
+        return textIndexMaxCandidates;
+    }
+
+    public void setTextIndexMaxCandidates(int textIndexMaxCandidates) {
+        this.textIndexMaxCandidates = textIndexMaxCandidates;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheConfig{" +
+                "studentCacheMaxEntries=" + studentCacheMaxEntries +
+                ", studentCacheTtlSeconds=" + studentCacheTtlSeconds +
+                ", queryCacheMaxEntries=" + queryCacheMaxEntries +
+                ", queryCacheTtlSeconds=" + queryCacheTtlSeconds +
+                ", studentNoFilterExpectedEntries=" + studentNoFilterExpectedEntries +
+                ", studentNoFilterFalsePositiveRate=" + studentNoFilterFalsePositiveRate +
+                ", columnStoreEnabled=" + columnStoreEnabled +
+                ", columnStoreParallelThreshold=" + columnStoreParallelThreshold +
+                ", textIndexEnabled=" + textIndexEnabled +
+                ", textIndexMaxCandidates=" + textIndexMaxCandidates +
+                '}';
+    }
+}
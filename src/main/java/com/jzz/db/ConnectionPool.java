@@ -0,0 +1,532 @@
+package com.jzz.db;
+
+import com.jzz.util.LogUtil;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 数据库连接池
+ * Database Connection Pool
+ *
+ * 简单的有界连接池：
+ * A simple bounded connection pool:
+ * 1. 公平信号量限制同时借出的连接数，等待者按先来后到获得连接
+ *    A fair semaphore bounds borrowed connections; waiters are served in FIFO order
+ * 2. 空闲连接按后进先出复用，便于多余连接自然空闲并被回收
+ *    Idle connections are reused LIFO so surplus connections go idle and get evicted
+ * 3. 借出时校验连接有效性
+ *    Connections are validated on borrow
+ * 4. 后台线程回收长时间空闲的连接，并维持最小空闲数
+ *    A background thread evicts long-idle connections and keeps minIdle warm
+ * 5. 统计借出等待、持有时间等指标，并检测被长时间持有的疑似泄漏连接
+ *    Tracks borrow wait and hold time, and reports connections held suspiciously long
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class ConnectionPool {
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final PoolConfig config;
+
+    /**
+     * 借出许可（公平模式）
+     * Borrow permits (fair mode)
+     */
+    private final Semaphore permits;
+
+    /**
+     * 空闲连接队列，队头为最近归还的连接
+     * Idle connections, head is the most recently returned one
+     */
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+
+    /**
+     * 当前打开的物理连接总数
+     * Number of open physical connections
+     */
+    private final AtomicInteger totalCount = new AtomicInteger();
+
+    /**
+     * 空闲连接回收线程
+     * Idle eviction thread
+     */
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * 已借出的连接，用于泄漏检测
+     * Borrowed connections, used for leak detection
+     */
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+
+    // ==================== 统计指标 (Metrics) ====================
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder destroyedCount = new LongAdder();
+    private final LongAdder validationFailureCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final LongAdder statementCacheHitCount = new LongAdder();
+    private final LongAdder statementCacheMissCount = new LongAdder();
+    private final LongAdder statementCacheEvictionCount = new LongAdder();
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+    private final LatencyHistogram holdTime = new LatencyHistogram();
+
+    /**
+     * 最多保留的泄漏记录条数
+     * Maximum number of leak records kept
+     */
+    private static final int MAX_LEAK_RECORDS = 20;
+
+    /**
+     * 物理连接数已满时每次等待空闲连接的最长时间（纳秒），之后重新尝试预占名额
+     * Longest single wait for an idle connection while physical connections are at the limit
+     * (ns), after which a slot reservation is tried again
+     */
+    private static final long SLOT_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * 最近的泄漏记录，队头为最新
+     * Recent leak records, newest first
+     */
+    private final ConcurrentLinkedDeque<PoolStats.LeakInfo> recentLeaks = new ConcurrentLinkedDeque<>();
+
+    private volatile boolean closed;
+
+    /**
+     * 创建连接池并预先建立 initialSize 个连接
+     * Create the pool and open initialSize connections up front
+     *
+     * @param url JDBC URL
+     * @param username 用户名
+     * @param password 密码
+     * @param config 连接池配置
+     */
+    public ConnectionPool(String url, String username, String password, PoolConfig config) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxActive(), true);
+
+        fill(config.getInitialSize());
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "jzz-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = config.getTimeBetweenEvictionRunsMillis();
+        if (interval > 0) {
+            evictor.scheduleWithFixedDelay(this::evict, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        long leakThreshold = config.getLeakDetectionThreshold();
+        if (leakThreshold > 0) {
+            long period = Math.max(1000, leakThreshold / 2);
+            evictor.scheduleWithFixedDelay(this::detectLeaks, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 从连接池借出一个连接
+     * Borrow a connection from the pool
+     *
+     * 连接池耗尽时最多等待 maxWait 毫秒
+     * Waits at most maxWait ms when the pool is exhausted
+     *
+     * @return 逻辑连接，调用 close() 归还
+     * @throws SQLException 等待超时、线程中断或无法建立连接
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("连接池已关闭 (Connection pool is closed)");
+        }
+
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(config.getMaxWait(), TimeUnit.MILLISECONDS);
+            borrowWait.record(System.nanoTime() - start);
+            if (!acquired) {
+                timeoutCount.increment();
+                throw new SQLException("获取数据库连接超时，等待 " + config.getMaxWait()
+                        + " 毫秒后连接池仍无可用连接 (Timed out waiting for a pooled connection)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("等待数据库连接时线程被中断 (Interrupted while waiting for a connection)", e);
+        }
+
+        try {
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getMaxWait());
+            while (true) {
+                PooledConnection pooled;
+                while ((pooled = idle.pollFirst()) != null) {
+                    if (validate(pooled)) {
+                        return lend(pooled);
+                    }
+                    validationFailureCount.increment();
+                    discard(pooled);
+                }
+                if (reserveSlot()) {
+                    return lend(create());
+                }
+                // 物理连接数已满：剩下的名额属于正在预建或正在归还的连接，它们很快会进入空闲队列
+                // (Physical connections are at the limit: the remaining slots belong to connections
+                //  being pre-filled or returned, which will reach the idle queue shortly)
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    timeoutCount.increment();
+                    throw new SQLException("获取数据库连接超时，物理连接数已达上限 " + config.getMaxActive()
+                            + " (Timed out waiting for a pooled connection)");
+                }
+                pooled = idle.pollFirst(Math.min(remaining, SLOT_WAIT_NANOS), TimeUnit.NANOSECONDS);
+                if (pooled != null) {
+                    idle.offerFirst(pooled);
+                }
+            }
+        } catch (InterruptedException e) {
+            permits.release();
+            Thread.currentThread().interrupt();
+            throw new SQLException("等待数据库连接时线程被中断 (Interrupted while waiting for a connection)", e);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 归还连接（由逻辑连接的 close() 调用）
+     * Return a connection (called by the logical connection's close())
+     *
+     * @param pooled 池化连接
+     */
+    void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        holdTime.record(System.nanoTime() - pooled.getBorrowNanos());
+        PoolStats.LeakInfo leak = pooled.getLeak();
+        if (leak != null) {
+            leak.markReturned();
+            LogUtil.warn("之前报告为疑似泄漏的连接已归还，持有 "
+                    + (System.currentTimeMillis() - pooled.getBorrowTime()) + " 毫秒，借出线程：" + leak.getThreadName());
+        }
+
+        try {
+            pooled.reset();
+            pooled.touch();
+            if (closed || idle.size() >= config.getMaxIdle() || totalCount.get() > config.getMaxActive()) {
+                discard(pooled);
+            } else {
+                idle.offerFirst(pooled);
+            }
+        } catch (SQLException e) {
+            LogUtil.warn("归还连接时重置失败，丢弃该连接：" + e.getMessage());
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 关闭连接池及所有空闲连接
+     * Close the pool and all idle connections
+     *
+     * 已借出的连接会在归还时被关闭
+     * Borrowed connections are closed as they are returned
+     */
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    /**
+     * 预建空闲连接，直到空闲数达到 target（不超过 maxIdle 和 maxActive）
+     * Pre-create idle connections until target are idle (capped at maxIdle and maxActive)
+     *
+     * @param target 目标空闲连接数
+     * @return 预建后的空闲连接数
+     */
+    public int prefill(int target) {
+        fill(Math.min(target, config.getMaxIdle()));
+        return idle.size();
+    }
+
+    // ==================== 状态查询 (Status) ====================
+
+    /**
+     * 已借出的连接数
+     * Number of borrowed connections
+     */
+    public int getActiveCount() {
+        return config.getMaxActive() - permits.availablePermits();
+    }
+
+    /**
+     * 空闲连接数
+     * Number of idle connections
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * 物理连接总数
+     * Number of physical connections
+     */
+    public int getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * 正在等待连接的线程数（估计值）
+     * Number of threads waiting for a connection (estimate)
+     */
+    public int getPendingCount() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * 生成连接池运行状态快照
+     * Take a statistics snapshot of the pool
+     *
+     * @return PoolStats 快照
+     */
+    public PoolStats getStats() {
+        PoolStats stats = new PoolStats();
+        stats.setActiveCount(getActiveCount());
+        stats.setIdleCount(getIdleCount());
+        stats.setTotalCount(getTotalCount());
+        stats.setPendingCount(getPendingCount());
+        stats.setMaxActive(config.getMaxActive());
+        stats.setBorrowCount(borrowCount.sum());
+        stats.setTimeoutCount(timeoutCount.sum());
+        stats.setCreatedCount(createdCount.sum());
+        stats.setDestroyedCount(destroyedCount.sum());
+        stats.setValidationFailureCount(validationFailureCount.sum());
+        stats.setLeakCount(leakCount.sum());
+        stats.setStatementCacheSize(config.getPreparedStatementCacheSize());
+        stats.setStatementCacheHitCount(statementCacheHitCount.sum());
+        stats.setStatementCacheMissCount(statementCacheMissCount.sum());
+        stats.setStatementCacheEvictionCount(statementCacheEvictionCount.sum());
+        stats.setBorrowWait(borrowWait.snapshot());
+        stats.setHoldTime(holdTime.snapshot());
+        stats.setLeakDetectionThreshold(config.getLeakDetectionThreshold());
+        stats.setRecentLeaks(new ArrayList<>(recentLeaks));
+        return stats;
+    }
+
+    // ==================== 语句缓存计数 (Statement Cache Counters) ====================
+
+    void statementCacheHit() {
+        statementCacheHitCount.increment();
+    }
+
+    void statementCacheMiss() {
+        statementCacheMissCount.increment();
+    }
+
+    void statementCacheEviction() {
+        statementCacheEvictionCount.increment();
+    }
+
+    public PoolConfig getConfig() {
+        return config;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    /**
+     * 把池化连接借给当前线程
+     * Lend a pooled connection to the current thread
+     */
+    private Connection lend(PooledConnection pooled) {
+        Connection handle = pooled.newHandle(config.getLeakDetectionThreshold() > 0);
+        borrowed.add(pooled);
+        borrowCount.increment();
+        return handle;
+    }
+
+    /**
+     * 预占一个物理连接名额（CAS 循环），已达 maxActive 时返回 false；成功后必须调用 create()
+     * Reserve a physical connection slot (CAS loop); returns false at maxActive. A successful
+     * reservation must be followed by create()
+     */
+    private boolean reserveSlot() {
+        while (true) {
+            int count = totalCount.get();
+            if (count >= config.getMaxActive()) {
+                return false;
+            }
+            if (totalCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 在已预占的名额上建立新的物理连接，失败时释放名额
+     * Open a new physical connection on a reserved slot, releasing the slot on failure
+     */
+    private PooledConnection create() throws SQLException {
+        Connection physical = null;
+        try {
+            physical = DriverManager.getConnection(url, username, password);
+            PooledConnection pooled = new PooledConnection(this, physical, config.getPreparedStatementCacheSize());
+            createdCount.increment();
+            return pooled;
+        } catch (SQLException | RuntimeException e) {
+            totalCount.decrementAndGet();
+            if (physical != null) {
+                try {
+                    physical.close();
+                } catch (SQLException ignored) {
+                    // 已经在处理建立失败 (Already handling the failure)
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 关闭并移除一条物理连接
+     * Close and drop a physical connection
+     */
+    private void discard(PooledConnection pooled) {
+        totalCount.decrementAndGet();
+        destroyedCount.increment();
+        pooled.closePhysical();
+    }
+
+    /**
+     * 校验连接是否可用
+     * Check whether a connection is still usable
+     *
+     * 最近 validationInterval 毫秒内用过的连接直接视为有效，避免每次借出都多一次往返
+     * Connections used within validationInterval ms are trusted to save a round trip per borrow
+     */
+    private boolean validate(PooledConnection pooled) {
+        if (!config.isTestOnBorrow()) {
+            return true;
+        }
+        if (System.currentTimeMillis() - pooled.getLastUsedTime() < config.getValidationInterval()) {
+            return true;
+        }
+        try {
+            boolean valid = pooled.getPhysical().isValid(config.getValidationTimeout());
+            if (valid) {
+                pooled.touch();
+            }
+            return valid;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 补充空闲连接，直到空闲数达到 target 或物理连接数达到上限
+     * Top up idle connections until target is reached or maxActive physical connections exist
+     */
+    private void fill(int target) {
+        while (!closed && idle.size() < target && reserveSlot()) {
+            try {
+                idle.offerLast(create());
+            } catch (SQLException e) {
+                LogUtil.warn("预建数据库连接失败：" + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 回收空闲超时的连接，并维持最小空闲数
+     * Evict connections idle for too long and keep minIdle connections
+     */
+    private void evict() {
+        try {
+            long now = System.currentTimeMillis();
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && idle.size() > config.getMinIdle()) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.getLastUsedTime() >= config.getMinEvictableIdleTimeMillis()
+                        && idle.remove(pooled)) {
+                    discard(pooled);
+                }
+            }
+            fill(config.getMinIdle());
+        } catch (RuntimeException e) {
+            LogUtil.error("空闲连接回收失败：" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 检查被持有超过阈值的连接，记录借出位置
+     * Report connections held longer than the threshold together with their borrow site
+     *
+     * 每次借出只报告一次
+     * Each borrow is reported at most once
+     */
+    private void detectLeaks() {
+        try {
+            long now = System.currentTimeMillis();
+            long threshold = config.getLeakDetectionThreshold();
+            for (PooledConnection pooled : borrowed) {
+                long held = now - pooled.getBorrowTime();
+                if (held < threshold || pooled.getLeak() != null) {
+                    continue;
+                }
+
+                String stack = stackTraceOf(pooled.getBorrowSite());
+                PoolStats.LeakInfo leak = new PoolStats.LeakInfo(
+                        pooled.getBorrowThread(), new Timestamp(pooled.getBorrowTime()), held, stack);
+                pooled.setLeak(leak);
+                leakCount.increment();
+
+                recentLeaks.addFirst(leak);
+                while (recentLeaks.size() > MAX_LEAK_RECORDS) {
+                    recentLeaks.pollLast();
+                }
+
+                LogUtil.warn("检测到疑似连接泄漏：连接已被线程 " + pooled.getBorrowThread()
+                        + " 持有 " + held + " 毫秒，可能遗漏了 DBUtil.close() 调用，借出位置：\n" + stack);
+            }
+        } catch (RuntimeException e) {
+            LogUtil.error("连接泄漏检测失败：" + e.getMessage(), e);
+        }
+    }
+
+    private static String stackTraceOf(Throwable site) {
+        if (site == null) {
+            return "";
+        }
+        StringWriter sw = new StringWriter();
+        site.printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
+}
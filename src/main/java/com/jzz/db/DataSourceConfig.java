@@ -0,0 +1,253 @@
+package com.jzz.db;
+
+import com.jzz.util.LogUtil;
+import com.jzz.util.StringUtil;
+
+import java.util.Properties;
+
+/**
+ * 主库数据源配置类
+ * Primary Data Source Configuration Class
+ *
+ * 对应 db.properties 中的驱动、URL、账号、方言和建库脚本配置项；
+ * jdbc.profile=embedded 时改用进程内的 H2 数据库（MySQL 兼容模式），不需要安装 MySQL
+ * Corresponds to the driver, URL, credential, dialect and init-script settings in db.properties;
+ * jdbc.profile=embedded switches to an in-process H2 database in MySQL mode, with no MySQL install
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class DataSourceConfig {
+
+    /**
+     * 嵌入式数据库配置的名称
+     * Name of the embedded database profile
+     */
+    public static final String EMBEDDED_PROFILE = "embedded";
+
+    /**
+     * 嵌入式数据库的默认 URL，可用 jdbc.embedded.url 覆盖
+     * Default URL of the embedded database, overridden by jdbc.embedded.url
+     */
+    public static final String EMBEDDED_URL = "jdbc:h2:mem:student_system;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+
+    /**
+     * 嵌入式数据库默认执行的建库脚本
+     * Init script the embedded database runs by default
+     */
+    private static final String EMBEDDED_INIT_SCRIPT = "database/init.sql";
+
+    /**
+     * 是否使用嵌入式数据库配置
+     * Whether the embedded database profile is used
+     */
+    private boolean embedded;
+
+    /**
+     * JDBC 驱动类名
+     * JDBC Driver Class Name
+     */
+    private String driver;
+
+    /**
+     * 主库 URL
+     * Primary URL
+     */
+    private String url;
+
+    /**
+     * 用户名
+     * Username
+     */
+    private String username;
+
+    /**
+     * 密码
+     * Password
+     */
+    private String password;
+
+    /**
+     * SQL 方言名称，为空时由 URL 推断
+     * SQL dialect name, inferred from the URL when empty
+     */
+    private String dialect;
+
+    /**
+     * 启动时执行的建库脚本（文件路径或类路径），为空表示不执行
+     * Init script run at startup (file path or classpath), none when empty
+     */
+    private String initScript;
+
+    /**
+     * 模糊查询是否使用全文索引：true、false 或 auto（启动时检测索引是否存在）
+     * Whether fuzzy search uses the full-text indexes: true, false or auto (detected at startup)
+     */
+    private String fullTextSearch = "auto";
+
+    /**
+     * 流式读取的抓取大小，MySQL 驱动用 Integer.MIN_VALUE 表示逐行流式读取
+     * Fetch size of streaming reads; the MySQL driver streams row by row with Integer.MIN_VALUE
+     */
+    private int streamingFetchSize = Integer.MIN_VALUE;
+
+    // ==================== 构造方法 (Constructors) ====================
+
+    /**
+     * 无参构造方法
+     * No-argument Constructor
+     */
+    public DataSourceConfig() {
+    }
+
+    /**
+     * 从配置文件属性构建数据源配置
+     * Build data source configuration from properties
+     *
+     * jdbc.profile=embedded 时驱动、账号和方言固定为 H2 的值，未配置建库脚本时执行 database/init.sql
+     * With jdbc.profile=embedded the driver, credentials and dialect are fixed to H2's, and
+     * database/init.sql runs unless another init script is configured
+     *
+     * @param props db.properties 属性
+     * @return DataSourceConfig 对象
+     */
+    public static DataSourceConfig fromProperties(Properties props) {
+        DataSourceConfig config = new DataSourceConfig();
+        if (props == null) {
+            return config;
+        }
+
+        config.setEmbedded(EMBEDDED_PROFILE.equalsIgnoreCase(props.getProperty("jdbc.profile", "").trim()));
+        config.setInitScript(trimToNull(props.getProperty("jdbc.initScript")));
+        if (config.embedded) {
+            config.setDriver("org.h2.Driver");
+            config.setUrl(props.getProperty("jdbc.embedded.url", EMBEDDED_URL).trim());
+            config.setUsername("sa");
+            config.setPassword("");
+            config.setDialect("h2");
+            if (props.getProperty("jdbc.initScript") == null) {
+                config.setInitScript(EMBEDDED_INIT_SCRIPT);
+            }
+            LogUtil.info("使用嵌入式数据库配置 (Embedded database profile)：" + config.url);
+        } else {
+            config.setDriver(props.getProperty("jdbc.driver"));
+            config.setUrl(props.getProperty("jdbc.url"));
+            config.setUsername(props.getProperty("jdbc.username"));
+            config.setPassword(props.getProperty("jdbc.password"));
+            config.setDialect(props.getProperty("jdbc.dialect"));
+        }
+
+        config.setFullTextSearch(props.getProperty("jdbc.fullTextSearch", config.fullTextSearch).trim());
+        config.setStreamingFetchSize(StringUtil.toInt(
+                props.getProperty("jdbc.streamingFetchSize"), config.streamingFetchSize));
+        return config;
+    }
+
+    /**
+     * 去掉首尾空格，空字符串视为未配置
+     * Trim, treating an empty string as not set
+     */
+    static String trimToNull(String value) {
+        return StringUtil.isNotEmpty(value) ? value.trim() : null;
+    }
+
+    /**
+     * 全文检索是否由启动时检测决定
+     * Whether full-text search is decided by detection at startup
+     *
+     * @return true 配置为 auto
+     */
+    public boolean isFullTextSearchAuto() {
+        return "auto".equalsIgnoreCase(fullTextSearch);
+    }
+
+    // ==================== Getter 和 Setter 方法 (Getter and Setter Methods) ====================
+
+    public boolean isEmbedded() {
+        return embedded;
+    }
+
+    public void setEmbedded(boolean embedded) {
+        this.embedded = embedded;
+    }
+
+    public String getDriver() {
+        return driver;
+    }
+
+    public void setDriver(String driver) {
+        this.driver = driver;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getDialect() {
+        return dialect;
+    }
+
+    public void setDialect(String dialect) {
+        this.dialect = dialect;
+    }
+
+    public String getInitScript() {
+        return initScript;
+    }
+
+    public void setInitScript(String initScript) {
+        this.initScript = initScript;
+    }
+
+    public String getFullTextSearch() {
+        return fullTextSearch;
+    }
+
+    public void setFullTextSearch(String fullTextSearch) {
+        this.fullTextSearch = fullTextSearch;
+    }
+
+    public int getStreamingFetchSize() {
+        return streamingFetchSize;
+    }
+
+    public void setStreamingFetchSize(int streamingFetchSize) {
+        this.streamingFetchSize = streamingFetchSize;
+    }
+
+    @Override
+    public String toString() {
+        // 不输出密码 (The password is left out)
+        return "DataSourceConfig{" +
+                "embedded=" + embedded +
+                ", driver='" + driver + '\'' +
+                ", url='" + url + '\'' +
+                ", username='" + username + '\'' +
+                ", dialect='" + dialect + '\'' +
+                ", initScript='" + initScript + '\'' +
+                ", fullTextSearch='" + fullTextSearch + '\'' +
+                ", streamingFetchSize=" + streamingFetchSize +
+                '}';
+    }
+}
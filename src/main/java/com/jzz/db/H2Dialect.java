@@ -0,0 +1,101 @@
+package com.jzz.db;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * H2 方言（MySQL 兼容模式）
+ * H2 Dialect (MySQL compatibility mode)
+ *
+ * 用于嵌入式数据库配置（jdbc.profile=embedded）：不需要安装 MySQL 即可在进程内运行完整的应用和基准测试。
+ * H2 没有 ngram 全文索引，模糊查询只使用 LIKE；EXPLAIN 的格式不同，不提供估算
+ * Used by the embedded database profile (jdbc.profile=embedded) so the whole application and the
+ * benchmarks run in-process without a MySQL install. H2 has no ngram full-text indexes, so fuzzy
+ * search uses LIKE only, and its EXPLAIN output differs, so no estimates are offered
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class H2Dialect implements SqlDialect {
+
+    static final String NAME = "h2";
+
+    /**
+     * H2 不支持流式读取时的默认抓取大小
+     * Default fetch size, since H2 has no row-by-row streaming mode
+     */
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /**
+     * MySQL 专用、H2 不需要执行的语句（建库、切换库、InnoDB 会话变量）
+     * MySQL-only statements H2 skips (create/use database, InnoDB session variables)
+     */
+    private static final Pattern SKIPPED = Pattern.compile("^(CREATE\\s+DATABASE\\s|USE\\s|SET\\s+innodb_).*",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /**
+     * 建表语句中的全文索引（连同前面的逗号）
+     * Full-text indexes in a CREATE TABLE (together with the preceding comma)
+     */
+    private static final Pattern FULLTEXT_INDEX = Pattern.compile(
+            ",?\\s*FULLTEXT\\s+(INDEX|KEY)\\s+\\w+\\s*\\([^)]*\\)(\\s*WITH\\s+PARSER\\s+\\w+)?",
+            Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void appendLimit(StringBuilder sql, int offset, int limit, List<Object> params) {
+        sql.append(" LIMIT ? OFFSET ?");
+        params.add(limit);
+        params.add(offset);
+    }
+
+    @Override
+    public String upsert(String table, String[] columns, String keyColumn, String[] resetColumns) {
+        // MERGE ... KEY 在键已存在时更新所列的全部列 (MERGE ... KEY updates every listed column when the key exists)
+        StringBuilder sql = new StringBuilder("MERGE INTO ").append(table).append(" (")
+                .append(String.join(", ", columns));
+        for (String column : resetColumns) {
+            sql.append(", ").append(column);
+        }
+        sql.append(") KEY (").append(keyColumn).append(") VALUES (");
+        for (int i = 0; i < columns.length; i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        for (int i = 0; i < resetColumns.length; i++) {
+            sql.append(", NULL");
+        }
+        return sql.append(")").toString();
+    }
+
+    @Override
+    public String fullTextPredicate(String column) {
+        return null;
+    }
+
+    @Override
+    public String fullTextParameter(String keyword) {
+        return keyword;
+    }
+
+    @Override
+    public boolean supportsRowEstimate() {
+        return false;
+    }
+
+    @Override
+    public int streamingFetchSize(int configured) {
+        return configured > 0 ? configured : DEFAULT_FETCH_SIZE;
+    }
+
+    @Override
+    public String translateDdl(String statement) {
+        if (SKIPPED.matcher(statement).matches()) {
+            return null;
+        }
+        return FULLTEXT_INDEX.matcher(statement).replaceAll("");
+    }
+}
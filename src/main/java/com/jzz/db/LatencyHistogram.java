@@ -0,0 +1,159 @@
+package com.jzz.db;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 耗时直方图
+ * Latency Histogram
+ *
+ * 固定指数分桶，记录时无锁，适合在借出/归还连接的热路径上使用
+ * Fixed exponential buckets, lock-free on record, cheap enough for the borrow/return hot path
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class LatencyHistogram {
+
+    /**
+     * 分桶上界（微秒），最后一个桶收集所有更大的值
+     * Bucket upper bounds (microseconds), the last bucket collects everything larger
+     */
+    private static final long[] BOUNDS_MICROS = {
+            100, 500, 1_000, 2_000, 5_000, 10_000, 20_000, 50_000,
+            100_000, 200_000, 500_000, 1_000_000, 2_000_000, 5_000_000, 10_000_000
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MICROS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * 记录一次耗时
+     * Record one duration
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        buckets.incrementAndGet(bucketOf(micros));
+        count.increment();
+        sumMicros.add(micros);
+        long max;
+        while (micros > (max = maxMicros.get()) && !maxMicros.compareAndSet(max, micros)) {
+            // CAS 失败时重试 (Retry on CAS failure)
+        }
+    }
+
+    /**
+     * 生成当前快照
+     * Take a snapshot
+     *
+     * @return Snapshot 快照
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[buckets.length()];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        Snapshot snapshot = new Snapshot();
+        snapshot.count = total;
+        snapshot.maxMillis = maxMicros.get() / 1000.0;
+        snapshot.meanMillis = total == 0 ? 0 : sumMicros.sum() / 1000.0 / total;
+        snapshot.p50Millis = percentile(counts, total, 0.50);
+        snapshot.p95Millis = percentile(counts, total, 0.95);
+        snapshot.p99Millis = percentile(counts, total, 0.99);
+
+        snapshot.buckets = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            String label = i < BOUNDS_MICROS.length
+                    ? "le_" + formatMillis(BOUNDS_MICROS[i]) + "ms"
+                    : "gt_" + formatMillis(BOUNDS_MICROS[BOUNDS_MICROS.length - 1]) + "ms";
+            snapshot.buckets.put(label, counts[i]);
+        }
+        return snapshot;
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    private static int bucketOf(long micros) {
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+            if (micros <= BOUNDS_MICROS[i]) {
+                return i;
+            }
+        }
+        return BOUNDS_MICROS.length;
+    }
+
+    /**
+     * 以所在分桶的上界估算百分位
+     * Estimate a percentile as the upper bound of the bucket it falls into
+     */
+    private double percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                return i < BOUNDS_MICROS.length ? BOUNDS_MICROS[i] / 1000.0 : maxMicros.get() / 1000.0;
+            }
+        }
+        return maxMicros.get() / 1000.0;
+    }
+
+    private static String formatMillis(long micros) {
+        return micros % 1000 == 0 ? String.valueOf(micros / 1000) : String.valueOf(micros / 1000.0);
+    }
+
+    /**
+     * 直方图快照（单位：毫秒）
+     * Histogram Snapshot (unit: milliseconds)
+     */
+    public static class Snapshot {
+        private long count;
+        private double meanMillis;
+        private double maxMillis;
+        private double p50Millis;
+        private double p95Millis;
+        private double p99Millis;
+        private Map<String, Long> buckets;
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanMillis() {
+            return meanMillis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP95Millis() {
+            return p95Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public Map<String, Long> getBuckets() {
+            return buckets;
+        }
+    }
+}
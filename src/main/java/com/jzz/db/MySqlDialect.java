@@ -0,0 +1,80 @@
+package com.jzz.db;
+
+import java.util.List;
+
+/**
+ * MySQL 方言
+ * MySQL Dialect
+ *
+ * 生产环境使用的方言：LIMIT offset, count 分页、INSERT ... ON DUPLICATE KEY UPDATE、
+ * ngram 全文索引的 MATCH ... AGAINST，以及 EXPLAIN 的 rows/filtered 估算
+ * The production dialect: LIMIT offset, count pagination, INSERT ... ON DUPLICATE KEY UPDATE,
+ * MATCH ... AGAINST on the ngram full-text indexes and rows/filtered estimates from EXPLAIN
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class MySqlDialect implements SqlDialect {
+
+    static final String NAME = "mysql";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void appendLimit(StringBuilder sql, int offset, int limit, List<Object> params) {
+        sql.append(" LIMIT ?, ?");
+        params.add(offset);
+        params.add(limit);
+    }
+
+    @Override
+    public String upsert(String table, String[] columns, String keyColumn, String[] resetColumns) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" (")
+                .append(String.join(", ", columns)).append(") VALUES (");
+        for (int i = 0; i < columns.length; i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        sql.append(") ON DUPLICATE KEY UPDATE ");
+
+        boolean first = true;
+        for (String column : columns) {
+            if (!column.equals(keyColumn)) {
+                sql.append(first ? "" : ", ").append(column).append(" = VALUES(").append(column).append(")");
+                first = false;
+            }
+        }
+        for (String column : resetColumns) {
+            sql.append(", ").append(column).append(" = NULL");
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public String fullTextPredicate(String column) {
+        return "MATCH(" + column + ") AGAINST (? IN BOOLEAN MODE)";
+    }
+
+    @Override
+    public String fullTextParameter(String keyword) {
+        // 作为短语查询，去掉双引号避免被解析为布尔运算符 (Phrase query; strip quotes so nothing parses as an operator)
+        return "\"" + keyword.replace('"', ' ') + "\"";
+    }
+
+    @Override
+    public boolean supportsRowEstimate() {
+        return true;
+    }
+
+    @Override
+    public int streamingFetchSize(int configured) {
+        return configured;
+    }
+
+    @Override
+    public String translateDdl(String statement) {
+        return statement;
+    }
+}
@@ -0,0 +1,294 @@
+package com.jzz.db;
+
+import com.jzz.util.StringUtil;
+
+import java.util.Properties;
+
+/**
+ * 连接池配置类
+ * Connection Pool Configuration Class
+ *
+ * 对应 db.properties 中的 jdbc.* 连接池配置项
+ * Corresponds to the jdbc.* pool settings in db.properties
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class PoolConfig {
+
+    /**
+     * 初始连接数
+     * Initial Pool Size
+     */
+    private int initialSize = 5;
+
+    /**
+     * 最大连接数（同时借出的连接上限）
+     * Maximum Pool Size (upper bound of borrowed connections)
+     */
+    private int maxActive = 20;
+
+    /**
+     * 最大空闲连接数
+     * Maximum Idle Connections
+     */
+    private int maxIdle = 10;
+
+    /**
+     * 最小空闲连接数
+     * Minimum Idle Connections
+     */
+    private int minIdle = 5;
+
+    /**
+     * 获取连接的最大等待时间（毫秒）
+     * Maximum Wait Time for borrowing a connection (milliseconds)
+     */
+    private long maxWait = 10000;
+
+    /**
+     * 借出时是否校验连接
+     * Whether to validate connections on borrow
+     */
+    private boolean testOnBorrow = true;
+
+    /**
+     * 校验间隔（毫秒），空闲时间短于该值的连接借出时不再校验
+     * Validation interval (ms), connections idle for less than this are not re-validated on borrow
+     */
+    private long validationInterval = 3000;
+
+    /**
+     * 校验超时时间（秒）
+     * Validation timeout (seconds)
+     */
+    private int validationTimeout = 3;
+
+    /**
+     * 空闲连接回收线程的运行间隔（毫秒）
+     * Interval between idle eviction runs (milliseconds)
+     */
+    private long timeBetweenEvictionRunsMillis = 60000;
+
+    /**
+     * 连接空闲多久后可被回收（毫秒）
+     * Minimum idle time before a connection may be evicted (milliseconds)
+     */
+    private long minEvictableIdleTimeMillis = 300000;
+
+    /**
+     * 泄漏检测阈值（毫秒），连接被持有超过该时间即记录借出位置的调用栈；0 表示关闭
+     * Leak detection threshold (ms); connections held longer are reported with the borrower's stack. 0 disables
+     */
+    private long leakDetectionThreshold = 0;
+
+    /**
+     * 每条连接缓存的预编译语句数，0 表示不缓存
+     * Prepared statements cached per connection, 0 disables the cache
+     */
+    private int preparedStatementCacheSize = 0;
+
+    // ==================== 构造方法 (Constructors) ====================
+
+    /**
+     * 无参构造方法
+     * No-argument Constructor
+     */
+    public PoolConfig() {
+    }
+
+    /**
+     * 从配置文件属性构建连接池配置
+     * Build pool configuration from properties
+     *
+     * 未配置或格式错误的项使用默认值
+     * Missing or malformed entries fall back to defaults
+     *
+     * @param props db.properties 属性
+     * @return PoolConfig 对象
+     */
+    public static PoolConfig fromProperties(Properties props) {
+        PoolConfig config = new PoolConfig();
+        if (props == null) {
+            return config;
+        }
+
+        config.setInitialSize(StringUtil.toInt(props.getProperty("jdbc.initialSize"), config.initialSize));
+        config.setMaxActive(StringUtil.toInt(props.getProperty("jdbc.maxActive"), config.maxActive));
+        config.setMaxIdle(StringUtil.toInt(props.getProperty("jdbc.maxIdle"), config.maxIdle));
+        config.setMinIdle(StringUtil.toInt(props.getProperty("jdbc.minIdle"), config.minIdle));
+        config.setMaxWait(StringUtil.toLong(props.getProperty("jdbc.maxWait"), config.maxWait));
+        config.setValidationInterval(StringUtil.toLong(
+                props.getProperty("jdbc.validationInterval"), config.validationInterval));
+        config.setValidationTimeout(StringUtil.toInt(
+                props.getProperty("jdbc.validationTimeout"), config.validationTimeout));
+        config.setTimeBetweenEvictionRunsMillis(StringUtil.toLong(
+                props.getProperty("jdbc.timeBetweenEvictionRunsMillis"), config.timeBetweenEvictionRunsMillis));
+        config.setMinEvictableIdleTimeMillis(StringUtil.toLong(
+                props.getProperty("jdbc.minEvictableIdleTimeMillis"), config.minEvictableIdleTimeMillis));
+        config.setLeakDetectionThreshold(StringUtil.toLong(
+                props.getProperty("jdbc.leakDetectionThreshold"), config.leakDetectionThreshold));
+        config.setPreparedStatementCacheSize(StringUtil.toInt(
+                props.getProperty("jdbc.preparedStatementCacheSize"), config.preparedStatementCacheSize));
+
+        String testOnBorrow = props.getProperty("jdbc.testOnBorrow");
+        if (StringUtil.isNotEmpty(testOnBorrow)) {
+            config.setTestOnBorrow(Boolean.parseBoolean(testOnBorrow.trim()));
+        }
+
+        config.normalize();
+        return config;
+    }
+
+    /**
+     * 修正相互矛盾的配置项
+     * Fix contradictory settings
+     *
+     * 保证 minIdle <= maxIdle <= maxActive，initialSize <= maxActive
+     * Ensures minIdle <= maxIdle <= maxActive and initialSize <= maxActive
+     */
+    public void normalize() {
+        if (maxActive < 1) {
+            maxActive = 1;
+        }
+        if (maxIdle > maxActive) {
+            maxIdle = maxActive;
+        }
+        if (maxIdle < 0) {
+            maxIdle = 0;
+        }
+        if (minIdle > maxIdle) {
+            minIdle = maxIdle;
+        }
+        if (minIdle < 0) {
+            minIdle = 0;
+        }
+        if (initialSize > maxActive) {
+            initialSize = maxActive;
+        }
+        if (initialSize < 0) {
+            initialSize = 0;
+        }
+        if (maxWait < 0) {
+            maxWait = 0;
+        }
+        if (leakDetectionThreshold < 0) {
+            leakDetectionThreshold = 0;
+        }
+        if (preparedStatementCacheSize < 0) {
+            preparedStatementCacheSize = 0;
+        }
+    }
+
+    // ==================== Getter 和 Setter 方法 (Getter and Setter Methods) ====================
+
+    public int getInitialSize() {
+        return initialSize;
+    }
+
+    public void setInitialSize(int initialSize) {
+        this.initialSize = initialSize;
+    }
+
+    public int getMaxActive() {
+        return maxActive;
+    }
+
+    public void setMaxActive(int maxActive) {
+        this.maxActive = maxActive;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    public void setMaxIdle(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public void setMinIdle(int minIdle) {
+        this.minIdle = minIdle;
+    }
+
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(long maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public boolean isTestOnBorrow() {
+        return testOnBorrow;
+    }
+
+    public void setTestOnBorrow(boolean testOnBorrow) {
+        this.testOnBorrow = testOnBorrow;
+    }
+
+    public long getValidationInterval() {
+        return validationInterval;
+    }
+
+    public void setValidationInterval(long validationInterval) {
+        this.validationInterval = validationInterval;
+    }
+
+    public int getValidationTimeout() {
+        return validationTimeout;
+    }
+
+    public void setValidationTimeout(int validationTimeout) {
+        this.validationTimeout = validationTimeout;
+    }
+
+    public long getTimeBetweenEvictionRunsMillis() {
+        return timeBetweenEvictionRunsMillis;
+    }
+
+    public void setTimeBetweenEvictionRunsMillis(long timeBetweenEvictionRunsMillis) {
+        this.timeBetweenEvictionRunsMillis = timeBetweenEvictionRunsMillis;
+    }
+
+    public long getMinEvictableIdleTimeMillis() {
+        return minEvictableIdleTimeMillis;
+    }
+
+    public void setMinEvictableIdleTimeMillis(long minEvictableIdleTimeMillis) {
+        this.minEvictableIdleTimeMillis = minEvictableIdleTimeMillis;
+    }
+
+    public long getLeakDetectionThreshold() {
+        return leakDetectionThreshold;
+    }
+
+    public void setLeakDetectionThreshold(long leakDetectionThreshold) {
+        this.leakDetectionThreshold = leakDetectionThreshold;
+    }
+
+    public int getPreparedStatementCacheSize() {
+        return preparedStatementCacheSize;
+    }
+
+    public void setPreparedStatementCacheSize(int preparedStatementCacheSize) {
+        this.preparedStatementCacheSize = preparedStatementCacheSize;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolConfig{" +
+                "initialSize=" + initialSize +
+                ", maxActive=" + maxActive +
+                ", maxIdle=" + maxIdle +
+                ", minIdle=" + minIdle +
+                ", maxWait=" + maxWait +
+                ", testOnBorrow=" + testOnBorrow +
+                ", leakDetectionThreshold=" + leakDetectionThreshold +
+                ", preparedStatementCacheSize=" + preparedStatementCacheSize +
+                '}';
+    }
+}
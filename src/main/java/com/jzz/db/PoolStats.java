@@ -0,0 +1,291 @@
+package com.jzz.db;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 连接池运行状态快照
+ * Connection Pool Statistics Snapshot
+ *
+ * 由 {@link ConnectionPool#getStats()} 生成，只读
+ * Produced by {@link ConnectionPool#getStats()}, read-only
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class PoolStats {
+
+    // ==================== 连接数 (Connection Counts) ====================
+
+    private int activeCount;
+    private int idleCount;
+    private int totalCount;
+    private int pendingCount;
+    private int maxActive;
+
+    // ==================== 累计计数 (Cumulative Counters) ====================
+
+    private long borrowCount;
+    private long timeoutCount;
+    private long createdCount;
+    private long destroyedCount;
+    private long validationFailureCount;
+    private long leakCount;
+
+    // ==================== 预编译语句缓存 (Prepared Statement Cache) ====================
+
+    private int statementCacheSize;
+    private long statementCacheHitCount;
+    private long statementCacheMissCount;
+    private long statementCacheEvictionCount;
+
+    // ==================== 耗时分布 (Latency Distributions) ====================
+
+    /**
+     * 借出连接的等待时间
+     * Time spent waiting to borrow a connection
+     */
+    private LatencyHistogram.Snapshot borrowWait;
+
+    /**
+     * 连接被借出后的持有时间
+     * Time a borrowed connection is held
+     */
+    private LatencyHistogram.Snapshot holdTime;
+
+    // ==================== 泄漏检测 (Leak Detection) ====================
+
+    /**
+     * 泄漏检测阈值（毫秒），0 表示未启用
+     * Leak detection threshold (ms), 0 means disabled
+     */
+    private long leakDetectionThreshold;
+
+    /**
+     * 最近检测到的疑似泄漏
+     * Recently detected suspected leaks
+     */
+    private List<LeakInfo> recentLeaks;
+
+    // ==================== Getter 和 Setter 方法 (Getter and Setter Methods) ====================
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public void setActiveCount(int activeCount) {
+        this.activeCount = activeCount;
+    }
+
+    public int getIdleCount() {
+        return idleCount;
+    }
+
+    public void setIdleCount(int idleCount) {
+        this.idleCount = idleCount;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(int totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    public void setPendingCount(int pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+
+    public int getMaxActive() {
+        return maxActive;
+    }
+
+    public void setMaxActive(int maxActive) {
+        this.maxActive = maxActive;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public void setBorrowCount(long borrowCount) {
+        this.borrowCount = borrowCount;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public void setTimeoutCount(long timeoutCount) {
+        this.timeoutCount = timeoutCount;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public void setCreatedCount(long createdCount) {
+        this.createdCount = createdCount;
+    }
+
+    public long getDestroyedCount() {
+        return destroyedCount;
+    }
+
+    public void setDestroyedCount(long destroyedCount) {
+        this.destroyedCount = destroyedCount;
+    }
+
+    public long getValidationFailureCount() {
+        return validationFailureCount;
+    }
+
+    public void setValidationFailureCount(long validationFailureCount) {
+        this.validationFailureCount = validationFailureCount;
+    }
+
+    public long getLeakCount() {
+        return leakCount;
+    }
+
+    public void setLeakCount(long leakCount) {
+        this.leakCount = leakCount;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    public long getStatementCacheHitCount() {
+        return statementCacheHitCount;
+    }
+
+    public void setStatementCacheHitCount(long statementCacheHitCount) {
+        this.statementCacheHitCount = statementCacheHitCount;
+    }
+
+    public long getStatementCacheMissCount() {
+        return statementCacheMissCount;
+    }
+
+    public void setStatementCacheMissCount(long statementCacheMissCount) {
+        this.statementCacheMissCount = statementCacheMissCount;
+    }
+
+    public long getStatementCacheEvictionCount() {
+        return statementCacheEvictionCount;
+    }
+
+    public void setStatementCacheEvictionCount(long statementCacheEvictionCount) {
+        this.statementCacheEvictionCount = statementCacheEvictionCount;
+    }
+
+    public LatencyHistogram.Snapshot getBorrowWait() {
+        return borrowWait;
+    }
+
+    public void setBorrowWait(LatencyHistogram.Snapshot borrowWait) {
+        this.borrowWait = borrowWait;
+    }
+
+    public LatencyHistogram.Snapshot getHoldTime() {
+        return holdTime;
+    }
+
+    public void setHoldTime(LatencyHistogram.Snapshot holdTime) {
+        this.holdTime = holdTime;
+    }
+
+    public long getLeakDetectionThreshold() {
+        return leakDetectionThreshold;
+    }
+
+    public void setLeakDetectionThreshold(long leakDetectionThreshold) {
+        this.leakDetectionThreshold = leakDetectionThreshold;
+    }
+
+    public List<LeakInfo> getRecentLeaks() {
+        return recentLeaks;
+    }
+
+    public void setRecentLeaks(List<LeakInfo> recentLeaks) {
+        this.recentLeaks = recentLeaks;
+    }
+
+    /**
+     * 疑似泄漏的连接信息
+     * Suspected Leak Information
+     */
+    public static class LeakInfo {
+
+        /**
+         * 借出连接的线程名
+         * Name of the borrowing thread
+         */
+        private String threadName;
+
+        /**
+         * 借出时间
+         * Borrow time
+         */
+        private Timestamp borrowTime;
+
+        /**
+         * 检测到时已持有的时间（毫秒）
+         * Time held when detected (ms)
+         */
+        private long heldMillis;
+
+        /**
+         * 是否已归还
+         * Whether it has been returned since
+         */
+        private volatile boolean returned;
+
+        /**
+         * 借出位置的调用栈
+         * Stack trace of the borrow site
+         */
+        private String stackTrace;
+
+        public LeakInfo(String threadName, Timestamp borrowTime, long heldMillis, String stackTrace) {
+            this.threadName = threadName;
+            this.borrowTime = borrowTime;
+            this.heldMillis = heldMillis;
+            this.stackTrace = stackTrace;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public Timestamp getBorrowTime() {
+            return borrowTime;
+        }
+
+        public long getHeldMillis() {
+            return heldMillis;
+        }
+
+        public boolean isReturned() {
+            return returned;
+        }
+
+        void markReturned() {
+            this.returned = true;
+        }
+
+        public String getStackTrace() {
+            return stackTrace;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.jzz.db;
+
+import com.jzz.util.LogUtil;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * 池化连接
+ * Pooled Connection
+ *
+ * 持有一条物理连接及其池内状态；每次借出时生成一个新的逻辑连接代理，
+ * 逻辑连接的 close() 会把物理连接归还给连接池而不是真正关闭
+ * Holds one physical connection and its pool state. Every borrow hands out a fresh
+ * logical proxy whose close() returns the physical connection to the pool instead of closing it
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+class PooledConnection {
+
+    /**
+     * 所属连接池
+     * Owning pool
+     */
+    private final ConnectionPool pool;
+
+    /**
+     * 物理连接
+     * Physical connection
+     */
+    private final Connection physical;
+
+    /**
+     * 创建时间（毫秒）
+     * Creation time (ms)
+     */
+    private final long createTime;
+
+    /**
+     * 最近一次归还或校验的时间（毫秒）
+     * Last time the connection was returned or validated (ms)
+     */
+    private volatile long lastUsedTime;
+
+    /**
+     * 借出时间（毫秒）
+     * Borrow time (ms)
+     */
+    private volatile long borrowTime;
+
+    /**
+     * 借出时刻的 System.nanoTime()，用于统计持有时间
+     * System.nanoTime() at borrow, used for hold-time statistics
+     */
+    private volatile long borrowNanos;
+
+    /**
+     * 借出位置的调用栈（仅在启用泄漏检测时记录）
+     * Borrow-site stack trace (captured only when leak detection is enabled)
+     */
+    private volatile Throwable borrowSite;
+
+    /**
+     * 借出线程名
+     * Name of the borrowing thread
+     */
+    private volatile String borrowThread;
+
+    /**
+     * 本次借出被判定为疑似泄漏时的记录
+     * Leak record if this borrow was reported as a suspected leak
+     */
+    private volatile PoolStats.LeakInfo leak;
+
+    /**
+     * 预编译语句缓存，未启用时为 null
+     * Prepared statement cache, null when disabled
+     */
+    private final StatementCache statementCache;
+
+    /**
+     * 借出期间是否修改过连接状态（autoCommit、readOnly 等）
+     * Whether session state (autoCommit, readOnly, ...) was changed while borrowed
+     */
+    private volatile boolean stateChanged;
+
+    /**
+     * 借出期间是否调用过 setTransactionIsolation、setCatalog、setSchema；只有调用过才在归还时恢复，
+     * 避免每次归还都多几次往返
+     * Whether setTransactionIsolation, setCatalog or setSchema was called while borrowed; only then
+     * are they restored on return, saving round trips on every other return
+     */
+    private volatile boolean isolationChanged;
+    private volatile boolean catalogChanged;
+    private volatile boolean schemaChanged;
+
+    /**
+     * 建立连接时的隔离级别、catalog 和 schema，归还时恢复为这些值；驱动不支持 schema 时为 null
+     * Isolation level, catalog and schema as opened, restored on return; schema is null when the
+     * driver does not support it
+     */
+    private final int initialIsolation;
+    private final String initialCatalog;
+    private final String initialSchema;
+
+    PooledConnection(ConnectionPool pool, Connection physical, int statementCacheSize) throws SQLException {
+        this.pool = pool;
+        this.physical = physical;
+        this.statementCache = statementCacheSize > 0
+                ? new StatementCache(pool, physical, statementCacheSize) : null;
+        this.createTime = System.currentTimeMillis();
+        this.lastUsedTime = this.createTime;
+        this.initialIsolation = physical.getTransactionIsolation();
+        this.initialCatalog = physical.getCatalog();
+        this.initialSchema = schemaOf(physical);
+    }
+
+    /**
+     * 生成一个新的逻辑连接
+     * Create a new logical connection
+     *
+     * @param captureBorrowSite 是否记录借出位置的调用栈（用于泄漏检测）
+     * @return 逻辑连接代理
+     */
+    Connection newHandle(boolean captureBorrowSite) {
+        borrowTime = System.currentTimeMillis();
+        borrowNanos = System.nanoTime();
+        borrowThread = Thread.currentThread().getName();
+        borrowSite = captureBorrowSite ? new Throwable("连接借出位置 (Connection borrow site)") : null;
+        leak = null;
+        stateChanged = false;
+        isolationChanged = false;
+        catalogChanged = false;
+        schemaChanged = false;
+        return (Connection) Proxy.newProxyInstance(
+                PooledConnection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Handle());
+    }
+
+    /**
+     * 重置借出期间被修改的会话状态（autoCommit、readOnly、隔离级别、catalog、schema），
+     * 未提交的事务会被回滚
+     * Reset session state changed while borrowed (autoCommit, readOnly, isolation level, catalog,
+     * schema); uncommitted work is rolled back
+     *
+     * @throws SQLException SQL 异常
+     */
+    void reset() throws SQLException {
+        if (!stateChanged) {
+            return;
+        }
+        if (!physical.getAutoCommit()) {
+            physical.rollback();
+            physical.setAutoCommit(true);
+        }
+        if (physical.isReadOnly()) {
+            physical.setReadOnly(false);
+        }
+        if (isolationChanged && physical.getTransactionIsolation() != initialIsolation) {
+            physical.setTransactionIsolation(initialIsolation);
+        }
+        if (catalogChanged && initialCatalog != null && !initialCatalog.equals(physical.getCatalog())) {
+            physical.setCatalog(initialCatalog);
+        }
+        if (schemaChanged && initialSchema != null && !initialSchema.equals(schemaOf(physical))) {
+            physical.setSchema(initialSchema);
+        }
+        physical.clearWarnings();
+        stateChanged = false;
+        isolationChanged = false;
+        catalogChanged = false;
+        schemaChanged = false;
+    }
+
+    /**
+     * 当前 schema，驱动不支持时返回 null
+     * Current schema, null when the driver does not support it
+     */
+    private static String schemaOf(Connection connection) throws SQLException {
+        try {
+            return connection.getSchema();
+        } catch (SQLFeatureNotSupportedException | AbstractMethodError e) {
+            return null;
+        }
+    }
+
+    /**
+     * 关闭物理连接，忽略异常
+     * Close the physical connection quietly
+     */
+    void closePhysical() {
+        if (statementCache != null) {
+            statementCache.clear();
+        }
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            LogUtil.warn("物理连接关闭失败：" + e.getMessage());
+        }
+    }
+
+    Connection getPhysical() {
+        return physical;
+    }
+
+    long getCreateTime() {
+        return createTime;
+    }
+
+    long getLastUsedTime() {
+        return lastUsedTime;
+    }
+
+    void touch() {
+        this.lastUsedTime = System.currentTimeMillis();
+    }
+
+    long getBorrowTime() {
+        return borrowTime;
+    }
+
+    long getBorrowNanos() {
+        return borrowNanos;
+    }
+
+    Throwable getBorrowSite() {
+        return borrowSite;
+    }
+
+    String getBorrowThread() {
+        return borrowThread;
+    }
+
+    PoolStats.LeakInfo getLeak() {
+        return leak;
+    }
+
+    void setLeak(PoolStats.LeakInfo leak) {
+        this.leak = leak;
+    }
+
+    /**
+     * 逻辑连接的调用处理器
+     * Invocation handler of the logical connection
+     *
+     * 每个句柄只能归还一次；归还后再使用会抛出 SQLException
+     * Each handle can be returned only once; using it afterwards throws SQLException
+     */
+    private class Handle implements InvocationHandler {
+
+        private volatile boolean closed;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            switch (name) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("连接已归还连接池，不能继续使用 (Connection has been returned to the pool)");
+            }
+
+            // 只缓存最常用的 prepareStatement(String)，其余重载直接透传
+            // Only the common prepareStatement(String) is cached, other overloads pass through
+            if (statementCache != null && "prepareStatement".equals(name) && args.length == 1) {
+                return statementCache.prepare((String) args[0], (Connection) proxy);
+            }
+
+            if (name.startsWith("set") || "rollback".equals(name) || "commit".equals(name)) {
+                stateChanged = true;
+                switch (name) {
+                    case "setTransactionIsolation":
+                        isolationChanged = true;
+                        break;
+                    case "setCatalog":
+                        catalogChanged = true;
+                        break;
+                    case "setSchema":
+                        schemaChanged = true;
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.jzz.db;
+
+import com.jzz.util.LogUtil;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 读写分离路由器
+ * Read/Write Splitting Router
+ *
+ * 写操作总是使用主库；只读操作轮询分发到只读副本。
+ * 为保证“读己之写”，一个会话写入后的 readYourWritesWindow 毫秒内，其读操作仍走主库；
+ * 写请求（同一次 HTTP 请求内）的所有读操作也走主库，避免写前校验读到旧数据。
+ * Writes always go to the primary; reads are spread round-robin across replicas.
+ * For read-your-writes, a session's reads stay on the primary for readYourWritesWindow ms
+ * after it writes, and every read inside a write request uses the primary as well so
+ * pre-write checks never see stale replica data.
+ *
+ * 未配置副本时所有操作都走主库
+ * Without replicas everything uses the primary
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class ReadWriteRouter {
+
+    /**
+     * 写后记录的最大会话数，超过时清理过期记录
+     * Maximum tracked sessions before expired entries are purged
+     */
+    private static final int MAX_TRACKED_SESSIONS = 10000;
+
+    private final ConnectionPool primary;
+    private final List<ConnectionPool> replicas;
+    private final long readYourWritesWindow;
+
+    /**
+     * 轮询计数器
+     * Round-robin counter
+     */
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * 当前线程所属的会话标识
+     * Session key of the current thread
+     */
+    private final ThreadLocal<String> sessionKey = new ThreadLocal<>();
+
+    /**
+     * 当前线程是否强制使用主库
+     * Whether the current thread is forced onto the primary
+     */
+    private final ThreadLocal<Boolean> primaryOnly = new ThreadLocal<>();
+
+    /**
+     * 会话最近一次写入的时间（毫秒）
+     * Last write time per session (ms)
+     */
+    private final ConcurrentHashMap<String, Long> lastWriteTime = new ConcurrentHashMap<>();
+
+    // ==================== 统计指标 (Metrics) ====================
+
+    private final LongAdder replicaReadCount = new LongAdder();
+    private final LongAdder primaryReadCount = new LongAdder();
+    private final LongAdder pinnedReadCount = new LongAdder();
+    private final LongAdder replicaFailureCount = new LongAdder();
+
+    /**
+     * 创建路由器
+     * Create a router
+     *
+     * @param primary 主库连接池
+     * @param replicas 只读副本连接池，可为空
+     * @param readYourWritesWindow 写后读主库的时间窗口（毫秒）
+     */
+    public ReadWriteRouter(ConnectionPool primary, List<ConnectionPool> replicas, long readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = replicas == null ? Collections.emptyList() : new ArrayList<>(replicas);
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    // ==================== 会话绑定 (Session Binding) ====================
+
+    /**
+     * 把当前线程绑定到一个会话
+     * Bind the current thread to a session
+     *
+     * @param key 会话标识（如 HTTP Session ID），可为 null
+     * @param writeRequest 当前请求是否为写请求，写请求内的读操作全部走主库
+     */
+    public void bind(String key, boolean writeRequest) {
+        sessionKey.set(key);
+        primaryOnly.set(writeRequest ? Boolean.TRUE : null);
+    }
+
+    /**
+     * 解除当前线程的会话绑定
+     * Unbind the current thread
+     */
+    public void unbind() {
+        sessionKey.remove();
+        primaryOnly.remove();
+    }
+
+    // ==================== 获取连接 (Connections) ====================
+
+    /**
+     * 获取写连接（主库），并记录当前会话的写入时间
+     * Get a write connection (primary) and record the session's write time
+     *
+     * @return 主库连接
+     * @throws SQLException SQL 异常
+     */
+    public Connection getWriteConnection() throws SQLException {
+        markWrite();
+        return primary.getConnection();
+    }
+
+    /**
+     * 获取只读连接
+     * Get a read-only connection
+     *
+     * 副本不可用时回退到主库
+     * Falls back to the primary when a replica is unavailable
+     *
+     * @return 副本或主库连接
+     * @throws SQLException SQL 异常
+     */
+    public Connection getReadConnection() throws SQLException {
+        if (replicas.isEmpty()) {
+            primaryReadCount.increment();
+            return primary.getConnection();
+        }
+        if (isPinnedToPrimary()) {
+            pinnedReadCount.increment();
+            return primary.getConnection();
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            ConnectionPool replica = replicas.get((start + i) % replicas.size());
+            try {
+                Connection conn = replica.getConnection();
+                replicaReadCount.increment();
+                return conn;
+            } catch (SQLException e) {
+                replicaFailureCount.increment();
+                LogUtil.warn("只读副本不可用，尝试下一个：" + e.getMessage());
+            }
+        }
+
+        primaryReadCount.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * 当前线程的读操作是否应固定在主库
+     * Whether reads of the current thread must stay on the primary
+     *
+     * @return true 走主库
+     */
+    public boolean isPinnedToPrimary() {
+        if (primaryOnly.get() != null) {
+            return true;
+        }
+        String key = sessionKey.get();
+        if (key == null) {
+            return false;
+        }
+        Long written = lastWriteTime.get(key);
+        if (written == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - written < readYourWritesWindow) {
+            return true;
+        }
+        lastWriteTime.remove(key, written);
+        return false;
+    }
+
+    // ==================== 状态查询 (Status) ====================
+
+    public ConnectionPool getPrimary() {
+        return primary;
+    }
+
+    public List<ConnectionPool> getReplicas() {
+        return Collections.unmodifiableList(replicas);
+    }
+
+    /**
+     * 路由统计
+     * Routing statistics
+     *
+     * @return 统计项
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("replicaCount", replicas.size());
+        stats.put("readYourWritesWindow", readYourWritesWindow);
+        stats.put("replicaReadCount", replicaReadCount.sum());
+        stats.put("primaryReadCount", primaryReadCount.sum());
+        stats.put("pinnedReadCount", pinnedReadCount.sum());
+        stats.put("replicaFailureCount", replicaFailureCount.sum());
+        stats.put("trackedSessions", lastWriteTime.size());
+        return stats;
+    }
+
+    /**
+     * 关闭主库和所有副本连接池
+     * Close the primary and all replica pools
+     */
+    public void close() {
+        primary.close();
+        for (ConnectionPool replica : replicas) {
+            replica.close();
+        }
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    private void markWrite() {
+        String key = sessionKey.get();
+        if (key == null || replicas.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        lastWriteTime.put(key, now);
+        if (lastWriteTime.size() > MAX_TRACKED_SESSIONS) {
+            lastWriteTime.values().removeIf(t -> now - t >= readYourWritesWindow);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.jzz.db;
+
+import com.jzz.util.LogUtil;
+import com.jzz.util.StringUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 只读副本配置类
+ * Read Replica Configuration Class
+ *
+ * 对应 db.properties 中的 jdbc.replica.* 和 jdbc.readYourWritesWindow 配置项；
+ * 没有配置副本 URL 时不启用读写分离
+ * Corresponds to the jdbc.replica.* and jdbc.readYourWritesWindow settings in db.properties;
+ * without replica URLs reads and writes are not split
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class ReplicaConfig {
+
+    /**
+     * 只读副本 URL
+     * Replica URLs
+     */
+    private List<String> urls = Collections.emptyList();
+
+    /**
+     * 副本用户名，默认与主库相同
+     * Replica username, the primary's by default
+     */
+    private String username;
+
+    /**
+     * 副本密码，默认与主库相同
+     * Replica password, the primary's by default
+     */
+    private String password;
+
+    /**
+     * 在每个副本上执行的建库脚本，为空表示不执行（副本由数据库复制建库）
+     * Init script run on every replica, none when empty (replication builds the replica's schema)
+     */
+    private String initScript;
+
+    /**
+     * 会话写入后继续读主库的时间（毫秒）
+     * How long a session keeps reading the primary after it wrote (ms)
+     */
+    private long readYourWritesWindow = 3000;
+
+    // ==================== 构造方法 (Constructors) ====================
+
+    /**
+     * 无参构造方法
+     * No-argument Constructor
+     */
+    public ReplicaConfig() {
+    }
+
+    /**
+     * 从配置文件属性构建只读副本配置
+     * Build replica configuration from properties
+     *
+     * 嵌入式数据库配置下副本可以是另一个 H2 内存实例（如 jdbc:h2:mem:student_replica;...），用于在单个进程中
+     * 测试读写分离：写入不会复制过去，副本一直停留在建库时的数据，相当于滞后无限长的副本
+     * Under the embedded profile replicas may be other in-memory H2 instances (such as
+     * jdbc:h2:mem:student_replica;...) to exercise read/write splitting in one process: writes are
+     * never copied over, so a replica keeps the data of its init script, like a replica lagging forever
+     *
+     * @param props db.properties 属性
+     * @param primary 主库数据源配置，提供默认账号和嵌入式配置
+     * @return ReplicaConfig 对象
+     * @throws IllegalStateException 嵌入式副本的 URL 与主库相同
+     */
+    public static ReplicaConfig fromProperties(Properties props, DataSourceConfig primary) {
+        ReplicaConfig config = new ReplicaConfig();
+        config.setUsername(primary.getUsername());
+        config.setPassword(primary.getPassword());
+        if (props == null) {
+            return config;
+        }
+
+        List<String> urls = new ArrayList<>();
+        String replicaUrls = props.getProperty("jdbc.replica.urls");
+        if (StringUtil.isNotEmpty(replicaUrls)) {
+            for (String replicaUrl : replicaUrls.split(",")) {
+                if (StringUtil.isNotEmpty(replicaUrl)) {
+                    urls.add(replicaUrl.trim());
+                }
+            }
+        }
+        config.setUrls(urls);
+        config.setReadYourWritesWindow(StringUtil.toLong(
+                props.getProperty("jdbc.readYourWritesWindow"), config.readYourWritesWindow));
+        config.setInitScript(DataSourceConfig.trimToNull(props.getProperty("jdbc.replica.initScript")));
+
+        if (primary.isEmbedded() && !urls.isEmpty()) {
+            for (String replicaUrl : urls) {
+                if (replicaUrl.equals(primary.getUrl())) {
+                    // 同一个 URL 是同一个实例：“副本”读到的就是主库，测不出任何读写分离问题
+                    // (The same URL is the same instance: the "replica" reads the primary and cannot
+                    //  reveal any read/write splitting problem)
+                    throw new IllegalStateException("嵌入式只读副本必须是另一个 H2 实例，不能与主库 URL 相同："
+                            + primary.getUrl());
+                }
+            }
+            // 嵌入式副本是另一个独立的 H2 实例，没有复制，需要自己建库
+            // (An embedded replica is a separate H2 instance with no replication and needs its own schema)
+            config.setUsername("sa");
+            config.setPassword("");
+            if (props.getProperty("jdbc.replica.initScript") == null) {
+                config.setInitScript(primary.getInitScript());
+            }
+            LogUtil.info("嵌入式只读副本 (Embedded replicas)：" + urls);
+        } else {
+            config.setUsername(props.getProperty("jdbc.replica.username", primary.getUsername()));
+            config.setPassword(props.getProperty("jdbc.replica.password", primary.getPassword()));
+        }
+        return config;
+    }
+
+    /**
+     * 是否配置了只读副本
+     * Whether any replica is configured
+     *
+     * @return true 启用读写分离
+     */
+    public boolean isEnabled() {
+        return !urls.isEmpty();
+    }
+
+    // ==================== Getter 和 Setter 方法 (Getter and Setter Methods) ====================
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = Collections.unmodifiableList(new ArrayList<>(urls));
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getInitScript() {
+        return initScript;
+    }
+
+    public void setInitScript(String initScript) {
+        this.initScript = initScript;
+    }
+
+    public long getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(long readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    @Override
+    public String toString() {
+        // 不输出密码 (The password is left out)
+        return "ReplicaConfig{" +
+                "urls=" + urls +
+                ", username='" + username + '\'' +
+                ", initScript='" + initScript + '\'' +
+                ", readYourWritesWindow=" + readYourWritesWindow +
+                '}';
+    }
+}
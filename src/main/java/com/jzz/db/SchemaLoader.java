@@ -0,0 +1,111 @@
+package com.jzz.db;
+
+import com.jzz.util.LogUtil;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 建库脚本执行器
+ * Schema Script Loader
+ *
+ * 嵌入式数据库启动时执行 database/init.sql：按分号拆分语句（忽略引号内的分号和 -- 注释），
+ * 每条语句先经方言转换（跳过或改写 MySQL 专用的部分）再执行
+ * Runs database/init.sql when the embedded database starts: splits statements on semicolons
+ * (ignoring semicolons inside quotes and -- comments) and passes each through the dialect
+ * (which skips or rewrites MySQL-only parts) before running it
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class SchemaLoader {
+
+    private SchemaLoader() {
+    }
+
+    /**
+     * 执行脚本
+     * Run a script
+     *
+     * @param conn 数据库连接
+     * @param script 脚本内容
+     * @param dialect SQL 方言
+     * @return 执行的语句数
+     * @throws IOException 读取脚本失败
+     * @throws SQLException 语句执行失败
+     */
+    public static int run(Connection conn, Reader script, SqlDialect dialect) throws IOException, SQLException {
+        int executed = 0;
+        try (Statement stmt = conn.createStatement()) {
+            for (String statement : split(script)) {
+                String sql = dialect.translateDdl(statement);
+                if (sql == null || sql.trim().isEmpty()) {
+                    continue;
+                }
+                stmt.execute(sql);
+                executed++;
+            }
+        }
+        LogUtil.info("建库脚本执行完成，语句数：" + executed);
+        return executed;
+    }
+
+    /**
+     * 把脚本拆分为语句，去掉注释
+     * Split a script into statements, dropping comments
+     */
+    static List<String> split(Reader script) throws IOException {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        char quote = 0;
+        int c = script.read();
+
+        while (c != -1) {
+            if (quote != 0) {
+                current.append((char) c);
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = (char) c;
+                current.append((char) c);
+            } else if (c == '-') {
+                int next = script.read();
+                if (next == '-') {
+                    // 行注释，跳到行尾 (Line comment, skip to the end of the line)
+                    while (c != -1 && c != '\n') {
+                        c = script.read();
+                    }
+                    current.append('\n');
+                    if (c == -1) {
+                        break;
+                    }
+                } else {
+                    current.append('-');
+                    c = next;
+                    continue;
+                }
+            } else if (c == ';') {
+                addStatement(statements, current);
+            } else {
+                current.append((char) c);
+            }
+            c = script.read();
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+}
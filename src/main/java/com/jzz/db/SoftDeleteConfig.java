@@ -0,0 +1,102 @@
+package com.jzz.db;
+
+import com.jzz.util.StringUtil;
+
+import java.util.Properties;
+
+/**
+ * 软删除配置类
+ * Soft Delete Configuration Class
+ *
+ * 对应 db.properties 中的 jdbc.softDelete.* 配置项：启用后删除只标记 deleted_at，由后台任务清理
+ * Corresponds to the jdbc.softDelete.* settings in db.properties: when enabled, deletes only mark
+ * deleted_at and a background job purges the rows
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class SoftDeleteConfig {
+
+    /**
+     * 是否软删除
+     * Whether deletes are soft
+     */
+    private boolean enabled;
+
+    /**
+     * 软删除的记录保留多久后被清理（分钟）
+     * Minutes soft-deleted rows are kept before the purge
+     */
+    private long retentionMinutes = 1440;
+
+    /**
+     * 清理任务的执行间隔（秒）
+     * Seconds between purge runs
+     */
+    private long purgeIntervalSeconds = 300;
+
+    // ==================== 构造方法 (Constructors) ====================
+
+    /**
+     * 无参构造方法
+     * No-argument Constructor
+     */
+    public SoftDeleteConfig() {
+    }
+
+    /**
+     * 从配置文件属性构建软删除配置
+     * Build soft delete configuration from properties
+     *
+     * @param props db.properties 属性
+     * @return SoftDeleteConfig 对象
+     */
+    public static SoftDeleteConfig fromProperties(Properties props) {
+        SoftDeleteConfig config = new SoftDeleteConfig();
+        if (props == null) {
+            return config;
+        }
+
+        config.setEnabled(Boolean.parseBoolean(props.getProperty("jdbc.softDelete", "false").trim()));
+        config.setRetentionMinutes(StringUtil.toLong(
+                props.getProperty("jdbc.softDelete.retentionMinutes"), config.retentionMinutes));
+        config.setPurgeIntervalSeconds(StringUtil.toLong(
+                props.getProperty("jdbc.softDelete.purgeIntervalSeconds"), config.purgeIntervalSeconds));
+        return config;
+    }
+
+    // ==================== Getter 和 Setter 方法 (Getter and Setter Methods) ====================
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getRetentionMinutes() {
+        return retentionMinutes;
+    }
+
+    public void setRetentionMinutes(long retentionMinutes) {
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    public long getPurgeIntervalSeconds() {
+        return purgeIntervalSeconds;
+    }
+
+    public void setPurgeIntervalSeconds(long purgeIntervalSeconds) {
+        this.purgeIntervalSeconds = purgeIntervalSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "SoftDeleteConfig{" +
+                "enabled=" + enabled +
+                ", retentionMinutes=" + retentionMinutes +
+                ", purgeIntervalSeconds=" + purgeIntervalSeconds +
+                '}';
+    }
+}
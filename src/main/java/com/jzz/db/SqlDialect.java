@@ -0,0 +1,110 @@
+package com.jzz.db;
+
+import java.util.List;
+
+/**
+ * SQL 方言
+ * SQL Dialect
+ *
+ * 集中放置各数据库写法不同的 SQL 片段（分页、按唯一键插入或更新、全文检索、执行计划估算、DDL），
+ * DAO 只通过这里生成这些片段，因此同一套 DAO 代码可以运行在 MySQL 和嵌入式 H2 上
+ * Holds the SQL fragments that differ between databases (pagination, upsert by unique key,
+ * full-text search, plan-based estimates, DDL). DAOs build those fragments only through this
+ * interface, so the same DAO code runs on MySQL and on embedded H2
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public interface SqlDialect {
+
+    /**
+     * 方言名称
+     * Dialect name
+     *
+     * @return 名称，如 mysql、h2
+     */
+    String getName();
+
+    /**
+     * 追加分页子句和参数
+     * Append the pagination clause and its parameters
+     *
+     * @param sql SQL StringBuilder
+     * @param offset 跳过的行数
+     * @param limit 返回的最大行数
+     * @param params 参数列表
+     */
+    void appendLimit(StringBuilder sql, int offset, int limit, List<Object> params);
+
+    /**
+     * 生成按唯一键插入或更新的语句：参数按 columns 的顺序绑定，
+     * 键已存在时更新除键以外的列，并把 resetColumns 置为 NULL
+     * Build an insert-or-update statement keyed on a unique column: parameters bind in columns
+     * order; when the key exists, the other columns are updated and resetColumns are set to NULL
+     *
+     * @param table 表名
+     * @param columns 插入的列
+     * @param keyColumn 唯一键列
+     * @param resetColumns 更新时置为 NULL 的列，可以为空数组
+     * @return SQL 语句
+     */
+    String upsert(String table, String[] columns, String keyColumn, String[] resetColumns);
+
+    /**
+     * 全文检索条件，带一个参数（由 fullTextParameter 生成）
+     * Full-text predicate taking one parameter (built by fullTextParameter)
+     *
+     * @param column 列名
+     * @return 条件 SQL，不支持全文检索时返回 null
+     */
+    String fullTextPredicate(String column);
+
+    /**
+     * 把关键字转换为全文检索条件的参数
+     * Turn a keyword into the parameter of the full-text predicate
+     *
+     * @param keyword 关键字
+     * @return 参数值
+     */
+    String fullTextParameter(String keyword);
+
+    /**
+     * 是否可以用 EXPLAIN 的 rows/filtered 估算记录数
+     * Whether row counts can be estimated from the rows/filtered columns of EXPLAIN
+     *
+     * @return true 支持估算
+     */
+    boolean supportsRowEstimate();
+
+    /**
+     * 流式读取实际使用的抓取大小
+     * Fetch size actually used for streaming reads
+     *
+     * @param configured 配置的抓取大小（Integer.MIN_VALUE 表示 MySQL 逐行流式读取）
+     * @return 该数据库可以接受的抓取大小
+     */
+    int streamingFetchSize(int configured);
+
+    /**
+     * 把 init.sql 中的一条语句转换为该数据库可以执行的形式
+     * Translate one statement of init.sql into a form this database can run
+     *
+     * @param statement 语句（已去掉注释）
+     * @return 转换后的语句，返回 null 表示跳过
+     */
+    String translateDdl(String statement);
+
+    /**
+     * 按名称或 JDBC URL 选择方言
+     * Pick a dialect by name, or by JDBC URL when no name is given
+     *
+     * @param name 方言名称，可以为空
+     * @param url JDBC URL
+     * @return 方言，默认为 MySQL
+     */
+    static SqlDialect of(String name, String url) {
+        String key = name != null && !name.trim().isEmpty() ? name.trim().toLowerCase()
+                : url != null && url.startsWith("jdbc:h2:") ? H2Dialect.NAME : MySqlDialect.NAME;
+        return H2Dialect.NAME.equals(key) ? new H2Dialect() : new MySqlDialect();
+    }
+}
@@ -0,0 +1,189 @@
+package com.jzz.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 预编译语句缓存
+ * Prepared Statement Cache
+ *
+ * 每条物理连接一个，按 SQL 文本缓存 PreparedStatement，容量有界、按最近最少使用淘汰。
+ * 借出的语句 close() 时清空参数并放回缓存，而不是真正关闭，
+ * 同一 SQL 形态再次执行时即可复用服务端预编译语句。
+ * One per physical connection. Caches PreparedStatements by SQL text with a bounded LRU.
+ * Closing a handed-out statement clears its parameters and puts it back instead of closing it,
+ * so repeated SQL shapes reuse the server-side prepared statement.
+ *
+ * 连接同一时刻只被一个线程持有，因此本类无需同步
+ * A connection is held by one thread at a time, so this class needs no synchronization
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+class StatementCache {
+
+    private final ConnectionPool pool;
+    private final Connection physical;
+    private final int maxSize;
+
+    /**
+     * 空闲的缓存语句，按访问顺序排列
+     * Idle cached statements in access order
+     */
+    private final LinkedHashMap<String, PreparedStatement> cache;
+
+    StatementCache(ConnectionPool pool, Connection physical, int maxSize) {
+        this.pool = pool;
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * 获取（或新建）SQL 对应的预编译语句
+     * Get (or create) the prepared statement for the given SQL
+     *
+     * @param sql SQL 文本
+     * @param owner 逻辑连接，作为语句的 getConnection() 返回值
+     * @return 预编译语句代理，close() 时放回缓存
+     * @throws SQLException SQL 异常
+     */
+    PreparedStatement prepare(String sql, Connection owner) throws SQLException {
+        // 取出期间从缓存中移除，避免同一连接上的同一 SQL 被同时使用两次
+        // Remove while checked out so the same SQL is never handed out twice at once
+        PreparedStatement stmt = cache.remove(sql);
+        if (stmt != null && !stmt.isClosed()) {
+            pool.statementCacheHit();
+        } else {
+            pool.statementCacheMiss();
+            stmt = physical.prepareStatement(sql);
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(
+                StatementCache.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new CachedStatement(sql, stmt, owner));
+    }
+
+    /**
+     * 当前缓存的语句数
+     * Number of statements currently cached
+     */
+    int size() {
+        return cache.size();
+    }
+
+    /**
+     * 关闭并清空所有缓存语句
+     * Close and drop all cached statements
+     */
+    void clear() {
+        for (PreparedStatement stmt : cache.values()) {
+            closeQuietly(stmt);
+        }
+        cache.clear();
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    /**
+     * 把语句放回缓存，超出容量时关闭最久未用的语句
+     * Put a statement back, closing the least recently used one when over capacity
+     */
+    private void checkIn(String sql, PreparedStatement stmt) {
+        try {
+            if (stmt.isClosed()) {
+                return;
+            }
+            ResultSet rs = stmt.getResultSet();
+            if (rs != null) {
+                rs.close();
+            }
+            stmt.clearParameters();
+            stmt.clearBatch();
+        } catch (SQLException e) {
+            closeQuietly(stmt);
+            return;
+        }
+
+        PreparedStatement previous = cache.put(sql, stmt);
+        if (previous != null && previous != stmt) {
+            closeQuietly(previous);
+        }
+
+        Iterator<Map.Entry<String, PreparedStatement>> it = cache.entrySet().iterator();
+        while (cache.size() > maxSize && it.hasNext()) {
+            closeQuietly(it.next().getValue());
+            it.remove();
+            pool.statementCacheEviction();
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            // 忽略 (Ignore)
+        }
+    }
+
+    /**
+     * 缓存语句的调用处理器
+     * Invocation handler of a cached statement
+     */
+    private class CachedStatement implements InvocationHandler {
+
+        private final String sql;
+        private final PreparedStatement target;
+        private final Connection owner;
+        private boolean closed;
+
+        CachedStatement(String sql, PreparedStatement target, Connection owner) {
+            this.sql = sql;
+            this.target = target;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        checkIn(sql, target);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || target.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + sql + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("语句已关闭 (Statement is closed)");
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.jzz.db;
+
+import com.jzz.util.LogUtil;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 线程绑定的工作单元
+ * Thread-bound Unit of Work
+ *
+ * 在一次业务调用期间把同一个连接绑定到当前线程，DAO 通过 DBUtil 获取连接时直接复用它，
+ * 因此一次服务调用只借出一个连接；事务模式下所有 DAO 操作在同一事务中提交或回滚。
+ * Binds one connection to the current thread for the duration of a service call. DAO methods
+ * that ask DBUtil for a connection reuse it, so a service call borrows a single connection;
+ * in transactional mode every DAO operation commits or rolls back together.
+ *
+ * DAO 拿到的是共享连接的代理，其 close() 不会归还连接，连接在工作单元结束时才归还
+ * DAOs receive a proxy of the shared connection whose close() is a no-op; the connection
+ * is returned when the unit of work ends
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public final class UnitOfWork {
+
+    /**
+     * 工作单元中执行的业务逻辑
+     * Work executed inside a unit of work
+     *
+     * @param <T> 返回值类型
+     */
+    public interface Work<T> {
+        T execute() throws Exception;
+    }
+
+    /**
+     * 连接来源
+     * Connection source
+     */
+    public interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 实际借出的连接
+     * The borrowed connection
+     */
+    private final Connection connection;
+
+    /**
+     * 交给 DAO 的共享连接（close() 无效）
+     * Shared connection handed to DAOs (close() is a no-op)
+     */
+    private final Connection shared;
+
+    /**
+     * 是否为只读工作单元
+     * Whether this unit is read-only
+     */
+    private final boolean readOnly;
+
+    /**
+     * 事务结束（提交或回滚）后执行的动作
+     * Actions run once the transaction ends (commit or rollback)
+     */
+    private final List<Runnable> afterCompletion = new ArrayList<>();
+
+    private UnitOfWork(Connection connection, boolean readOnly) {
+        this.connection = connection;
+        this.readOnly = readOnly;
+        this.shared = (Connection) Proxy.newProxyInstance(
+                UnitOfWork.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new SharedHandle());
+    }
+
+    // ==================== 执行入口 (Entry Points) ====================
+
+    /**
+     * 在事务中执行：借出一个写连接，关闭自动提交，正常结束提交，抛出异常回滚
+     * Run in a transaction: borrow a write connection with autoCommit off, commit on success,
+     * roll back on any exception
+     *
+     * 已处于事务中时直接加入外层事务
+     * Joins the outer transaction if one is already active
+     *
+     * @param source 写连接来源
+     * @param work 业务逻辑
+     * @param <T> 返回值类型
+     * @return 业务逻辑返回值
+     * @throws Exception 业务逻辑或数据库异常
+     */
+    public static <T> T inTransaction(ConnectionSource source, Work<T> work) throws Exception {
+        UnitOfWork outer = CURRENT.get();
+        if (outer != null) {
+            if (outer.readOnly) {
+                throw new SQLException("只读工作单元中不能开启事务 (Cannot start a transaction inside a read-only unit of work)");
+            }
+            return work.execute();
+        }
+
+        Connection conn = source.get();
+        UnitOfWork unit = new UnitOfWork(conn, false);
+        try {
+            conn.setAutoCommit(false);
+            CURRENT.set(unit);
+            T result = work.execute();
+            conn.commit();
+            return result;
+        } catch (Exception e) {
+            try {
+                conn.rollback();
+            } catch (SQLException rollbackError) {
+                LogUtil.error("事务回滚失败：" + rollbackError.getMessage(), rollbackError);
+            }
+            throw e;
+        } finally {
+            CURRENT.remove();
+            try {
+                conn.setAutoCommit(true);
+            } catch (SQLException e) {
+                LogUtil.warn("恢复自动提交失败：" + e.getMessage());
+            }
+            try {
+                conn.close();
+            } finally {
+                // 先归还连接：动作可能再借连接（如重新读取写入的行），不能与事务连接同时占用
+                // (Return the connection first: actions may borrow another one, e.g. to re-read
+                //  the written rows, and must not hold two at once)
+                unit.runAfterCompletion();
+            }
+        }
+    }
+
+    /**
+     * 只读执行：借出一个只读连接供整个业务调用复用
+     * Run read-only: borrow one read connection and reuse it for the whole call
+     *
+     * 已处于工作单元中时直接复用外层连接
+     * Reuses the outer connection if a unit of work is already active
+     *
+     * @param source 只读连接来源
+     * @param work 业务逻辑
+     * @param <T> 返回值类型
+     * @return 业务逻辑返回值
+     * @throws Exception 业务逻辑或数据库异常
+     */
+    public static <T> T inReadOnly(ConnectionSource source, Work<T> work) throws Exception {
+        if (CURRENT.get() != null) {
+            return work.execute();
+        }
+
+        Connection conn = source.get();
+        try {
+            CURRENT.set(new UnitOfWork(conn, true));
+            return work.execute();
+        } finally {
+            CURRENT.remove();
+            conn.close();
+        }
+    }
+
+    /**
+     * 在当前事务结束后执行（如失效缓存，使其他线程不会在提交前重新读到旧数据）；
+     * 不在事务中时立即执行。动作在事务连接归还连接池之后执行
+     * Run an action once the current transaction ends (e.g. cache invalidation, so other threads
+     * cannot reload the old data before the commit); runs at once outside a transaction. Actions
+     * run after the transaction's connection has gone back to the pool
+     *
+     * @param action 要执行的动作
+     */
+    public static void afterCompletion(Runnable action) {
+        UnitOfWork unit = CURRENT.get();
+        if (unit == null || unit.readOnly) {
+            action.run();
+        } else {
+            unit.afterCompletion.add(action);
+        }
+    }
+
+    // ==================== 当前工作单元 (Current Unit) ====================
+
+    /**
+     * 获取当前线程的工作单元
+     * Get the unit of work of the current thread
+     *
+     * @return 工作单元，没有时返回 null
+     */
+    public static UnitOfWork current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 获取用于读操作的共享连接
+     * Get the shared connection for reads
+     *
+     * @return 共享连接
+     */
+    public Connection getReadConnection() {
+        return shared;
+    }
+
+    /**
+     * 获取用于写操作的共享连接
+     * Get the shared connection for writes
+     *
+     * @return 共享连接
+     * @throws SQLException 只读工作单元中不允许写操作
+     */
+    public Connection getWriteConnection() throws SQLException {
+        if (readOnly) {
+            throw new SQLException("只读工作单元中不能执行写操作 (Cannot write inside a read-only unit of work)");
+        }
+        return shared;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    private void runAfterCompletion() {
+        for (Runnable action : afterCompletion) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                LogUtil.error("事务结束后的动作执行失败：" + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 共享连接的调用处理器：屏蔽 close() 和事务控制，其余透传
+     * Invocation handler of the shared connection: swallows close() and transaction control,
+     * delegates everything else
+     */
+    private class SharedHandle implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                case "commit":
+                case "rollback":
+                    if (args == null || args.length == 0) {
+                        // 由工作单元统一处理 (Handled by the unit of work)
+                        return null;
+                    }
+                    break;
+                case "setAutoCommit":
+                    return null;
+                case "isClosed":
+                    return connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "UnitOfWork[" + connection + "]";
+                default:
+                    break;
+            }
+
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
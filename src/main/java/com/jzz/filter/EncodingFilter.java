@@ -1,5 +1,7 @@
 package com.jzz.filter;
 
+import com.jzz.util.LogUtil;
+
 import javax.servlet.*;
 import javax.servlet.annotation.WebFilter;
 import java.io.IOException;
@@ -36,7 +38,7 @@ public class EncodingFilter implements Filter {
         if (encodingParam != null && !encodingParam.isEmpty()) {
             this.encoding = encodingParam;
         }
-        System.out.println("EncodingFilter 初始化完成，编码设置为: " + this.encoding);
+        LogUtil.info("EncodingFilter 初始化完成，编码设置为: " + this.encoding);
     }
 
     /**
@@ -64,6 +66,6 @@ public class EncodingFilter implements Filter {
      */
     @Override
     public void destroy() {
-        System.out.println("EncodingFilter 销毁");
+        LogUtil.info("EncodingFilter 销毁");
     }
 }
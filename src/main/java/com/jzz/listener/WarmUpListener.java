@@ -0,0 +1,441 @@
+package com.jzz.listener;
+
+import com.jzz.dao.StudentColumnStore;
+import com.jzz.dao.StudentDAO;
+import com.jzz.dao.StudentDAOImpl;
+import com.jzz.dao.StudentNoFilter;
+import com.jzz.dao.StudentTextIndex;
+import com.jzz.db.UnitOfWork;
+import com.jzz.model.PageResult;
+import com.jzz.model.Result;
+import com.jzz.model.Student;
+import com.jzz.service.DeletedStudentPurger;
+import com.jzz.service.StudentImporter;
+import com.jzz.util.DBUtil;
+import com.jzz.util.JsonUtil;
+import com.jzz.util.LogUtil;
+import com.jzz.util.StringUtil;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 启动预热监听器
+ * Startup Warm-up Listener
+ *
+ * 应用启动时完成预热后才报告就绪，避免部署后的首批请求承担冷启动开销：
+ * Reports ready only after warming up, so the first requests after a deploy do not pay
+ * the cold-start cost:
+ * 1. 触发 DBUtil 静态初始化（读取配置、加载驱动、创建连接池）
+ *    Triggers DBUtil static initialization (config, driver loading, pool creation)
+ * 2. 预建连接池空闲连接
+ *    Pre-fills idle connections of the pools
+ * 3. 在每条空闲连接上预编译常见的查询条件组合，填充预编译语句缓存
+ *    Prepares the common query condition shapes on every idle connection, filling the
+ *    prepared statement caches
+ * 4. 反复执行分页查询和 JSON 序列化，直到耗时趋于稳定（JIT 已编译热点代码）
+ *    Repeats page queries and JSON serialization until latency settles (hot paths are JIT-compiled)
+ *
+ * 在 web.xml 中通过 context-param 配置（见 warmup.* 参数），就绪状态由 /health 报告
+ * Configured with warmup.* context-params in web.xml; readiness is reported by /health
+ *
+ * 预热失败（例如数据库不可用）时应用照常启动，但 /health 报告不健康，不把流量切到本实例；
+ * 之后在后台按指数退避间隔重试，重试成功后恢复健康
+ * When warm-up fails (for example the database is down) the application still starts, but /health
+ * reports it unhealthy so no traffic is routed to it; warm-up is then retried in the background
+ * with exponential backoff and the instance turns healthy once a retry succeeds
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class WarmUpListener implements ServletContextListener {
+
+    /**
+     * 预热使用的查询条件组合，对应 StudentDAOImpl.appendConditions 生成的常见 SQL 形态
+     * Condition shapes used for warm-up, matching the common SQL shapes built by
+     * StudentDAOImpl.appendConditions
+     */
+    private static final List<Map<String, Object>> SHAPES = buildShapes();
+
+    /**
+     * 是否已就绪
+     * Whether the instance is ready
+     */
+    private static volatile boolean ready;
+
+    /**
+     * 预热是否失败
+     * Whether warm-up failed
+     */
+    private static volatile boolean failed;
+
+    /**
+     * 预热报告
+     * Warm-up report
+     */
+    private static volatile Map<String, Object> report = Collections.singletonMap("status", "starting");
+
+    /**
+     * 重试间隔的上限（毫秒）
+     * Upper bound of the retry delay (ms)
+     */
+    private static final long MAX_RETRY_DELAY_MILLIS = 300000;
+
+    /**
+     * 失败后的后台重试线程，没有时为 null
+     * Background retry thread after a failure, null when none
+     */
+    private static volatile Thread retrier;
+
+    // ==================== 预热参数 (Warm-up Settings) ====================
+
+    private boolean enabled = true;
+    private boolean async = false;
+    private int poolSize = 0;
+    private int maxIterations = 200;
+    private long maxMillis = 30000;
+    private int settleRounds = 5;
+    private double settleRatio = 0.1;
+    private int pageSize = 10;
+    private long retryDelayMillis = 5000;
+
+    /**
+     * 应用启动
+     * Application started
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        ready = false;
+        failed = false;
+        readSettings(sce.getServletContext());
+
+        // 启用软删除时启动后台清理任务 (Start the background purge when soft delete is enabled)
+        DeletedStudentPurger.start();
+
+        // 在后台扫描全部学号建立学号过滤器 (Build the student number filter from a background scan)
+        StudentNoFilter.start();
+
+        // 启用时在后台加载学生表的列式副本 (Load the student table's columnar replica in the background if enabled)
+        if (StudentColumnStore.shared() != null) {
+            StudentColumnStore.shared().start();
+        }
+
+        // 启用时在后台建立姓名、专业、班级的文本索引 (Build the name/major/class text index in the background if enabled)
+        if (StudentTextIndex.shared() != null) {
+            StudentTextIndex.shared().start();
+        }
+
+        if (!enabled) {
+            LogUtil.info("启动预热已关闭 (Warm-up disabled)");
+            finish(Collections.singletonMap("status", "disabled"));
+            return;
+        }
+
+        if (async) {
+            // 异步预热：容器立即开始接收请求，但 /health 在预热结束前报告未就绪
+            // Async warm-up: the container starts serving at once, /health reports not ready until done
+            startRetrier(0);
+        } else if (!warmUp(1)) {
+            startRetrier(1);
+        }
+    }
+
+    /**
+     * 应用停止：停止后台任务，关闭连接池和日志线程
+     * Application stopped: stop background jobs, shut down the pools and the log writer
+     */
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        ready = false;
+        Thread thread = retrier;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        StudentImporter.shutdown();
+        DeletedStudentPurger.shutdown();
+        DBUtil.shutdown();
+        LogUtil.shutdown();
+    }
+
+    // ==================== 就绪状态 (Readiness) ====================
+
+    /**
+     * 是否已完成预热
+     * Whether warm-up has finished
+     *
+     * @return true 已就绪
+     */
+    public static boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 最近一次预热是否失败；失败时 isReady 也为 true，但实例不应接收流量，重试成功后恢复为 false
+     * Whether the latest warm-up failed; isReady is true as well, but the instance should get no
+     * traffic; it turns false again once a retry succeeds
+     *
+     * @return true 预热失败
+     */
+    public static boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * 获取预热报告
+     * Get the warm-up report
+     *
+     * @return 报告项
+     */
+    public static Map<String, Object> getReport() {
+        return report;
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    /**
+     * 在后台线程中预热，失败后按指数退避间隔重试直到成功
+     * Warm up on a background thread, retrying with exponential backoff until it succeeds
+     *
+     * @param attempts 已经失败的次数，0 表示立即开始第一次预热
+     */
+    private void startRetrier(int attempts) {
+        Thread thread = new Thread(() -> retryUntilWarm(attempts), "jzz-warmup");
+        thread.setDaemon(true);
+        retrier = thread;
+        thread.start();
+    }
+
+    private void retryUntilWarm(int attempts) {
+        long delay = retryDelayMillis;
+        try {
+            int attempt = attempts;
+            while (true) {
+                if (attempt > 0) {
+                    LogUtil.info("预热将在 " + delay + " ms 后重试（第 " + (attempt + 1) + " 次）");
+                    Thread.sleep(delay);
+                    delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS);
+                }
+                attempt++;
+                if (warmUp(attempt)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // 应用停止 (Application stopping)
+            Thread.currentThread().interrupt();
+        } finally {
+            retrier = null;
+        }
+    }
+
+    /**
+     * 执行预热；任何一步失败都只记录日志，不阻止应用启动
+     * Run the warm-up; failures are logged and never block startup
+     *
+     * @param attempt 第几次预热（从 1 开始）
+     * @return 是否成功
+     */
+    private boolean warmUp(int attempt) {
+        long start = System.currentTimeMillis();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("attempt", attempt);
+
+        try {
+            // 1. 预建连接 (Pre-fill connections)
+            int target = poolSize > 0 ? poolSize : DBUtil.getPool().getConfig().getMaxIdle();
+            int idle = DBUtil.prefill(target);
+            result.put("idleConnections", idle);
+
+            // 2. 预编译查询语句 (Prepare query shapes)
+            result.put("preparedConnections", prepareStatements(idle));
+            result.put("queryShapes", SHAPES.size());
+
+            // 3. 合成查询和序列化 (Synthetic query and serialization passes)
+            runPasses(result, start);
+            result.put("status", "ready");
+        } catch (Exception e) {
+            LogUtil.error("启动预热失败：" + e.getMessage(), e);
+            result.put("status", "failed");
+            result.put("error", e.getMessage());
+        }
+
+        result.put("durationMillis", System.currentTimeMillis() - start);
+        failed = "failed".equals(result.get("status"));
+        finish(result);
+        LogUtil.info("启动预热完成 (Warm-up finished)：" + result);
+        return !failed;
+    }
+
+    /**
+     * 同时借出多条连接，在每条连接上执行所有查询形态，使每条连接的语句缓存都被填充
+     * Borrow several connections at once and run every shape on each, so each connection's
+     * statement cache is filled
+     *
+     * @param count 借出的连接数
+     * @return 完成预编译的连接数
+     */
+    private int prepareStatements(int count) throws Exception {
+        StudentDAO dao = new StudentDAOImpl();
+        List<Connection> held = new ArrayList<>();
+        int prepared = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                held.add(DBUtil.getReadConnection());
+            }
+            while (!held.isEmpty()) {
+                // inReadOnly 结束时归还该连接 (inReadOnly returns the connection when done)
+                Connection conn = held.remove(held.size() - 1);
+                UnitOfWork.inReadOnly(() -> conn, () -> {
+                    for (Map<String, Object> shape : SHAPES) {
+                        dao.countByConditions(shape);
+                        dao.selectByConditions(shape, "id", "DESC", 0, pageSize, null);
+                    }
+                    return null;
+                });
+                prepared++;
+            }
+        } finally {
+            for (Connection conn : held) {
+                DBUtil.close(conn);
+            }
+        }
+        return prepared;
+    }
+
+    /**
+     * 反复执行查询和序列化，直到最近 settleRounds 轮耗时的波动不超过 settleRatio
+     * Repeat query and serialization passes until the last settleRounds passes vary by at most
+     * settleRatio
+     *
+     * 直接调用 DAO 而不是 StudentService：服务层的分页结果缓存会让第一轮之后的查询都命中缓存，
+     * 不再执行 SQL 和结果映射
+     * Calls the DAO rather than StudentService: the service's page result cache would turn every
+     * pass after the first into a cache hit that runs no SQL and maps no rows
+     */
+    private void runPasses(Map<String, Object> result, long start) throws Exception {
+        StudentDAO dao = new StudentDAOImpl();
+        List<Student> synthetic = buildSyntheticStudents(pageSize);
+        long[] recent = new long[Math.max(2, settleRounds)];
+        int passes = 0;
+        boolean settled = false;
+        long lastPassNanos = 0;
+
+        while (passes < maxIterations && System.currentTimeMillis() - start < maxMillis) {
+            long passStart = System.nanoTime();
+            for (Map<String, Object> shape : SHAPES) {
+                PageResult<Student> page = DBUtil.inReadOnly(
+                        () -> dao.selectPageWithCount(shape, "id", "DESC", 0, pageSize, null));
+                JsonUtil.toJson(Result.success("查询成功", page));
+            }
+            JsonUtil.toJson(Result.success("查询成功",
+                    new PageResult<>(1, pageSize, (long) synthetic.size(), synthetic)));
+            lastPassNanos = System.nanoTime() - passStart;
+
+            recent[passes % recent.length] = lastPassNanos;
+            passes++;
+            if (passes >= recent.length && isSettled(recent)) {
+                settled = true;
+                break;
+            }
+        }
+
+        result.put("passes", passes);
+        result.put("settled", settled);
+        result.put("lastPassMicros", lastPassNanos / 1000);
+    }
+
+    private boolean isSettled(long[] recent) {
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        for (long value : recent) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return max - min <= min * settleRatio;
+    }
+
+    private void finish(Map<String, Object> result) {
+        report = Collections.unmodifiableMap(result);
+        ready = true;
+    }
+
+    private void readSettings(ServletContext context) {
+        String value = context.getInitParameter("warmup.enabled");
+        if (StringUtil.isNotEmpty(value)) {
+            enabled = Boolean.parseBoolean(value.trim());
+        }
+        value = context.getInitParameter("warmup.async");
+        if (StringUtil.isNotEmpty(value)) {
+            async = Boolean.parseBoolean(value.trim());
+        }
+        poolSize = StringUtil.toInt(context.getInitParameter("warmup.poolSize"), poolSize);
+        maxIterations = StringUtil.toInt(context.getInitParameter("warmup.maxIterations"), maxIterations);
+        maxMillis = StringUtil.toLong(context.getInitParameter("warmup.maxMillis"), maxMillis);
+        settleRounds = StringUtil.toInt(context.getInitParameter("warmup.settleRounds"), settleRounds);
+        retryDelayMillis = Math.max(1, StringUtil.toLong(context.getInitParameter("warmup.retryDelayMillis"),
+                retryDelayMillis));
+        value = context.getInitParameter("warmup.settleRatio");
+        if (StringUtil.isNotEmpty(value)) {
+            try {
+                settleRatio = Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                LogUtil.warn("warmup.settleRatio 配置无效：" + value);
+            }
+        }
+    }
+
+    private static List<Map<String, Object>> buildShapes() {
+        List<Map<String, Object>> shapes = new ArrayList<>();
+        shapes.add(new HashMap<>());
+        shapes.add(shape("name", "张"));
+        shapes.add(shape("studentNo", "2021001"));
+        shapes.add(shape("major", "计算机"));
+        shapes.add(shape("className", "1班"));
+        shapes.add(shape("gender", 1));
+        shapes.add(shape("status", 1));
+
+        Map<String, Object> combined = shape("name", "张");
+        combined.put("major", "计算机");
+        shapes.add(combined);
+        return shapes;
+    }
+
+    private static Map<String, Object> shape(String key, Object value) {
+        Map<String, Object> conditions = new HashMap<>();
+        conditions.put(key, value);
+        return conditions;
+    }
+
+    private static List<Student> buildSyntheticStudents(int count) {
+        List<Student> students = new ArrayList<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 1; i <= count; i++) {
+            Student student = new Student();
+            student.setId(i);
+            student.setStudentNo("W" + i);
+            student.setName("预热" + i);
+            student.setGender(i % 2);
+            student.setAge(20);
+            student.setPhone("13800000000");
+            student.setEmail("warmup" + i + "@example.com");
+            student.setMajor("计算机科学与技术");
+            student.setClassName("1班");
+            student.setEnrollmentDate(new Date(now.getTime()));
+            student.setStatus(1);
+            student.setCreateTime(now);
+            student.setUpdateTime(now);
+            students.add(student);
+        }
+        return students;
+    }
+}
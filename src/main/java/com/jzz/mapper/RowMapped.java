@@ -0,0 +1,28 @@
+package com.jzz.mapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 为实体类生成 ResultSet 映射器
+ * Generate a ResultSet Mapper for an Entity Class
+ *
+ * 编译时 RowMapperProcessor 在实体类所在的包中生成 &lt;实体类名&gt;RowMapper：每个有公共 setter 的属性
+ * 对应一列，列名为属性名的下划线形式（studentNo 对应 student_no）。映射器每个 ResultSet 只解析一次
+ * 列序号，之后按序号读取，整数列先读为基本类型，不使用反射
+ * At compile time RowMapperProcessor generates &lt;EntityName&gt;RowMapper in the entity's package:
+ * every property with a public setter maps to the column named after it in snake case
+ * (studentNo maps to student_no). The mapper resolves column ordinals once per ResultSet and then
+ * reads by ordinal, integer columns as primitives first, with no reflection
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface RowMapped {
+}
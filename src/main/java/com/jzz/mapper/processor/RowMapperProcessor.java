@@ -0,0 +1,270 @@
+package com.jzz.mapper.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * RowMapped 注解处理器
+ * RowMapped Annotation Processor
+ *
+ * 为每个带 @RowMapped 的实体类生成 &lt;实体类名&gt;RowMapper 源文件。生成的映射器：
+ * of(ResultSet) 遍历一次结果集元数据，用 switch 把列标签对应到属性的列序号；
+ * map(ResultSet) 按序号逐个读取，Integer/Long 等属性先用 getInt/getLong 读为基本类型，
+ * 非 NULL 时才调用 setter，没有按名称查找和反射
+ * Generates &lt;EntityName&gt;RowMapper for every entity annotated with @RowMapped. The mapper's
+ * of(ResultSet) walks the result set metadata once and switches each column label onto the ordinal
+ * of its property; map(ResultSet) reads by ordinal, Integer/Long properties as primitives through
+ * getInt/getLong, calling the setter only for non-NULL values, with no name lookups or reflection
+ *
+ * 本类在主代码编译之前单独编译（见 pom.xml），不打进 WAR
+ * Compiled on its own before the main sources (see pom.xml) and left out of the WAR
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+@SupportedAnnotationTypes("com.jzz.mapper.RowMapped")
+public class RowMapperProcessor extends AbstractProcessor {
+
+    /**
+     * 属性类型到读取方式的映射：{ResultSet 方法, 基本类型}，基本类型为 null 表示直接传给 setter
+     * Property type to how it is read: {ResultSet method, primitive type}; a null primitive means
+     * the value goes straight to the setter
+     */
+    private static final Map<String, String[]> READERS = new HashMap<>();
+
+    static {
+        READERS.put("java.lang.String", new String[]{"getString", null});
+        READERS.put("java.lang.Integer", new String[]{"getInt", "int"});
+        READERS.put("int", new String[]{"getInt", null});
+        READERS.put("java.lang.Long", new String[]{"getLong", "long"});
+        READERS.put("long", new String[]{"getLong", null});
+        READERS.put("java.lang.Double", new String[]{"getDouble", "double"});
+        READERS.put("double", new String[]{"getDouble", null});
+        READERS.put("java.lang.Boolean", new String[]{"getBoolean", "boolean"});
+        READERS.put("boolean", new String[]{"getBoolean", null});
+        READERS.put("java.math.BigDecimal", new String[]{"getBigDecimal", null});
+        READERS.put("java.sql.Date", new String[]{"getDate", null});
+        READERS.put("java.sql.Timestamp", new String[]{"getTimestamp", null});
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@RowMapped 只能用于类 (@RowMapped applies to classes only)");
+                    continue;
+                }
+                TypeElement entity = (TypeElement) element;
+                List<Property> properties = propertiesOf(entity);
+                if (properties != null) {
+                    write(entity, properties);
+                }
+            }
+        }
+        return true;
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    /**
+     * 有公共 setter 的实例字段，按声明顺序；有不支持的类型时返回 null
+     * Instance fields with a public setter, in declaration order; null when a type is unsupported
+     */
+    private List<Property> propertiesOf(TypeElement entity) {
+        Map<String, ExecutableElement> setters = new HashMap<>();
+        for (Element member : entity.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.METHOD && member.getModifiers().contains(Modifier.PUBLIC)
+                    && ((ExecutableElement) member).getParameters().size() == 1) {
+                setters.put(member.getSimpleName().toString(), (ExecutableElement) member);
+            }
+        }
+
+        List<Property> properties = new ArrayList<>();
+        boolean supported = true;
+        for (Element member : entity.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.FIELD || member.getModifiers().contains(Modifier.STATIC)
+                    || member.getModifiers().contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            String name = member.getSimpleName().toString();
+            String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            ExecutableElement setter = setters.get(setterName);
+            TypeMirror type = ((VariableElement) member).asType();
+            if (setter == null || !processingEnv.getTypeUtils().isSameType(
+                    setter.getParameters().get(0).asType(), type)) {
+                continue;
+            }
+            String[] reader = READERS.get(type.toString());
+            if (reader == null) {
+                error(member, "不支持的属性类型 (Unsupported property type): " + type);
+                supported = false;
+                continue;
+            }
+            properties.add(new Property(name, columnOf(name), setterName, reader[0], reader[1]));
+        }
+        return supported ? properties : null;
+    }
+
+    /**
+     * 属性名的下划线形式 (Snake case form of a property name)
+     */
+    private static String columnOf(String property) {
+        StringBuilder column = new StringBuilder(property.length() + 4);
+        for (int i = 0; i < property.length(); i++) {
+            char ch = property.charAt(i);
+            if (Character.isUpperCase(ch)) {
+                column.append('_').append(Character.toLowerCase(ch));
+            } else {
+                column.append(ch);
+            }
+        }
+        return column.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private void write(TypeElement entity, List<Property> properties) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(entity);
+        String packageName = pkg.isUnnamed() ? null : pkg.getQualifiedName().toString();
+        String entityName = entity.getSimpleName().toString();
+        String mapperName = entityName + "RowMapper";
+
+        StringBuilder src = new StringBuilder(4096);
+        if (packageName != null) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("import java.sql.ResultSet;\n");
+        src.append("import java.sql.ResultSetMetaData;\n");
+        src.append("import java.sql.SQLException;\n");
+        src.append("import java.util.Locale;\n");
+        src.append("import java.util.function.Predicate;\n");
+        src.append("import javax.annotation.processing.Generated;\n\n");
+        src.append("/**\n");
+        src.append(" * ").append(entityName).append(" ResultSet 映射器（由 RowMapperProcessor 生成，请勿修改）\n");
+        src.append(" * ").append(entityName).append(" ResultSet Mapper (generated by RowMapperProcessor, do not edit)\n");
+        src.append(" */\n");
+        src.append("@Generated(\"").append(RowMapperProcessor.class.getName()).append("\")\n");
+        src.append("public final class ").append(mapperName).append(" {\n\n");
+
+        src.append("    // 各属性的列序号，0 表示不读取 (Column ordinal of each property, 0 means not read)\n");
+        for (Property p : properties) {
+            src.append("    private int ").append(p.name).append("Column;\n");
+        }
+        src.append("\n    private ").append(mapperName).append("() {\n    }\n\n");
+
+        src.append("    /**\n");
+        src.append("     * 按结果集的列创建映射器，读取结果集中的全部属性列\n");
+        src.append("     * Create a mapper reading every property column in the result set\n");
+        src.append("     */\n");
+        src.append("    public static ").append(mapperName).append(" of(ResultSet rs) throws SQLException {\n");
+        src.append("        return of(rs, null);\n");
+        src.append("    }\n\n");
+
+        src.append("    /**\n");
+        src.append("     * 按结果集的列创建映射器，只读取 properties 接受的属性（null 表示全部）\n");
+        src.append("     * Create a mapper reading only the properties accepted by properties (null means all)\n");
+        src.append("     */\n");
+        src.append("    public static ").append(mapperName)
+                .append(" of(ResultSet rs, Predicate<String> properties) throws SQLException {\n");
+        src.append("        ").append(mapperName).append(" mapper = new ").append(mapperName).append("();\n");
+        src.append("        ResultSetMetaData metaData = rs.getMetaData();\n");
+        src.append("        int columnCount = metaData.getColumnCount();\n");
+        src.append("        for (int i = 1; i <= columnCount; i++) {\n");
+        src.append("            // 标签大小写随数据库而定 (Label case depends on the database)\n");
+        src.append("            switch (metaData.getColumnLabel(i).toLowerCase(Locale.ROOT)) {\n");
+        for (Property p : properties) {
+            src.append("                case \"").append(p.column).append("\":\n");
+            src.append("                    if (mapper.").append(p.name).append("Column == 0")
+                    .append(" && (properties == null || properties.test(\"").append(p.name).append("\"))) {\n");
+            src.append("                        mapper.").append(p.name).append("Column = i;\n");
+            src.append("                    }\n");
+            src.append("                    break;\n");
+        }
+        src.append("                default:\n");
+        src.append("                    break;\n");
+        src.append("            }\n");
+        src.append("        }\n");
+        src.append("        return mapper;\n");
+        src.append("    }\n\n");
+
+        src.append("    /**\n");
+        src.append("     * 映射当前行 (Map the current row)\n");
+        src.append("     */\n");
+        src.append("    public ").append(entityName).append(" map(ResultSet rs) throws SQLException {\n");
+        src.append("        ").append(entityName).append(" target = new ").append(entityName).append("();\n");
+        for (Property p : properties) {
+            src.append("        if (").append(p.name).append("Column > 0) {\n");
+            if (p.primitive != null) {
+                src.append("            ").append(p.primitive).append(" value = rs.").append(p.getter)
+                        .append("(").append(p.name).append("Column);\n");
+                src.append("            if (!rs.wasNull()) {\n");
+                src.append("                target.").append(p.setter).append("(value);\n");
+                src.append("            }\n");
+            } else {
+                src.append("            target.").append(p.setter).append("(rs.").append(p.getter)
+                        .append("(").append(p.name).append("Column));\n");
+            }
+            src.append("        }\n");
+        }
+        src.append("        return target;\n");
+        src.append("    }\n");
+        src.append("}\n");
+
+        String qualifiedName = packageName != null ? packageName + "." + mapperName : mapperName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, entity);
+            try (Writer writer = file.openWriter()) {
+                writer.write(src.toString());
+            }
+        } catch (IOException e) {
+            error(entity, "生成 " + qualifiedName + " 失败 (Failed to generate " + qualifiedName + "): " + e);
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * 一个映射的属性 (A mapped property)
+     */
+    private static final class Property {
+        final String name;
+        final String column;
+        final String setter;
+        final String getter;
+        final String primitive;
+
+        Property(String name, String column, String setter, String getter, String primitive) {
+            this.name = name;
+            this.column = column;
+            this.setter = setter;
+            this.getter = getter;
+            this.primitive = primitive;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.jzz.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量操作结果
+ * Batch Operation Result
+ *
+ * 记录批量操作的总数、成功数以及每一条失败记录的行号、学号和原因，
+ * 个别行失败不会导致整批失败
+ * Records the total and successful counts of a batch operation together with the row number,
+ * student number and reason of every failed row; single-row failures do not fail the batch
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class BatchResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 提交的记录总数
+     * Total rows submitted
+     */
+    private int totalCount;
+
+    /**
+     * 成功的记录数
+     * Successful rows
+     */
+    private int successCount;
+
+    /**
+     * 失败的记录数
+     * Failed rows
+     */
+    private int failureCount;
+
+    /**
+     * 失败记录明细，按行号排列
+     * Failed row details, ordered by row number
+     */
+    private List<Failure> failures = new ArrayList<>();
+
+    public BatchResult(int totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * 记录一条失败
+     * Record a failed row
+     *
+     * @param row 行号，从 1 开始
+     * @param studentNo 学号
+     * @param message 失败原因
+     */
+    public void addFailure(int row, String studentNo, String message) {
+        failures.add(new Failure(row, studentNo, message));
+        failureCount++;
+    }
+
+    /**
+     * 累加成功数
+     * Add to the successful count
+     *
+     * @param count 成功的记录数
+     */
+    public void addSuccess(int count) {
+        successCount += count;
+    }
+
+    // ==================== Getter 方法 (Getter Methods) ====================
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "totalCount=" + totalCount +
+                ", successCount=" + successCount +
+                ", failureCount=" + failureCount +
+                '}';
+    }
+
+    /**
+     * 失败记录
+     * Failed Row
+     */
+    public static class Failure implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 行号，从 1 开始
+         * Row number, starting at 1
+         */
+        private final int row;
+
+        /**
+         * 学号
+         * Student number
+         */
+        private final String studentNo;
+
+        /**
+         * 失败原因
+         * Failure reason
+         */
+        private final String message;
+
+        public Failure(int row, String studentNo, String message) {
+            this.row = row;
+            this.studentNo = studentNo;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getStudentNo() {
+            return studentNo;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.jzz.model;
+
+/**
+ * 分页查询的总数统计方式
+ * Total Count Mode of Page Queries
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public enum CountMode {
+
+    /**
+     * 精确统计：与分页数据在同一次查询中取得（窗口函数）
+     * Exact: fetched in the same query as the page rows (window function)
+     */
+    EXACT,
+
+    /**
+     * 估算：使用数据库执行计划中的行数估计，不支持时退回精确统计
+     * Estimate: uses the row estimate from the execution plan, falls back to exact when unsupported
+     */
+    ESTIMATE,
+
+    /**
+     * 不统计：多取一行判断是否有下一页
+     * None: fetches one extra row to tell whether a next page exists
+     */
+    NONE;
+
+    /**
+     * 解析请求参数，无法识别时返回 EXACT
+     * Parse a request parameter, EXACT when unrecognized
+     *
+     * @param value 参数值：exact / estimate / none
+     * @return 统计方式
+     */
+    public static CountMode parse(String value) {
+        if (value != null) {
+            for (CountMode mode : values()) {
+                if (mode.name().equalsIgnoreCase(value.trim())) {
+                    return mode;
+                }
+            }
+        }
+        return EXACT;
+    }
+}
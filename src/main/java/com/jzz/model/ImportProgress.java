@@ -0,0 +1,191 @@
+package com.jzz.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 导入任务进度
+ * Import Job Progress
+ *
+ * 导入任务在后台执行，客户端按任务 ID 轮询这个快照；任务结束后它同时也是最终结果
+ * Import jobs run in the background and clients poll this snapshot by job id;
+ * once the job ends it is also the final report
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class ImportProgress implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 运行中 (Running) */
+    public static final String RUNNING = "RUNNING";
+
+    /** 已完成 (Completed) */
+    public static final String COMPLETED = "COMPLETED";
+
+    /** 已取消 (Cancelled) */
+    public static final String CANCELLED = "CANCELLED";
+
+    /** 失败（文件无法读取或数据库不可用）(Failed: unreadable file or database unavailable) */
+    public static final String FAILED = "FAILED";
+
+    /**
+     * 任务 ID
+     * Job id
+     */
+    private String jobId;
+
+    /**
+     * 上传的文件名
+     * Uploaded file name
+     */
+    private String fileName;
+
+    /**
+     * 任务状态：RUNNING / COMPLETED / CANCELLED / FAILED
+     * Job status: RUNNING / COMPLETED / CANCELLED / FAILED
+     */
+    private String status;
+
+    /**
+     * 已解析的数据行数
+     * Data rows parsed
+     */
+    private long rowsRead;
+
+    /**
+     * 已处理（写入或判定失败）的数据行数
+     * Data rows processed (written or rejected)
+     */
+    private long rowsProcessed;
+
+    /**
+     * 成功导入的行数
+     * Rows imported
+     */
+    private long successCount;
+
+    /**
+     * 失败的行数
+     * Rows failed
+     */
+    private long failureCount;
+
+    /**
+     * 失败明细（只保留前若干条，行号为文件中的行号，表头为第 1 行）
+     * Failure details (only the first entries are kept; rows are file rows, the header is row 1)
+     */
+    private List<BatchResult.Failure> failures;
+
+    /**
+     * 状态说明，失败时为错误原因
+     * Status message, the error when failed
+     */
+    private String message;
+
+    /**
+     * 已耗时（毫秒）
+     * Elapsed time (ms)
+     */
+    private long elapsedMillis;
+
+    public ImportProgress(String jobId, String fileName, String status) {
+        this.jobId = jobId;
+        this.fileName = fileName;
+        this.status = status;
+    }
+
+    /**
+     * 任务是否已结束
+     * Whether the job has ended
+     *
+     * @return true 已结束
+     */
+    public boolean isFinished() {
+        return !RUNNING.equals(status);
+    }
+
+    // ==================== Getter 和 Setter 方法 (Getter and Setter Methods) ====================
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed;
+    }
+
+    public void setRowsProcessed(long rowsProcessed) {
+        this.rowsProcessed = rowsProcessed;
+    }
+
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(long successCount) {
+        this.successCount = successCount;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(long failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    public List<BatchResult.Failure> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<BatchResult.Failure> failures) {
+        this.failures = failures;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportProgress{" +
+                "jobId='" + jobId + '\'' +
+                ", fileName='" + fileName + '\'' +
+                ", status='" + status + '\'' +
+                ", rowsRead=" + rowsRead +
+                ", successCount=" + successCount +
+                ", failureCount=" + failureCount +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,193 @@
+package com.jzz.model;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 分页游标（键集分页）
+ * Page Cursor (Keyset Pagination)
+ *
+ * 记录一页边界行的排序字段值和 ID，下一页查询使用 WHERE (sort_col, id) > (?, ?)
+ * 直接定位，不再扫描并丢弃前面的所有行。
+ * Holds the sort key and id of a page boundary row; the next page seeks with
+ * WHERE (sort_col, id) > (?, ?) instead of scanning and discarding every preceding row.
+ *
+ * 对客户端是不透明的字符串（URL 安全的 Base64），游标中包含排序字段、排序方向和生成它的查询
+ * （排序和条件）的指纹，排序或条件改变后旧游标不再有效
+ * Opaque to clients (URL-safe Base64). The cursor includes the sort column and direction plus a
+ * fingerprint of the query (sort and conditions) it came from, so it stops being valid once the
+ * sort or the conditions change
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class PageCursor implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 排序字段（数据库列名）
+     * Sort column (database column name)
+     */
+    private final String orderBy;
+
+    /**
+     * 排序类型：ASC 或 DESC
+     * Order type: ASC or DESC
+     */
+    private final String orderType;
+
+    /**
+     * 是否向前翻页（上一页）
+     * Whether this cursor pages backward (previous page)
+     */
+    private final boolean backward;
+
+    /**
+     * 边界行的排序字段值，可为 null
+     * Sort value of the boundary row, may be null
+     */
+    private final String value;
+
+    /**
+     * 边界行的 ID
+     * Id of the boundary row
+     */
+    private final Integer id;
+
+    /**
+     * 生成游标的查询（排序和条件）的指纹，可为 null
+     * Fingerprint of the query (sort and conditions) the cursor came from, may be null
+     */
+    private final String scope;
+
+    public PageCursor(String orderBy, String orderType, boolean backward, String value, Integer id) {
+        this(orderBy, orderType, backward, value, id, null);
+    }
+
+    public PageCursor(String orderBy, String orderType, boolean backward, String value, Integer id,
+                      String scope) {
+        this.orderBy = orderBy;
+        this.orderType = orderType;
+        this.backward = backward;
+        this.value = value;
+        this.id = id;
+        this.scope = scope;
+    }
+
+    /**
+     * 返回带有查询指纹的游标
+     * Return this cursor carrying the query fingerprint
+     *
+     * @param scope 查询指纹，不能包含分隔符
+     * @return 新的游标
+     */
+    public PageCursor withScope(String scope) {
+        return new PageCursor(orderBy, orderType, backward, value, id, scope);
+    }
+
+    // ==================== 编码和解码 (Encoding and Decoding) ====================
+
+    /**
+     * 编码为不透明字符串
+     * Encode to an opaque string
+     *
+     * @return 游标字符串
+     */
+    public String encode() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(orderBy).append(SEPARATOR)
+                .append(orderType).append(SEPARATOR)
+                .append(backward ? 'B' : 'F').append(SEPARATOR)
+                .append(id).append(SEPARATOR)
+                .append(scope != null ? scope : "").append(SEPARATOR);
+        // 值放在最后，允许其中包含分隔符 (Value goes last so it may contain the separator)
+        if (value == null) {
+            sb.append('N');
+        } else {
+            sb.append('V').append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标字符串
+     * Decode a cursor string
+     *
+     * @param cursor 游标字符串
+     * @return 游标，格式无效时返回 null
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = text.split("\\|", 6);
+            if (parts.length != 6 || parts[5].isEmpty()) {
+                return null;
+            }
+            boolean backward = "B".equals(parts[2]);
+            Integer id = Integer.valueOf(parts[3]);
+            String scope = parts[4].isEmpty() ? null : parts[4];
+            String value = parts[5].charAt(0) == 'V' ? parts[5].substring(1) : null;
+            return new PageCursor(parts[0], parts[1], backward, value, id, scope);
+        } catch (IllegalArgumentException e) {
+            // 包括 Base64 和数字格式错误 (Covers malformed Base64 and numbers)
+            return null;
+        }
+    }
+
+    /**
+     * 判断游标是否由指纹相同的查询（相同的排序和条件）生成
+     * Check whether the cursor came from a query with this fingerprint (same sort and conditions)
+     *
+     * @param scope 当前查询的指纹
+     * @return true 匹配
+     */
+    public boolean matches(String scope) {
+        return this.scope != null && this.scope.equals(scope);
+    }
+
+    // ==================== Getter 方法 (Getter Methods) ====================
+
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    public String getOrderType() {
+        return orderType;
+    }
+
+    public boolean isBackward() {
+        return backward;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    @Override
+    public String toString() {
+        return "PageCursor{" +
+                "orderBy='" + orderBy + '\'' +
+                ", orderType='" + orderType + '\'' +
+                ", backward=" + backward +
+                ", value='" + value + '\'' +
+                ", id=" + id +
+                ", scope='" + scope + '\'' +
+                '}';
+    }
+}
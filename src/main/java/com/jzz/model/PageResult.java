@@ -2,6 +2,7 @@ package com.jzz.model;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 分页结果封装类
@@ -31,11 +32,24 @@ public class PageResult<T> implements Serializable {
     private Integer pageSize;
 
     /**
-     * 总记录数
-     * Total Number of Records
+     * 总记录数，未统计时为 null
+     * Total Number of Records, null when not counted
      */
     private Long totalCount;
 
+    /**
+     * 总记录数是否精确（估算值或未统计时为 false）
+     * Whether totalCount is exact (false for estimates or when not counted)
+     */
+    private boolean totalCountExact = true;
+
+    /**
+     * 是否有下一页；由多取一行得知时直接设置，否则根据总页数计算
+     * Whether a next page exists; set directly when known from an extra fetched row,
+     * otherwise derived from the total pages
+     */
+    private Boolean hasNextPage;
+
     /**
      * 总页数
      * Total Number of Pages
@@ -48,6 +62,24 @@ public class PageResult<T> implements Serializable {
      */
     private List<T> data;
 
+    /**
+     * 下一页游标（键集分页），没有下一页时为 null
+     * Cursor of the next page (keyset pagination), null when there is no next page
+     */
+    private String nextCursor;
+
+    /**
+     * 上一页游标（键集分页），没有上一页时为 null
+     * Cursor of the previous page (keyset pagination), null when there is no previous page
+     */
+    private String prevCursor;
+
+    /**
+     * 输出的字段（字段投影），null 表示全部字段
+     * Fields to output (field projection), null for all fields
+     */
+    private Set<String> fields;
+
     // ==================== 构造方法 (Constructors) ====================
 
     /**
@@ -72,7 +104,9 @@ public class PageResult<T> implements Serializable {
         this.totalCount = totalCount;
         this.data = data;
         // 自动计算总页数 (Automatically calculate total pages)
-        this.totalPages = (int) Math.ceil((double) totalCount / pageSize);
+        if (totalCount != null) {
+            this.totalPages = (int) Math.ceil((double) totalCount / pageSize);
+        }
     }
 
     // ==================== Getter 和 Setter 方法 (Getter and Setter Methods) ====================
@@ -101,11 +135,29 @@ public class PageResult<T> implements Serializable {
         this.totalCount = totalCount;
         // 当设置总记录数时，自动重新计算总页数
         // Automatically recalculate total pages when setting total count
-        if (pageSize != null && pageSize > 0) {
+        if (totalCount == null) {
+            this.totalPages = null;
+        } else if (pageSize != null && pageSize > 0) {
             this.totalPages = (int) Math.ceil((double) totalCount / pageSize);
         }
     }
 
+    public boolean isTotalCountExact() {
+        return totalCountExact;
+    }
+
+    public void setTotalCountExact(boolean totalCountExact) {
+        this.totalCountExact = totalCountExact;
+    }
+
+    public Boolean getHasNextPage() {
+        return hasNextPage;
+    }
+
+    public void setHasNextPage(Boolean hasNextPage) {
+        this.hasNextPage = hasNextPage;
+    }
+
     public Integer getTotalPages() {
         return totalPages;
     }
@@ -122,6 +174,30 @@ public class PageResult<T> implements Serializable {
         this.data = data;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    public void setPrevCursor(String prevCursor) {
+        this.prevCursor = prevCursor;
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    public void setFields(Set<String> fields) {
+        this.fields = fields;
+    }
+
     // ==================== 辅助方法 (Helper Methods) ====================
 
     /**
@@ -141,6 +217,9 @@ public class PageResult<T> implements Serializable {
      * @return true 有下一页，false 没有下一页
      */
     public boolean hasNext() {
+        if (hasNextPage != null) {
+            return hasNextPage;
+        }
         return currentPage != null && totalPages != null && currentPage < totalPages;
     }
 
@@ -164,6 +243,7 @@ public class PageResult<T> implements Serializable {
                 ", pageSize=" + pageSize +
                 ", totalCount=" + totalCount +
                 ", totalPages=" + totalPages +
+                ", totalCountExact=" + totalCountExact +
                 ", dataSize=" + (data != null ? data.size() : 0) +
                 '}';
     }
@@ -1,5 +1,7 @@
 package com.jzz.model;
 
+import com.jzz.mapper.RowMapped;
+
 import java.io.Serializable;
 import java.sql.Date;
 import java.sql.Timestamp;
@@ -14,6 +16,7 @@ import java.sql.Timestamp;
  * @author Jzz
  * @version 1.0
  */
+@RowMapped
 public class Student implements Serializable {
 
     private static final long serialVersionUID = 1L;
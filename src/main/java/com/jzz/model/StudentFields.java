@@ -0,0 +1,183 @@
+package com.jzz.model;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 学生字段投影
+ * Student Field Projection
+ *
+ * 列表查询只读取和输出调用方需要的字段：决定 SELECT 的列、ResultSet 映射读取的列以及 JSON 输出的字段。
+ * id 总是包含在内（勾选、编辑、删除和分页游标都依赖它）
+ * List queries read and emit only the fields the caller asks for: this drives the SELECT column
+ * list, the columns read from the ResultSet and the fields written to JSON.
+ * id is always included (selection, edit, delete and page cursors rely on it)
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public final class StudentFields implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 字段名到列名的映射，按表结构顺序
+     * Field name to column name, in table order
+     */
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", "id");
+        COLUMNS.put("studentNo", "student_no");
+        COLUMNS.put("name", "name");
+        COLUMNS.put("gender", "gender");
+        COLUMNS.put("age", "age");
+        COLUMNS.put("major", "major");
+        COLUMNS.put("className", "class_name");
+        COLUMNS.put("phone", "phone");
+        COLUMNS.put("email", "email");
+        COLUMNS.put("enrollmentDate", "enrollment_date");
+        COLUMNS.put("createTime", "create_time");
+        COLUMNS.put("updateTime", "update_time");
+        COLUMNS.put("status", "status");
+    }
+
+    /**
+     * 选中的字段，按表结构顺序
+     * Selected fields, in table order
+     */
+    private final Set<String> fields;
+
+    private StudentFields(Set<String> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * 解析逗号分隔的字段列表，忽略未知字段
+     * Parse a comma-separated field list, ignoring unknown names
+     *
+     * @param value 如 "id,name,major"
+     * @return 字段投影；为空或没有可识别的字段时返回 null，表示全部字段
+     */
+    public static StudentFields parse(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : value.split(",")) {
+            requested.add(field.trim());
+        }
+
+        Set<String> fields = new LinkedHashSet<>();
+        boolean known = false;
+        for (String field : COLUMNS.keySet()) {
+            if (requested.contains(field)) {
+                fields.add(field);
+                known = true;
+            } else if ("id".equals(field)) {
+                fields.add(field);
+            }
+        }
+        return known ? new StudentFields(fields) : null;
+    }
+
+    /**
+     * 由字段名集合构建投影，忽略未知字段，不自动加入 id（用于部分更新的字段清单）
+     * Build a projection from field names, ignoring unknown names and without adding id
+     * (used as the field list of partial updates)
+     *
+     * @param names 字段名
+     * @return 字段投影；没有可识别的字段时返回 null
+     */
+    public static StudentFields of(Collection<String> names) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (String field : COLUMNS.keySet()) {
+            if (names.contains(field)) {
+                fields.add(field);
+            }
+        }
+        return fields.isEmpty() ? null : new StudentFields(fields);
+    }
+
+    /**
+     * 字段对应的列名
+     * Column name of a field
+     *
+     * @param field 字段名
+     * @return 列名，未知字段返回 null
+     */
+    public static String columnOf(String field) {
+        return COLUMNS.get(field);
+    }
+
+    /**
+     * 包含全部字段的投影
+     * Projection of all fields
+     *
+     * @return 全部字段，按表结构顺序
+     */
+    public static StudentFields all() {
+        return new StudentFields(new LinkedHashSet<>(COLUMNS.keySet()));
+    }
+
+    /**
+     * 返回额外包含某一列的投影（如排序列，分页游标需要读取它的值）
+     * Return a projection that also includes a column (e.g. the sort column, whose value the
+     * page cursor needs)
+     *
+     * @param column 列名
+     * @return 新的投影，已包含时返回自身
+     */
+    public StudentFields withColumn(String column) {
+        for (Map.Entry<String, String> entry : COLUMNS.entrySet()) {
+            if (entry.getValue().equals(column)) {
+                if (fields.contains(entry.getKey())) {
+                    return this;
+                }
+                Set<String> merged = new LinkedHashSet<>();
+                for (String field : COLUMNS.keySet()) {
+                    if (fields.contains(field) || field.equals(entry.getKey())) {
+                        merged.add(field);
+                    }
+                }
+                return new StudentFields(merged);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 生成 SELECT 列清单
+     * Build the SELECT column list
+     *
+     * @return 如 "id, name, major"
+     */
+    public String toSelectList() {
+        StringBuilder sb = new StringBuilder();
+        for (String field : fields) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(COLUMNS.get(field));
+        }
+        return sb.toString();
+    }
+
+    public boolean contains(String field) {
+        return fields.contains(field);
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", fields);
+    }
+}
@@ -1,5 +1,7 @@
 package com.jzz.model;
 
+import com.jzz.mapper.RowMapped;
+
 import java.io.Serializable;
 import java.sql.Timestamp;
 
@@ -13,6 +15,7 @@ import java.sql.Timestamp;
  * @author Jzz
  * @version 1.0
  */
+@RowMapped
 public class User implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -0,0 +1,117 @@
+package com.jzz.service;
+
+import com.jzz.dao.StudentDAO;
+import com.jzz.dao.StudentDAOImpl;
+import com.jzz.util.DBUtil;
+import com.jzz.util.LogUtil;
+
+import java.sql.Timestamp;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 软删除记录清理任务
+ * Soft-Deleted Student Purge Job
+ *
+ * 启用软删除（jdbc.softDelete）时，删除只设置 deleted_at；这个后台任务定期物理删除超过保留时间的记录。
+ * 每条 DELETE 最多 PURGE_CHUNK_SIZE 行并单独提交，块之间稍作停顿，
+ * 使清理不会长时间持有锁，也不会挤占前台请求的连接
+ * With soft delete enabled (jdbc.softDelete) deletes only set deleted_at; this background job
+ * periodically removes rows past the retention time. Each DELETE covers at most PURGE_CHUNK_SIZE
+ * rows and commits on its own, with a short pause between chunks, so the purge never holds locks
+ * for long or crowds out the connections of foreground requests
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class DeletedStudentPurger {
+
+    /**
+     * 每条 DELETE 清理的最大行数
+     * Maximum rows removed per DELETE
+     */
+    private static final int PURGE_CHUNK_SIZE = 500;
+
+    /**
+     * 两块之间的停顿（毫秒）
+     * Pause between chunks (ms)
+     */
+    private static final long CHUNK_PAUSE_MILLIS = 50;
+
+    private static final StudentDAO STUDENT_DAO = new StudentDAOImpl();
+
+    private static ScheduledExecutorService scheduler;
+
+    private DeletedStudentPurger() {
+    }
+
+    /**
+     * 启动清理任务（未启用软删除时不做任何事）
+     * Start the purge job (does nothing unless soft delete is enabled)
+     */
+    public static synchronized void start() {
+        if (scheduler != null || !DBUtil.isSoftDeleteEnabled()) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jzz-soft-delete-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, DBUtil.getPurgeIntervalSeconds());
+        scheduler.scheduleWithFixedDelay(DeletedStudentPurger::runSafely, interval, interval, TimeUnit.SECONDS);
+        LogUtil.info("软删除清理任务已启动，间隔 " + interval + " 秒，保留 "
+                + DBUtil.getSoftDeleteRetentionMinutes() + " 分钟");
+    }
+
+    /**
+     * 停止清理任务（应用关闭时调用）
+     * Stop the purge job (called on application shutdown)
+     */
+    public static synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 清理一次：分块删除所有超过保留时间的软删除记录
+     * Run one purge: remove every soft-deleted row past the retention time, chunk by chunk
+     *
+     * @return 清理的记录数
+     * @throws Exception 数据库异常或线程被中断
+     */
+    public static int purgeOnce() throws Exception {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis()
+                - TimeUnit.MINUTES.toMillis(DBUtil.getSoftDeleteRetentionMinutes()));
+        int total = 0;
+        while (true) {
+            int deleted = STUDENT_DAO.purgeDeleted(cutoff, PURGE_CHUNK_SIZE);
+            total += deleted;
+            if (deleted < PURGE_CHUNK_SIZE) {
+                return total;
+            }
+            Thread.sleep(CHUNK_PAUSE_MILLIS);
+        }
+    }
+
+    /**
+     * 定时执行的入口，异常只记录日志，不终止后续调度
+     * Scheduled entry point; failures are logged and never cancel later runs
+     */
+    private static void runSafely() {
+        try {
+            int purged = purgeOnce();
+            if (purged > 0) {
+                LogUtil.info("已清理软删除的学生记录：" + purged);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LogUtil.error("清理软删除的学生记录失败：" + e.getMessage(), e);
+        }
+    }
+}
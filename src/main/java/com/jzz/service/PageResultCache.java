@@ -0,0 +1,223 @@
+package com.jzz.service;
+
+import com.jzz.dao.CacheStats;
+import com.jzz.dao.StudentDataVersion;
+import com.jzz.model.PageResult;
+import com.jzz.model.Student;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 分页查询结果缓存
+ * Page Query Result Cache
+ *
+ * 缓存 queryPage 的结果，按最近最少使用淘汰。每个结果记下计算时的学生数据版本号（StudentDataVersion），
+ * 任何写入都会使全部结果失效
+ * Caches queryPage results with LRU eviction. Each result records the student data version
+ * (StudentDataVersion) it was computed at, so any write invalidates every result
+ *
+ * 防止击穿：同一个键、同一个版本同时只有一个线程查询数据库，其他线程等待它的结果；
+ * 结果接近过期时按概率提前刷新（越接近过期、查询越慢，概率越高），由单个线程重新计算，其他线程继续使用旧结果
+ * Stampede protection: for one key and version only one thread queries the database and the
+ * others wait for its result; results close to expiry are refreshed early with a probability
+ * that grows as expiry nears and with the cost of the query, so a single thread recomputes while
+ * the others keep using the current result
+ *
+ * 返回的结果由多个请求共享，调用方不能修改
+ * Returned results are shared between requests and must not be modified
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class PageResultCache {
+
+    /**
+     * 查询数据库的回调
+     * Callback that queries the database
+     */
+    public interface Loader {
+        PageResult<Student> load() throws Exception;
+    }
+
+    /**
+     * 提前刷新的倾向系数，大于 1 更早刷新
+     * Early refresh eagerness, values above 1 refresh earlier
+     */
+    private static final double BETA = 1.0;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    /**
+     * 按键存放的结果，按访问顺序排列（最久未使用的在前）
+     * Results by key in access order (least recently used first)
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 正在查询的键（键 + 版本号）
+     * Loads in flight (key + version)
+     */
+    private final ConcurrentHashMap<String, FutureTask<PageResult<Student>>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    public PageResultCache(int maxEntries, long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * 读取结果，没有有效结果时通过 loader 查询（loader 抛出的异常原样抛出，不缓存）
+     * Get a result, loading it through the loader when no valid one is cached
+     * (exceptions from the loader are rethrown and nothing is cached)
+     *
+     * @param key 规范化后的查询键
+     * @param loader 查询数据库的回调
+     * @return 查询结果
+     * @throws Exception 查询失败
+     */
+    public PageResult<Student> get(String key, Loader loader) throws Exception {
+        long version = StudentDataVersion.current();
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+
+        long now = System.nanoTime();
+        if (entry == null) {
+            missCount.increment();
+        } else if (entry.version != version) {
+            invalidationCount.increment();
+            missCount.increment();
+        } else if (now - entry.expiresAt >= 0) {
+            expirationCount.increment();
+            missCount.increment();
+        } else if (refreshEarly(entry, now)) {
+            // 只有一个线程重新计算，其他线程继续使用当前结果 (One thread recomputes, the rest keep the current result)
+            if (loading.containsKey(key + '#' + version)) {
+                hitCount.increment();
+                return entry.value;
+            }
+            refreshCount.increment();
+        } else {
+            hitCount.increment();
+            return entry.value;
+        }
+        return load(key, version, loader);
+    }
+
+    /**
+     * 获取统计快照
+     * Get a statistics snapshot
+     *
+     * @return 统计
+     */
+    public CacheStats getStats() {
+        CacheStats stats = new CacheStats();
+        synchronized (this) {
+            stats.setSize(entries.size());
+        }
+        stats.setMaxEntries(maxEntries);
+        stats.setTtlSeconds(TimeUnit.NANOSECONDS.toSeconds(ttlNanos));
+        stats.setHitCount(hitCount.sum());
+        stats.setMissCount(missCount.sum());
+        stats.setEvictionCount(evictionCount.sum());
+        stats.setExpirationCount(expirationCount.sum());
+        stats.setInvalidationCount(invalidationCount.sum());
+        stats.setRefreshCount(refreshCount.sum());
+        stats.setCoalescedCount(coalescedCount.sum());
+        return stats;
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    /**
+     * 查询并放入缓存；同一键和版本已有线程在查询时等待它的结果
+     * Load and cache; waits for the thread already loading the same key and version
+     */
+    private PageResult<Student> load(String key, long version, Loader loader) throws Exception {
+        String flightKey = key + '#' + version;
+        FutureTask<PageResult<Student>> task = new FutureTask<>(() -> {
+            long start = System.nanoTime();
+            PageResult<Student> value = loader.load();
+            long end = System.nanoTime();
+            put(key, new Entry(value, version, end - start, end + ttlNanos));
+            return value;
+        });
+
+        FutureTask<PageResult<Student>> inFlight = loading.putIfAbsent(flightKey, task);
+        if (inFlight == null) {
+            try {
+                task.run();
+            } finally {
+                loading.remove(flightKey, task);
+            }
+            inFlight = task;
+        } else {
+            coalescedCount.increment();
+        }
+
+        try {
+            return inFlight.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        // 期间有写入时结果已经失效，不放入 (A write happened meanwhile, the result is already invalid)
+        if (entry.version != StudentDataVersion.current()) {
+            return;
+        }
+        entries.put(key, entry);
+
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictionCount.increment();
+        }
+    }
+
+    /**
+     * 概率提前刷新：now - delta * BETA * ln(rand) >= expiresAt
+     * Probabilistic early refresh: now - delta * BETA * ln(rand) >= expiresAt
+     */
+    private static boolean refreshEarly(Entry entry, long now) {
+        double gap = -entry.loadNanos * BETA * Math.log(ThreadLocalRandom.current().nextDouble());
+        return gap >= entry.expiresAt - now;
+    }
+
+    private static class Entry {
+        final PageResult<Student> value;
+        final long version;
+        final long loadNanos;
+        final long expiresAt;
+
+        Entry(PageResult<Student> value, long version, long loadNanos, long expiresAt) {
+            this.value = value;
+            this.version = version;
+            this.loadNanos = loadNanos;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,577 @@
+package com.jzz.service;
+
+import com.jzz.model.BatchResult;
+import com.jzz.model.ImportProgress;
+import com.jzz.model.Student;
+import com.jzz.util.CsvReader;
+import com.jzz.util.LogUtil;
+import com.jzz.util.StringUtil;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 学生名单导入器
+ * Student Roster Importer
+ *
+ * 以流水线方式导入 CSV 文件（Excel 可另存为 CSV）：
+ * 1. 解析线程逐条读取记录，每 CHUNK_SIZE 行组成一块，提交给校验线程池；
+ * 2. 校验线程池并行把记录转换为 Student 并校验；
+ * 3. 写入线程按文件顺序取出校验结果，每块在一个事务中批量写入。
+ * 解析和写入之间是有界队列，写入跟不上时解析线程会阻塞（背压），
+ * 因此同一时刻内存中最多只有队列容量那么多块数据，与文件大小无关
+ * Imports CSV files (Excel can save as CSV) as a pipeline:
+ * 1. the parse thread reads records one by one and hands every CHUNK_SIZE rows to the
+ *    validation pool as one chunk;
+ * 2. the validation pool converts records to Student objects and validates them in parallel;
+ * 3. the write thread takes validated chunks in file order and writes each in one transaction.
+ * Parsing and writing are joined by a bounded queue, so the parse thread blocks when writes fall
+ * behind (back-pressure) and at most a queue's worth of chunks is in memory at any time,
+ * whatever the file size
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class StudentImporter {
+
+    /**
+     * 每块的行数，也是每个写入事务的行数
+     * Rows per chunk, which is also the rows per write transaction
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * 校验线程数
+     * Validation threads
+     */
+    private static final int VALIDATION_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * 解析和写入之间最多排队的块数
+     * Maximum chunks queued between parsing and writing
+     */
+    private static final int PENDING_CHUNKS = VALIDATION_THREADS * 2;
+
+    /**
+     * 进度中最多保留的失败明细条数
+     * Maximum failure details kept in the progress
+     */
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    /**
+     * 同时运行的导入任务数
+     * Concurrent import jobs
+     */
+    private static final int MAX_RUNNING_JOBS = 2;
+
+    /**
+     * 已结束任务的进度保留时间（毫秒）
+     * How long finished jobs stay pollable (ms)
+     */
+    private static final long RETENTION_MILLIS = 60 * 60 * 1000L;
+
+    /**
+     * 表头名称到字段的映射，支持中英文表头
+     * Header names to fields, Chinese and English headers are both accepted
+     */
+    private static final Map<String, String> HEADERS = new HashMap<>();
+
+    private static final String[] FIELDS = {
+            "studentNo", "name", "gender", "age", "major", "className", "phone", "email", "enrollmentDate", "status"
+    };
+
+    static {
+        for (String field : FIELDS) {
+            HEADERS.put(field.toLowerCase(), field);
+        }
+        HEADERS.put("学号", "studentNo");
+        HEADERS.put("姓名", "name");
+        HEADERS.put("性别", "gender");
+        HEADERS.put("年龄", "age");
+        HEADERS.put("专业", "major");
+        HEADERS.put("班级", "className");
+        HEADERS.put("电话", "phone");
+        HEADERS.put("联系电话", "phone");
+        HEADERS.put("手机号", "phone");
+        HEADERS.put("邮箱", "email");
+        HEADERS.put("入学日期", "enrollmentDate");
+        HEADERS.put("状态", "status");
+    }
+
+    private static final Map<String, ImportJob> JOBS = new ConcurrentHashMap<>();
+
+    private static final Semaphore RUNNING_SLOTS = new Semaphore(MAX_RUNNING_JOBS);
+
+    private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+
+    private static final ExecutorService VALIDATORS = Executors.newFixedThreadPool(VALIDATION_THREADS,
+            r -> newDaemon(r, "jzz-import-validator-" + THREAD_SEQ.incrementAndGet()));
+
+    private static final ExecutorService STAGES = Executors.newCachedThreadPool(
+            r -> newDaemon(r, "jzz-import-" + THREAD_SEQ.incrementAndGet()));
+
+    private final StudentServiceImpl studentService = new StudentServiceImpl();
+
+    /**
+     * 开始导入
+     * Start an import
+     *
+     * 表头在调用线程中读取和检查，之后的解析、校验和写入在后台执行；
+     * 文件由导入任务接管，结束后删除
+     * The header is read and checked on the calling thread; parsing, validation and writing
+     * then run in the background. The job takes ownership of the file and deletes it when done
+     *
+     * @param file 上传文件保存的临时文件
+     * @param fileName 原始文件名
+     * @param charset 文件编码
+     * @return 初始进度，包含任务 ID
+     * @throws Exception 任务过多、文件为空或缺少必需的列
+     */
+    public ImportProgress start(Path file, String fileName, Charset charset) throws Exception {
+        purgeFinished();
+        if (!RUNNING_SLOTS.tryAcquire()) {
+            Files.deleteIfExists(file);
+            throw new Exception("正在进行的导入任务过多，请稍后再试！");
+        }
+
+        CsvReader reader = null;
+        try {
+            reader = new CsvReader(Files.newBufferedReader(file, charset));
+            int[] columns = readHeader(reader);
+
+            ImportJob job = new ImportJob(UUID.randomUUID().toString(), fileName, file, reader, columns);
+            JOBS.put(job.id, job);
+            STAGES.execute(job::parse);
+            STAGES.execute(job::write);
+            LogUtil.info("开始导入学生名单：" + fileName + "，任务 " + job.id);
+            return job.snapshot();
+
+        } catch (Exception e) {
+            RUNNING_SLOTS.release();
+            if (reader != null) {
+                reader.close();
+            }
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * 查询导入进度
+     * Get the progress of an import
+     *
+     * @param jobId 任务 ID
+     * @return 进度，任务不存在或已过期时返回 null
+     */
+    public ImportProgress getProgress(String jobId) {
+        ImportJob job = jobId != null ? JOBS.get(jobId) : null;
+        return job != null ? job.snapshot() : null;
+    }
+
+    /**
+     * 取消导入，已提交的块不会回滚
+     * Cancel an import; chunks already committed stay committed
+     *
+     * @param jobId 任务 ID
+     * @return true 任务存在且仍在运行
+     */
+    public boolean cancel(String jobId) {
+        ImportJob job = jobId != null ? JOBS.get(jobId) : null;
+        if (job == null || job.finished) {
+            return false;
+        }
+        job.stop(null);
+        return true;
+    }
+
+    /**
+     * 停止所有导入线程（应用关闭时调用）
+     * Stop all import threads (called on application shutdown)
+     */
+    public static void shutdown() {
+        for (ImportJob job : JOBS.values()) {
+            job.stop("应用关闭，导入已中止");
+        }
+        STAGES.shutdownNow();
+        VALIDATORS.shutdownNow();
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    /**
+     * 读取表头，返回每个字段所在的列（缺少时为 -1）
+     * Read the header and return each field's column (-1 when absent)
+     */
+    private int[] readHeader(CsvReader reader) throws Exception {
+        String[] header = reader.readRecord();
+        if (header == null) {
+            throw new Exception("文件为空！");
+        }
+
+        int[] columns = new int[FIELDS.length];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < header.length; i++) {
+            String field = HEADERS.get(header[i].trim().toLowerCase());
+            if (field != null) {
+                for (int f = 0; f < FIELDS.length; f++) {
+                    if (FIELDS[f].equals(field) && columns[f] < 0) {
+                        columns[f] = i;
+                    }
+                }
+            }
+        }
+
+        // 学号、姓名、性别为必填列 (Student number, name and gender are required)
+        if (columns[0] < 0 || columns[1] < 0 || columns[2] < 0) {
+            throw new Exception("文件缺少必需的列：学号(studentNo)、姓名(name)、性别(gender)！");
+        }
+        return columns;
+    }
+
+    /**
+     * 清理过期的已结束任务
+     * Drop finished jobs past their retention
+     */
+    private void purgeFinished() {
+        long now = System.currentTimeMillis();
+        JOBS.values().removeIf(job -> job.finished && now - job.endTime > RETENTION_MILLIS);
+    }
+
+    private static Thread newDaemon(Runnable r, String name) {
+        Thread thread = new Thread(r, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * 把一条记录转换为 Student
+     * Convert one record to a Student
+     *
+     * @throws Exception 字段格式错误
+     */
+    private static Student toStudent(String[] record, int[] columns) throws Exception {
+        Student student = new Student();
+        student.setStudentNo(valueOf(record, columns[0]));
+        student.setName(valueOf(record, columns[1]));
+
+        String gender = valueOf(record, columns[2]);
+        if ("男".equals(gender)) {
+            student.setGender(1);
+        } else if ("女".equals(gender)) {
+            student.setGender(2);
+        } else if (gender != null) {
+            student.setGender(parseInt(gender, "性别"));
+        }
+
+        String age = valueOf(record, columns[3]);
+        if (age != null) {
+            student.setAge(parseInt(age, "年龄"));
+        }
+
+        student.setMajor(valueOf(record, columns[4]));
+        student.setClassName(valueOf(record, columns[5]));
+        student.setPhone(valueOf(record, columns[6]));
+        student.setEmail(valueOf(record, columns[7]));
+
+        String enrollmentDate = valueOf(record, columns[8]);
+        if (enrollmentDate != null) {
+            try {
+                // Excel 导出的日期可能是 2021/9/1 (Excel may export dates as 2021/9/1)
+                student.setEnrollmentDate(Date.valueOf(enrollmentDate.replace('/', '-')));
+            } catch (IllegalArgumentException e) {
+                throw new Exception("入学日期格式错误：" + enrollmentDate);
+            }
+        }
+
+        String status = valueOf(record, columns[9]);
+        if (status == null) {
+            student.setStatus(1);
+        } else if ("在读".equals(status)) {
+            student.setStatus(1);
+        } else if ("休学".equals(status)) {
+            student.setStatus(2);
+        } else if ("毕业".equals(status)) {
+            student.setStatus(3);
+        } else {
+            student.setStatus(parseInt(status, "状态"));
+        }
+        return student;
+    }
+
+    private static String valueOf(String[] record, int column) {
+        if (column < 0 || column >= record.length) {
+            return null;
+        }
+        String value = record[column].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer parseInt(String value, String label) throws Exception {
+        Integer result = StringUtil.toInt(value);
+        if (result == null) {
+            throw new Exception(label + "格式错误：" + value);
+        }
+        return result;
+    }
+
+    /**
+     * 一块记录的校验结果
+     * Validation result of one chunk
+     */
+    private static class Chunk {
+        final List<Student> students = new ArrayList<>();
+        final List<Integer> rows = new ArrayList<>();
+        final List<BatchResult.Failure> failures = new ArrayList<>();
+    }
+
+    /**
+     * 导入任务
+     * Import Job
+     */
+    private class ImportJob {
+
+        private final String id;
+        private final String fileName;
+        private final Path file;
+        private final CsvReader reader;
+        private final int[] columns;
+        private final long startTime = System.currentTimeMillis();
+
+        /**
+         * 解析和写入之间的有界队列，元素按文件顺序排列
+         * Bounded queue between parsing and writing, in file order
+         */
+        private final BlockingQueue<Future<Chunk>> pending = new ArrayBlockingQueue<>(PENDING_CHUNKS);
+
+        /**
+         * 解析结束标记
+         * End-of-parse marker
+         */
+        private final Future<Chunk> end = CompletableFuture.completedFuture(null);
+
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsProcessed = new AtomicLong();
+        private final AtomicLong successCount = new AtomicLong();
+        private final AtomicLong failureCount = new AtomicLong();
+        private final List<BatchResult.Failure> failures = new ArrayList<>();
+
+        private volatile boolean stopped;
+        private volatile boolean finished;
+        private volatile String error;
+        private volatile long endTime;
+
+        ImportJob(String id, String fileName, Path file, CsvReader reader, int[] columns) {
+            this.id = id;
+            this.fileName = fileName;
+            this.file = file;
+            this.reader = reader;
+            this.columns = columns;
+        }
+
+        /**
+         * 解析阶段：读取记录，分块提交校验，队列满时阻塞
+         * Parse stage: read records and submit chunks for validation, blocking while the queue is full
+         */
+        void parse() {
+            try {
+                List<String[]> records = new ArrayList<>(CHUNK_SIZE);
+                List<Integer> rows = new ArrayList<>(CHUNK_SIZE);
+                String[] record;
+                while (!stopped && (record = reader.readRecord()) != null) {
+                    // 跳过空行 (Skip blank lines)
+                    if (record.length == 1 && record[0].trim().isEmpty()) {
+                        continue;
+                    }
+                    records.add(record);
+                    rows.add((int) reader.getRecordCount());
+                    rowsRead.incrementAndGet();
+                    if (records.size() == CHUNK_SIZE) {
+                        submit(records, rows);
+                        records = new ArrayList<>(CHUNK_SIZE);
+                        rows = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+                if (!records.isEmpty() && !stopped) {
+                    submit(records, rows);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop("导入被中断");
+            } catch (Exception e) {
+                LogUtil.error("读取导入文件失败：" + e.getMessage(), e);
+                stop("读取文件失败：" + e.getMessage());
+            } finally {
+                try {
+                    // 写入线程会一直取到结束标记，这里不会永久阻塞
+                    // The write thread drains until the marker, so this cannot block forever
+                    pending.put(end);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void submit(List<String[]> records, List<Integer> rows) throws InterruptedException {
+            pending.put(VALIDATORS.submit(() -> validate(records, rows)));
+        }
+
+        /**
+         * 校验阶段：在校验线程池中执行
+         * Validation stage: runs on the validation pool
+         */
+        private Chunk validate(List<String[]> records, List<Integer> rows) {
+            Chunk chunk = new Chunk();
+            for (int i = 0; i < records.size(); i++) {
+                String[] record = records.get(i);
+                try {
+                    Student student = toStudent(record, columns);
+                    studentService.validateStudent(student);
+                    chunk.students.add(student);
+                    chunk.rows.add(rows.get(i));
+                } catch (Exception e) {
+                    chunk.failures.add(new BatchResult.Failure(rows.get(i), valueOf(record, columns[0]), e.getMessage()));
+                }
+            }
+            return chunk;
+        }
+
+        /**
+         * 写入阶段：按文件顺序取出校验结果，每块一个事务
+         * Write stage: take validated chunks in file order, one transaction per chunk
+         */
+        void write() {
+            try {
+                while (true) {
+                    Future<Chunk> future = pending.take();
+                    if (future == end) {
+                        break;
+                    }
+                    Chunk chunk;
+                    try {
+                        chunk = future.get();
+                    } catch (ExecutionException e) {
+                        LogUtil.error("导入校验失败：" + e.getCause(), e.getCause());
+                        stop("校验失败：" + e.getCause());
+                        continue;
+                    }
+                    if (stopped) {
+                        // 已停止：继续取出剩余的块以释放解析线程 (Stopped: keep draining to release the parser)
+                        continue;
+                    }
+
+                    BatchResult result = new BatchResult(chunk.students.size() + chunk.failures.size());
+                    for (BatchResult.Failure failure : chunk.failures) {
+                        result.addFailure(failure.getRow(), failure.getStudentNo(), failure.getMessage());
+                    }
+                    try {
+                        studentService.insertValidated(chunk.students, chunk.rows, result);
+                    } catch (Exception e) {
+                        LogUtil.error("导入写入数据库失败：" + e.getMessage(), e);
+                        stop("写入数据库失败：" + e.getMessage());
+                        continue;
+                    }
+                    record(result);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop("导入被中断");
+            } finally {
+                finish();
+            }
+        }
+
+        private void record(BatchResult result) {
+            successCount.addAndGet(result.getSuccessCount());
+            failureCount.addAndGet(result.getFailureCount());
+            rowsProcessed.addAndGet(result.getTotalCount());
+            synchronized (failures) {
+                for (BatchResult.Failure failure : result.getFailures()) {
+                    if (failures.size() >= MAX_REPORTED_FAILURES) {
+                        break;
+                    }
+                    failures.add(failure);
+                }
+            }
+        }
+
+        /**
+         * 停止任务
+         * Stop the job
+         *
+         * @param reason 失败原因，null 表示用户取消
+         */
+        void stop(String reason) {
+            if (reason != null && error == null) {
+                error = reason;
+            }
+            stopped = true;
+        }
+
+        private void finish() {
+            try {
+                reader.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LogUtil.warn("删除导入临时文件失败：" + e.getMessage());
+            }
+            endTime = System.currentTimeMillis();
+            finished = true;
+            RUNNING_SLOTS.release();
+            LogUtil.info("导入学生名单结束：" + snapshot());
+        }
+
+        /**
+         * 生成进度快照
+         * Build a progress snapshot
+         */
+        ImportProgress snapshot() {
+            String status;
+            String message;
+            if (!finished) {
+                status = ImportProgress.RUNNING;
+                message = "导入中";
+            } else if (error != null) {
+                status = ImportProgress.FAILED;
+                message = error;
+            } else if (stopped) {
+                status = ImportProgress.CANCELLED;
+                message = "导入已取消，已提交的数据不会回滚";
+            } else {
+                status = ImportProgress.COMPLETED;
+                message = "导入完成";
+            }
+
+            ImportProgress progress = new ImportProgress(id, fileName, status);
+            progress.setMessage(message);
+            progress.setRowsRead(rowsRead.get());
+            progress.setRowsProcessed(rowsProcessed.get());
+            progress.setSuccessCount(successCount.get());
+            progress.setFailureCount(failureCount.get());
+            synchronized (failures) {
+                progress.setFailures(new ArrayList<>(failures));
+            }
+            progress.setElapsedMillis((finished ? endTime : System.currentTimeMillis()) - startTime);
+            return progress;
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.jzz.service;
 
+import com.jzz.dao.StudentDAO;
+import com.jzz.model.BatchResult;
+import com.jzz.model.CountMode;
 import com.jzz.model.PageResult;
 import com.jzz.model.Student;
+import com.jzz.model.StudentFields;
 
+import java.sql.Timestamp;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 学生业务逻辑接口
@@ -31,6 +38,67 @@ public interface StudentService {
     PageResult<Student> queryPage(Map<String, Object> conditions, String orderBy,
                                   String orderType, int currentPage, int pageSize);
 
+    /**
+     * 分页查询学生列表，指定总数统计方式
+     * Query student list with pagination using the given count mode
+     *
+     * EXACT：分页数据和总数一次查询取回；ESTIMATE：总数取执行计划估算值；
+     * NONE：不统计总数，多取一行判断是否有下一页。非精确时 PageResult.totalCountExact 为 false
+     * EXACT: rows and total in one query; ESTIMATE: total from the plan estimate;
+     * NONE: no total, one extra row tells whether a next page exists.
+     * PageResult.totalCountExact is false unless the total is exact
+     *
+     * @param conditions 查询条件 Map
+     * @param orderBy 排序字段
+     * @param orderType 排序类型："ASC" 或 "DESC"
+     * @param currentPage 当前页码（从 1 开始）
+     * @param pageSize 每页记录数
+     * @param countMode 总数统计方式
+     * @param fields 字段投影，只查询和输出这些字段；null 表示全部字段
+     * @return PageResult 分页结果对象
+     */
+    PageResult<Student> queryPage(Map<String, Object> conditions, String orderBy, String orderType,
+                                  int currentPage, int pageSize, CountMode countMode, StudentFields fields);
+
+    /**
+     * 按游标分页查询学生列表（键集分页，用于上一页/下一页）
+     * Query student list by cursor (keyset pagination, for previous/next)
+     *
+     * 游标无效时返回第一页；游标来自排序或条件不同的查询时按 currentPage 偏移查询；
+     * 跳页仍使用 {@link #queryPage}
+     * An invalid cursor yields the first page; a cursor from a query with another sort or other
+     * conditions falls back to offset paging at currentPage; jumping to a page still uses
+     * {@link #queryPage}
+     *
+     * @param conditions 查询条件 Map
+     * @param orderBy 排序字段
+     * @param orderType 排序类型
+     * @param cursor 上一次结果中的 nextCursor 或 prevCursor
+     * @param currentPage 目标页码，游标有效时仅用于显示
+     * @param pageSize 每页记录数
+     * @param countMode 总数统计方式
+     * @param fields 字段投影，null 表示全部字段
+     * @return PageResult 分页结果对象
+     */
+    PageResult<Student> queryPageByCursor(Map<String, Object> conditions, String orderBy, String orderType,
+                                          String cursor, int currentPage, int pageSize, CountMode countMode,
+                                          StudentFields fields);
+
+    /**
+     * 按条件流式导出学生，逐行交给 handler，不在内存中保留结果
+     * Stream students matching the conditions to the handler row by row, never holding the result
+     *
+     * @param conditions 查询条件 Map，与分页查询相同
+     * @param orderBy 排序字段
+     * @param orderType 排序类型
+     * @param fields 字段投影，null 表示全部字段
+     * @param handler 逐行处理回调，抛出 IOException 时查询被取消
+     * @return 导出的行数
+     * @throws Exception 数据库异常或输出失败
+     */
+    long export(Map<String, Object> conditions, String orderBy, String orderType, StudentFields fields,
+                StudentDAO.RowHandler handler) throws Exception;
+
     /**
      * 根据 ID 查询学生
      * Query student by ID
@@ -40,6 +108,15 @@ public interface StudentService {
      */
     Student queryById(Integer id);
 
+    /**
+     * 学生数据的数据库版本号，每次写入加一；在 DBUtil.inReadOnly 内调用时与同一单元的查询读自同一连接
+     * Database version of the student data, bumped by every write; inside DBUtil.inReadOnly it is read
+     * on the same connection as the unit's queries
+     *
+     * @return 版本号，读取失败或版本行不存在时返回 null
+     */
+    Long getDataVersion();
+
     /**
      * 添加新学生
      * Add new student
@@ -53,15 +130,72 @@ public interface StudentService {
      */
     boolean add(Student student) throws Exception;
 
+    /**
+     * 批量添加学生
+     * Add students in bulk
+     *
+     * 先逐行校验并用一次集合查询检查学号重复，再分块批量插入；
+     * 个别行校验失败或学号重复只记录在结果中，不影响其他行
+     * Validates every row and checks duplicate student numbers with one set-based query first,
+     * then inserts in chunked batches; rows that fail validation or duplicate a student number are
+     * reported in the result without affecting the others
+     *
+     * @param students 学生列表
+     * @return 批量操作结果，包含每一条失败记录的原因
+     * @throws Exception 列表为空或超过单次上限
+     */
+    BatchResult addBatch(List<Student> students) throws Exception;
+
+    /**
+     * 按学号批量同步学生（名单同步）：学号不存在则添加，已存在则用名单中的信息覆盖
+     * Sync students by student number in bulk (roster sync): new student numbers are added and
+     * existing ones are overwritten with the roster's data
+     *
+     * 适合定期重新发送整个班级名单的同步任务：不需要先查询哪些学号已存在，
+     * 每块一条批量 INSERT ... ON DUPLICATE KEY UPDATE，重复发送同一名单的结果不变
+     * Meant for sync jobs that re-send whole class lists: no lookup of existing student numbers
+     * first, one batched INSERT ... ON DUPLICATE KEY UPDATE per chunk, and re-sending the same
+     * roster leaves the same result
+     *
+     * @param students 学生列表
+     * @return 批量操作结果，包含每一条失败记录的原因
+     * @throws Exception 列表为空或超过单次上限
+     */
+    BatchResult syncBatch(List<Student> students) throws Exception;
+
     /**
      * 更新学生信息
      * Update student information
      *
+     * 校验并写入全部可修改的字段，与部分更新一样以 update_time 作为版本号
+     * Validates and writes every writable field, using update_time as the version like a partial update
+     *
      * @param student 学生对象（必须包含 ID）
-     * @return true 更新成功，false 更新失败
-     * @throws Exception 业务异常
+     * @param expectedUpdateTime 读取时的 update_time，不能为 null
+     * @return true 更新成功
+     * @throws VersionConflictException 读取之后已被他人修改
+     * @throws Exception 校验失败、学号重复或学生不存在
+     */
+    boolean update(Student student, Timestamp expectedUpdateTime) throws Exception;
+
+    /**
+     * 部分更新学生信息
+     * Partially update student information
+     *
+     * 只校验和写入变化的字段；学号未变化时不检查重复。
+     * 以 update_time 作为版本号：读取之后被他人修改过时抛出冲突异常，而不是覆盖对方的修改
+     * Validates and writes only the changed fields, and skips the duplicate check when the student
+     * number did not change. update_time serves as the version: if someone else changed the row
+     * since it was read, a conflict is raised instead of overwriting their change
+     *
+     * @param student 学生对象，包含 ID 和变化字段的新值
+     * @param changedFields 变化的字段名，如 phone、email
+     * @param expectedUpdateTime 读取时的 update_time，不能为 null
+     * @return true 更新成功
+     * @throws VersionConflictException 读取之后已被他人修改
+     * @throws Exception 校验失败、学号重复或学生不存在
      */
-    boolean update(Student student) throws Exception;
+    boolean updatePartial(Student student, Set<String> changedFields, Timestamp expectedUpdateTime) throws Exception;
 
     /**
      * 根据 ID 删除学生
@@ -76,18 +210,13 @@ public interface StudentService {
      * 批量删除学生
      * Batch delete students
      *
+     * 分块删除，每块一个事务；某一块失败时停止，已提交的块不回滚
+     * Deletes in chunks, one transaction each; stops at the first failed chunk, leaving the
+     * committed chunks in place
+     *
      * @param ids 学生 ID 数组
      * @return 删除成功的记录数
+     * @throws Exception 某一块删除失败（消息中包含已删除的条数）
      */
-    int deleteBatch(Integer[] ids);
-
-    /**
-     * 检查学号是否已存在
-     * Check if student number already exists
-     *
-     * @param studentNo 学号
-     * @param excludeId 要排除的学生 ID（用于更新时的检查，可为 null）
-     * @return true 已存在，false 不存在
-     */
-    boolean isStudentNoExist(String studentNo, Integer excludeId);
+    int deleteBatch(Integer[] ids) throws Exception;
 }
@@ -1,14 +1,35 @@
 package com.jzz.service;
 
+import com.jzz.dao.CacheStats;
+import com.jzz.dao.CachingStudentDAO;
+import com.jzz.dao.StudentColumnStore;
 import com.jzz.dao.StudentDAO;
 import com.jzz.dao.StudentDAOImpl;
+import com.jzz.dao.StudentNoFilter;
+import com.jzz.dao.StudentTextIndex;
+import com.jzz.model.BatchResult;
+import com.jzz.model.CountMode;
+import com.jzz.model.PageCursor;
 import com.jzz.model.PageResult;
 import com.jzz.model.Student;
+import com.jzz.model.StudentFields;
+import com.jzz.util.DBUtil;
+import com.jzz.util.LogUtil;
 import com.jzz.util.StringUtil;
 
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 /**
  * 学生业务逻辑实现类
@@ -26,7 +47,62 @@ public class StudentServiceImpl implements StudentService {
      * 学生 DAO 对象
      * Student DAO object
      */
-    private StudentDAO studentDAO = new StudentDAOImpl();
+    private StudentDAO studentDAO = new CachingStudentDAO(new StudentDAOImpl());
+
+    /**
+     * 批量添加时每个事务（JDBC 批）插入的行数
+     * Rows inserted per transaction (JDBC batch) when adding in bulk
+     */
+    private static final int BATCH_CHUNK_SIZE = 500;
+
+    /**
+     * 单次批量添加的最大行数
+     * Maximum rows per bulk add
+     */
+    private static final int MAX_BATCH_ROWS = 50000;
+
+    /**
+     * 批量删除时每条语句（每个事务）删除的行数，避免超出驱动的参数个数上限和长时间持有锁
+     * Rows deleted per statement (and transaction) in a batch delete, keeping under the driver's
+     * parameter limit and avoiding long-held locks
+     */
+    private static final int DELETE_CHUNK_SIZE = 500;
+
+    /**
+     * 完整校验时的字段清单
+     * Field list of a full validation
+     */
+    private static final StudentFields ALL_FIELDS = StudentFields.all();
+
+    /**
+     * 部分更新时不能由客户端修改的字段
+     * Fields clients cannot change through a partial update
+     */
+    private static final Set<String> READ_ONLY_FIELDS = new HashSet<>(Arrays.asList("id", "createTime", "updateTime"));
+
+    /**
+     * 完整更新时写入的字段：除只读字段外的全部字段
+     * Fields written by a full update: every field except the read-only ones
+     */
+    private static final StudentFields UPDATE_FIELDS = writableFields();
+
+    /**
+     * 分页查询结果缓存，全部实例共享，容量为 0 时不创建
+     * Page query result cache shared by all instances, not created when the capacity is 0
+     */
+    private static final PageResultCache PAGE_CACHE = DBUtil.getQueryCacheMaxEntries() > 0
+            ? new PageResultCache(DBUtil.getQueryCacheMaxEntries(), DBUtil.getQueryCacheTtlSeconds())
+            : null;
+
+    /**
+     * 获取分页查询结果缓存的统计
+     * Get page query cache statistics
+     *
+     * @return 统计，缓存关闭时返回 null
+     */
+    public static CacheStats getPageCacheStats() {
+        return PAGE_CACHE != null ? PAGE_CACHE.getStats() : null;
+    }
 
     /**
      * 分页查询学生列表（支持条件查询和排序）
@@ -35,6 +111,21 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public PageResult<Student> queryPage(Map<String, Object> conditions, String orderBy,
                                         String orderType, int currentPage, int pageSize) {
+        return queryPage(conditions, orderBy, orderType, currentPage, pageSize, CountMode.EXACT, null);
+    }
+
+    /**
+     * 分页查询学生列表，指定总数统计方式
+     * Query student list with pagination using the given count mode
+     *
+     * 结果可能来自分页查询结果缓存，由多个请求共享；读固定在主库时不使用缓存
+     * The result may come from the page query cache and be shared between requests; not while
+     * reads are pinned to the primary
+     */
+    @Override
+    public PageResult<Student> queryPage(Map<String, Object> conditions, String orderBy, String orderType,
+                                        int currentPage, int pageSize, CountMode countMode,
+                                        StudentFields fields) {
         try {
             // 参数校验和默认值设置 (Parameter validation and default value setting)
             if (currentPage < 1) {
@@ -51,24 +142,139 @@ public class StudentServiceImpl implements StudentService {
             }
 
             // 计算起始位置 (Calculate offset)
-            int offset = (currentPage - 1) * pageSize;
+            final int page = currentPage;
+            final int size = pageSize;
+            final String sortColumn = orderBy;
+            final String sortType = orderType;
+            final int offset = (currentPage - 1) * pageSize;
+
+            PageResultCache.Loader loader = () -> {
+                // 列式副本能回答时不执行 SQL 也不借连接，总数总是精确的
+                // (No SQL and no borrowed connection when the columnar replica can answer;
+                //  its total is always exact)
+                StudentColumnStore columnStore = StudentColumnStore.shared();
+                PageResult<Student> result = columnStore != null
+                        ? columnStore.queryPage(conditions, sortColumn, sortType, offset, size, fields)
+                        : null;
+                if (result == null) {
+                    // 同一业务调用内的查询共用一个连接 (Queries of one call share one connection)
+                    result = DBUtil.inReadOnly(() -> selectPage(
+                            conditions, sortColumn, sortType, page, size, offset, countMode, fields));
+                }
+
+                fillCursors(result, sortColumn, sortType, cursorScope(conditions, sortColumn, sortType),
+                        page > 1, result.hasNext());
+                result.setFields(fields != null ? fields.getFields() : null);
+                return result;
+            };
+
+            // 固定在主库的会话（刚写入过）不使用缓存：缓存的结果可能是在写入之后从尚未同步的副本读到的，
+            // 版本号却已是新的
+            // Sessions pinned to the primary (they just wrote) skip the cache: a cached result may
+            // have been read after the write from a replica that had not caught up, yet carry the
+            // new version
+            if (PAGE_CACHE == null || DBUtil.isPinnedToPrimary()) {
+                return loader.load();
+            }
+            return PAGE_CACHE.get(pageCacheKey(conditions, sortColumn, sortType, page, size, countMode, fields), loader);
 
-            // 查询总记录数 (Query total count)
-            long totalCount = studentDAO.countByConditions(conditions);
+        } catch (Exception e) {
+            LogUtil.error("分页查询学生列表失败：" + e.getMessage(), e);
+            // 返回空结果 (Return empty result)
+            return new PageResult<>(currentPage, pageSize, 0L, null);
+        }
+    }
 
-            // 查询当前页数据 (Query current page data)
-            List<Student> students = studentDAO.selectByConditions(
-                    conditions, orderBy, orderType, offset, pageSize);
+    /**
+     * 按游标分页查询学生列表（键集分页）
+     * Query student list by cursor (keyset pagination)
+     */
+    @Override
+    public PageResult<Student> queryPageByCursor(Map<String, Object> conditions, String orderBy, String orderType,
+                                                 String cursor, int currentPage, int pageSize, CountMode countMode,
+                                                 StudentFields fields) {
+        if (StringUtil.isEmpty(orderBy)) {
+            orderBy = "id";
+        }
+        if (StringUtil.isEmpty(orderType)) {
+            orderType = "DESC";
+        }
 
-            // 封装分页结果 (Encapsulate pagination result)
-            return new PageResult<>(currentPage, pageSize, totalCount, students);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        if (pageCursor == null) {
+            // 没有或无效的游标：回到第一页 (Missing or invalid cursor: back to the first page)
+            return queryPage(conditions, orderBy, orderType, 1, pageSize, countMode, fields);
+        }
+        String scope = cursorScope(conditions, orderBy, orderType);
+        if (!pageCursor.matches(scope)) {
+            // 游标来自排序或条件不同的查询，按它定位会得到错误的页：改用页码偏移查询
+            // (The cursor came from a query with another sort or other conditions and would seek
+            //  to the wrong page: fall back to offset paging by page number)
+            if (LogUtil.isDebugEnabled()) {
+                LogUtil.debug("游标与当前排序或条件不符，改用页码查询：" + pageCursor);
+            }
+            return queryPage(conditions, orderBy, orderType, currentPage, pageSize, countMode, fields);
+        }
 
-        } catch (SQLException e) {
-            System.err.println("分页查询学生列表失败：" + e.getMessage());
-            e.printStackTrace();
-            // 返回空结果 (Return empty result)
-            return new PageResult<>(currentPage, pageSize, 0L, null);
+        final int page = Math.max(currentPage, 1);
+        final int size = pageSize < 1 ? 10 : pageSize;
+
+        try {
+            return DBUtil.inReadOnly(() -> {
+                // 多取一行判断该方向上是否还有数据 (Fetch one extra row to know if more rows follow)
+                List<Student> students = studentDAO.selectByCursor(conditions, pageCursor, size + 1, fields);
+                boolean more = students.size() > size;
+                if (more) {
+                    if (pageCursor.isBackward()) {
+                        students = new ArrayList<>(students.subList(1, students.size()));
+                    } else {
+                        students = new ArrayList<>(students.subList(0, size));
+                    }
+                }
+
+                // 游标定位后无法在同一查询中得到总数，按统计方式单独处理
+                // A seek query cannot return the overall total, so count per the mode
+                Long totalCount = null;
+                boolean exact = true;
+                if (countMode == CountMode.EXACT) {
+                    totalCount = studentDAO.countByConditions(conditions);
+                } else {
+                    long estimate = countMode == CountMode.ESTIMATE ? studentDAO.estimateCount(conditions) : -1;
+                    exact = false;
+                    if (estimate >= 0) {
+                        totalCount = estimate;
+                    }
+                }
+
+                PageResult<Student> result = new PageResult<>(page, size, totalCount, students);
+                result.setTotalCountExact(exact);
+                boolean hasPrevious = !pageCursor.isBackward() || more;
+                boolean hasNext = pageCursor.isBackward() || more;
+                result.setHasNextPage(hasNext);
+                fillCursors(result, pageCursor.getOrderBy(), pageCursor.getOrderType(), scope, hasPrevious, hasNext);
+                result.setFields(fields != null ? fields.getFields() : null);
+                return result;
+            });
+        } catch (Exception e) {
+            LogUtil.error("游标分页查询学生列表失败：" + e.getMessage(), e);
+            return new PageResult<>(page, size, 0L, null);
+        }
+    }
+
+    /**
+     * 按条件流式导出学生
+     * Stream students matching the conditions
+     */
+    @Override
+    public long export(Map<String, Object> conditions, String orderBy, String orderType, StudentFields fields,
+                       StudentDAO.RowHandler handler) throws Exception {
+        if (StringUtil.isEmpty(orderBy)) {
+            orderBy = "id";
         }
+        if (StringUtil.isEmpty(orderType)) {
+            orderType = "DESC";
+        }
+        return studentDAO.streamByConditions(conditions, orderBy, orderType, fields, handler);
     }
 
     /**
@@ -84,8 +290,21 @@ public class StudentServiceImpl implements StudentService {
         try {
             return studentDAO.selectById(id);
         } catch (SQLException e) {
-            System.err.println("根据 ID 查询学生失败：" + e.getMessage());
-            e.printStackTrace();
+            LogUtil.error("根据 ID 查询学生失败：" + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 学生数据的数据库版本号
+     * Database version of the student data
+     */
+    @Override
+    public Long getDataVersion() {
+        try {
+            return studentDAO.selectDataVersion();
+        } catch (SQLException e) {
+            LogUtil.warn("读取数据版本失败：" + e.getMessage());
             return null;
         }
     }
@@ -97,47 +316,223 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public boolean add(Student student) throws Exception {
         // 业务逻辑校验 (Business logic validation)
-        validateStudent(student, true);
-
-        // 检查学号是否已存在 (Check if student number already exists)
-        if (isStudentNoExist(student.getStudentNo(), null)) {
-            throw new Exception("学号 " + student.getStudentNo() + " 已存在，无法添加！");
-        }
+        validateStudent(student);
 
         try {
-            int result = studentDAO.insert(student);
+            // 不预先查询学号，由唯一约束判断是否重复（一次往返，且没有检查与插入之间的竞争）
+            // No lookup first: the UNIQUE constraint decides duplicates (one round trip, and no race
+            // between a check and the insert)
+            int result = insertOrRevive(student);
             return result > 0;
         } catch (SQLException e) {
-            System.err.println("添加学生失败：" + e.getMessage());
-            e.printStackTrace();
+            if (DBUtil.isDuplicateKey(e)) {
+                throw new Exception("学号 " + student.getStudentNo() + " 已存在，无法添加！");
+            }
+            LogUtil.error("添加学生失败：" + e.getMessage(), e);
             throw new Exception("添加学生失败：" + e.getMessage());
         }
     }
 
+    /**
+     * 批量添加学生
+     * Add students in bulk
+     */
+    @Override
+    public BatchResult addBatch(List<Student> students) throws Exception {
+        if (students == null || students.isEmpty()) {
+            throw new Exception("请提供要添加的学生！");
+        }
+        if (students.size() > MAX_BATCH_ROWS) {
+            throw new Exception("单次最多添加 " + MAX_BATCH_ROWS + " 名学生！");
+        }
+
+        BatchResult result = new BatchResult(students.size());
+
+        // 逐行校验 (Validate every row)
+        List<Student> validStudents = new ArrayList<>();
+        List<Integer> validRows = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            try {
+                validateStudent(student);
+                validStudents.add(student);
+                validRows.add(i + 1);
+            } catch (Exception e) {
+                result.addFailure(i + 1, student != null ? student.getStudentNo() : null, e.getMessage());
+            }
+        }
+
+        try {
+            insertValidated(validStudents, validRows, result);
+        } catch (SQLException e) {
+            LogUtil.error("批量检查学号失败：" + e.getMessage(), e);
+            throw new Exception("批量添加学生失败：" + e.getMessage());
+        }
+
+        result.getFailures().sort(Comparator.comparingInt(BatchResult.Failure::getRow));
+        LogUtil.info("批量添加学生完成：" + result);
+        return result;
+    }
+
+    /**
+     * 按学号批量同步学生
+     * Sync students by student number in bulk
+     */
+    @Override
+    public BatchResult syncBatch(List<Student> students) throws Exception {
+        if (students == null || students.isEmpty()) {
+            throw new Exception("请提供要同步的学生！");
+        }
+        if (students.size() > MAX_BATCH_ROWS) {
+            throw new Exception("单次最多同步 " + MAX_BATCH_ROWS + " 名学生！");
+        }
+
+        BatchResult result = new BatchResult(students.size());
+
+        // 逐行校验，同一名单内学号重复时保留第一行
+        // Validate every row; within one roster the first row of a student number wins
+        Map<String, Integer> firstRows = new HashMap<>();
+        List<Student> validStudents = new ArrayList<>();
+        List<Integer> validRows = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            try {
+                validateStudent(student);
+            } catch (Exception e) {
+                result.addFailure(i + 1, student != null ? student.getStudentNo() : null, e.getMessage());
+                continue;
+            }
+            Integer firstRow = firstRows.putIfAbsent(student.getStudentNo(), i + 1);
+            if (firstRow != null) {
+                result.addFailure(i + 1, student.getStudentNo(),
+                        "学号 " + student.getStudentNo() + " 与第 " + firstRow + " 行重复！");
+                continue;
+            }
+            validStudents.add(student);
+            validRows.add(i + 1);
+        }
+
+        // 按学号排序后写入：并发的同步任务按相同顺序加锁，减少死锁
+        // Write in student number order so concurrent sync jobs lock rows in the same order,
+        // which avoids most deadlocks
+        List<Integer> order = new ArrayList<>(validStudents.size());
+        for (int i = 0; i < validStudents.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparing(i -> validStudents.get(i).getStudentNo()));
+
+        // 分块写入，每块一个事务 (Write in chunks, one transaction per chunk)
+        for (int from = 0; from < order.size(); from += BATCH_CHUNK_SIZE) {
+            List<Integer> chunk = order.subList(from, Math.min(from + BATCH_CHUNK_SIZE, order.size()));
+            List<Student> chunkStudents = new ArrayList<>(chunk.size());
+            for (Integer i : chunk) {
+                chunkStudents.add(validStudents.get(i));
+            }
+
+            try {
+                result.addSuccess(DBUtil.inTransaction(() -> studentDAO.upsertBatch(chunkStudents)));
+            } catch (Exception e) {
+                // 整块已回滚，逐行重试以找出失败的行 (The chunk rolled back; retry row by row to isolate the failures)
+                LogUtil.warn("批量同步失败，逐行重试：" + e.getMessage());
+                for (Integer i : chunk) {
+                    upsertOne(validStudents.get(i), validRows.get(i), result);
+                }
+            }
+        }
+
+        result.getFailures().sort(Comparator.comparingInt(BatchResult.Failure::getRow));
+        LogUtil.info("批量同步学生完成：" + result);
+        return result;
+    }
+
     /**
      * 更新学生信息
      * Update student information
      */
     @Override
-    public boolean update(Student student) throws Exception {
+    public boolean update(Student student, Timestamp expectedUpdateTime) throws Exception {
         // 业务逻辑校验 (Business logic validation)
-        if (student.getId() == null || student.getId() <= 0) {
+        if (student == null || student.getId() == null || student.getId() <= 0) {
             throw new Exception("学生 ID 不能为空！");
         }
 
-        validateStudent(student, false);
+        validateStudent(student);
 
-        // 检查学号是否与其他学生重复 (Check if student number conflicts with other students)
-        if (isStudentNoExist(student.getStudentNo(), student.getId())) {
-            throw new Exception("学号 " + student.getStudentNo() + " 已被其他学生使用，无法修改！");
+        return updateChecked(student, UPDATE_FIELDS, expectedUpdateTime);
+    }
+
+    /**
+     * 部分更新学生信息
+     * Partially update student information
+     */
+    @Override
+    public boolean updatePartial(Student student, Set<String> changedFields, Timestamp expectedUpdateTime)
+            throws Exception {
+        if (student == null || student.getId() == null || student.getId() <= 0) {
+            throw new Exception("学生 ID 不能为空！");
+        }
+
+        Set<String> writable = new HashSet<>(changedFields);
+        writable.removeAll(READ_ONLY_FIELDS);
+        StudentFields fields = StudentFields.of(writable);
+        if (fields == null) {
+            // 没有变化的字段，无需访问数据库 (Nothing changed, no database access needed)
+            return true;
         }
 
+        // 只校验变化的字段 (Validate only the changed fields)
+        validateFields(student, fields);
+
+        return updateChecked(student, fields, expectedUpdateTime);
+    }
+
+    /**
+     * 带版本检查写入指定字段；update_time 与读取时不同说明已被他人修改，不覆盖对方的修改
+     * Write the given fields with a version check; an update_time different from the one read
+     * means someone else changed the row, and their change is not overwritten
+     *
+     * @param student 学生对象
+     * @param fields 要写入的字段
+     * @param expectedUpdateTime 读取时的 update_time
+     * @return true 更新成功
+     * @throws VersionConflictException 版本冲突
+     * @throws Exception 缺少版本号、学号重复或学生不存在
+     */
+    private boolean updateChecked(Student student, StudentFields fields, Timestamp expectedUpdateTime)
+            throws Exception {
+        if (expectedUpdateTime == null) {
+            throw new Exception("缺少版本号 updateTime，请刷新后重试！");
+        }
+
+        String duplicateMessage = "学号 " + student.getStudentNo() + " 已被其他学生使用，无法修改！";
+
         try {
-            int result = studentDAO.update(student);
-            return result > 0;
+            return DBUtil.inTransaction(() -> {
+                // 修改后的学号重复时由唯一约束拒绝，占用者是软删除的记录时清理后重试
+                // (The UNIQUE constraint rejects a duplicate new number; a soft-deleted holder is
+                //  purged and the update retried)
+                int result;
+                try {
+                    result = studentDAO.updateFields(student, fields, expectedUpdateTime);
+                } catch (SQLException e) {
+                    if (!fields.contains("studentNo") || !purgeDeletedHolder(e, student.getStudentNo())) {
+                        throw e;
+                    }
+                    result = studentDAO.updateFields(student, fields, expectedUpdateTime);
+                }
+                if (result == 0) {
+                    if (studentDAO.selectById(student.getId()) == null) {
+                        throw new Exception("学生不存在！");
+                    }
+                    throw new VersionConflictException("该学生信息已被其他人修改，请刷新后重试！");
+                }
+                return true;
+            });
         } catch (SQLException e) {
-            System.err.println("更新学生信息失败：" + e.getMessage());
-            e.printStackTrace();
+            if (DBUtil.isDuplicateKey(e)) {
+                throw new Exception(duplicateMessage);
+            }
+            LogUtil.error("更新学生信息失败：" + e.getMessage(), e);
             throw new Exception("更新学生信息失败：" + e.getMessage());
         }
     }
@@ -156,8 +551,7 @@ public class StudentServiceImpl implements StudentService {
             int result = studentDAO.deleteById(id);
             return result > 0;
         } catch (SQLException e) {
-            System.err.println("删除学生失败：" + e.getMessage());
-            e.printStackTrace();
+            LogUtil.error("删除学生失败：" + e.getMessage(), e);
             return false;
         }
     }
@@ -167,140 +561,441 @@ public class StudentServiceImpl implements StudentService {
      * Batch delete students
      */
     @Override
-    public int deleteBatch(Integer[] ids) {
+    public int deleteBatch(Integer[] ids) throws Exception {
         if (ids == null || ids.length == 0) {
             return 0;
         }
 
+        // 去重并按 ID 排序，并发的批量删除按相同顺序加锁
+        // Dedupe and sort, so concurrent batch deletes lock rows in the same order
+        Set<Integer> unique = new TreeSet<>();
+        for (Integer id : ids) {
+            if (id != null) {
+                unique.add(id);
+            }
+        }
+        List<Integer> sorted = new ArrayList<>(unique);
+
+        // 分块删除，每块一个事务，已提交的块不受后续失败影响
+        // Delete in chunks, one transaction each; committed chunks survive a later failure
+        int deleted = 0;
+        for (int from = 0; from < sorted.size(); from += DELETE_CHUNK_SIZE) {
+            Integer[] chunk = sorted.subList(from, Math.min(from + DELETE_CHUNK_SIZE, sorted.size()))
+                    .toArray(new Integer[0]);
+            try {
+                deleted += DBUtil.inTransaction(() -> studentDAO.deleteBatch(chunk));
+            } catch (Exception e) {
+                LogUtil.error("批量删除学生失败（已删除 " + deleted + " 条）：" + e.getMessage(), e);
+                throw new Exception("批量删除失败，已删除 " + deleted + " 条，其余未删除：" + e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    /**
+     * 插入已校验的学生：检查同一批内和数据库中的学号重复，然后分块插入
+     * Insert validated students: check duplicate student numbers within the batch and in the
+     * database, then insert in chunks
+     *
+     * 供批量添加和文件导入共用，失败的行记录在 result 中
+     * Shared by bulk add and file import; failed rows are recorded in result
+     *
+     * @param students 已通过校验的学生
+     * @param rows 每名学生对应的行号
+     * @param result 批量操作结果
+     * @throws SQLException 检查学号失败
+     */
+    void insertValidated(List<Student> students, List<Integer> rows, BatchResult result) throws SQLException {
+        // 同一批内的学号重复 (Duplicates within the batch)
+        Map<String, Integer> firstRows = new HashMap<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            String studentNo = students.get(i).getStudentNo();
+            Integer firstRow = firstRows.putIfAbsent(studentNo, rows.get(i));
+            if (firstRow != null) {
+                result.addFailure(rows.get(i), studentNo, "学号 " + studentNo + " 与第 " + firstRow + " 行重复！");
+            } else {
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // 只查询过滤器认为可能存在的学号，一次集合查询找出其中已存在的
+        // Query only the numbers the filter says may exist, finding the existing ones in one set-based query
+        List<String> possible = new ArrayList<>();
+        for (String studentNo : firstRows.keySet()) {
+            if (StudentNoFilter.mightExist(studentNo)) {
+                possible.add(studentNo);
+            }
+        }
+        Set<String> existing = possible.isEmpty()
+                ? Collections.emptySet() : studentDAO.selectExistingStudentNos(possible);
+        StudentNoFilter.recordFalsePositives(possible.size() - existing.size());
+
+        List<Integer> insertIndexes = new ArrayList<>();
+        for (Integer i : candidates) {
+            String studentNo = students.get(i).getStudentNo();
+            if (existing.contains(studentNo)) {
+                result.addFailure(rows.get(i), studentNo, "学号 " + studentNo + " 已存在，无法添加！");
+            } else {
+                insertIndexes.add(i);
+            }
+        }
+
+        // 分块插入，每块一个事务 (Insert in chunks, one transaction per chunk)
+        for (int from = 0; from < insertIndexes.size(); from += BATCH_CHUNK_SIZE) {
+            List<Integer> chunk = insertIndexes.subList(from, Math.min(from + BATCH_CHUNK_SIZE, insertIndexes.size()));
+            List<Student> chunkStudents = new ArrayList<>(chunk.size());
+            for (Integer i : chunk) {
+                chunkStudents.add(students.get(i));
+            }
+
+            try {
+                result.addSuccess(DBUtil.inTransaction(() -> studentDAO.insertBatch(chunkStudents)));
+            } catch (Exception e) {
+                // 整块已回滚，逐行重试以找出失败的行（如并发写入了同一学号）
+                // The chunk rolled back; retry row by row to isolate the failures
+                // (e.g. a concurrent insert of the same student number)
+                LogUtil.warn("批量插入失败，逐行重试：" + e.getMessage());
+                for (Integer i : chunk) {
+                    insertOne(students.get(i), rows.get(i), result);
+                }
+            }
+        }
+    }
+
+    /**
+     * 单独插入一名学生（独立事务），记录失败原因
+     * Insert one student in its own transaction, recording the failure reason
+     */
+    private void insertOne(Student student, int row, BatchResult result) {
         try {
-            return studentDAO.deleteBatch(ids);
-        } catch (SQLException e) {
-            System.err.println("批量删除学生失败：" + e.getMessage());
-            e.printStackTrace();
-            return 0;
+            result.addSuccess(DBUtil.inTransaction(() -> insertOrRevive(student)));
+        } catch (Exception e) {
+            String message = e instanceof SQLException && DBUtil.isDuplicateKey((SQLException) e)
+                    ? "学号 " + student.getStudentNo() + " 已存在，无法添加！"
+                    : "添加学生失败：" + e.getMessage();
+            result.addFailure(row, student.getStudentNo(), message);
         }
     }
 
     /**
-     * 检查学号是否已存在
-     * Check if student number already exists
+     * 插入一名学生；学号被一条软删除的记录占用时，先清理该记录再插入
+     * Insert one student; when a soft-deleted row holds the student number, purge it and insert again
      */
-    @Override
-    public boolean isStudentNoExist(String studentNo, Integer excludeId) {
-        if (StringUtil.isEmpty(studentNo)) {
-            return false;
+    private int insertOrRevive(Student student) throws SQLException {
+        try {
+            return studentDAO.insert(student);
+        } catch (SQLException e) {
+            if (purgeDeletedHolder(e, student.getStudentNo())) {
+                return studentDAO.insert(student);
+            }
+            throw e;
         }
+    }
 
+    /**
+     * 唯一约束冲突且学号被一条软删除的记录占用时清理该记录
+     * Purge the soft-deleted row holding the student number after a UNIQUE violation
+     *
+     * @return true 已清理，可以重试写入
+     */
+    private boolean purgeDeletedHolder(SQLException e, String studentNo) throws SQLException {
+        return DBUtil.isSoftDeleteEnabled() && DBUtil.isDuplicateKey(e) && studentNo != null
+                && studentDAO.purgeDeletedByStudentNo(studentNo) > 0;
+    }
+
+    /**
+     * 单独同步一名学生（独立事务），记录失败原因
+     * Sync one student in its own transaction, recording the failure reason
+     */
+    private void upsertOne(Student student, int row, BatchResult result) {
         try {
-            Student existStudent = studentDAO.selectByStudentNo(studentNo);
+            DBUtil.inTransaction(() -> studentDAO.upsert(student));
+            result.addSuccess(1);
+        } catch (Exception e) {
+            result.addFailure(row, student.getStudentNo(), "同步学生失败：" + e.getMessage());
+        }
+    }
 
-            // 如果查询不到，说明不存在 (If not found, it doesn't exist)
-            if (existStudent == null) {
-                return false;
+    /**
+     * 列式副本无法回答时用 SQL 查询一页，须在只读工作单元内调用
+     * Query one page with SQL when the columnar replica cannot answer; call inside a read unit
+     */
+    private PageResult<Student> selectPage(Map<String, Object> conditions, String sortColumn, String sortType,
+                                           int page, int size, int offset, CountMode countMode,
+                                           StudentFields fields) throws SQLException {
+        // 文本索引把模糊条件转为候选 ID，SQL 只按主键读取候选行并照常执行 LIKE
+        // (The text index turns fuzzy conditions into candidate ids; SQL reads only those rows
+        //  by primary key and still applies LIKE)
+        Map<String, Object> where = conditions;
+        StudentTextIndex textIndex = StudentTextIndex.shared();
+        int[] candidateIds = textIndex != null ? textIndex.candidates(conditions) : null;
+        if (candidateIds != null && candidateIds.length == 0) {
+            PageResult<Student> empty = new PageResult<>(page, size, 0L, new ArrayList<>());
+            empty.setHasNextPage(false);
+            return empty;
+        } else if (candidateIds != null) {
+            List<Integer> ids = new ArrayList<>(candidateIds.length);
+            for (int id : candidateIds) {
+                ids.add(id);
             }
+            where = new HashMap<>(conditions);
+            where.put("ids", ids);
+        }
 
-            // 如果指定了要排除的 ID（更新场景）
-            // If an ID to exclude is specified (update scenario)
-            if (excludeId != null) {
-                // 如果找到的学生 ID 等于要排除的 ID，说明是同一个学生，不算重复
-                // If found student ID equals excluded ID, it's the same student, not a duplicate
-                return !existStudent.getId().equals(excludeId);
+        PageResult<Student> result = null;
+        if (countMode != CountMode.EXACT) {
+            // 多取一行判断是否有下一页 (Fetch one extra row to tell whether a next page exists)
+            long estimate = countMode == CountMode.ESTIMATE ? studentDAO.estimateCount(where) : -1;
+            if (countMode == CountMode.NONE || estimate >= 0) {
+                List<Student> students = studentDAO.selectByConditions(
+                        where, sortColumn, sortType, offset, size + 1, fields);
+                result = trimPage(students, page, size, offset, estimate);
             }
+        }
 
-            // 添加场景，只要查到就是重复 (Add scenario, if found it's a duplicate)
-            return true;
+        if (result == null) {
+            // 分页数据和总数一次取回 (Page rows and total in one round trip)
+            result = studentDAO.selectPageWithCount(where, sortColumn, sortType, offset, size, fields);
+            if (result.getTotalCount() == null) {
+                // 页码超出范围时没有数据行带回总数 (Past the last page no row carries the total)
+                result.setTotalCount(offset > 0 ? studentDAO.countByConditions(where) : 0L);
+            }
+        }
+        return result;
+    }
 
-        } catch (SQLException e) {
-            System.err.println("检查学号是否存在失败：" + e.getMessage());
-            e.printStackTrace();
-            return false;
+    /**
+     * 截取多取了一行的分页数据，并设置是否有下一页和总数
+     * Trim a page fetched with one extra row and set hasNext and the total
+     *
+     * 没有下一页时总数可以精确算出；否则使用估算值（不小于已知的行数），没有估算值时总数未知
+     * Without a next page the total is exact; otherwise the estimate is used (never below the rows
+     * already seen), and without an estimate the total is unknown
+     */
+    private PageResult<Student> trimPage(List<Student> students, int page, int size, int offset, long estimate) {
+        boolean more = students.size() > size;
+        if (more) {
+            students = new ArrayList<>(students.subList(0, size));
         }
+
+        Long totalCount;
+        boolean exact;
+        if (!more && (!students.isEmpty() || offset == 0)) {
+            totalCount = (long) offset + students.size();
+            exact = true;
+        } else {
+            totalCount = estimate >= 0 ? Math.max(estimate, (long) offset + students.size() + (more ? 1 : 0)) : null;
+            exact = false;
+        }
+
+        PageResult<Student> result = new PageResult<>(page, size, totalCount, students);
+        result.setTotalCountExact(exact);
+        result.setHasNextPage(more);
+        return result;
     }
 
-    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+    /**
+     * 根据当前页的首尾行生成上一页/下一页游标
+     * Build previous/next cursors from the first and last rows of the page
+     */
+    private void fillCursors(PageResult<Student> result, String orderBy, String orderType, String scope,
+                             boolean hasPrevious, boolean hasNext) {
+        List<Student> students = result.getData();
+        if (students == null || students.isEmpty()) {
+            return;
+        }
+        if (hasPrevious) {
+            result.setPrevCursor(studentDAO.cursorOf(students.get(0), orderBy, orderType, true)
+                    .withScope(scope).encode());
+        }
+        if (hasNext) {
+            Student last = students.get(students.size() - 1);
+            result.setNextCursor(studentDAO.cursorOf(last, orderBy, orderType, false)
+                    .withScope(scope).encode());
+        }
+    }
+
+    /**
+     * 生成分页查询结果缓存的键：条件按名称排序并去掉空值，字段投影按名称排序，
+     * 使参数顺序不同的相同查询共用一个结果
+     * Build the page cache key: conditions sorted by name with empty values dropped and the
+     * projection sorted by name, so the same query with parameters in another order shares a result
+     */
+    private static String pageCacheKey(Map<String, Object> conditions, String orderBy, String orderType,
+                                       int page, int size, CountMode countMode, StudentFields fields) {
+        StringBuilder key = new StringBuilder();
+        appendQueryKey(key, conditions, orderBy, orderType);
+        appendKeyPart(key, page);
+        appendKeyPart(key, size);
+        appendKeyPart(key, countMode);
+        appendKeyPart(key, fields != null ? new TreeSet<>(fields.getFields()) : "*");
+        return key.toString();
+    }
+
+    /**
+     * 游标所属查询的指纹：条件和排序的键的哈希（十六进制），带游标的请求必须与生成游标的查询一致
+     * Fingerprint of the query a cursor belongs to: the hash (hex) of the conditions-and-sort key;
+     * a request carrying a cursor must match the query that produced it
+     */
+    private static String cursorScope(Map<String, Object> conditions, String orderBy, String orderType) {
+        StringBuilder key = new StringBuilder();
+        appendQueryKey(key, conditions, orderBy, orderType);
+        return Integer.toHexString(key.toString().hashCode());
+    }
+
+    /**
+     * 追加条件和排序：条件按名称排序并去掉空值
+     * Append the conditions and the sort: conditions sorted by name with empty values dropped
+     */
+    private static void appendQueryKey(StringBuilder key, Map<String, Object> conditions,
+                                       String orderBy, String orderType) {
+        if (conditions != null) {
+            for (Map.Entry<String, Object> entry : new TreeMap<>(conditions).entrySet()) {
+                Object value = entry.getValue();
+                if (value != null && !value.toString().isEmpty()) {
+                    appendKeyPart(key, entry.getKey());
+                    appendKeyPart(key, value);
+                }
+            }
+        }
+        appendKeyPart(key, orderBy);
+        appendKeyPart(key, orderType.toUpperCase());
+    }
+
+    /**
+     * 以“长度:内容”追加键的一部分，用户输入中的分隔符不会使两个不同的查询得到相同的键
+     * Append one part of a key as "length:text", so separators in user input cannot make two
+     * different queries share a key
+     */
+    private static void appendKeyPart(StringBuilder key, Object part) {
+        String text = String.valueOf(part);
+        key.append(text.length()).append(':').append(text);
+    }
+
+    private static StudentFields writableFields() {
+        Set<String> writable = new HashSet<>(ALL_FIELDS.getFields());
+        writable.removeAll(READ_ONLY_FIELDS);
+        return StudentFields.of(writable);
+    }
 
     /**
      * 校验学生信息
      * Validate student information
      *
      * @param student 学生对象
-     * @param isAdd 是否是添加操作
      * @throws Exception 校验异常
      */
-    private void validateStudent(Student student, boolean isAdd) throws Exception {
+    void validateStudent(Student student) throws Exception {
         if (student == null) {
             throw new Exception("学生信息不能为空！");
         }
 
+        validateFields(student, ALL_FIELDS);
+    }
+
+    /**
+     * 只校验指定的字段（部分更新时只校验变化的字段）
+     * Validate only the given fields (partial updates validate just the changed ones)
+     *
+     * @param student 学生对象
+     * @param fields 要校验的字段
+     * @throws Exception 校验异常
+     */
+    private void validateFields(Student student, StudentFields fields) throws Exception {
         // 学号校验 (Student number validation)
-        if (StringUtil.isEmpty(student.getStudentNo())) {
-            throw new Exception("学号不能为空！");
-        }
-        if (student.getStudentNo().length() > 20) {
-            throw new Exception("学号长度不能超过 20 个字符！");
+        if (fields.contains("studentNo")) {
+            if (StringUtil.isEmpty(student.getStudentNo())) {
+                throw new Exception("学号不能为空！");
+            }
+            if (student.getStudentNo().length() > 20) {
+                throw new Exception("学号长度不能超过 20 个字符！");
+            }
         }
 
         // 姓名校验 (Name validation)
-        if (StringUtil.isEmpty(student.getName())) {
-            throw new Exception("姓名不能为空！");
-        }
-        if (student.getName().length() > 50) {
-            throw new Exception("姓名长度不能超过 50 个字符！");
+        if (fields.contains("name")) {
+            if (StringUtil.isEmpty(student.getName())) {
+                throw new Exception("姓名不能为空！");
+            }
+            if (student.getName().length() > 50) {
+                throw new Exception("姓名长度不能超过 50 个字符！");
+            }
         }
 
         // 性别校验 (Gender validation)
-        if (student.getGender() == null) {
-            throw new Exception("性别不能为空！");
-        }
-        if (student.getGender() != 1 && student.getGender() != 2) {
-            throw new Exception("性别值无效，必须为 1（男）或 2（女）！");
+        if (fields.contains("gender")) {
+            if (student.getGender() == null) {
+                throw new Exception("性别不能为空！");
+            }
+            if (student.getGender() != 1 && student.getGender() != 2) {
+                throw new Exception("性别值无效，必须为 1（男）或 2（女）！");
+            }
         }
 
         // 年龄校验 (Age validation)
-        if (student.getAge() != null) {
-            if (student.getAge() < 1 || student.getAge() > 150) {
-                throw new Exception("年龄必须在 1 到 150 之间！");
+        if (fields.contains("age")) {
+            if (student.getAge() != null) {
+                if (student.getAge() < 1 || student.getAge() > 150) {
+                    throw new Exception("年龄必须在 1 到 150 之间！");
+                }
             }
         }
 
         // 专业校验 (Major validation)
-        if (StringUtil.isNotEmpty(student.getMajor()) && student.getMajor().length() > 100) {
-            throw new Exception("专业名称长度不能超过 100 个字符！");
+        if (fields.contains("major")) {
+            if (StringUtil.isNotEmpty(student.getMajor()) && student.getMajor().length() > 100) {
+                throw new Exception("专业名称长度不能超过 100 个字符！");
+            }
         }
 
         // 班级校验 (Class validation)
-        if (StringUtil.isNotEmpty(student.getClassName()) && student.getClassName().length() > 50) {
-            throw new Exception("班级名称长度不能超过 50 个字符！");
+        if (fields.contains("className")) {
+            if (StringUtil.isNotEmpty(student.getClassName()) && student.getClassName().length() > 50) {
+                throw new Exception("班级名称长度不能超过 50 个字符！");
+            }
         }
 
         // 手机号校验 (Phone validation)
-        if (StringUtil.isNotEmpty(student.getPhone())) {
-            if (student.getPhone().length() > 20) {
-                throw new Exception("手机号长度不能超过 20 个字符！");
-            }
-            // 简单的手机号格式校验（中国手机号）
-            // Simple phone number format validation (China)
-            if (!student.getPhone().matches("^1[3-9]\\d{9}$")) {
-                // 如果不符合中国手机号格式，给出提示但不强制
-                // If doesn't match China phone format, give a warning but don't enforce
-                System.out.println("警告：手机号格式可能不正确：" + student.getPhone());
+        if (fields.contains("phone")) {
+            if (StringUtil.isNotEmpty(student.getPhone())) {
+                if (student.getPhone().length() > 20) {
+                    throw new Exception("手机号长度不能超过 20 个字符！");
+                }
+                // 简单的手机号格式校验（中国手机号）
+                // Simple phone number format validation (China)
+                if (!student.getPhone().matches("^1[3-9]\\d{9}$")) {
+                    // 如果不符合中国手机号格式，给出提示但不强制
+                    // If doesn't match China phone format, give a warning but don't enforce
+                    LogUtil.warn("手机号格式可能不正确：" + student.getPhone());
+                }
             }
         }
 
         // 邮箱校验 (Email validation)
-        if (StringUtil.isNotEmpty(student.getEmail())) {
-            if (student.getEmail().length() > 100) {
-                throw new Exception("邮箱长度不能超过 100 个字符！");
-            }
-            // 简单的邮箱格式校验
-            // Simple email format validation
-            if (!student.getEmail().matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")) {
-                throw new Exception("邮箱格式不正确！");
+        if (fields.contains("email")) {
+            if (StringUtil.isNotEmpty(student.getEmail())) {
+                if (student.getEmail().length() > 100) {
+                    throw new Exception("邮箱长度不能超过 100 个字符！");
+                }
+                // 简单的邮箱格式校验
+                // Simple email format validation
+                if (!student.getEmail().matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")) {
+                    throw new Exception("邮箱格式不正确！");
+                }
             }
         }
 
         // 状态校验 (Status validation)
-        if (student.getStatus() != null) {
+        if (fields.contains("status")) {
+            if (student.getStatus() == null) {
+                throw new Exception("状态不能为空！");
+            }
             if (student.getStatus() < 1 || student.getStatus() > 3) {
                 throw new Exception("状态值无效，必须为 1（在读）、2（休学）或 3（毕业）！");
             }
@@ -0,0 +1,19 @@
+package com.jzz.service;
+
+/**
+ * 版本冲突异常
+ * Version Conflict Exception
+ *
+ * 更新时提交的 update_time 与数据库中的不一致：读取之后该学生已被他人修改
+ * The update_time sent with an update no longer matches the database: someone else changed the
+ * student since it was read
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class VersionConflictException extends Exception {
+
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,156 @@
+package com.jzz.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 字符串布隆过滤器
+ * String Bloom Filter
+ *
+ * 判断一个字符串“一定不存在”或“可能存在”：不会漏报，误报率由预期条目数和目标误报率决定。
+ * 只能添加不能删除；位数组使用原子操作，可以多个线程同时添加和查询，不需要加锁
+ * Tells whether a string is definitely absent or possibly present: there are no false negatives,
+ * and the false-positive rate follows from the expected entries and the target rate. Entries can be
+ * added but not removed; the bit array uses atomic operations, so threads add and query
+ * concurrently without locking
+ *
+ * 位数 m = -n * ln(p) / (ln 2)^2，哈希函数个数 k = m / n * ln 2，
+ * k 个位置由一个 64 位哈希的两半按 h1 + i * h2 生成
+ * Bits m = -n * ln(p) / (ln 2)^2 and hash functions k = m / n * ln 2; the k positions are
+ * h1 + i * h2 over the two halves of one 64-bit hash
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * 已添加的次数（重复添加也计数，因此是条目数的上限）
+     * Number of adds (repeats included, so an upper bound on the entries)
+     */
+    private final LongAdder addCount = new LongAdder();
+
+    /**
+     * 创建布隆过滤器
+     * Create a Bloom filter
+     *
+     * @param expectedEntries 预期条目数
+     * @param falsePositiveRate 目标误报率（0 到 1 之间）
+     */
+    public BloomFilter(long expectedEntries, double falsePositiveRate) {
+        long n = Math.max(1, expectedEntries);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+        long bits = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        // 位置取自 32 位无符号整数，位数不超过 2^32 (Positions come from unsigned 32-bit ints, so at most 2^32 bits)
+        int words = (int) Math.min(1L << 26, (Math.max(bits, 64) + 63) / 64);
+        this.words = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * 添加字符串
+     * Add a string
+     *
+     * @param value 字符串
+     */
+    public void put(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = position(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+        addCount.increment();
+    }
+
+    /**
+     * 字符串是否可能存在
+     * Whether a string may be present
+     *
+     * @param value 字符串
+     * @return false 表示一定不存在
+     */
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = position(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按当前已置位的比例估算的误报率
+     * False-positive rate estimated from the fraction of bits set
+     *
+     * @return 估算的误报率
+     */
+    public double estimatedFalsePositiveRate() {
+        long set = 0;
+        for (int i = 0; i < words.length(); i++) {
+            set += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) set / bitCount, hashCount);
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public long getAddCount() {
+        return addCount.sum();
+    }
+
+    /**
+     * 位数组占用的字节数
+     * Bytes used by the bit array
+     *
+     * @return 字节数
+     */
+    public long getMemoryBytes() {
+        return bitCount / 8;
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    private long position(int combined) {
+        return (combined & 0xFFFFFFFFL) % bitCount;
+    }
+
+    /**
+     * 64 位哈希：FNV-1a 后再用 MurmurHash3 的 fmix64 打散
+     * 64-bit hash: FNV-1a followed by MurmurHash3's fmix64 finalizer
+     */
+    private static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,139 @@
+package com.jzz.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV 流式读取工具类
+ * CSV Streaming Reader
+ *
+ * 按 RFC 4180 逐条读取记录，只缓冲当前一条记录，内存占用与文件大小无关。
+ * 支持双引号包围的字段、字段内的 "" 转义、逗号和换行，以及文件开头的 UTF-8 BOM（Excel 另存为 CSV 时会写入）
+ * Reads records one at a time per RFC 4180, buffering only the current record, so memory use
+ * does not depend on the file size. Supports quoted fields, "" escapes, commas and line breaks
+ * inside quotes, and a leading UTF-8 BOM (written by Excel's "Save as CSV")
+ *
+ * 一条记录最多 MAX_RECORD_CHARS 个字符：未闭合的引号会把之后的整个文件当作一个字段，
+ * 超过上限或到文件末尾引号仍未闭合时抛出解析错误，而不是把剩余内容全部读入内存
+ * A record holds at most MAX_RECORD_CHARS characters: an unterminated quote would otherwise
+ * swallow the rest of the file as one field, so exceeding the cap, or reaching the end of the file
+ * inside quotes, raises a parse error instead of buffering everything that is left
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class CsvReader implements Closeable {
+
+    private static final char BOM = '\uFEFF';
+
+    /**
+     * 一条记录的最大字符数 (Maximum characters in one record)
+     */
+    public static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private final BufferedReader reader;
+
+    /**
+     * 已读取的记录数（含表头）
+     * Records read so far (including the header)
+     */
+    private long recordCount;
+
+    /**
+     * 是否已检查过 BOM
+     * Whether the BOM has been checked
+     */
+    private boolean started;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * 读取下一条记录
+     * Read the next record
+     *
+     * @return 字段数组，已到文件末尾时返回 null
+     * @throws IOException 读取失败，或记录过长、引号未闭合
+     */
+    public String[] readRecord() throws IOException {
+        int c = reader.read();
+        if (!started) {
+            started = true;
+            if (c == BOM) {
+                c = reader.read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+
+        while (true) {
+            if (++length > MAX_RECORD_CHARS) {
+                throw new IOException("第 " + (recordCount + 1) + " 条记录超过 " + MAX_RECORD_CHARS
+                        + " 个字符" + (quoted ? "，可能有未闭合的引号" : ""));
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("第 " + (recordCount + 1) + " 条记录的引号未闭合");
+                }
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                break;
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+
+        recordCount++;
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * 已读取的记录数，即最近一条记录的行号（从 1 开始，含表头）
+     * Records read so far, i.e. the row number of the latest record (from 1, including the header)
+     *
+     * @return 记录数
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
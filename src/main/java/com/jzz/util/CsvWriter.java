@@ -0,0 +1,64 @@
+package com.jzz.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * CSV 写入工具类
+ * CSV Writer
+ *
+ * 按 RFC 4180 写出记录：包含逗号、双引号或换行的字段用双引号包围，字段内的双引号写成 ""；
+ * 不做缓冲，由调用方传入带缓冲的 Writer
+ * Writes records per RFC 4180: fields containing commas, quotes or line breaks are quoted and
+ * embedded quotes are doubled. Does no buffering of its own; callers pass a buffered Writer
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class CsvWriter {
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * 写出一条记录，null 写为空字段
+     * Write one record; null becomes an empty field
+     *
+     * @param fields 字段值
+     * @throws IOException 写入失败
+     */
+    public void writeRecord(List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(fields.get(i));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                quote = true;
+                break;
+            }
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
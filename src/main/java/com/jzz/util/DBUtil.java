@@ -1,8 +1,29 @@
 package com.jzz.util;
 
+import com.jzz.db.CacheConfig;
+import com.jzz.db.ConnectionPool;
+import com.jzz.db.DataSourceConfig;
+import com.jzz.db.PoolConfig;
+import com.jzz.db.PoolStats;
+import com.jzz.db.ReadWriteRouter;
+import com.jzz.db.ReplicaConfig;
+import com.jzz.db.SchemaLoader;
+import com.jzz.db.SoftDeleteConfig;
+import com.jzz.db.SqlDialect;
+import com.jzz.db.UnitOfWork;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -12,16 +33,50 @@ import java.util.Properties;
  * 负责数据库连接的获取和释放
  * Responsible for database connection acquisition and release
  *
+ * 连接来自内置连接池（见 {@link ConnectionPool}），close() 会把连接归还连接池
+ * Connections come from the built-in pool (see {@link ConnectionPool}); close() returns them to the pool
+ *
+ * 配置了 jdbc.replica.urls 时启用读写分离：getConnection() 总是主库，
+ * getReadConnection() 轮询只读副本（见 {@link ReadWriteRouter}）
+ * With jdbc.replica.urls set, reads and writes are split: getConnection() always uses the primary,
+ * getReadConnection() goes round-robin across replicas (see {@link ReadWriteRouter})
+ *
+ * 各数据库不同的 SQL 写法由 {@link SqlDialect} 提供；jdbc.profile=embedded 时使用进程内的 H2 数据库
+ * Database-specific SQL comes from {@link SqlDialect}; jdbc.profile=embedded runs on in-process H2
+ *
+ * 配置项按用途解析为 {@link DataSourceConfig}、{@link PoolConfig}、{@link ReplicaConfig}、
+ * {@link SoftDeleteConfig} 和 {@link CacheConfig}
+ * Settings are parsed by purpose into {@link DataSourceConfig}, {@link PoolConfig},
+ * {@link ReplicaConfig}, {@link SoftDeleteConfig} and {@link CacheConfig}
+ *
  * @author Jzz
  * @version 1.0
  */
 public class DBUtil {
 
-    // 数据库配置信息 (Database Configuration)
-    private static String driver;
-    private static String url;
-    private static String username;
-    private static String password;
+    // 主库数据源配置 (Primary data source configuration)
+    private static DataSourceConfig dataSourceConfig;
+
+    // 只读副本配置 (Read replica configuration)
+    private static ReplicaConfig replicaConfig;
+
+    // 软删除配置 (Soft delete configuration)
+    private static SoftDeleteConfig softDeleteConfig;
+
+    // 进程内缓存配置 (In-process cache configuration)
+    private static CacheConfig cacheConfig;
+
+    // 连接池 (Connection Pool)
+    private static ConnectionPool pool;
+
+    // 读写分离路由 (Read/Write Router)
+    private static ReadWriteRouter router;
+
+    // SQL 方言 (SQL dialect)
+    private static SqlDialect dialect;
+
+    // 是否使用全文索引做模糊查询 (Whether fuzzy search uses the full-text indexes)
+    private static boolean fullTextSearch;
 
     // 静态代码块，加载数据库配置
     // Static block to load database configuration
@@ -35,54 +90,434 @@ public class DBUtil {
             if (is == null) {
                 // 如果在类路径下找不到，尝试从 WEB-INF 读取
                 // If not found in classpath, try reading from WEB-INF
-                System.err.println("警告：无法从类路径加载 db.properties，使用默认配置");
-                driver = "com.mysql.cj.jdbc.Driver";
-                url = "jdbc:mysql://localhost:3306/student_system?useSSL=false&serverTimezone=Asia/Shanghai&characterEncoding=utf8";
-                username = "root";
-                password = "root";
+                LogUtil.warn("无法从类路径加载 db.properties，使用默认配置");
+                props.setProperty("jdbc.driver", "com.mysql.cj.jdbc.Driver");
+                props.setProperty("jdbc.url", "jdbc:mysql://localhost:3306/student_system?useSSL=false&serverTimezone=Asia/Shanghai&characterEncoding=utf8");
+                props.setProperty("jdbc.username", "root");
+                props.setProperty("jdbc.password", "root");
             } else {
                 props.load(is);
-                driver = props.getProperty("jdbc.driver");
-                url = props.getProperty("jdbc.url");
-                username = props.getProperty("jdbc.username");
-                password = props.getProperty("jdbc.password");
                 is.close();
             }
 
+            // 以 -Djdbc.* 启动参数覆盖配置文件，便于在 CI 等环境切换数据库
+            // -Djdbc.* JVM options override the file, so CI-style runs can switch databases
+            for (String name : System.getProperties().stringPropertyNames()) {
+                if (name.startsWith("jdbc.")) {
+                    props.setProperty(name, System.getProperty(name));
+                }
+            }
+
+            dataSourceConfig = DataSourceConfig.fromProperties(props);
+            replicaConfig = ReplicaConfig.fromProperties(props, dataSourceConfig);
+            softDeleteConfig = SoftDeleteConfig.fromProperties(props);
+            cacheConfig = CacheConfig.fromProperties(props);
+            String url = dataSourceConfig.getUrl();
+            String username = dataSourceConfig.getUsername();
+            String password = dataSourceConfig.getPassword();
+
             // 加载数据库驱动 (Load database driver)
-            Class.forName(driver);
-            System.out.println("数据库驱动加载成功！Driver: " + driver);
+            Class.forName(dataSourceConfig.getDriver());
+            LogUtil.info("数据库驱动加载成功！Driver: " + dataSourceConfig.getDriver());
+
+            dialect = SqlDialect.of(dataSourceConfig.getDialect(), url);
+            if (dataSourceConfig.getInitScript() != null) {
+                runInitScript(dataSourceConfig.getInitScript(), url, username, password);
+            }
+
+            // 初始化连接池 (Initialize connection pool)
+            PoolConfig poolConfig = PoolConfig.fromProperties(props);
+            pool = new ConnectionPool(url, username, password, poolConfig);
+            LogUtil.info("数据库连接池初始化完成！" + poolConfig);
+
+            // 初始化只读副本 (Initialize read replicas)
+            List<ConnectionPool> replicas = new ArrayList<>();
+            for (String replicaUrl : replicaConfig.getUrls()) {
+                if (replicaConfig.getInitScript() != null) {
+                    runInitScript(replicaConfig.getInitScript(), replicaUrl,
+                            replicaConfig.getUsername(), replicaConfig.getPassword());
+                }
+                replicas.add(new ConnectionPool(replicaUrl, replicaConfig.getUsername(),
+                        replicaConfig.getPassword(), poolConfig));
+            }
+            fullTextSearch = dataSourceConfig.isFullTextSearchAuto()
+                    ? detectFullTextIndexes() : Boolean.parseBoolean(dataSourceConfig.getFullTextSearch());
+            router = new ReadWriteRouter(pool, replicas, replicaConfig.getReadYourWritesWindow());
+            if (!replicas.isEmpty()) {
+                LogUtil.info("读写分离已启用，只读副本数：" + replicas.size());
+            }
 
         } catch (ClassNotFoundException e) {
-            System.err.println("数据库驱动加载失败！");
-            e.printStackTrace();
+            LogUtil.error("数据库驱动加载失败！", e);
             throw new ExceptionInInitializerError(e);
         } catch (IOException e) {
-            System.err.println("配置文件读取失败！");
-            e.printStackTrace();
+            LogUtil.error("配置文件读取失败！", e);
             throw new ExceptionInInitializerError(e);
+        } catch (SQLException e) {
+            LogUtil.error("建库脚本执行失败！", e);
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * 检查姓名、专业、班级三个 ngram 全文索引是否都已存在（由 init.sql 建库或已执行 V2 迁移）；
+     * 方言不支持全文检索或查询失败时返回 false，模糊查询只使用 LIKE
+     * Check whether the name, major and class ngram full-text indexes all exist (created by
+     * init.sql or the V2 migration); returns false when the dialect has no full-text search or the
+     * lookup fails, leaving fuzzy search on LIKE alone
+     */
+    private static boolean detectFullTextIndexes() {
+        if (dialect.fullTextPredicate("name") == null) {
+            return false;
+        }
+        String sql = "SELECT COUNT(DISTINCT column_name) FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = 'student' AND index_type = 'FULLTEXT' "
+                + "AND column_name IN ('name', 'major', 'class_name')";
+        try (Connection conn = pool.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            boolean found = rs.next() && rs.getInt(1) == 3;
+            LogUtil.info(found ? "已检测到全文索引，模糊查询使用 ngram 索引"
+                    : "未检测到全部全文索引，模糊查询只使用 LIKE（执行 database/migrations/V2__search_indexes.sql 后重启即可启用）");
+            return found;
+        } catch (SQLException e) {
+            LogUtil.warn("检测全文索引失败，模糊查询只使用 LIKE：" + e.getMessage());
+            return false;
         }
     }
 
     /**
-     * 获取数据库连接
-     * Get Database Connection
+     * 在指定数据库上执行建库脚本：先按文件路径查找，找不到时从类路径读取
+     * Run the schema script on the given database, looked up as a file path first and then on the
+     * classpath
+     */
+    private static void runInitScript(String location, String url, String username, String password)
+            throws IOException, SQLException {
+        Path path = Paths.get(location);
+        InputStream in = Files.exists(path) ? Files.newInputStream(path)
+                : DBUtil.class.getClassLoader().getResourceAsStream(location);
+        if (in == null) {
+            throw new IOException("找不到建库脚本：" + path.toAbsolutePath());
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+             Connection conn = DriverManager.getConnection(url, username, password)) {
+            SchemaLoader.run(conn, reader, dialect);
+        }
+    }
+
+    /**
+     * 获取数据库连接（主库，用于写操作）
+     * Get Database Connection (primary, for writes)
+     *
+     * 从连接池借出连接，连接池耗尽时最多等待 jdbc.maxWait 毫秒
+     * Borrows a connection from the pool, waiting at most jdbc.maxWait ms when exhausted
      *
      * @return Connection 数据库连接对象
      * @throws SQLException SQL异常
      */
     public static Connection getConnection() throws SQLException {
-        Connection conn = DriverManager.getConnection(url, username, password);
-        System.out.println("数据库连接成功！");
+        // 工作单元中复用已绑定的连接 (Reuse the bound connection inside a unit of work)
+        UnitOfWork unitOfWork = UnitOfWork.current();
+        if (unitOfWork != null) {
+            return unitOfWork.getWriteConnection();
+        }
+        Connection conn = router.getWriteConnection();
+        LogUtil.debug("数据库连接成功！");
         return conn;
     }
 
+    /**
+     * 获取只读数据库连接
+     * Get Read-only Database Connection
+     *
+     * 有只读副本时轮询副本；当前会话刚写入过或处于写请求中时仍使用主库
+     * Round-robin across replicas if any; stays on the primary right after the session wrote
+     * or while serving a write request
+     *
+     * @return Connection 数据库连接对象
+     * @throws SQLException SQL异常
+     */
+    public static Connection getReadConnection() throws SQLException {
+        UnitOfWork unitOfWork = UnitOfWork.current();
+        if (unitOfWork != null) {
+            return unitOfWork.getReadConnection();
+        }
+        Connection conn = router.getReadConnection();
+        LogUtil.debug("数据库只读连接成功！");
+        return conn;
+    }
+
+    /**
+     * 获取主库上的只读连接，用于不能接受副本延迟的读取（如填充进程内缓存）
+     * Get a read connection on the primary, for reads that cannot accept replica lag (such as
+     * filling in-process caches)
+     *
+     * 事务中或没有副本时复用工作单元的连接；只读工作单元的连接可能在副本上，此时另借一个主库连接
+     * Reuses the unit of work's connection inside a transaction or without replicas; a read-only
+     * unit's connection may be on a replica, in which case a separate primary connection is borrowed
+     *
+     * @return Connection 数据库连接对象
+     * @throws SQLException SQL异常
+     */
+    public static Connection getPrimaryReadConnection() throws SQLException {
+        UnitOfWork unitOfWork = UnitOfWork.current();
+        if (unitOfWork != null && (!unitOfWork.isReadOnly() || router.getReplicas().isEmpty())) {
+            return unitOfWork.getReadConnection();
+        }
+        return router.getPrimary().getConnection();
+    }
+
+    /**
+     * 在事务中执行业务逻辑，期间所有 DAO 调用共用一个主库连接
+     * Run work in a transaction; every DAO call inside shares one primary connection
+     *
+     * @param work 业务逻辑
+     * @param <T> 返回值类型
+     * @return 业务逻辑返回值
+     * @throws Exception 业务逻辑或数据库异常（异常时事务已回滚）
+     */
+    public static <T> T inTransaction(UnitOfWork.Work<T> work) throws Exception {
+        return UnitOfWork.inTransaction(router::getWriteConnection, work);
+    }
+
+    /**
+     * 以只读方式执行业务逻辑，期间所有 DAO 调用共用一个只读连接
+     * Run work read-only; every DAO call inside shares one read connection
+     *
+     * @param work 业务逻辑
+     * @param <T> 返回值类型
+     * @return 业务逻辑返回值
+     * @throws Exception 业务逻辑或数据库异常
+     */
+    public static <T> T inReadOnly(UnitOfWork.Work<T> work) throws Exception {
+        return UnitOfWork.inReadOnly(router::getReadConnection, work);
+    }
+
+    /**
+     * 在主库上以只读方式执行业务逻辑，用于不能接受副本延迟的扫描（如加载进程内的副本和索引）；
+     * 已处于工作单元中时复用外层连接
+     * Run work read-only on the primary, for scans that cannot accept replica lag (such as loading
+     * the in-process replicas and indexes); reuses the outer connection inside a unit of work
+     *
+     * @param work 业务逻辑
+     * @param <T> 返回值类型
+     * @return 业务逻辑返回值
+     * @throws Exception 业务逻辑或数据库异常
+     */
+    public static <T> T inPrimaryReadOnly(UnitOfWork.Work<T> work) throws Exception {
+        return UnitOfWork.inReadOnly(router.getPrimary()::getConnection, work);
+    }
+
+    /**
+     * 模糊查询是否使用全文索引；jdbc.fullTextSearch=auto（默认）时在启动时检测索引是否存在
+     * Whether fuzzy search uses the full-text indexes; with jdbc.fullTextSearch=auto (the default)
+     * this is detected at startup from the indexes that exist
+     *
+     * @return true 使用 MATCH ... AGAINST
+     */
+    public static boolean isFullTextSearchEnabled() {
+        return fullTextSearch;
+    }
+
+    /**
+     * 流式读取使用的抓取大小
+     * Fetch size used for streaming reads
+     *
+     * @return 抓取大小
+     */
+    public static int getStreamingFetchSize() {
+        return dialect.streamingFetchSize(dataSourceConfig.getStreamingFetchSize());
+    }
+
+    /**
+     * 获取 SQL 方言
+     * Get the SQL dialect
+     *
+     * @return 当前数据库的方言
+     */
+    public static SqlDialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * 是否启用软删除
+     * Whether soft delete is enabled
+     *
+     * @return true 删除只标记 deleted_at
+     */
+    public static boolean isSoftDeleteEnabled() {
+        return softDeleteConfig.isEnabled();
+    }
+
+    /**
+     * 软删除的记录保留多久后被清理
+     * How long soft-deleted rows are kept before the purge
+     *
+     * @return 保留时间（分钟）
+     */
+    public static long getSoftDeleteRetentionMinutes() {
+        return softDeleteConfig.getRetentionMinutes();
+    }
+
+    /**
+     * 清理任务的执行间隔
+     * Interval between purge runs
+     *
+     * @return 间隔（秒）
+     */
+    public static long getPurgeIntervalSeconds() {
+        return softDeleteConfig.getPurgeIntervalSeconds();
+    }
+
+    /**
+     * 学生单行缓存的最大条目数
+     * Maximum entries of the student row cache
+     *
+     * @return 条目数，0 表示关闭缓存
+     */
+    public static int getStudentCacheMaxEntries() {
+        return cacheConfig.getStudentCacheMaxEntries();
+    }
+
+    /**
+     * 学生单行缓存的有效期
+     * Time-to-live of student row cache entries
+     *
+     * @return 有效期（秒）
+     */
+    public static long getStudentCacheTtlSeconds() {
+        return cacheConfig.getStudentCacheTtlSeconds();
+    }
+
+    /**
+     * 分页查询结果缓存的最大条目数
+     * Maximum entries of the page query cache
+     *
+     * @return 条目数，0 表示关闭缓存
+     */
+    public static int getQueryCacheMaxEntries() {
+        return cacheConfig.getQueryCacheMaxEntries();
+    }
+
+    /**
+     * 分页查询结果的有效期
+     * Time-to-live of cached page query results
+     *
+     * @return 有效期（秒）
+     */
+    public static long getQueryCacheTtlSeconds() {
+        return cacheConfig.getQueryCacheTtlSeconds();
+    }
+
+    /**
+     * 学号布隆过滤器的预期条目数
+     * Expected entries of the student number filter
+     *
+     * @return 条目数，0 表示关闭过滤器
+     */
+    public static long getStudentNoFilterExpectedEntries() {
+        return cacheConfig.getStudentNoFilterExpectedEntries();
+    }
+
+    /**
+     * 学号布隆过滤器的目标误报率
+     * Target false-positive rate of the student number filter
+     *
+     * @return 误报率
+     */
+    public static double getStudentNoFilterFalsePositiveRate() {
+        return cacheConfig.getStudentNoFilterFalsePositiveRate();
+    }
+
+    /**
+     * 是否启用学生表的内存列式副本
+     * Whether the in-memory columnar replica of the student table is enabled
+     *
+     * @return true 启用
+     */
+    public static boolean isColumnStoreEnabled() {
+        return cacheConfig.isColumnStoreEnabled();
+    }
+
+    /**
+     * 列式副本并行扫描的最小行数
+     * Minimum rows before the columnar replica scans in parallel
+     *
+     * @return 行数
+     */
+    public static int getColumnStoreParallelThreshold() {
+        return cacheConfig.getColumnStoreParallelThreshold();
+    }
+
+    /**
+     * 是否启用姓名、专业、班级的内存 n-gram 索引
+     * Whether the in-memory n-gram index over name, major and class is enabled
+     *
+     * @return true 启用
+     */
+    public static boolean isTextIndexEnabled() {
+        return cacheConfig.isTextIndexEnabled();
+    }
+
+    /**
+     * 使用 n-gram 索引的最大候选行数
+     * Maximum candidate rows for which the n-gram index is used
+     *
+     * @return 行数
+     */
+    public static int getTextIndexMaxCandidates() {
+        return cacheConfig.getTextIndexMaxCandidates();
+    }
+
+    /**
+     * 判断是否为唯一键冲突
+     * Check whether an exception is a duplicate-key violation
+     *
+     * @param e SQL 异常
+     * @return true 唯一键冲突
+     */
+    public static boolean isDuplicateKey(SQLException e) {
+        // MySQL 错误码 1062；其他数据库使用标准 SQLState 23505
+        // MySQL error code 1062; other databases use the standard SQLState 23505
+        return e.getErrorCode() == 1062 || "23505".equals(e.getSQLState());
+    }
+
+    /**
+     * 把当前线程绑定到会话，用于读写分离的“读己之写”
+     * Bind the current thread to a session for read-your-writes routing
+     *
+     * @param sessionKey 会话标识，可为 null
+     * @param writeRequest 是否为写请求
+     */
+    public static void bindSession(String sessionKey, boolean writeRequest) {
+        router.bind(sessionKey, writeRequest);
+    }
+
+    /**
+     * 解除当前线程的会话绑定
+     * Unbind the current thread from its session
+     */
+    public static void unbindSession() {
+        router.unbind();
+    }
+
+    /**
+     * 当前线程的读操作是否固定在主库（写请求中，或会话刚写入过）
+     * Whether reads of the current thread stay on the primary (inside a write request, or right
+     * after the session wrote)
+     *
+     * @return true 读主库
+     */
+    public static boolean isPinnedToPrimary() {
+        return router.isPinnedToPrimary();
+    }
+
     /**
      * 关闭数据库连接资源
      * Close Database Resources
      *
-     * 关闭 ResultSet、Statement 和 Connection
-     * Close ResultSet, Statement and Connection
+     * 关闭 ResultSet、Statement，并把 Connection 归还连接池
+     * Close ResultSet and Statement, and return Connection to the pool
      *
      * @param rs ResultSet 对象
      * @param stmt Statement 对象
@@ -93,10 +528,9 @@ public class DBUtil {
         if (rs != null) {
             try {
                 rs.close();
-                System.out.println("ResultSet 关闭成功");
+                LogUtil.debug("ResultSet 关闭成功");
             } catch (SQLException e) {
-                System.err.println("ResultSet 关闭失败！");
-                e.printStackTrace();
+                LogUtil.error("ResultSet 关闭失败！", e);
             }
         }
 
@@ -104,21 +538,19 @@ public class DBUtil {
         if (stmt != null) {
             try {
                 stmt.close();
-                System.out.println("Statement 关闭成功");
+                LogUtil.debug("Statement 关闭成功");
             } catch (SQLException e) {
-                System.err.println("Statement 关闭失败！");
-                e.printStackTrace();
+                LogUtil.error("Statement 关闭失败！", e);
             }
         }
 
-        // 关闭 Connection
+        // 归还 Connection (Return Connection to the pool)
         if (conn != null) {
             try {
                 conn.close();
-                System.out.println("Connection 关闭成功");
+                LogUtil.debug("Connection 归还连接池成功");
             } catch (SQLException e) {
-                System.err.println("Connection 关闭失败！");
-                e.printStackTrace();
+                LogUtil.error("Connection 归还连接池失败！", e);
             }
         }
     }
@@ -144,6 +576,76 @@ public class DBUtil {
         close(null, null, conn);
     }
 
+    /**
+     * 获取连接池
+     * Get Connection Pool
+     *
+     * @return ConnectionPool 连接池
+     */
+    public static ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * 获取连接池运行状态快照（活跃/空闲/等待数、等待与持有耗时、超时与泄漏）
+     * Get pool statistics (active/idle/pending counts, wait and hold times, timeouts and leaks)
+     *
+     * @return PoolStats 快照
+     */
+    public static PoolStats getPoolStats() {
+        return pool.getStats();
+    }
+
+    /**
+     * 获取各只读副本连接池的状态快照
+     * Get statistics of each replica pool
+     *
+     * @return 副本连接池快照列表
+     */
+    public static List<PoolStats> getReplicaPoolStats() {
+        List<PoolStats> stats = new ArrayList<>();
+        for (ConnectionPool replica : router.getReplicas()) {
+            stats.add(replica.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * 获取读写分离路由统计
+     * Get read/write routing statistics
+     *
+     * @return 统计项
+     */
+    public static Map<String, Object> getRoutingStats() {
+        return router.getStats();
+    }
+
+    /**
+     * 预建主库和各只读副本连接池的空闲连接
+     * Pre-create idle connections in the primary and every replica pool
+     *
+     * @param target 每个连接池的目标空闲连接数
+     * @return 预建后所有连接池的空闲连接总数
+     */
+    public static int prefill(int target) {
+        int idle = pool.prefill(target);
+        for (ConnectionPool replica : router.getReplicas()) {
+            idle += replica.prefill(target);
+        }
+        return idle;
+    }
+
+    /**
+     * 关闭连接池，释放所有物理连接
+     * Shut down the pool and release all physical connections
+     */
+    public static void shutdown() {
+        if (router != null) {
+            router.close();
+            LogUtil.info("数据库连接池已关闭");
+        }
+    }
+
     /**
      * 测试数据库连接
      * Test Database Connection
@@ -167,6 +669,8 @@ public class DBUtil {
             e.printStackTrace();
         } finally {
             close(conn);
+            shutdown();
+            LogUtil.shutdown();
         }
     }
 }
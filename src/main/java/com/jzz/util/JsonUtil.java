@@ -5,9 +5,12 @@ import com.jzz.model.Result;
 import com.jzz.model.Student;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.sql.Date;
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * JSON 工具类
@@ -51,6 +54,11 @@ public class JsonUtil {
             return listToJson((List<?>) obj);
         }
 
+        // 处理 Map 类型
+        if (obj instanceof Map) {
+            return mapToJson((Map<?, ?>) obj);
+        }
+
         // 处理 Student 类型
         if (obj instanceof Student) {
             return studentToJson((Student) obj);
@@ -96,7 +104,19 @@ public class JsonUtil {
         json.append("\"pageSize\":").append(pageResult.getPageSize()).append(",");
         json.append("\"totalCount\":").append(pageResult.getTotalCount()).append(",");
         json.append("\"totalPages\":").append(pageResult.getTotalPages()).append(",");
-        json.append("\"data\":").append(listToJson(pageResult.getData()));
+        json.append("\"totalCountExact\":").append(pageResult.isTotalCountExact()).append(",");
+        json.append("\"hasNext\":").append(pageResult.hasNext()).append(",");
+        if (pageResult.getFields() != null) {
+            json.append("\"data\":").append(studentListToJson(pageResult.getData(), pageResult.getFields()));
+        } else {
+            json.append("\"data\":").append(listToJson(pageResult.getData()));
+        }
+        if (pageResult.getNextCursor() != null) {
+            json.append(",\"nextCursor\":\"").append(pageResult.getNextCursor()).append("\"");
+        }
+        if (pageResult.getPrevCursor() != null) {
+            json.append(",\"prevCursor\":\"").append(pageResult.getPrevCursor()).append("\"");
+        }
         json.append("}");
         return json.toString();
     }
@@ -121,6 +141,50 @@ public class JsonUtil {
         return json.toString();
     }
 
+    /**
+     * 按字段投影把学生列表转换为 JSON 数组
+     * Convert a student list to a JSON array using a field projection
+     */
+    private static String studentListToJson(List<?> list, Set<String> fields) {
+        if (list == null || list.isEmpty()) {
+            return "[]";
+        }
+
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < list.size(); i++) {
+            if (i > 0) {
+                json.append(",");
+            }
+            Object item = list.get(i);
+            if (item instanceof Student) {
+                json.append(studentToJson((Student) item, fields));
+            } else {
+                json.append(toJson(item));
+            }
+        }
+        json.append("]");
+        return json.toString();
+    }
+
+    /**
+     * 将 Map 转换为 JSON 对象，键使用 toString()
+     * Convert Map to JSON object, keys use toString()
+     */
+    private static String mapToJson(Map<?, ?> map) {
+        StringBuilder json = new StringBuilder("{");
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                json.append(",");
+            }
+            first = false;
+            json.append("\"").append(escapeJson(String.valueOf(entry.getKey()))).append("\":");
+            json.append(toJson(entry.getValue()));
+        }
+        json.append("}");
+        return json.toString();
+    }
+
     /**
      * 将 Student 对象转换为 JSON
      * Convert Student object to JSON
@@ -137,9 +201,72 @@ public class JsonUtil {
         json.append("\"className\":\"").append(escapeJson(student.getClassName())).append("\",");
         json.append("\"phone\":\"").append(escapeJson(student.getPhone())).append("\",");
         json.append("\"email\":\"").append(escapeJson(student.getEmail())).append("\",");
-        json.append("\"enrollmentDate\":\"").append(student.getEnrollmentDate()).append("\",");
+        json.append("\"enrollmentDate\":").append(quoteOrNull(student.getEnrollmentDate())).append(",");
         json.append("\"status\":").append(student.getStatus()).append(",");
-        json.append("\"statusText\":\"").append(student.getStatusText()).append("\"");
+        json.append("\"statusText\":\"").append(student.getStatusText()).append("\",");
+        // 更新时间同时是部分更新的版本号 (The update time doubles as the partial update version)
+        json.append("\"createTime\":").append(quoteOrNull(student.getCreateTime())).append(",");
+        json.append("\"updateTime\":").append(quoteOrNull(student.getUpdateTime()));
+        json.append("}");
+        return json.toString();
+    }
+
+    /**
+     * 只输出指定字段的 Student JSON（性别、状态同时输出对应的文本）
+     * Student JSON containing only the given fields (gender and status also emit their text)
+     */
+    public static String studentToJson(Student student, Set<String> fields) {
+        StringBuilder json = new StringBuilder("{");
+        for (String field : fields) {
+            if (json.length() > 1) {
+                json.append(",");
+            }
+            switch (field) {
+                case "id":
+                    json.append("\"id\":").append(student.getId());
+                    break;
+                case "studentNo":
+                    json.append("\"studentNo\":\"").append(escapeJson(student.getStudentNo())).append("\"");
+                    break;
+                case "name":
+                    json.append("\"name\":\"").append(escapeJson(student.getName())).append("\"");
+                    break;
+                case "gender":
+                    json.append("\"gender\":").append(student.getGender()).append(",");
+                    json.append("\"genderText\":\"").append(student.getGenderText()).append("\"");
+                    break;
+                case "age":
+                    json.append("\"age\":").append(student.getAge());
+                    break;
+                case "major":
+                    json.append("\"major\":\"").append(escapeJson(student.getMajor())).append("\"");
+                    break;
+                case "className":
+                    json.append("\"className\":\"").append(escapeJson(student.getClassName())).append("\"");
+                    break;
+                case "phone":
+                    json.append("\"phone\":\"").append(escapeJson(student.getPhone())).append("\"");
+                    break;
+                case "email":
+                    json.append("\"email\":\"").append(escapeJson(student.getEmail())).append("\"");
+                    break;
+                case "enrollmentDate":
+                    json.append("\"enrollmentDate\":").append(quoteOrNull(student.getEnrollmentDate()));
+                    break;
+                case "createTime":
+                    json.append("\"createTime\":").append(quoteOrNull(student.getCreateTime()));
+                    break;
+                case "updateTime":
+                    json.append("\"updateTime\":").append(quoteOrNull(student.getUpdateTime()));
+                    break;
+                case "status":
+                    json.append("\"status\":").append(student.getStatus()).append(",");
+                    json.append("\"statusText\":\"").append(student.getStatusText()).append("\"");
+                    break;
+                default:
+                    break;
+            }
+        }
         json.append("}");
         return json.toString();
     }
@@ -155,6 +282,10 @@ public class JsonUtil {
 
         boolean first = true;
         for (Field field : fields) {
+            // 跳过静态字段（如 serialVersionUID）(Skip static fields such as serialVersionUID)
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
             try {
                 field.setAccessible(true);
                 Object value = field.get(obj);
@@ -181,7 +312,7 @@ public class JsonUtil {
                 }
 
             } catch (IllegalAccessException e) {
-                e.printStackTrace();
+                LogUtil.error("JSON 序列化字段失败：" + field.getName(), e);
             }
         }
 
@@ -189,6 +320,14 @@ public class JsonUtil {
         return json.toString();
     }
 
+    /**
+     * 非 null 值输出为 JSON 字符串，null 输出为 null
+     * Emit a non-null value as a JSON string and null as null
+     */
+    private static String quoteOrNull(Object value) {
+        return value == null ? "null" : "\"" + escapeJson(value.toString()) + "\"";
+    }
+
     /**
      * 转义 JSON 字符串中的特殊字符
      * Escape special characters in JSON string
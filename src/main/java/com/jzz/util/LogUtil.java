@@ -0,0 +1,343 @@
+package com.jzz.util;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 日志工具类
+ * Logging Utility Class
+ *
+ * 轻量的异步日志：
+ * A lightweight asynchronous logger:
+ * 1. 先判断级别再拼接消息，关闭的级别几乎没有开销
+ *    Level is checked before any message is built, disabled levels cost almost nothing
+ * 2. 请求线程只把日志放进无锁环形缓冲区，不直接写 stdout
+ *    Request threads only publish into a lock-free ring buffer, never write stdout directly
+ * 3. 由一个后台线程批量写出
+ *    One background thread drains and writes in batches
+ * 4. 缓冲区满时直接丢弃并计数，绝不阻塞请求线程
+ *    When the buffer is full entries are dropped and counted, request threads never block
+ *
+ * 日志级别通过系统属性 jzz.log.level 设置（DEBUG/INFO/WARN/ERROR/OFF），默认 INFO
+ * The level is set with the jzz.log.level system property (DEBUG/INFO/WARN/ERROR/OFF), default INFO
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class LogUtil {
+
+    // ==================== 日志级别 (Log Levels) ====================
+
+    public static final int DEBUG = 10;
+    public static final int INFO = 20;
+    public static final int WARN = 30;
+    public static final int ERROR = 40;
+    public static final int OFF = 100;
+
+    /**
+     * 当前级别
+     * Current level
+     */
+    private static volatile int level = parseLevel(System.getProperty("jzz.log.level"), INFO);
+
+    // ==================== 环形缓冲区 (Ring Buffer) ====================
+
+    /**
+     * 缓冲区容量（2 的幂）
+     * Buffer capacity (power of two)
+     */
+    private static final int CAPACITY = 8192;
+    private static final int MASK = CAPACITY - 1;
+
+    /**
+     * 槽位数据
+     * Slot payloads
+     */
+    private static final AtomicReferenceArray<Entry> slots = new AtomicReferenceArray<>(CAPACITY);
+
+    /**
+     * 槽位序号：等于写入位置时可写，等于写入位置 + 1 时可读
+     * Slot sequences: equal to the write position when writable, position + 1 when readable
+     */
+    private static final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+
+    /**
+     * 下一个写入位置（多个生产者竞争）
+     * Next write position (contended by producers)
+     */
+    private static final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 下一个读取位置（仅后台线程使用）
+     * Next read position (used by the writer thread only)
+     */
+    private static long head;
+
+    /**
+     * 因缓冲区满而丢弃的日志条数
+     * Number of entries dropped because the buffer was full
+     */
+    private static final AtomicLong droppedCount = new AtomicLong();
+
+    private static final Thread writer;
+
+    private static volatile boolean running = true;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            sequences.set(i, i);
+        }
+        writer = new Thread(LogUtil::drainLoop, "jzz-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // ==================== 级别判断 (Level Checks) ====================
+
+    public static boolean isDebugEnabled() {
+        return level <= DEBUG;
+    }
+
+    public static boolean isInfoEnabled() {
+        return level <= INFO;
+    }
+
+    public static boolean isWarnEnabled() {
+        return level <= WARN;
+    }
+
+    /**
+     * 设置日志级别
+     * Set log level
+     *
+     * @param name 级别名称：DEBUG/INFO/WARN/ERROR/OFF
+     */
+    public static void setLevel(String name) {
+        level = parseLevel(name, level);
+    }
+
+    // ==================== 记录日志 (Logging) ====================
+
+    /**
+     * 调试日志，拼接开销大的消息应先调用 {@link #isDebugEnabled()}
+     * Debug log; guard expensive messages with {@link #isDebugEnabled()}
+     */
+    public static void debug(String message) {
+        if (level <= DEBUG) {
+            publish(DEBUG, message, null);
+        }
+    }
+
+    public static void info(String message) {
+        if (level <= INFO) {
+            publish(INFO, message, null);
+        }
+    }
+
+    public static void warn(String message) {
+        if (level <= WARN) {
+            publish(WARN, message, null);
+        }
+    }
+
+    public static void error(String message) {
+        if (level <= ERROR) {
+            publish(ERROR, message, null);
+        }
+    }
+
+    public static void error(String message, Throwable t) {
+        if (level <= ERROR) {
+            publish(ERROR, message, t);
+        }
+    }
+
+    /**
+     * 获取丢弃的日志条数
+     * Get number of dropped entries
+     *
+     * @return 丢弃条数
+     */
+    public static long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * 写出缓冲区中剩余的日志并停止后台线程
+     * Write out buffered entries and stop the writer thread
+     */
+    public static void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    /**
+     * 把日志放入环形缓冲区，缓冲区满时丢弃
+     * Publish an entry into the ring buffer, dropping it when full
+     */
+    private static void publish(int entryLevel, String message, Throwable t) {
+        Entry entry = new Entry(entryLevel, System.currentTimeMillis(),
+                Thread.currentThread().getName(), message, t);
+        while (true) {
+            long pos = tail.get();
+            int index = (int) (pos & MASK);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.set(index, entry);
+                    sequences.set(index, pos + 1);
+                    return;
+                }
+            } else if (diff < 0) {
+                // 缓冲区已满 (Buffer full)
+                droppedCount.incrementAndGet();
+                return;
+            }
+            // diff > 0：其他生产者已占用该位置，重试 (Another producer took it, retry)
+        }
+    }
+
+    /**
+     * 后台线程：批量取出日志并写出
+     * Writer thread: drain entries in batches and write them out
+     */
+    private static void drainLoop() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        StringBuilder out = new StringBuilder(4096);
+        StringBuilder err = new StringBuilder(1024);
+        long reportedDrops = 0;
+
+        while (true) {
+            boolean drained = false;
+            Entry entry;
+            while ((entry = poll()) != null) {
+                drained = true;
+                StringBuilder target = entry.level >= WARN ? err : out;
+                format(entry, format, target);
+                if (out.length() > 64 * 1024) {
+                    flush(out, err);
+                }
+            }
+
+            long drops = droppedCount.get();
+            if (drops != reportedDrops) {
+                err.append(format.format(new Date())).append(" WARN  [jzz-log-writer] 日志缓冲区已满，累计丢弃 ")
+                        .append(drops).append(" 条日志 (log entries dropped)").append(System.lineSeparator());
+                reportedDrops = drops;
+            }
+
+            if (out.length() > 0 || err.length() > 0) {
+                flush(out, err);
+            }
+
+            if (!running && !drained) {
+                return;
+            }
+            if (!drained) {
+                LockSupport.parkNanos(5_000_000L);
+            }
+        }
+    }
+
+    private static Entry poll() {
+        int index = (int) (head & MASK);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        Entry entry = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, head + CAPACITY);
+        head++;
+        return entry;
+    }
+
+    private static void format(Entry entry, SimpleDateFormat format, StringBuilder sb) {
+        sb.append(format.format(new Date(entry.time))).append(' ')
+                .append(levelName(entry.level)).append(" [").append(entry.thread).append("] ")
+                .append(entry.message).append(System.lineSeparator());
+        if (entry.throwable != null) {
+            StringWriter sw = new StringWriter();
+            entry.throwable.printStackTrace(new PrintWriter(sw));
+            sb.append(sw);
+        }
+    }
+
+    private static void flush(StringBuilder out, StringBuilder err) {
+        if (out.length() > 0) {
+            System.out.print(out);
+            System.out.flush();
+            out.setLength(0);
+        }
+        if (err.length() > 0) {
+            System.err.print(err);
+            System.err.flush();
+            err.setLength(0);
+        }
+    }
+
+    private static String levelName(int value) {
+        if (value >= ERROR) {
+            return "ERROR";
+        }
+        if (value >= WARN) {
+            return "WARN ";
+        }
+        if (value >= INFO) {
+            return "INFO ";
+        }
+        return "DEBUG";
+    }
+
+    private static int parseLevel(String name, int defaultValue) {
+        if (StringUtil.isEmpty(name)) {
+            return defaultValue;
+        }
+        switch (name.trim().toUpperCase()) {
+            case "DEBUG":
+                return DEBUG;
+            case "INFO":
+                return INFO;
+            case "WARN":
+                return WARN;
+            case "ERROR":
+                return ERROR;
+            case "OFF":
+                return OFF;
+            default:
+                return defaultValue;
+        }
+    }
+
+    /**
+     * 日志条目
+     * Log Entry
+     */
+    private static class Entry {
+        final int level;
+        final long time;
+        final String thread;
+        final String message;
+        final Throwable throwable;
+
+        Entry(int level, long time, String thread, String message, Throwable throwable) {
+            this.level = level;
+            this.time = time;
+            this.thread = thread;
+            this.message = message;
+            this.throwable = throwable;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.jzz.util;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 压缩的有序整数集合（倒排表）
+ * Compressed Sorted Integer Set (Posting List)
+ *
+ * 按升序存放相邻差值的变长编码（每字节 7 位），ID 连续分配时大多数差值只占 1 字节。
+ * 追加比当前最大值更大的 ID 直接写入末尾；其他添加和删除先记在两个小集合中，
+ * 超过已编码条目数的八分之一时重新编码
+ * Stores the gaps between ascending ids as varints (7 bits per byte), so with sequentially
+ * assigned ids most gaps take a single byte. Ids above the current maximum are appended in place;
+ * other adds and removes go to two small sets first and are folded in once they exceed an eighth
+ * of the encoded entries
+ *
+ * 非线程安全，由调用方加锁
+ * Not thread-safe; callers provide locking
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+public class PostingList {
+
+    private static final int MIN_PENDING = 32;
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int count;
+    private int last = -1;
+
+    /**
+     * 尚未编码的添加和删除 (Adds and removes not yet encoded)
+     */
+    private final Set<Integer> added = new HashSet<>();
+    private final Set<Integer> removed = new HashSet<>();
+
+    /**
+     * 添加 ID（ID 不能为负数）
+     * Add an id (ids must not be negative)
+     *
+     * @param id ID
+     */
+    public void add(int id) {
+        if (removed.remove(id)) {
+            return;
+        }
+        if (id > last) {
+            append(id);
+        } else if (!contains(id)) {
+            added.add(id);
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * 删除 ID
+     * Remove an id
+     *
+     * @param id ID
+     */
+    public void remove(int id) {
+        if (added.remove(id)) {
+            return;
+        }
+        if (id <= last && !removed.contains(id) && encodedContains(id)) {
+            removed.add(id);
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * 条目数
+     * Number of ids
+     *
+     * @return 条目数
+     */
+    public int size() {
+        return count - removed.size() + added.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 升序的全部 ID
+     * Every id in ascending order
+     *
+     * @return ID 数组
+     */
+    public int[] toArray() {
+        int[] ids = new int[size()];
+        int n = 0;
+        int pos = 0;
+        int value = -1;
+        for (int i = 0; i < count; i++) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += gap;
+            if (removed.isEmpty() || !removed.contains(value)) {
+                ids[n++] = value;
+            }
+        }
+        if (!added.isEmpty()) {
+            for (Integer id : added) {
+                ids[n++] = id;
+            }
+            Arrays.sort(ids);
+        }
+        return ids;
+    }
+
+    /**
+     * 编码后占用的字节数（不含未编码的添加和删除）
+     * Bytes used by the encoded ids (pending adds and removes excluded)
+     *
+     * @return 字节数
+     */
+    public int getEncodedBytes() {
+        return length;
+    }
+
+    // ==================== 私有辅助方法 (Private Helper Methods) ====================
+
+    private boolean contains(int id) {
+        return added.contains(id) || (!removed.contains(id) && encodedContains(id));
+    }
+
+    private boolean encodedContains(int id) {
+        int pos = 0;
+        int value = -1;
+        for (int i = 0; i < count && value < id; i++) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += gap;
+        }
+        return value == id;
+    }
+
+    /**
+     * 在末尾写入比 last 更大的 ID
+     * Append an id greater than last
+     */
+    private void append(int id) {
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+        int gap = id - last;
+        while ((gap & ~0x7F) != 0) {
+            data[length++] = (byte) ((gap & 0x7F) | 0x80);
+            gap >>>= 7;
+        }
+        data[length++] = (byte) gap;
+        last = id;
+        count++;
+    }
+
+    private void compactIfNeeded() {
+        if (added.size() + removed.size() < Math.max(MIN_PENDING, count / 8)) {
+            return;
+        }
+        int[] ids = toArray();
+        data = new byte[Math.max(8, ids.length + 4)];
+        length = 0;
+        count = 0;
+        last = -1;
+        added.clear();
+        removed.clear();
+        for (int id : ids) {
+            append(id);
+        }
+    }
+}
@@ -103,8 +103,31 @@ public class StringUtil {
     }
 
     /**
-     * 为模糊查询添加通配符
-     * Add wildcards for fuzzy search
+     * 字符串是否只含 ASCII 可打印字符和常用汉字（U+4E00 到 U+9FFF）：这些字符在数据库排序规则下
+     * 只会与自身或其大小写形式相等，其他字符（全角字符、带重音的字母等）可能与不同的字符相等
+     * Whether a string holds only printable ASCII and common CJK ideographs (U+4E00 to U+9FFF):
+     * under the database collation these equal only themselves or their other case, while other
+     * characters (full-width forms, accented letters) may equal different characters
+     *
+     * @param str 字符串，null 视为是
+     * @return true 只含这些字符
+     */
+    public static boolean isCollationStable(String str) {
+        if (str == null) {
+            return true;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            char ch = str.charAt(i);
+            if (!(ch >= 0x20 && ch < 0x7F) && !(ch >= 0x4E00 && ch <= 0x9FFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 为模糊查询添加通配符；不去掉首尾空白，关键字按原样匹配
+     * Add wildcards for fuzzy search; leading and trailing whitespace is kept and matched as is
      *
      * @param str 原始字符串
      * @return 添加通配符后的字符串
@@ -113,7 +136,21 @@ public class StringUtil {
         if (isEmpty(str)) {
             return "%%";
         }
-        return "%" + str.trim() + "%";
+        return "%" + str + "%";
+    }
+
+    /**
+     * 转换为前缀匹配模式，可以使用 B+ 树索引；不去掉首尾空白
+     * Convert to a prefix match pattern, which can use a B+ tree index; whitespace is kept
+     *
+     * @param str 原始字符串
+     * @return 前缀匹配模式字符串，如 "张%"
+     */
+    public static String toPrefixPattern(String str) {
+        if (isEmpty(str)) {
+            return "%";
+        }
+        return str + "%";
     }
 
     /**
@@ -89,6 +89,9 @@
         <div class="toolbar-left">
             <button class="btn btn-success" onclick="showAddModal()">➕ 添加学生</button>
             <button class="btn btn-danger" onclick="deleteBatch()">🗑️ 批量删除</button>
+            <button class="btn btn-primary" onclick="document.getElementById('importFile').click()">📥 导入 CSV</button>
+            <input type="file" id="importFile" accept=".csv" style="display: none;" onchange="importStudents(this)">
+            <button class="btn btn-secondary" onclick="exportStudents()">📤 导出 CSV</button>
         </div>
         <div class="toolbar-right">
             <span>每页显示：</span>
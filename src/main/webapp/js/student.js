@@ -29,6 +29,22 @@ let totalCount = 0;
 // 总页数 (Total pages)
 let totalPages = 0;
 
+// 列表需要的字段，服务端只查询和返回这些字段 (Fields the table needs; the server selects and returns only these)
+const LIST_FIELDS = 'id,studentNo,name,gender,age,major,className,phone,email,enrollmentDate,status';
+
+// 总数统计方式：exact 精确 / estimate 估算 / none 不统计 (Count mode: exact / estimate / none)
+let countMode = 'exact';
+
+// 总记录数是否精确 (Whether the total is exact)
+let totalCountExact = true;
+
+// 是否有下一页 (Whether a next page exists)
+let hasNextPage = false;
+
+// 上一页/下一页游标（键集分页）(Previous/next page cursors, keyset pagination)
+let prevCursor = null;
+let nextCursor = null;
+
 // 当前排序字段 (Current sort field)
 let currentOrderBy = 'id';
 
@@ -38,6 +54,12 @@ let currentOrderType = 'DESC';
 // 是否为编辑模式 (Is edit mode)
 let isEditMode = false;
 
+// 编辑前的学生信息，保存时只提交变化的字段 (Student as loaded for editing; saving sends only changed fields)
+let editingStudent = null;
+
+// 编辑表单中可修改的字段 (Editable fields of the form)
+const EDIT_FIELDS = ['studentNo', 'name', 'gender', 'age', 'major', 'className', 'phone', 'email', 'enrollmentDate', 'status'];
+
 // ==================== 页面加载时初始化 (Initialize on Page Load) ====================
 
 /**
@@ -56,8 +78,9 @@ window.onload = function() {
  * Query student list
  *
  * @param page 页码（可选，默认为当前页）
+ * @param cursor 分页游标（可选），上一页/下一页时传入，按游标定位而不是按偏移量
  */
-function queryStudents(page) {
+function queryStudents(page, cursor) {
     // 如果指定了页码，则更新当前页 (Update current page if specified)
     if (page !== undefined) {
         currentPage = page;
@@ -77,7 +100,9 @@ function queryStudents(page) {
         currentPage: currentPage,
         pageSize: pageSize,
         orderBy: currentOrderBy,
-        orderType: currentOrderType
+        orderType: currentOrderType,
+        countMode: countMode,
+        fields: LIST_FIELDS
     });
 
     // 添加非空查询条件 (Add non-empty conditions)
@@ -87,9 +112,13 @@ function queryStudents(page) {
     if (major) params.append('major', major);
     if (className) params.append('className', className);
     if (status) params.append('status', status);
+    if (cursor) params.append('cursor', cursor);
 
-    // 发送 AJAX 请求 (Send AJAX request)
-    fetch('student?' + params.toString())
+    // 发送 AJAX 请求；no-cache 让浏览器带上次的 ETag 重新验证，数据没有变化时服务器返回空的 304，
+    // 浏览器直接使用缓存的响应
+    // (Send AJAX request; no-cache makes the browser revalidate with the last ETag, so unchanged data
+    //  comes back as an empty 304 and the browser reuses its cached response)
+    fetch('student?' + params.toString(), { cache: 'no-cache' })
         .then(response => response.json())
         .then(result => {
             console.log('查询结果：', result);
@@ -99,6 +128,10 @@ function queryStudents(page) {
                 totalCount = pageResult.totalCount;
                 totalPages = pageResult.totalPages;
                 currentPage = pageResult.currentPage;
+                totalCountExact = pageResult.totalCountExact !== false;
+                hasNextPage = pageResult.hasNext === true;
+                prevCursor = pageResult.prevCursor || null;
+                nextCursor = pageResult.nextCursor || null;
 
                 // 渲染表格数据 (Render table data)
                 renderTable(pageResult.data);
@@ -206,20 +239,43 @@ function renderPagination() {
     html += `<button onclick="queryStudents(1)" ${currentPage === 1 ? 'disabled' : ''}>首页</button>`;
 
     // 上一页按钮 (Previous page button)
-    html += `<button onclick="queryStudents(${currentPage - 1})" ${currentPage === 1 ? 'disabled' : ''}>上一页</button>`;
+    html += `<button onclick="previousPage()" ${currentPage === 1 ? 'disabled' : ''}>上一页</button>`;
 
-    // 页码信息 (Page info)
-    html += `<span class="pagination-info">第 ${currentPage} / ${totalPages} 页，共 ${totalCount} 条记录</span>`;
+    // 页码信息：总数未统计时只显示页码，估算值前加“约” (Page info: page only when uncounted, "about" for estimates)
+    if (totalCount === null || totalCount === undefined) {
+        html += `<span class="pagination-info">第 ${currentPage} 页</span>`;
+    } else if (!totalCountExact) {
+        html += `<span class="pagination-info">第 ${currentPage} / 约 ${totalPages} 页，约 ${totalCount} 条记录</span>`;
+    } else {
+        html += `<span class="pagination-info">第 ${currentPage} / ${totalPages} 页，共 ${totalCount} 条记录</span>`;
+    }
 
     // 下一页按钮 (Next page button)
-    html += `<button onclick="queryStudents(${currentPage + 1})" ${currentPage === totalPages ? 'disabled' : ''}>下一页</button>`;
+    html += `<button onclick="nextPage()" ${!hasNextPage ? 'disabled' : ''}>下一页</button>`;
 
-    // 末页按钮 (Last page button)
-    html += `<button onclick="queryStudents(${totalPages})" ${currentPage === totalPages ? 'disabled' : ''}>末页</button>`;
+    // 末页按钮：总数不精确时无法确定末页 (Last page button: unknown unless the total is exact)
+    const lastPageUnknown = !totalCountExact || currentPage === totalPages;
+    html += `<button onclick="queryStudents(${totalPages})" ${lastPageUnknown ? 'disabled' : ''}>末页</button>`;
 
     pagination.innerHTML = html;
 }
 
+/**
+ * 上一页：有游标时按游标定位，否则按页码
+ * Previous page: seek by cursor when available, otherwise by page number
+ */
+function previousPage() {
+    queryStudents(currentPage - 1, prevCursor);
+}
+
+/**
+ * 下一页：有游标时按游标定位，否则按页码
+ * Next page: seek by cursor when available, otherwise by page number
+ */
+function nextPage() {
+    queryStudents(currentPage + 1, nextCursor);
+}
+
 // ==================== 排序功能 (Sorting Functions) ====================
 
 /**
@@ -277,11 +333,12 @@ function showEditModal(id) {
     document.getElementById('modalTitle').textContent = '✏️ 编辑学生';
 
     // 通过 AJAX 获取学生详细信息 (Get student details via AJAX)
-    fetch(`student?action=getById&id=${id}`)
+    fetch(`student?action=getById&id=${id}`, { cache: 'no-cache' })
         .then(response => response.json())
         .then(result => {
             if (result.code === 200) {
                 const student = result.data;
+                editingStudent = student;
 
                 // 填充表单数据 (Populate form data)
                 document.getElementById('studentId').value = student.id;
@@ -340,14 +397,38 @@ function saveStudent() {
         return;
     }
 
-    // 设置操作类型 (Set action type)
-    const action = isEditMode ? 'update' : 'add';
-    formData.append('action', action);
+    let body = formData;
+    if (isEditMode) {
+        // 编辑时只提交变化的字段，并带上读取时的 updateTime 作为版本号（必填，缺少时服务端返回 428）
+        // When editing, send only the changed fields plus the updateTime read earlier as the version
+        // (mandatory, the server answers 428 without it)
+        body = new FormData();
+        body.append('action', 'patch');
+        body.append('id', formData.get('id'));
+        body.append('updateTime', editingStudent.updateTime || '');
+        let changed = 0;
+        EDIT_FIELDS.forEach(field => {
+            const original = editingStudent[field] === null || editingStudent[field] === undefined
+                ? '' : String(editingStudent[field]);
+            const value = formData.get(field) || '';
+            if (value !== original) {
+                body.append(field, value);
+                changed++;
+            }
+        });
+        if (changed === 0) {
+            showMessage('没有需要保存的修改', 'info');
+            closeModal();
+            return;
+        }
+    } else {
+        formData.append('action', 'add');
+    }
 
     // 发送 AJAX 请求 (Send AJAX request)
     fetch('student', {
         method: 'POST',
-        body: formData
+        body: body
     })
         .then(response => response.json())
         .then(result => {
@@ -355,6 +436,12 @@ function saveStudent() {
                 showMessage(result.message, 'success');
                 closeModal();
                 queryStudents(); // 刷新列表 (Refresh list)
+            } else if (result.code === 409 || result.code === 428) {
+                // 版本冲突或缺少版本号：刷新列表后重新编辑 (Version conflict or missing version:
+                // refresh the list and edit again)
+                showMessage(result.message, 'warning');
+                closeModal();
+                queryStudents();
             } else {
                 showMessage(result.message, 'error');
             }
@@ -441,6 +528,105 @@ function deleteBatch() {
         });
 }
 
+// ==================== 导入功能 (Import Functions) ====================
+
+/**
+ * 导入 CSV 名单，上传后轮询进度直到结束
+ * Import a CSV roster and poll the progress until the job ends
+ *
+ * @param input 文件选择框
+ */
+function importStudents(input) {
+    const file = input.files[0];
+    if (!file) {
+        return;
+    }
+
+    const formData = new FormData();
+    formData.append('file', file);
+    input.value = ''; // 允许再次选择同一文件 (Allow picking the same file again)
+
+    fetch('student/import', {
+        method: 'POST',
+        body: formData
+    })
+        .then(response => response.json())
+        .then(result => {
+            if (result.code === 200) {
+                showMessage('导入已开始：' + file.name, 'info');
+                pollImport(result.data.jobId);
+            } else {
+                showMessage(result.message, 'error');
+            }
+        })
+        .catch(error => {
+            console.error('导入出错：', error);
+            showMessage('导入失败，请检查网络连接！', 'error');
+        });
+}
+
+/**
+ * 轮询导入进度
+ * Poll import progress
+ *
+ * @param jobId 导入任务 ID
+ */
+function pollImport(jobId) {
+    fetch(`student/import?jobId=${encodeURIComponent(jobId)}`)
+        .then(response => response.json())
+        .then(result => {
+            if (result.code !== 200) {
+                showMessage(result.message, 'error');
+                return;
+            }
+            const progress = result.data;
+            if (progress.status === 'RUNNING') {
+                showMessage(`正在导入：已读取 ${progress.rowsRead} 行，成功 ${progress.successCount} 行，失败 ${progress.failureCount} 行`, 'info');
+                setTimeout(() => pollImport(jobId), 1000);
+                return;
+            }
+
+            const summary = `${progress.message}：成功 ${progress.successCount} 行，失败 ${progress.failureCount} 行`;
+            showMessage(summary, progress.status === 'COMPLETED' ? 'success' : 'warning');
+            if (progress.failures && progress.failures.length > 0) {
+                console.table(progress.failures);
+            }
+            queryStudents(1); // 刷新列表 (Refresh list)
+        })
+        .catch(error => {
+            console.error('查询导入进度出错：', error);
+        });
+}
+
+/**
+ * 按当前查询条件和排序导出 CSV，由浏览器直接下载
+ * Export CSV with the current conditions and sort; the browser downloads it directly
+ */
+function exportStudents() {
+    const params = new URLSearchParams({
+        action: 'export',
+        format: 'csv',
+        orderBy: currentOrderBy,
+        orderType: currentOrderType
+    });
+
+    const studentNo = document.getElementById('queryStudentNo').value.trim();
+    const name = document.getElementById('queryName').value.trim();
+    const gender = document.getElementById('queryGender').value;
+    const major = document.getElementById('queryMajor').value.trim();
+    const className = document.getElementById('queryClassName').value.trim();
+    const status = document.getElementById('queryStatus').value;
+
+    if (studentNo) params.append('studentNo', studentNo);
+    if (name) params.append('name', name);
+    if (gender) params.append('gender', gender);
+    if (major) params.append('major', major);
+    if (className) params.append('className', className);
+    if (status) params.append('status', status);
+
+    window.location.href = 'student?' + params.toString();
+}
+
 // ==================== 行选择功能 (Row Selection Functions) ====================
 
 /**
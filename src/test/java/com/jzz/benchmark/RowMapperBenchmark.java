@@ -0,0 +1,156 @@
+package com.jzz.benchmark;
+
+import com.jzz.model.Student;
+import com.jzz.model.StudentRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 学生 ResultSet 映射基准测试
+ * Student ResultSet Mapping Benchmark
+ *
+ * 对比生成的 StudentRowMapper（每个 ResultSet 解析一次列序号，按序号读取）与原来逐行按列名读取的
+ * mapResultSetToStudent。数据放在 H2 内存库中，结果集可滚动，每次调用回到开头重新映射全部行，
+ * 两种方式读取的是同一个驱动的同一批行
+ * Compares the generated StudentRowMapper (ordinals resolved once per ResultSet, reads by ordinal)
+ * with the old mapResultSetToStudent that looked every column up by name on every row. The rows
+ * live in an in-memory H2 database behind a scrollable result set that is rewound on each
+ * invocation, so both variants read the same rows through the same driver
+ *
+ * 运行 (Run): mvn -Pbenchmark test-compile exec:exec
+ *
+ * @author Jzz
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    @Param({"100", "1000"})
+    private int rows;
+
+    private Connection conn;
+    private Statement stmt;
+    private ResultSet rs;
+
+    @Setup
+    public void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:row_mapper_benchmark");
+        try (Statement ddl = conn.createStatement()) {
+            ddl.execute("CREATE TABLE student (id INT PRIMARY KEY, student_no VARCHAR(20), name VARCHAR(50), "
+                    + "gender INT, age INT, major VARCHAR(100), class_name VARCHAR(50), phone VARCHAR(20), "
+                    + "email VARCHAR(100), enrollment_date DATE, create_time TIMESTAMP, update_time TIMESTAMP, "
+                    + "status INT)");
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT INTO student VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, String.format("2024%06d", i));
+                insert.setString(3, "学生" + i);
+                insert.setInt(4, i % 2 + 1);
+                if (i % 10 == 0) {
+                    insert.setNull(5, java.sql.Types.INTEGER);
+                } else {
+                    insert.setInt(5, 18 + i % 6);
+                }
+                insert.setString(6, "计算机科学与技术");
+                insert.setString(7, "计科" + (i % 8 + 1) + "班");
+                insert.setString(8, "138" + String.format("%08d", i));
+                insert.setString(9, "student" + i + "@example.com");
+                insert.setDate(10, Date.valueOf("2024-09-01"));
+                insert.setTimestamp(11, now);
+                insert.setTimestamp(12, now);
+                insert.setInt(13, 1);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        stmt = conn.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        rs = stmt.executeQuery("SELECT * FROM student ORDER BY id");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        rs.close();
+        stmt.close();
+        try (Statement ddl = conn.createStatement()) {
+            ddl.execute("DROP TABLE student");
+        }
+        conn.close();
+    }
+
+    /**
+     * 原来的映射方式：每行按列名读取 13 列
+     * The old mapping: 13 lookups by column name on every row
+     */
+    @Benchmark
+    public void nameBased(Blackhole blackhole) throws SQLException {
+        rs.beforeFirst();
+        while (rs.next()) {
+            blackhole.consume(mapResultSetToStudent(rs));
+        }
+    }
+
+    /**
+     * 生成的映射器：每个结果集解析一次列序号
+     * The generated mapper: ordinals resolved once per result set
+     */
+    @Benchmark
+    public void generated(Blackhole blackhole) throws SQLException {
+        rs.beforeFirst();
+        StudentRowMapper mapper = StudentRowMapper.of(rs);
+        while (rs.next()) {
+            blackhole.consume(mapper.map(rs));
+        }
+    }
+
+    /**
+     * 原 StudentDAOImpl.mapResultSetToStudent 的副本，作为对照
+     * Copy of the former StudentDAOImpl.mapResultSetToStudent, kept as the baseline
+     */
+    private static Student mapResultSetToStudent(ResultSet rs) throws SQLException {
+        Student student = new Student();
+        student.setId(rs.getInt("id"));
+        student.setStudentNo(rs.getString("student_no"));
+        student.setName(rs.getString("name"));
+        student.setGender(rs.getInt("gender"));
+        int age = rs.getInt("age");
+        student.setAge(rs.wasNull() ? null : age);
+        student.setMajor(rs.getString("major"));
+        student.setClassName(rs.getString("class_name"));
+        student.setPhone(rs.getString("phone"));
+        student.setEmail(rs.getString("email"));
+        student.setEnrollmentDate(rs.getDate("enrollment_date"));
+        student.setCreateTime(rs.getTimestamp("create_time"));
+        student.setUpdateTime(rs.getTimestamp("update_time"));
+        student.setStatus(rs.getInt("status"));
+        return student;
+    }
+}